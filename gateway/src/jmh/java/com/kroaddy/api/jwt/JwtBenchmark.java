@@ -0,0 +1,121 @@
+package com.kroaddy.api.jwt;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 이전 JwtTokenProvider(호출마다 키/파서 생성, jjwt)와 JwtEngine의 발급/검증 처리량 비교
+ * ES256/EdDSA 검증은 HS256보다 훨씬 느리므로 반복 검증 경로는 VerifiedTokenCache를 거침 (비교용)
+ * 실행: ./gradlew :gateway:jmh -Pjmh.includes=JwtBenchmark
+ * 할당량까지 보려면 jmh { profilers = ['gc'] } 추가 (gc.alloc.rate.norm: 호출당 할당 바이트)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(4)
+public class JwtBenchmark {
+
+    private static final String SECRET = "default-secret-key-change-in-production-min-32-characters";
+
+    private JwtTokenProvider provider;
+    private String token;
+    private JwtEngine eddsaEngine;
+    private String eddsaToken;
+    private JwtEngine es256Engine;
+    private String es256Token;
+
+    @Setup
+    public void setUp() {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret(SECRET);
+        provider = new JwtTokenProvider(properties);
+        token = provider.generateToken("kakao-1234567890");
+        long now = System.currentTimeMillis();
+        eddsaEngine = asymmetric(JwsAlgorithm.EDDSA);
+        eddsaToken = eddsaEngine.sign("kakao-1234567890", now, now + 86_400_000L);
+        es256Engine = asymmetric(JwsAlgorithm.ES256);
+        es256Token = es256Engine.sign("kakao-1234567890", now, now + 86_400_000L);
+    }
+
+    @Benchmark
+    public String legacySign() {
+        Date now = new Date();
+        return Jwts.builder()
+                .subject("kakao-1234567890")
+                .issuedAt(now)
+                .expiration(new Date(now.getTime() + 86_400_000L))
+                .signWith(legacyKey())
+                .compact();
+    }
+
+    @Benchmark
+    public String legacyVerify() {
+        return Jwts.parser()
+                .verifyWith(legacyKey())
+                .build()
+                .parseSignedClaims(token)
+                .getPayload()
+                .getSubject();
+    }
+
+    @Benchmark
+    public String engineSign() {
+        return provider.generateToken("kakao-1234567890");
+    }
+
+    @Benchmark
+    public String engineVerify() {
+        return provider.verify(token).subject();
+    }
+
+    @Benchmark
+    public String eddsaVerify() {
+        return eddsaEngine.verify(eddsaToken).subject();
+    }
+
+    @Benchmark
+    public String es256Verify() {
+        return es256Engine.verify(es256Token).subject();
+    }
+
+    /**
+     * 벤치마크용으로 만든 키로 서명하는 비대칭 엔진 (JwtKeyRing은 키 디렉터리의 키로만 서명)
+     */
+    private static JwtEngine asymmetric(JwsAlgorithm algorithm) {
+        SigningKey key = SigningKey.generate("benchmark-" + algorithm.jwsName(), algorithm);
+        return new JwtEngine(SECRET.getBytes(StandardCharsets.UTF_8), new SigningKeys() {
+            @Override
+            public SigningKey active() {
+                return key;
+            }
+
+            @Override
+            public SigningKey find(String kid) {
+                return key.kid().equals(kid) ? key : null;
+            }
+        }, true);
+    }
+
+    /**
+     * 이전 구현처럼 호출마다 시크릿을 32바이트로 맞춰 키 생성
+     */
+    private static SecretKey legacyKey() {
+        byte[] keyBytes = SECRET.getBytes(StandardCharsets.UTF_8);
+        byte[] trimmed = new byte[32];
+        System.arraycopy(keyBytes, 0, trimmed, 0, Math.min(32, keyBytes.length));
+        return Keys.hmacShaKeyFor(trimmed);
+    }
+}
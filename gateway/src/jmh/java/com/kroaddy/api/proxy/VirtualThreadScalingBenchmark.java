@@ -0,0 +1,187 @@
+package com.kroaddy.api.proxy;
+
+import com.sun.net.httpserver.HttpServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 업스트림 지연이 500ms일 때 게이트웨이 Tomcat의 요청 처리 모델별 동시성 비교
+ * 게이트웨이 bootJar를 spring.threads.virtual.enabled=false(플랫폼 스레드, Tomcat max-threads=200) / true(요청당 가상 스레드)로
+ * 별도 프로세스로 띄우고, 동시 요청 1000건을 프록시 라우트로 보내 전부 끝날 때까지의 시간을 측정
+ * (DB/Redis 없이 기동하고, 스레드 모델만 비교하도록 동시성을 제한하는 필터/한도는 끔)
+ * JMH jar는 의존성을 한 jar로 합치면서 spring.factories 등이 겹쳐 애플리케이션을 띄울 수 없으므로 bootJar를 실행
+ * 측정값(vCPU 1개, 예열 후 3회 평균): 플랫폼 약 3.7s, 가상 약 3.1s (약 1.2배)
+ * 업스트림 지연만으로 보면 플랫폼 풀은 200건씩 5번(2.5s), 가상 스레드는 한 번(0.5s)이지만,
+ * 벤치마크 클라이언트/스텁/게이트웨이가 CPU 하나를 나눠 써서 두 모드 모두 요청 처리 CPU 시간이 지배적이고
+ * (스텁 직접 호출만으로도 약 1.2s), 차이는 이론값(5배)보다 훨씬 작음. 코어가 충분한 환경에서 다시 잴 것
+ * 실행: ./gradlew :gateway:jmh -Pjmh.includes=VirtualThreadScalingBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class VirtualThreadScalingBenchmark {
+
+    private static final int CONCURRENT_REQUESTS = 1000;
+    private static final int PLATFORM_MAX_THREADS = 200;
+    private static final long UPSTREAM_LATENCY_MILLIS = 500;
+    private static final long STARTUP_TIMEOUT_MILLIS = 180_000;
+    private static final int GATEWAY_WARMUP_ROUNDS = 3;
+
+    @Param({"false", "true"})
+    private boolean virtualThreads;
+
+    private HttpServer upstream;
+    private ExecutorService upstreamExecutor;
+    private Process gateway;
+    private ExecutorService clients;
+    private URI target;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        // JDK HttpServer는 유휴 keep-alive 연결을 기본 200개까지만 남기고 닫아, 게이트웨이 풀의 나머지 연결이 502가 됨
+        System.setProperty("sun.net.httpserver.maxIdleConnections", String.valueOf(CONCURRENT_REQUESTS * 2));
+        upstreamExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        upstream = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), CONCURRENT_REQUESTS * 2);
+        upstream.setExecutor(upstreamExecutor);
+        // 느린 ML 추론을 흉내 내는 스텁 (500ms 후 응답)
+        upstream.createContext("/slow", exchange -> {
+            try {
+                Thread.sleep(UPSTREAM_LATENCY_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = "ok".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        upstream.start();
+
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        String java = ProcessHandle.current().info().command().orElse("java");
+        List<String> command = new ArrayList<>(List.of(java, "-jar", System.getProperty("gateway.boot-jar")));
+        Map.ofEntries(
+                Map.entry("spring.profiles.active", "dev"),
+                Map.entry("spring.threads.virtual.enabled", String.valueOf(virtualThreads)),
+                Map.entry("server.port", String.valueOf(port)),
+                Map.entry("server.tomcat.threads.max", String.valueOf(PLATFORM_MAX_THREADS)),
+                Map.entry("server.tomcat.accept-count", String.valueOf(CONCURRENT_REQUESTS)),
+                // DB/설정 서버 없이 기동
+                Map.entry("spring.cloud.config.import-check.enabled", "false"),
+                Map.entry("spring.jpa.properties.hibernate.boot.allow_jdbc_metadata_access", "false"),
+                Map.entry("spring.jpa.database-platform", "org.hibernate.dialect.PostgreSQLDialect"),
+                Map.entry("logging.level.root", "WARN"),
+                Map.entry("logging.level.com.kroaddy", "WARN"),
+                Map.entry("gateway.routing.routes[0].id", "bench"),
+                Map.entry("gateway.routing.routes[0].path", "/api/ml/bench/**"),
+                Map.entry("gateway.routing.routes[0].uri", "http://127.0.0.1:" + upstream.getAddress().getPort()),
+                Map.entry("gateway.routing.routes[0].rewrite-path", "/slow"),
+                Map.entry("gateway.routing.routes[0].auth", "none"),
+                // 스레드 모델만 비교하도록 동시성을 제한하는 기능은 끔
+                Map.entry("gateway.upstream.max-connections", String.valueOf(CONCURRENT_REQUESTS)),
+                Map.entry("gateway.upstream.prewarm-connections", "0"),
+                Map.entry("gateway.rate-limit.enabled", "false"),
+                Map.entry("gateway.load-shed.enabled", "false"),
+                Map.entry("gateway.concurrency-limit.enabled", "false"),
+                Map.entry("gateway.resilience.enabled", "false"),
+                Map.entry("gateway.response-cache.enabled", "false"),
+                Map.entry("gateway.health-check.enabled", "false"))
+                .forEach((name, value) -> command.add("--" + name + "=" + value));
+        File log = File.createTempFile("gateway-vt-" + virtualThreads + "-", ".log");
+        gateway = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log).start();
+        target = URI.create("http://127.0.0.1:" + port + "/api/ml/bench");
+        awaitStartup(log);
+        clients = Executors.newVirtualThreadPerTaskExecutor();
+        // 기동 직후에는 게이트웨이 JIT와 업스트림 연결 풀이 덜 데워져 첫 몇 번이 수 배 느리므로 미리 보냄
+        for (int i = 0; i < GATEWAY_WARMUP_ROUNDS; i++) {
+            concurrentSlowUpstream();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        clients.close();
+        gateway.destroy();
+        upstream.stop(0);
+        upstreamExecutor.close();
+    }
+
+    @Benchmark
+    public int concurrentSlowUpstream() throws Exception {
+        List<Future<Integer>> results = new ArrayList<>(CONCURRENT_REQUESTS);
+        for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+            results.add(clients.submit(this::call));
+        }
+        int ok = 0;
+        for (Future<Integer> result : results) {
+            if (result.get() == 200) {
+                ok++;
+            }
+        }
+        if (ok != CONCURRENT_REQUESTS) {
+            throw new IllegalStateException("실패한 요청: " + (CONCURRENT_REQUESTS - ok));
+        }
+        return ok;
+    }
+
+    /**
+     * 프록시 라우트가 응답할 때까지 대기 (기동에 수십 초 걸림)
+     */
+    private void awaitStartup(File log) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + STARTUP_TIMEOUT_MILLIS;
+        while (System.currentTimeMillis() < deadline) {
+            if (!gateway.isAlive()) {
+                throw new IllegalStateException("게이트웨이가 종료되었습니다. 로그: " + log);
+            }
+            try {
+                if (call() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // 아직 기동 중
+            }
+            Thread.sleep(500);
+        }
+        gateway.destroy();
+        throw new IllegalStateException("게이트웨이가 기동되지 않았습니다. 로그: " + log);
+    }
+
+    private int call() throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) target.toURL().openConnection();
+        try (InputStream body = connection.getInputStream()) {
+            body.transferTo(OutputStream.nullOutputStream());
+            return connection.getResponseCode();
+        } finally {
+            connection.disconnect();
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.kroaddy.api.proxy.auth;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kroaddy.api.jwt.JwtProperties;
+import com.kroaddy.api.jwt.JwtTokenProvider;
+import com.kroaddy.api.jwt.VerifiedTokenCache;
+import com.kroaddy.api.proxy.balancer.LoadBalancerStrategy;
+import com.kroaddy.api.proxy.balancer.UpstreamInstance;
+import com.kroaddy.api.proxy.balancer.UpstreamStats;
+import com.kroaddy.api.proxy.route.RouteConfig;
+import com.kroaddy.api.proxy.route.RouteIndex;
+import com.kroaddy.api.proxy.route.RouteOptions;
+import com.kroaddy.api.proxy.route.RouteSnapshot;
+import com.kroaddy.api.proxy.route.RouteTable;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 프록시 라우트 인증 필터가 요청마다 더하는 시간
+ * baseline(필터 없이 다음 체인 호출)과 비교: required 라우트 + 캐시된 토큰(일반적인 경우),
+ * 캐시를 끈 경우(매번 HS256 검증), optional 라우트 익명 요청, none 라우트
+ * 다음 체인은 ProxyForwarder처럼 사용자 헤더를 업스트림 요청 줄과 함께 서명 (인증으로 늘어나는 시간에 포함)
+ * 실행: ./gradlew :gateway:jmh -Pjmh.includes=ProxyAuthFilterBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ProxyAuthFilterBenchmark {
+
+    private ProxyAuthFilter cachedFilter;
+    private ProxyAuthFilter uncachedFilter;
+    private final IdentitySigner signer = new IdentitySigner("benchmark-identity-secret-0123456789abcdef");
+    private final URI upstreamUri = URI.create("http://localhost:9000/api/users/me");
+    private MockHttpServletRequest required;
+    private MockHttpServletRequest anonymous;
+    private MockHttpServletRequest publicDocs;
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @Setup
+    public void setUp() {
+        RouteIndex index = RouteIndex.compile(List.of(
+                route("user-service", "/api/users/**", AuthPolicy.REQUIRED),
+                route("ai-rag", "/api/ai/rag/**", AuthPolicy.OPTIONAL),
+                route("transformer-docs", "/transformer-docs/**", AuthPolicy.NONE)));
+        RouteSnapshot snapshot = new RouteSnapshot(1, "benchmark", Instant.now(), List.of(), index);
+        RouteTable routeTable = new RouteTable(null, null, null, null) {
+            @Override
+            public RouteSnapshot current() {
+                return snapshot;
+            }
+        };
+        ProxyAuthProperties properties = new ProxyAuthProperties();
+
+        JwtProperties jwtProperties = new JwtProperties();
+        jwtProperties.setSecret("default-secret-key-change-in-production-min-32-characters");
+        JwtTokenProvider provider = new JwtTokenProvider(jwtProperties);
+        cachedFilter = new ProxyAuthFilter(routeTable, new VerifiedTokenCache(provider, jwtProperties,
+                new SimpleMeterRegistry()), properties, new ObjectMapper(), new SimpleMeterRegistry());
+
+        JwtProperties uncachedProperties = new JwtProperties();
+        uncachedProperties.setSecret(jwtProperties.getSecret());
+        uncachedProperties.getVerifiedCache().setEnabled(false);
+        uncachedFilter = new ProxyAuthFilter(routeTable, new VerifiedTokenCache(provider, uncachedProperties,
+                new SimpleMeterRegistry()), properties, new ObjectMapper(), new SimpleMeterRegistry());
+
+        required = new MockHttpServletRequest("GET", "/api/users/me");
+        required.setCookies(new Cookie("Authorization", provider.generateToken("kakao-1234567890", "kakao")));
+        required.addHeader("Accept", "application/json");
+        anonymous = new MockHttpServletRequest("POST", "/api/ai/rag/query");
+        anonymous.addHeader("Accept", "application/json");
+        publicDocs = new MockHttpServletRequest("GET", "/transformer-docs/index.html");
+    }
+
+    @Benchmark
+    public void baseline(Blackhole bh) throws IOException, ServletException {
+        chain(bh).doFilter(required, response);
+    }
+
+    @Benchmark
+    public void requiredCachedToken(Blackhole bh) throws IOException, ServletException {
+        cachedFilter.doFilter(required, response, chain(bh));
+    }
+
+    @Benchmark
+    public void requiredUncachedToken(Blackhole bh) throws IOException, ServletException {
+        uncachedFilter.doFilter(required, response, chain(bh));
+    }
+
+    @Benchmark
+    public void optionalAnonymous(Blackhole bh) throws IOException, ServletException {
+        cachedFilter.doFilter(anonymous, response, chain(bh));
+    }
+
+    @Benchmark
+    public void noneRoute(Blackhole bh) throws IOException, ServletException {
+        cachedFilter.doFilter(publicDocs, response, chain(bh));
+    }
+
+    /**
+     * 업스트림 요청을 만들 때처럼 사용자 헤더를 읽고 서명하는 다음 체인
+     */
+    private FilterChain chain(Blackhole bh) {
+        return (request, response) -> {
+            HttpHeaders headers = new HttpHeaders();
+            String userId = ((HttpServletRequest) request).getHeader(IdentitySigner.USER_ID);
+            if (userId != null) {
+                headers.set(IdentitySigner.USER_ID, userId);
+                headers.set(IdentitySigner.PROVIDER, ((HttpServletRequest) request).getHeader(IdentitySigner.PROVIDER));
+            }
+            signer.sign(HttpMethod.GET, upstreamUri, headers, System.currentTimeMillis() / 1000);
+            bh.consume(headers);
+        };
+    }
+
+    private static RouteConfig route(String id, String pattern, AuthPolicy policy) {
+        return new RouteConfig(id, pattern, LoadBalancerStrategy.ROUND_ROBIN,
+                List.of(new UpstreamInstance(new UpstreamStats("http://localhost:9000", 1_000_000_000L), 1)), null,
+                RouteOptions.builder().authPolicy(policy).build());
+    }
+}
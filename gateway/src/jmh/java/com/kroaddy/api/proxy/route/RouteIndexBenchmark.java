@@ -0,0 +1,95 @@
+package com.kroaddy.api.proxy.route;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 기존 AntPathMatcher 선형 탐색과 RouteIndex 트라이 조회 비교
+ * 실행: ./gradlew :gateway:jmh -Pjmh.includes=RouteIndexBenchmark
+ * 할당량까지 보려면 jmh { profilers = ['gc'] } 추가
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RouteIndexBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int routeCount;
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private Map<String, RouteConfig> antRoutes;
+    private RouteIndex routeIndex;
+    private String[] paths;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // 실제 라우트 테이블처럼 서비스별 접두사 + 일부 중첩 접두사로 구성
+        List<RouteConfig> routes = new ArrayList<>();
+        for (int i = 0; i < routeCount; i++) {
+            String pattern = (i % 5 == 0)
+                    ? "/api/svc" + (i / 5) + "/ml/**"
+                    : "/api/group" + (i % 7) + "/svc" + i + "/**";
+            routes.add(new RouteConfig(pattern, "http://localhost:" + (9000 + i % 10), "/rewrite" + i));
+        }
+        antRoutes = new HashMap<>();
+        for (RouteConfig route : routes) {
+            antRoutes.put(route.getPattern(), route);
+        }
+        routeIndex = RouteIndex.compile(routes);
+
+        paths = new String[256];
+        for (int i = 0; i < paths.length; i++) {
+            RouteConfig route = routes.get((i * 31) % routes.size());
+            paths[i] = route.getPrefix() + "/items/" + i + "/detail";
+        }
+    }
+
+    private String nextPath() {
+        next = (next + 1) & (paths.length - 1);
+        return paths[next];
+    }
+
+    @Benchmark
+    public String antPathMatcherScan() {
+        String path = nextPath();
+        for (Map.Entry<String, RouteConfig> entry : antRoutes.entrySet()) {
+            if (pathMatcher.match(entry.getKey(), path)) {
+                RouteConfig route = entry.getValue();
+                // 기존 rewritePath와 같은 substring 기반 재작성
+                String remaining = path.substring(route.getPrefix().length());
+                if (remaining.startsWith("/")) {
+                    remaining = remaining.substring(1);
+                }
+                return route.getRewritePath() + "/" + remaining;
+            }
+        }
+        return null;
+    }
+
+    @Benchmark
+    public String routeIndexMatch() {
+        String path = nextPath();
+        RouteConfig route = routeIndex.match(path);
+        return route != null ? route.rewrite(path) : null;
+    }
+
+    @Benchmark
+    public RouteConfig routeIndexMatchOnly() {
+        return routeIndex.match(nextPath());
+    }
+}
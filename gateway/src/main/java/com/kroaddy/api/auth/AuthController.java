@@ -7,6 +7,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import com.kroaddy.api.jwt.JwtTokenProvider;
+import com.kroaddy.api.jwt.TokenValidation;
+import com.kroaddy.api.jwt.VerifiedTokenCache;
 
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
@@ -21,6 +23,7 @@ import java.util.Map;
 public class AuthController {
 
     private final JwtTokenProvider jwtTokenProvider;
+    private final VerifiedTokenCache verifiedTokenCache;
     private final RedisTemplate<String, Object> redisTemplate;
 
     @Value("${cookie.secure:false}")
@@ -30,8 +33,10 @@ public class AuthController {
     private String cookieSameSite;
 
     @Autowired
-    public AuthController(JwtTokenProvider jwtTokenProvider, RedisTemplate<String, Object> redisTemplate) {
+    public AuthController(JwtTokenProvider jwtTokenProvider, VerifiedTokenCache verifiedTokenCache,
+            RedisTemplate<String, Object> redisTemplate) {
         this.jwtTokenProvider = jwtTokenProvider;
+        this.verifiedTokenCache = verifiedTokenCache;
         this.redisTemplate = redisTemplate;
     }
 
@@ -45,26 +50,25 @@ public class AuthController {
     @GetMapping("/auth/me")
     public ResponseEntity<?> getCurrentUser(HttpServletRequest request) {
         try {
-            // 쿠키에서 토큰 추출
-            String token = extractTokenFromCookie(request);
+            // 쿠키의 토큰을 검증하고 사용자 ID 추출 (같은 토큰은 캐시된 검증 결과 사용)
+            TokenValidation validation = verifiedTokenCache.validate(extractTokenFromCookie(request));
 
-            if (token == null) {
+            if (validation.failure() == TokenValidation.Failure.MISSING) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                         .body(Map.of(
                                 "error", "Unauthorized",
                                 "message", "인증이 필요합니다."));
             }
 
-            // 토큰 검증
-            if (!jwtTokenProvider.validateToken(token)) {
+            if (!validation.isValid()) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                         .body(Map.of(
                                 "error", "Unauthorized",
-                                "message", "유효하지 않은 토큰입니다."));
+                                "message", "유효하지 않은 토큰입니다.",
+                                "reason", validation.failure().name()));
             }
 
-            // 토큰에서 사용자 ID 추출
-            String userId = jwtTokenProvider.getSubjectFromToken(token);
+            String userId = validation.subject();
 
             // 사용자 정보 반환
             // TODO: 실제 사용자 정보를 DB에서 조회하거나 소셜 로그인 정보를 조회하는 로직 추가 필요
@@ -96,29 +100,28 @@ public class AuthController {
     public ResponseEntity<?> refreshToken(HttpServletRequest request,
             HttpServletResponse response) {
         try {
-            // 쿠키에서 Refresh Token 추출
-            String refreshToken = extractRefreshTokenFromCookie(request);
+            // 쿠키의 Refresh Token을 검증하고 사용자 ID 추출 (로그아웃한 Refresh Token은 REVOKED)
+            TokenValidation validation = verifiedTokenCache.validate(extractRefreshTokenFromCookie(request));
 
-            if (refreshToken == null) {
+            if (validation.failure() == TokenValidation.Failure.MISSING) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                         .body(Map.of(
                                 "error", "Unauthorized",
                                 "message", "Refresh Token이 필요합니다."));
             }
 
-            // Refresh Token 검증
-            if (!jwtTokenProvider.validateToken(refreshToken)) {
+            if (!validation.isValid()) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                         .body(Map.of(
                                 "error", "Unauthorized",
-                                "message", "유효하지 않은 Refresh Token입니다."));
+                                "message", "유효하지 않은 Refresh Token입니다.",
+                                "reason", validation.failure().name()));
             }
 
-            // Refresh Token에서 사용자 ID 추출
-            String userId = jwtTokenProvider.getSubjectFromToken(refreshToken);
+            String userId = validation.subject();
 
-            // 새로운 Access Token 발급
-            String newAccessToken = jwtTokenProvider.generateToken(userId);
+            // 새로운 Access Token 발급 (로그인 제공자는 Refresh Token의 것을 유지)
+            String newAccessToken = jwtTokenProvider.generateToken(userId, validation.identity().provider());
 
             // 새로운 Access Token을 쿠키에 설정
             ResponseCookie accessTokenCookie = ResponseCookie.from("Authorization", newAccessToken)
@@ -156,11 +159,14 @@ public class AuthController {
     public ResponseEntity<Map<String, Object>> logout(HttpServletRequest request,
             HttpServletResponse response) {
         try {
+            // 두 토큰을 검증 캐시에서 폐기 (이후 /auth/me, /auth/refresh에서 바로 거절)
+            TokenValidation validation = verifiedTokenCache.revoke(extractTokenFromCookie(request));
+            verifiedTokenCache.revoke(extractRefreshTokenFromCookie(request));
+
             // 토큰에서 사용자 ID 추출하여 Redis 세션 삭제
-            String token = extractTokenFromCookie(request);
-            if (token != null && jwtTokenProvider.validateToken(token)) {
+            if (validation.isValid()) {
                 try {
-                    String userId = jwtTokenProvider.getSubjectFromToken(token);
+                    String userId = validation.subject();
                     String sessionKey = "session:" + userId;
                     redisTemplate.delete(sessionKey);
                     System.out.println("✅ Redis 세션 삭제 완료: " + sessionKey);
@@ -0,0 +1,50 @@
+package com.kroaddy.api.auth;
+
+import com.kroaddy.api.jwt.JwtKeyRing;
+import com.kroaddy.api.jwt.JwtProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * JWT 검증용 공개 키 게시 (RFC 7517 JWK Set)
+ * 다른 서비스는 이 응답을 캐시해 두고 게이트웨이를 거치지 않고 토큰을 직접 검증
+ * 키가 바뀔 때만 내용이 바뀌므로 ETag로 조건부 요청(304)을 받고, max-age 동안은 다시 요청하지 않도록 Cache-Control 지정
+ */
+@RestController
+public class JwksController {
+
+    private static final MediaType JWK_SET = MediaType.parseMediaType("application/jwk-set+json");
+
+    private final JwtKeyRing keyRing;
+    private final JwtProperties jwtProperties;
+
+    @Autowired
+    public JwksController(JwtKeyRing keyRing, JwtProperties jwtProperties) {
+        this.keyRing = keyRing;
+        this.jwtProperties = jwtProperties;
+    }
+
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<byte[]> jwks(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        JwtKeyRing.JwkSet jwks = keyRing.jwks();
+        CacheControl cacheControl = CacheControl.maxAge(jwtProperties.getJwks().getMaxAge()).cachePublic();
+        if (jwks.etag().equals(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(jwks.etag())
+                    .cacheControl(cacheControl)
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(jwks.etag())
+                .cacheControl(cacheControl)
+                .contentType(JWK_SET)
+                .body(jwks.json());
+    }
+}
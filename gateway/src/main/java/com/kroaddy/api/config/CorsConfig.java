@@ -72,7 +72,7 @@ public class CorsConfig implements WebMvcConfigurer {
 
     /**
      * CorsFilter Bean (필터 레벨에서도 CORS 처리)
-     * 필터 순서를 최우선으로 설정하여 다른 필터보다 먼저 실행되도록 함
+     * 입장 제어 필터(HIGHEST_PRECEDENCE) 바로 다음, 나머지 필터보다 먼저 실행되도록 함
      */
     @Bean
     public FilterRegistrationBean<CorsFilter> corsFilterRegistration() {
@@ -82,8 +82,8 @@ public class CorsConfig implements WebMvcConfigurer {
         FilterRegistrationBean<CorsFilter> registration = new FilterRegistrationBean<>(
                 new CorsFilter(source));
 
-        // 필터 순서를 최우선으로 설정 (가장 먼저 실행)
-        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        // 입장 제어(LoadShedConfig) 다음으로 실행
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
 
         return registration;
     }
@@ -0,0 +1,34 @@
+package com.kroaddy.api.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kroaddy.api.loadshed.LoadShedFilter;
+import com.kroaddy.api.loadshed.LoadShedProperties;
+import com.kroaddy.api.loadshed.LoadShedder;
+import com.kroaddy.api.proxy.batch.BatchExecutor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+public class LoadShedConfig {
+
+    /**
+     * 입장 제어 필터 등록
+     * 가장 먼저 실행 (CorsFilter는 HIGHEST_PRECEDENCE + 1): 버릴 요청에는 다른 필터 비용도 쓰지 않음
+     * 배치 하위 요청은 부모 배치 요청의 자리로 처리 (같은 풀에서 자리를 더 기다리지 않도록)
+     */
+    @Bean
+    @ConditionalOnProperty(name = "gateway.load-shed.enabled", havingValue = "true", matchIfMissing = true)
+    public FilterRegistrationBean<LoadShedFilter> loadShedFilterRegistration(LoadShedder loadShedder,
+                                                                            ObjectMapper objectMapper,
+                                                                            LoadShedProperties properties,
+                                                                            BatchExecutor batchExecutor) {
+        long retryAfterSeconds = Math.max(1, (properties.getRetryAfter().toMillis() + 999) / 1000);
+        FilterRegistrationBean<LoadShedFilter> registration = new FilterRegistrationBean<>(
+                new LoadShedFilter(loadShedder, objectMapper, retryAfterSeconds, batchExecutor::isSubRequest));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
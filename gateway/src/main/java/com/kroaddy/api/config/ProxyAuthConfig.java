@@ -0,0 +1,64 @@
+package com.kroaddy.api.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kroaddy.api.jwt.VerifiedTokenCache;
+import com.kroaddy.api.proxy.auth.IdentitySigner;
+import com.kroaddy.api.proxy.auth.ProxyAuthFilter;
+import com.kroaddy.api.proxy.auth.ProxyAuthProperties;
+import com.kroaddy.api.proxy.route.RouteTable;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+
+import java.util.Set;
+
+@Configuration
+public class ProxyAuthConfig {
+
+    // 저장소에 공개된 서명 키 (dev 프로필 밖에서 쓰면 누구나 업스트림 사용자 헤더를 위조할 수 있음)
+    static final Set<String> PUBLISHED_SECRETS = Set.of(
+            "default-identity-secret-change-in-production-32",
+            "dev-identity-secret-not-for-production-0123456789");
+
+    /**
+     * 업스트림 사용자 헤더 서명 (ProxyForwarder가 보내기 직전에 사용)
+     *
+     * @throws IllegalStateException identity-secret이 없거나, dev 프로필이 아닌데 공개된 기본 키를 쓰는 경우 (기동 실패)
+     */
+    @Bean
+    @ConditionalOnProperty(name = "gateway.auth.enabled", havingValue = "true", matchIfMissing = true)
+    public IdentitySigner identitySigner(ProxyAuthProperties properties, Environment environment) {
+        String secret = properties.getIdentitySecret();
+        if (secret == null || secret.isBlank()) {
+            throw new IllegalStateException(
+                    "gateway.auth.identity-secret(GATEWAY_IDENTITY_SECRET)을 설정해야 합니다. (32바이트 이상)");
+        }
+        if (PUBLISHED_SECRETS.contains(secret) && !environment.acceptsProfiles(Profiles.of("dev"))) {
+            throw new IllegalStateException(
+                    "공개된 기본 gateway.auth.identity-secret은 dev 프로필에서만 사용할 수 있습니다. GATEWAY_IDENTITY_SECRET을 설정하세요.");
+        }
+        return new IdentitySigner(secret);
+    }
+
+    /**
+     * 프록시 라우트 인증 필터 등록
+     * 레이트 리밋(HIGHEST_PRECEDENCE + 10) 뒤에 두어 한도를 넘은 요청에는 토큰 검증 비용을 쓰지 않음
+     */
+    @Bean
+    @ConditionalOnProperty(name = "gateway.auth.enabled", havingValue = "true", matchIfMissing = true)
+    public FilterRegistrationBean<ProxyAuthFilter> proxyAuthFilterRegistration(RouteTable routeTable,
+                                                                              VerifiedTokenCache verifiedTokenCache,
+                                                                              ProxyAuthProperties properties,
+                                                                              ObjectMapper objectMapper,
+                                                                              MeterRegistry meterRegistry) {
+        FilterRegistrationBean<ProxyAuthFilter> registration = new FilterRegistrationBean<>(
+                new ProxyAuthFilter(routeTable, verifiedTokenCache, properties, objectMapper, meterRegistry));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 20);
+        return registration;
+    }
+}
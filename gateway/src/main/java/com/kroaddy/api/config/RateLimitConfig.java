@@ -0,0 +1,32 @@
+package com.kroaddy.api.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kroaddy.api.jwt.JwtTokenProvider;
+import com.kroaddy.api.ratelimit.ClientAddressResolver;
+import com.kroaddy.api.ratelimit.RateLimitFilter;
+import com.kroaddy.api.ratelimit.RateLimiter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+public class RateLimitConfig {
+
+    /**
+     * 레이트 리밋 필터 등록
+     * CorsFilter(HIGHEST_PRECEDENCE + 1) 바로 뒤에 두어 429 응답에도 CORS 헤더가 붙도록 함
+     */
+    @Bean
+    @ConditionalOnProperty(name = "gateway.rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilterRegistration(RateLimiter rateLimiter,
+                                                                              JwtTokenProvider jwtTokenProvider,
+                                                                              ObjectMapper objectMapper,
+                                                                              ClientAddressResolver clientAddressResolver) {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(
+                new RateLimitFilter(rateLimiter, jwtTokenProvider, objectMapper, clientAddressResolver));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
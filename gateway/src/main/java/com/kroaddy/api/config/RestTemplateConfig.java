@@ -1,8 +1,10 @@
 package com.kroaddy.api.config;
 
+import com.kroaddy.api.proxy.upstream.UpstreamClientRegistry;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
@@ -21,5 +23,14 @@ public class RestTemplateConfig {
                 .requestFactory(() -> factory)
                 .build();
     }
-}
 
+    /**
+     * 프록시 전용 요청 팩토리
+     * RestTemplate을 거치지 않고 요청/응답 본문을 스트림으로 직접 다루기 위해 별도 Bean으로 노출
+     * 업스트림별 커넥션 풀(keep-alive, 유휴 정리, 예열)은 UpstreamClientRegistry가 관리
+     */
+    @Bean
+    public ClientHttpRequestFactory proxyRequestFactory(UpstreamClientRegistry upstreamClientRegistry) {
+        return upstreamClientRegistry::createRequest;
+    }
+}
@@ -0,0 +1,66 @@
+package com.kroaddy.api.config;
+
+import com.kroaddy.api.jwt.VerifiedTokenCache;
+import com.kroaddy.api.proxy.auth.IdentitySigner;
+import com.kroaddy.api.proxy.auth.ProxyAuthProperties;
+import com.kroaddy.api.proxy.route.RouteTable;
+import com.kroaddy.api.ratelimit.ClientAddressResolver;
+import com.kroaddy.api.proxy.websocket.WebSocketAuthInterceptor;
+import com.kroaddy.api.proxy.websocket.WebSocketProxyHandler;
+import com.kroaddy.api.proxy.websocket.WebSocketProxyProperties;
+import com.kroaddy.api.proxy.websocket.WebSocketUserLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.server.support.DefaultHandshakeHandler;
+import org.springframework.web.socket.server.support.OriginHandshakeInterceptor;
+import org.springframework.web.socket.server.support.WebSocketHandlerMapping;
+import org.springframework.web.socket.server.support.WebSocketHttpRequestHandler;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Configuration
+@ConditionalOnProperty(name = "gateway.websocket.enabled", havingValue = "true", matchIfMissing = true)
+public class WebSocketProxyConfig {
+
+    /**
+     * WebSocket 프록시 경로 등록
+     * 업그레이드 요청만 매칭하고(일반 GET은 GatewayProxyController로), 컨트롤러 매핑(order 0)보다 먼저 검사
+     * (@EnableWebSocket 레지스트리는 업그레이드 전용 매칭을 설정할 수 없어 매핑을 직접 등록)
+     * 인증 정책과 사용자 헤더 서명은 HTTP 프록시(gateway.auth)와 같음
+     */
+    @Bean
+    public WebSocketHandlerMapping webSocketProxyHandlerMapping(VerifiedTokenCache verifiedTokenCache,
+                                                                RouteTable routeTable,
+                                                                ProxyAuthProperties authProperties,
+                                                                ObjectProvider<IdentitySigner> identitySigner,
+                                                                ClientAddressResolver clientAddressResolver,
+                                                                WebSocketUserLimiter userLimiter,
+                                                                WebSocketProxyProperties properties,
+                                                                MeterRegistry meterRegistry) {
+        WebSocketProxyHandler handler = new WebSocketProxyHandler(new StandardWebSocketClient(), userLimiter,
+                properties, meterRegistry, identitySigner.getIfAvailable());
+        WebSocketHttpRequestHandler requestHandler = new WebSocketHttpRequestHandler(handler,
+                new DefaultHandshakeHandler());
+        OriginHandshakeInterceptor originInterceptor = new OriginHandshakeInterceptor();
+        originInterceptor.setAllowedOriginPatterns(properties.getAllowedOriginPatterns());
+        requestHandler.setHandshakeInterceptors(List.of(originInterceptor,
+                new WebSocketAuthInterceptor(verifiedTokenCache, routeTable, authProperties.getDefaultPolicy(),
+                        clientAddressResolver, userLimiter, meterRegistry)));
+
+        Map<String, Object> urlMap = new LinkedHashMap<>();
+        for (String path : properties.getPaths()) {
+            urlMap.put(path, requestHandler);
+        }
+        WebSocketHandlerMapping mapping = new WebSocketHandlerMapping();
+        mapping.setUrlMap(urlMap);
+        mapping.setWebSocketUpgradeMatch(true);
+        mapping.setOrder(-1);
+        return mapping;
+    }
+}
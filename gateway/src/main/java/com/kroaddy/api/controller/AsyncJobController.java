@@ -0,0 +1,107 @@
+package com.kroaddy.api.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kroaddy.api.proxy.ProxyException;
+import com.kroaddy.api.proxy.job.AsyncJob;
+import com.kroaddy.api.proxy.job.AsyncJobService;
+import com.kroaddy.api.proxy.job.JobStatus;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * 비동기 작업 조회 (작업 접수는 async: true 라우트에 Prefer: respond-async로 요청)
+ * 작업은 만든 사용자만 볼 수 있고, 다른 사용자의 작업이나 보관 기간이 지난 작업은 404
+ */
+@RestController
+@RequestMapping("/api/jobs")
+public class AsyncJobController {
+
+    private final AsyncJobService asyncJobService;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public AsyncJobController(AsyncJobService asyncJobService, ObjectMapper objectMapper) {
+        this.asyncJobService = asyncJobService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * 작업 상태 조회 (폴링)
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<Map<String, Object>> status(@PathVariable String id, HttpServletRequest request) {
+        AsyncJob job = find(id, request);
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        if (!job.status().isDone()) {
+            builder.header(HttpHeaders.RETRY_AFTER, String.valueOf(asyncJobService.getRetryAfterSeconds()));
+        }
+        return builder.body(asyncJobService.view(job));
+    }
+
+    /**
+     * 작업 결과 조회
+     * 끝났으면 업스트림 응답(상태/헤더/본문)을 그대로, 진행 중이면 202 + 상태, 실패했으면 502/504
+     */
+    @GetMapping("/{id}/result")
+    public void result(@PathVariable String id, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        AsyncJob job = find(id, request);
+        if (job.status() == JobStatus.COMPLETED) {
+            job.result().writeTo(response);
+            return;
+        }
+        if (job.status() == JobStatus.FAILED) {
+            HttpStatus status = job.error() != null && job.error().contains("시간 초과")
+                    ? HttpStatus.GATEWAY_TIMEOUT : HttpStatus.BAD_GATEWAY;
+            throw new ProxyException(status, "Job failed", job.error());
+        }
+        response.setStatus(HttpServletResponse.SC_ACCEPTED);
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(asyncJobService.getRetryAfterSeconds()));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), asyncJobService.view(job));
+    }
+
+    /**
+     * 작업 상태 구독 (SSE: 상태가 바뀔 때마다 queued / running / completed / failed 이벤트, 끝나면 연결 종료)
+     */
+    @GetMapping(value = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter events(@PathVariable String id, HttpServletRequest request) {
+        return asyncJobService.subscribe(find(id, request));
+    }
+
+    @ExceptionHandler(ProxyException.class)
+    public ResponseEntity<Map<String, Object>> handleProxyException(ProxyException e, HttpServletRequest request) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(e.getStatus());
+        if (e.getRetryAfter() != null) {
+            builder.header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, e.getRetryAfter().toSeconds())));
+        }
+        return builder
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Map.of(
+                        "error", e.getError(),
+                        "message", String.valueOf(e.getMessage()),
+                        "path", request.getRequestURI()));
+    }
+
+    private AsyncJob find(String id, HttpServletRequest request) {
+        AsyncJob job = asyncJobService.find(id, request);
+        if (job == null) {
+            throw new ProxyException(HttpStatus.NOT_FOUND, "Job not found", "작업이 없거나 보관 기간이 지났습니다.");
+        }
+        return job;
+    }
+}
@@ -0,0 +1,53 @@
+package com.kroaddy.api.controller;
+
+import com.kroaddy.api.proxy.ProxyException;
+import com.kroaddy.api.proxy.batch.BatchExecutor;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * 배치 요청 (여러 API 호출을 한 번의 왕복으로)
+ * 하위 요청은 병렬로 실행하고, 끝나는 순서대로 항목별 상태/본문을 스트리밍
+ * 하위 요청이 실패해도 배치 응답은 200이며, 각 항목의 status로 결과를 확인
+ */
+@RestController
+@RequestMapping(BatchExecutor.BATCH_PATH)
+public class BatchController {
+
+    private final BatchExecutor batchExecutor;
+
+    @Autowired
+    public BatchController(BatchExecutor batchExecutor) {
+        this.batchExecutor = batchExecutor;
+    }
+
+    @PostMapping
+    public void batch(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        batchExecutor.execute(request, response);
+    }
+
+    @ExceptionHandler(ProxyException.class)
+    public ResponseEntity<Map<String, Object>> handleProxyException(ProxyException e, HttpServletRequest request) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(e.getStatus());
+        if (e.getRetryAfter() != null) {
+            builder.header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, e.getRetryAfter().toSeconds())));
+        }
+        return builder
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Map.of(
+                        "error", e.getError(),
+                        "message", String.valueOf(e.getMessage()),
+                        "path", request.getRequestURI()));
+    }
+}
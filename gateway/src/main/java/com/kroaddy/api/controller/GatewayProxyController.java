@@ -1,54 +1,72 @@
 package com.kroaddy.api.controller;
 
+import com.kroaddy.api.proxy.CapturedResponse;
+import com.kroaddy.api.proxy.ClientDisconnectedException;
+import com.kroaddy.api.proxy.ProxyException;
+import com.kroaddy.api.proxy.ProxyForwarder;
+import com.kroaddy.api.proxy.cache.InferenceCache;
+import com.kroaddy.api.proxy.cache.ResponseCache;
+import com.kroaddy.api.proxy.coalesce.RequestCoalescer;
+import com.kroaddy.api.proxy.job.AsyncJobService;
+import com.kroaddy.api.proxy.resilience.UpstreamCall;
+import com.kroaddy.api.proxy.resilience.UpstreamInvoker;
+import com.kroaddy.api.proxy.route.RouteConfig;
+import com.kroaddy.api.proxy.route.RouteTable;
+import com.kroaddy.api.proxy.stream.StreamRelay;
+import com.kroaddy.api.proxy.upstream.Deadline;
+import com.kroaddy.api.proxy.upstream.DeadlineProperties;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
-import org.springframework.util.AntPathMatcher;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.client.RestTemplate;
 
 import jakarta.servlet.http.HttpServletRequest;
-import java.util.HashMap;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.net.URI;
 import java.util.Map;
+import java.util.function.Consumer;
 
 @RestController
 public class GatewayProxyController {
 
-    private final RestTemplate restTemplate;
-    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final ProxyForwarder proxyForwarder;
+    // 라우트는 gateway.routing 설정에서 로드 (변경 시 스냅샷 단위로 교체)
+    private final RouteTable routeTable;
+    // 업스트림별 벌크헤드 / 서킷 브레이커 허가 후 호출 (라우트의 retry / hedge로 재시도/헤지)
+    private final UpstreamInvoker upstreamInvoker;
+    // 동일 GET 요청 병합 (라우트의 coalesce로 지정)
+    private final RequestCoalescer requestCoalescer;
+    // GET 응답 캐시 (라우트의 cache-ttl로 지정)
+    private final ResponseCache responseCache;
+    // 추론 POST 결과 캐시 (라우트의 inference-cache-ttl로 지정)
+    private final InferenceCache inferenceCache;
+    // SSE / chunked 응답은 비동기로 청크마다 flush하며 전달
+    private final StreamRelay streamRelay;
+    // Prefer: respond-async 요청은 작업으로 접수 후 202 (라우트의 async로 지정)
+    private final AsyncJobService asyncJobService;
+    // 요청 기한 (라우트의 deadline 또는 기본값, 클라이언트의 X-Request-Timeout-Ms 중 짧은 쪽)
+    private final DeadlineProperties deadlineProperties;
 
-    // 라우팅 설정
-    private static final Map<String, RouteConfig> ROUTES = new HashMap<>();
-
-    static {
-        // OAuth 및 Auth는 이제 Gateway에 직접 구현됨 (모놀리식 구조)
-        // /api/auth/** - Gateway의 AuthController, KakaoController, NaverController, GoogleController에서 처리
-        // /api/log/** - Gateway의 LogController에서 처리
-        
-        // User-service 라우팅 (향후 통합 예정)
-        ROUTES.put("/api/users/**", new RouteConfig("http://localhost:8082", "/api/users"));
-        
-        // AI Services 라우팅
-        ROUTES.put("/api/ai/crawler/**", new RouteConfig("http://localhost:9001", "/api/ai/crawler"));
-        ROUTES.put("/api/ai/rag/**", new RouteConfig("http://localhost:9004", "/api/ai/rag"));
-        ROUTES.put("/api/ai/chatbot/**", new RouteConfig("http://localhost:9003", "/api/ai/chatbot"));
-        ROUTES.put("/api/ai/auth/**", new RouteConfig("http://localhost:9002", "/api/ai/auth"));
-        
-        // ML Service 라우팅 (경로 재작성 포함)
-        ROUTES.put("/api/ai/ml/**", new RouteConfig("http://localhost:9006", "/api/ai/ml", "/titanic"));
-        ROUTES.put("/api/ai/titanic/**", new RouteConfig("http://localhost:9006", "/api/ai/titanic", "/titanic"));
-        ROUTES.put("/api/ai/seoul/**", new RouteConfig("http://localhost:9006", "/api/ai/seoul", "/seoul"));
-        ROUTES.put("/api/ml/usa/**", new RouteConfig("http://localhost:9006", "/api/ml/usa", "/usa"));
-        ROUTES.put("/api/ml/nlp/**", new RouteConfig("http://localhost:9006", "/api/ml/nlp", "/nlp"));
-        
-        // Transformer Service 라우팅
-        ROUTES.put("/api/ai/transformer/**", new RouteConfig("http://localhost:9007", "/api/ai/transformer", "/koelectra"));
-        ROUTES.put("/transformer-docs/**", new RouteConfig("http://localhost:9007", "/transformer-docs", "/docs"));
-        ROUTES.put("/transformer-openapi/**", new RouteConfig("http://localhost:9007", "/transformer-openapi", "/openapi.json"));
-    }
+    // 라우트에 별도 지정이 없을 때 적용할 요청 본문 한도 (바이트, -1이면 제한 없음)
+    @Value("${gateway.proxy.max-body-size:-1}")
+    private long defaultMaxBodySize;
 
     @Autowired
-    public GatewayProxyController(RestTemplate restTemplate) {
-        this.restTemplate = restTemplate;
+    public GatewayProxyController(ProxyForwarder proxyForwarder, RouteTable routeTable,
+                                  UpstreamInvoker upstreamInvoker, RequestCoalescer requestCoalescer,
+                                  ResponseCache responseCache, InferenceCache inferenceCache,
+                                  StreamRelay streamRelay, AsyncJobService asyncJobService,
+                                  DeadlineProperties deadlineProperties) {
+        this.proxyForwarder = proxyForwarder;
+        this.routeTable = routeTable;
+        this.upstreamInvoker = upstreamInvoker;
+        this.requestCoalescer = requestCoalescer;
+        this.responseCache = responseCache;
+        this.inferenceCache = inferenceCache;
+        this.streamRelay = streamRelay;
+        this.asyncJobService = asyncJobService;
+        this.deadlineProperties = deadlineProperties;
     }
 
     // Gateway에서 직접 처리하지 않는 경로만 프록시
@@ -60,131 +78,181 @@ public class GatewayProxyController {
         "/transformer-docs/**",
         "/transformer-openapi/**"
     }, method = {RequestMethod.GET, RequestMethod.POST, RequestMethod.PUT, RequestMethod.DELETE, RequestMethod.PATCH})
-    public ResponseEntity<?> proxyRequest(
-            HttpServletRequest request,
-            @RequestBody(required = false) String body,
-            @RequestHeader HttpHeaders headers) {
+    public void proxyRequest(HttpServletRequest request, HttpServletResponse response) {
         
         String requestPath = request.getRequestURI();
         String queryString = request.getQueryString();
         
-        // 라우팅 매칭
-        RouteConfig routeConfig = findRoute(requestPath);
+        // 라우팅 매칭 (요청마다 스냅샷 하나를 잡고 사용)
+        RouteConfig routeConfig = routeTable.current().match(requestPath);
         if (routeConfig == null) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                    .body(Map.of("error", "Route not found", "path", requestPath));
+            throw new ProxyException(HttpStatus.NOT_FOUND, "Route not found", "일치하는 라우트가 없습니다.");
         }
         
-        // 타겟 URL 생성
-        String targetPath = rewritePath(requestPath, routeConfig);
-        String targetUrl = routeConfig.getBaseUrl() + targetPath;
-        if (queryString != null) {
-            targetUrl += "?" + queryString;
-        }
-        
-        // 요청 헤더 복사 (호스트 제외)
-        HttpHeaders requestHeaders = new HttpHeaders();
-        headers.forEach((key, values) -> {
-            if (!key.equalsIgnoreCase("host") && !key.equalsIgnoreCase("content-length")) {
-                requestHeaders.put(key, values);
-            }
-        });
-        
-        // 요청 본문 설정
-        HttpEntity<String> requestEntity = new HttpEntity<>(body, requestHeaders);
-        
+        String upstreamPath = routeConfig.rewrite(requestPath);
+        String pathAndQuery = queryString != null ? upstreamPath + "?" + queryString : upstreamPath;
+        long maxBodySize = routeConfig.getMaxBodySize() != null ? routeConfig.getMaxBodySize() : defaultMaxBodySize;
+        boolean get = HttpMethod.GET.matches(request.getMethod());
+        boolean cached = responseCache.isEnabled(routeConfig);
+        // 병합/캐시 대기 시간도 기한에 포함되도록 요청을 받은 시점부터 계산
+        Deadline deadline = deadlineProperties.start(routeConfig.getDeadline(), request.getHeader(Deadline.HEADER));
+
         try {
-            // HTTP 메서드에 따라 요청 전달
-            HttpMethod method = HttpMethod.valueOf(request.getMethod());
-            ResponseEntity<String> response = restTemplate.exchange(
-                    targetUrl,
-                    method,
-                    requestEntity,
-                    String.class
-            );
-            
-            // 응답 헤더 복사
-            HttpHeaders responseHeaders = new HttpHeaders();
-            response.getHeaders().forEach((key, values) -> {
-                if (!key.equalsIgnoreCase("content-length")) {
-                    responseHeaders.put(key, values);
-                }
-            });
-            
-            return ResponseEntity.status(response.getStatusCode())
-                    .headers(responseHeaders)
-                    .body(response.getBody());
-                    
-        } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(Map.of("error", "Gateway error", "message", e.getMessage()));
-        }
-    }
-    
-    private RouteConfig findRoute(String path) {
-        for (Map.Entry<String, RouteConfig> entry : ROUTES.entrySet()) {
-            if (pathMatcher.match(entry.getKey(), path)) {
-                return entry.getValue();
+            if (asyncJobService.isEnabled(routeConfig) && AsyncJobService.isRequested(request)) {
+                // 업스트림 호출은 백그라운드에서 실행하고, 결과는 /api/jobs/{id}로 조회
+                asyncJobService.submit(routeConfig, pathAndQuery, request, response, maxBodySize);
+                return;
             }
-        }
-        return null;
-    }
-    
-    private String rewritePath(String originalPath, RouteConfig routeConfig) {
-        if (routeConfig.getRewritePath() != null) {
-            // 경로 재작성: /api/ai/ml/samsung -> /titanic/samsung
-            String originalPattern = routeConfig.getOriginalPath();
-            if (originalPattern.endsWith("/**")) {
-                String basePath = originalPattern.substring(0, originalPattern.length() - 3);
-                if (originalPath.startsWith(basePath)) {
-                    String remainingPath = originalPath.substring(basePath.length());
-                    // 앞의 슬래시 제거
-                    if (remainingPath.startsWith("/")) {
-                        remainingPath = remainingPath.substring(1);
+            if (get && cached) {
+                // 캐시 라우트의 GET은 캐시에서 제공하고, 미스일 때만 업스트림 호출 (병합 대상이면 병합 후 호출)
+                responseCache.execute(routeConfig, upstreamPath, request, response, new ResponseCache.Origin() {
+                    @Override
+                    public void passThrough() throws IOException {
+                        proxy(routeConfig, request, response, upstreamPath, pathAndQuery, maxBodySize, deadline, null);
                     }
-                    // 뒤의 슬래시 제거
-                    if (remainingPath.endsWith("/")) {
-                        remainingPath = remainingPath.substring(0, remainingPath.length() - 1);
+
+                    @Override
+                    public void fetch(Consumer<CapturedResponse> onCaptured) throws IOException {
+                        proxy(routeConfig, request, response, upstreamPath, pathAndQuery, maxBodySize, deadline,
+                                onCaptured);
                     }
-                    if (remainingPath.isEmpty()) {
-                        return routeConfig.getRewritePath();
+
+                    @Override
+                    public CapturedResponse revalidate(HttpHeaders headers) throws IOException {
+                        try (UpstreamCall call = upstreamInvoker.open(routeConfig, HttpMethod.GET.name(), true,
+                                deadline, (baseUrl, listener) -> proxyForwarder.open(URI.create(baseUrl + pathAndQuery),
+                                        headers, listener))) {
+                            return call.getResponse().capture(responseCache.getMaxEntrySize());
+                        }
                     }
-                    return routeConfig.getRewritePath() + "/" + remainingPath;
-                }
+                });
+                return;
+            }
+            if (HttpMethod.POST.matches(request.getMethod()) && inferenceCache.isEnabled(routeConfig)) {
+                // 결정적인 추론 라우트의 POST는 정규화한 본문 해시로 결과를 찾고, 미스일 때만 업스트림 호출
+                inferenceCache.execute(routeConfig, upstreamPath, request, response, (body, onCaptured) ->
+                        proxy(routeConfig, body, response, upstreamPath, pathAndQuery, maxBodySize, deadline,
+                                onCaptured));
+                return;
             }
-            return routeConfig.getRewritePath();
+            proxy(routeConfig, request, response, upstreamPath, pathAndQuery, maxBodySize, deadline, null);
+        } catch (IOException e) {
+            // 캐시 재검증 실패(타임아웃이면 504) 또는 담아 둔 응답을 클라이언트에 쓰는 도중 실패
+            throw ProxyException.upstreamFailure(e);
+        }
+
+        // 캐시 라우트에 변경 요청이 성공하면 같은 경로의 캐시 항목 무효화 (모든 노드)
+        if (!get && cached && response.getStatus() < 400) {
+            responseCache.invalidatePath(routeConfig, upstreamPath);
         }
-        
-        // 경로 재작성 없이 원본 경로 사용
-        return originalPath;
     }
-    
-    private static class RouteConfig {
-        private final String baseUrl;
-        private final String originalPath;
-        private final String rewritePath;
-        
-        public RouteConfig(String baseUrl, String originalPath) {
-            this(baseUrl, originalPath, null);
+
+    /**
+     * 업스트림 호출 후 클라이언트에 기록
+     * 병합 대상 라우트의 GET은 같은 요청이 진행 중이면 업스트림을 다시 호출하지 않고 그 응답을 공유
+     *
+     * @param onCaptured null이 아니면 캐시 미스: 조건부 헤더를 빼고 호출해 담은 응답을 기록 전에 전달
+     */
+    private void proxy(RouteConfig routeConfig, HttpServletRequest request, HttpServletResponse response,
+                       String upstreamPath, String pathAndQuery, long maxBodySize, Deadline deadline,
+                       Consumer<CapturedResponse> onCaptured) throws IOException {
+        int maxCaptureBytes = onCaptured != null ? responseCache.getMaxEntrySize() : requestCoalescer.getMaxResponseSize();
+        Consumer<HttpHeaders> upstreamHeaders = onCaptured != null ? ResponseCache::removeConditionalHeaders : null;
+
+        if (routeConfig.isCoalesce() && requestCoalescer.isEnabled() && HttpMethod.GET.matches(request.getMethod())) {
+            String key = requestCoalescer.key(routeConfig.getId(), upstreamPath, request);
+            requestCoalescer.execute(routeConfig.getId(), key, request, response, capture -> {
+                CapturedResponse captured = forward(routeConfig, request, response, pathAndQuery, maxBodySize,
+                        deadline, capture ? maxCaptureBytes : 0, capture ? upstreamHeaders : null);
+                if (captured != null && onCaptured != null) {
+                    onCaptured.accept(captured);
+                }
+                return captured;
+            });
+            return;
         }
-        
-        public RouteConfig(String baseUrl, String originalPath, String rewritePath) {
-            this.baseUrl = baseUrl;
-            this.originalPath = originalPath;
-            this.rewritePath = rewritePath;
+        if (onCaptured == null) {
+            forward(routeConfig, request, response, pathAndQuery, maxBodySize, deadline, 0, null);
+            return;
         }
-        
-        public String getBaseUrl() {
-            return baseUrl;
+        CapturedResponse captured = forward(routeConfig, request, response, pathAndQuery, maxBodySize,
+                deadline, maxCaptureBytes, upstreamHeaders);
+        if (captured != null) {
+            onCaptured.accept(captured);
+            if (HttpMethod.GET.matches(request.getMethod())) {
+                captured.writeTo(request, response);
+            } else {
+                captured.writeTo(response);
+            }
         }
-        
-        public String getOriginalPath() {
-            return originalPath;
+    }
+
+    /**
+     * 클라이언트 요청을 업스트림으로 전달
+     *
+     * @param deadline        요청 기한 (null이면 라우트 타임아웃만 적용, 지나면 504)
+     * @param maxCaptureBytes 0보다 크면 공유할 수 있는 응답을 담아서 반환 (클라이언트 기록은 호출 측이 수행)
+     * @param upstreamHeaders 응답을 담을 때 업스트림 요청 헤더 조정 (null이면 그대로)
+     * @return 담아 둔 응답, 담지 않았거나 공유할 수 없어 이미 스트리밍했으면 null
+     * (스트리밍 응답은 비동기로 전달이 계속되며 업스트림 호출도 스트림이 끝날 때 정리)
+     */
+    private CapturedResponse forward(RouteConfig routeConfig, HttpServletRequest request, HttpServletResponse response,
+                                     String pathAndQuery, long maxBodySize, Deadline deadline,
+                                     int maxCaptureBytes, Consumer<HttpHeaders> upstreamHeaders) {
+        // 본문은 메모리에 모으지 않고 스트리밍으로 전달 (요청/응답 모두)
+        UpstreamCall call = null;
+        try {
+            call = upstreamInvoker.open(routeConfig, request, deadline, (baseUrl, listener) ->
+                    proxyForwarder.open(request, URI.create(baseUrl + pathAndQuery), maxBodySize,
+                            upstreamHeaders != null ? upstreamHeaders : headers -> {
+                            }, listener));
+            if (streamRelay.isStream(call.getResponse(), maxCaptureBytes > 0)) {
+                UpstreamCall stream = call;
+                call = null; // 스트림이 끝나면 StreamRelay가 close
+                streamRelay.relay(routeConfig, stream, request, response);
+                return null;
+            }
+            if (maxCaptureBytes > 0) {
+                return call.getResponse().relayOrCapture(response, maxCaptureBytes);
+            }
+            call.getResponse().relay(response);
+            return null;
+        } catch (ProxyException e) {
+            throw e;
+        } catch (ClientDisconnectedException e) {
+            // 클라이언트가 떠나 전달을 중단함 (업스트림 연결은 이미 끊음, 보낼 곳이 없으므로 오류 응답 없음)
+            return null;
+        } catch (IOException e) {
+            // 연결 거부(502) / 연결·응답 대기 타임아웃, 기한 초과(504) 등 업스트림 호출 실패 (재시도까지 실패)
+            throw ProxyException.upstreamFailure(e);
+        } catch (Exception e) {
+            if (ProxyException.isTimeout(e)) {
+                throw new ProxyException(HttpStatus.GATEWAY_TIMEOUT, "Gateway timeout", e.getMessage(), e);
+            }
+            throw new ProxyException(HttpStatus.INTERNAL_SERVER_ERROR, "Gateway error", e.getMessage(), e);
+        } finally {
+            if (call != null) {
+                call.close();
+            }
         }
-        
-        public String getRewritePath() {
-            return rewritePath;
+    }
+
+    /**
+     * 프록시 오류를 JSON 응답으로 변환
+     * 응답 본문 스트리밍이 이미 시작된 뒤의 오류는 상태 코드를 바꿀 수 없으므로 연결 종료로만 드러남
+     */
+    @ExceptionHandler(ProxyException.class)
+    public ResponseEntity<Map<String, Object>> handleProxyException(ProxyException e, HttpServletRequest request) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(e.getStatus());
+        if (e.getRetryAfter() != null) {
+            // 초 단위 올림 (최소 1초)
+            long seconds = Math.max(1, (e.getRetryAfter().toMillis() + 999) / 1000);
+            builder.header(HttpHeaders.RETRY_AFTER, String.valueOf(seconds));
         }
+        return builder
+                .body(Map.of(
+                        "error", e.getError(),
+                        "message", String.valueOf(e.getMessage()),
+                        "path", request.getRequestURI()));
     }
 }
-
@@ -141,8 +141,8 @@ public class GoogleController {
             String googleId = userInfo.getId();
 
             // 4. JWT 및 Refresh Token 발급 (구글 ID를 subject로 사용)
-            String jwt = jwtTokenProvider.generateToken(googleId);
-            String refreshToken = jwtTokenProvider.generateRefreshToken(googleId);
+            String jwt = jwtTokenProvider.generateToken(googleId, "google");
+            String refreshToken = jwtTokenProvider.generateRefreshToken(googleId, "google");
 
             // 4-1. 백엔드 콘솔에 토큰 출력
             String timestamp = LocalDateTime.now()
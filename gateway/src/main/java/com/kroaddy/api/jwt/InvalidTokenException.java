@@ -0,0 +1,11 @@
+package com.kroaddy.api.jwt;
+
+/**
+ * 토큰 형식/서명/만료 검증 실패
+ */
+public class InvalidTokenException extends RuntimeException {
+
+    public InvalidTokenException(String message) {
+        super(message);
+    }
+}
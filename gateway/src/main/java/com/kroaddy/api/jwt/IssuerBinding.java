@@ -0,0 +1,24 @@
+package com.kroaddy.api.jwt;
+
+/**
+ * 토큰이 가져야 하는 발급자/대상 클레임 (검증 키마다 하나)
+ * 원격 JWKS의 키는 그 JWKS를 게시한 발급자의 토큰만 검증하도록 묶음 (다른 서비스용으로 발급된 토큰을 받아들이지 않도록)
+ *
+ * @param issuer   iss가 이 값과 같아야 함, null이면 확인하지 않음
+ * @param audience aud(문자열 또는 배열)에 이 값이 있어야 함, null이면 확인하지 않음
+ */
+public record IssuerBinding(String issuer, String audience) {
+
+    /**
+     * 확인하지 않음
+     */
+    public static final IssuerBinding NONE = new IssuerBinding(null, null);
+
+    /**
+     * 빈 문자열은 null로 (설정 값용)
+     */
+    public static IssuerBinding of(String issuer, String audience) {
+        return new IssuerBinding(issuer != null && !issuer.isBlank() ? issuer.trim() : null,
+                audience != null && !audience.isBlank() ? audience.trim() : null);
+    }
+}
@@ -0,0 +1,227 @@
+package com.kroaddy.api.jwt;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 원격 JWKS 캐시 (검증 측)
+ * 발급자의 /.well-known/jwks.json을 받아 kid별 공개 키를 메모리에 두고, 검증은 네트워크 없이 이 맵 조회만 함
+ * 백그라운드에서 응답의 max-age(또는 refresh-interval) 주기로 ETag 조건부 요청을 보내 갱신하고,
+ * 실패하면 마지막으로 받은 키를 그대로 사용
+ * 모르는 kid(교체 직후의 새 키)가 오면 즉시 한 번 갱신하되, min-refresh-interval 안에는 다시 요청하지 않음
+ * (임의의 kid를 보내 발급자에게 요청을 퍼붓지 못하도록, 동시에 온 요청은 한 번의 갱신을 함께 기다림)
+ * 받은 키는 이 JWKS의 발급자에 묶이므로 iss/aud가 binding과 다른 토큰은 서명이 맞아도 거절
+ */
+@Slf4j
+public class JwksCache {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final Pattern MAX_AGE = Pattern.compile("max-age=(\\d+)");
+
+    private final URI uri;
+    private final IssuerBinding binding;
+    private final JwtProperties.Jwks config;
+    private final HttpClient httpClient;
+    private final Counter updated;
+    private final Counter notModified;
+    private final Counter failed;
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    private volatile Map<String, SigningKey> keys = Map.of();
+    private volatile String etag;
+    // 마지막 요청 시각 (System.nanoTime, 0이면 아직 요청하지 않음)
+    private volatile long lastAttemptNanos;
+    // 마지막 요청 실패 여부 (백그라운드 재시도 간격 결정용)
+    private volatile boolean failedLast;
+    private ScheduledExecutorService refresher;
+
+    /**
+     * @param binding 이 JWKS의 키로 검증한 토큰이 가져야 하는 iss/aud
+     */
+    public JwksCache(URI uri, IssuerBinding binding, JwtProperties.Jwks config, MeterRegistry meterRegistry) {
+        this.uri = uri;
+        this.binding = binding;
+        this.config = config;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(config.getTimeout())
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+        this.updated = counter(meterRegistry, "updated");
+        this.notModified = counter(meterRegistry, "not_modified");
+        this.failed = counter(meterRegistry, "failed");
+    }
+
+    /**
+     * 백그라운드 갱신 시작 (첫 요청도 백그라운드에서 하므로 발급자가 내려가 있어도 기동은 막지 않음)
+     */
+    public void start() {
+        refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "JwksRefresher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        refresher.schedule(this::refreshInBackground, 0, TimeUnit.MILLISECONDS);
+        log.info("원격 JWKS 캐시 시작: uri={}, issuer={}, audience={}, refreshInterval={}", uri, binding.issuer(),
+                binding.audience(), config.getRefreshInterval());
+    }
+
+    public void stop() {
+        if (refresher != null) {
+            refresher.shutdownNow();
+        }
+    }
+
+    /**
+     * @param kid JWS 헤더의 kid
+     * @return 공개 키, 갱신해도 없으면 null
+     */
+    public SigningKey find(String kid) {
+        SigningKey key = keys.get(kid);
+        if (key != null) {
+            return key;
+        }
+        refresh(false);
+        return keys.get(kid);
+    }
+
+    /**
+     * @return 현재 캐시된 kid 목록
+     */
+    public List<String> kids() {
+        return List.copyOf(keys.keySet());
+    }
+
+    /**
+     * JWKS 다시 받기
+     *
+     * @param force false면 마지막 요청 후 min-refresh-interval이 지나지 않았을 때 요청하지 않음
+     * @return 응답의 max-age (초), 없거나 실패하면 -1
+     */
+    long refresh(boolean force) {
+        refreshLock.lock();
+        try {
+            long now = System.nanoTime();
+            if (!force && lastAttemptNanos != 0
+                    && now - lastAttemptNanos < config.getMinRefreshInterval().toNanos()) {
+                return -1;
+            }
+            lastAttemptNanos = now;
+            return fetch();
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private void refreshInBackground() {
+        long maxAge = refresh(true);
+        // 마지막 요청이 실패했으면 짧은 간격으로 재시도, 성공했으면 max-age와 refresh-interval 중 짧은 쪽
+        long delayMillis;
+        if (maxAge < 0 && failedLast) {
+            delayMillis = config.getMinRefreshInterval().toMillis();
+        } else {
+            delayMillis = config.getRefreshInterval().toMillis();
+            if (maxAge >= 0) {
+                delayMillis = Math.min(delayMillis, Duration.ofSeconds(maxAge).toMillis());
+            }
+            delayMillis = Math.max(delayMillis, config.getMinRefreshInterval().toMillis());
+        }
+        try {
+            refresher.schedule(this::refreshInBackground, delayMillis, TimeUnit.MILLISECONDS);
+        } catch (RuntimeException e) {
+            // 종료 중
+        }
+    }
+
+    private long fetch() {
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri)
+                .timeout(config.getTimeout())
+                .header("Accept", "application/jwk-set+json, application/json")
+                .GET();
+        String currentEtag = etag;
+        if (currentEtag != null) {
+            request.header("If-None-Match", currentEtag);
+        }
+        try {
+            HttpResponse<byte[]> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() == 304) {
+                notModified.increment();
+                failedLast = false;
+                return maxAge(response);
+            }
+            if (response.statusCode() != 200) {
+                throw new IOException("HTTP " + response.statusCode());
+            }
+            Map<String, SigningKey> parsed = parse(response.body());
+            keys = parsed;
+            etag = response.headers().firstValue("ETag").orElse(null);
+            updated.increment();
+            failedLast = false;
+            log.debug("원격 JWKS 갱신: uri={}, kids={}", uri, parsed.keySet());
+            return maxAge(response);
+        } catch (IOException | RuntimeException e) {
+            failed.increment();
+            failedLast = true;
+            log.warn("원격 JWKS 갱신 실패, 기존 키 유지: uri={}, keys={}, error={}", uri, keys.size(),
+                    e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+            return -1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failedLast = true;
+            return -1;
+        }
+    }
+
+    /**
+     * JWK Set 파싱 (지원하지 않거나 잘못된 키는 건너뜀)
+     */
+    private Map<String, SigningKey> parse(byte[] body) throws IOException {
+        Map<String, List<Map<String, Object>>> jwkSet = MAPPER.readValue(body, new TypeReference<>() {
+        });
+        List<Map<String, Object>> entries = jwkSet.get("keys");
+        if (entries == null) {
+            throw new IOException("keys 배열이 없습니다.");
+        }
+        Map<String, SigningKey> parsed = new HashMap<>();
+        for (Map<String, Object> jwk : entries) {
+            try {
+                SigningKey key = SigningKey.fromJwk(jwk).boundTo(binding);
+                parsed.put(key.kid(), key);
+            } catch (IllegalArgumentException e) {
+                log.debug("JWK 건너뜀: uri={}, kid={}, error={}", uri, jwk.get("kid"), e.getMessage());
+            }
+        }
+        return Map.copyOf(parsed);
+    }
+
+    private static long maxAge(HttpResponse<?> response) {
+        Matcher matcher = MAX_AGE.matcher(response.headers().firstValue("Cache-Control").orElse(""));
+        return matcher.find() ? Long.parseLong(matcher.group(1)) : -1;
+    }
+
+    private Counter counter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("gateway.auth.jwks.refresh")
+                .description("원격 JWKS 갱신 결과 (result: updated / not_modified / failed)")
+                .tag("uri", uri.toString())
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,60 @@
+package com.kroaddy.api.jwt;
+
+/**
+ * 비대칭 JWS 서명 알고리즘 (HS256은 JwtEngine이 공유 시크릿으로 직접 처리)
+ * 두 알고리즘 모두 JDK 기본 제공자(SunEC)만 사용하고, 서명은 JWS 형식 그대로 64바이트
+ * (ES256은 DER이 아닌 R||S 형식이 필요하므로 P1363 형식 서명 사용)
+ */
+public enum JwsAlgorithm {
+    ES256("ES256", "SHA256withECDSAinP1363Format", "EC"),
+    EDDSA("EdDSA", "Ed25519", "Ed25519");
+
+    /**
+     * JWS 서명 길이 (ES256 R||S, Ed25519 모두 64바이트)
+     */
+    public static final int SIGNATURE_LENGTH = 64;
+
+    private final String jwsName;
+    private final String signatureAlgorithm;
+    private final String keyAlgorithm;
+
+    JwsAlgorithm(String jwsName, String signatureAlgorithm, String keyAlgorithm) {
+        this.jwsName = jwsName;
+        this.signatureAlgorithm = signatureAlgorithm;
+        this.keyAlgorithm = keyAlgorithm;
+    }
+
+    /**
+     * @return JWS 헤더/JWK의 alg 값
+     */
+    public String jwsName() {
+        return jwsName;
+    }
+
+    /**
+     * @return java.security.Signature 알고리즘 이름
+     */
+    String signatureAlgorithm() {
+        return signatureAlgorithm;
+    }
+
+    /**
+     * @return java.security.KeyFactory / KeyPairGenerator 알고리즘 이름
+     */
+    String keyAlgorithm() {
+        return keyAlgorithm;
+    }
+
+    /**
+     * @param jwsName JWS 헤더의 alg 값
+     * @return 해당 알고리즘, 비대칭 알고리즘이 아니면 null
+     */
+    public static JwsAlgorithm fromJwsName(String jwsName) {
+        for (JwsAlgorithm algorithm : values()) {
+            if (algorithm.jwsName.equals(jwsName)) {
+                return algorithm;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,501 @@
+package com.kroaddy.api.jwt;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.kroaddy.api.jwt.TokenValidation.Failure;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * JWT 서명/검증 (HS256, ES256 / EdDSA)
+ * 키는 생성 시 한 번만 만들고, Mac과 작업용 버퍼는 풀에서 빌려 재사용 (요청마다 키/파서/Mac을 새로 만들지 않음)
+ * 요청마다 새 가상 스레드가 생기므로 ThreadLocal 대신 동시 사용 수만큼만 만들어지는 풀 사용
+ * 검증은 한 번의 패스로 서명 확인 → 헤더 확인 → 클레임(sub, iat, exp, nbf) 파싱까지 수행하고,
+ * 예상 가능한 실패(형식 오류, 서명 불일치, 만료 등)는 예외 대신 TokenValidation의 실패 사유로 반환
+ * 발급하는 토큰은 jjwt(Jwts.builder().signWith(key))가 만들던 것과 같은 형식 ({"alg":"HS256"} 헤더, 초 단위 iat/exp)
+ * SigningKeys에 활성 키가 있으면 ES256/EdDSA로 서명하고 헤더에 kid를 넣음 (공개 키만 있으면 다른 서비스도 검증 가능)
+ * ES256/EdDSA 토큰은 kid로 찾은 키로 검증하고, 헤더의 alg와 키의 알고리즘이 다르면 거절
+ * iss/aud는 검증한 키의 IssuerBinding(원격 JWKS 키), 없으면 이 엔진의 기본값(jwt.issuer / jwt.audience)과 맞아야 함
+ */
+public final class JwtEngine {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int SIGNATURE_LENGTH = 32;
+    // 숫자가 아닌 시간 클레임 표시
+    private static final long INVALID = Long.MIN_VALUE;
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final JsonFactory JSON = new JsonFactory();
+    // 이 엔진이 발급하는 헤더 (같은 값이면 헤더 JSON을 파싱하지 않음)
+    private static final String HEADER = ENCODER.encodeToString("{\"alg\":\"HS256\"}".getBytes(StandardCharsets.UTF_8));
+    private static final int[] BASE64_URL = new int[128];
+
+    static {
+        Arrays.fill(BASE64_URL, -1);
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_";
+        for (int i = 0; i < alphabet.length(); i++) {
+            BASE64_URL[alphabet.charAt(i)] = i;
+        }
+    }
+
+    private final SecretKeySpec key;
+    private final SigningKeys keys;
+    private final boolean acceptHmac;
+    // 이 엔진이 발급하는 토큰의 iss/aud (HS256 토큰과 로컬 키 토큰의 검증에도 사용)
+    private final IssuerBinding binding;
+    // 반납된 작업 공간 (비어 있으면 새로 만들고, 가득 차면 반납분은 버림)
+    private final BlockingQueue<Scratch> pool = new ArrayBlockingQueue<>(
+            Math.max(16, Runtime.getRuntime().availableProcessors() * 4));
+
+    /**
+     * @param keyBytes HMAC-SHA256 키 (32바이트 이상)
+     */
+    public JwtEngine(byte[] keyBytes) {
+        this(keyBytes, SigningKeys.NONE, true);
+    }
+
+    /**
+     * @param keyBytes   HMAC-SHA256 키 (32바이트 이상)
+     * @param keys       비대칭 서명/검증 키 (활성 키가 있으면 그 키로 서명)
+     * @param acceptHmac HS256 토큰도 검증할지 (비대칭 서명으로 바꾼 뒤 기존 토큰이 모두 만료되면 false)
+     */
+    public JwtEngine(byte[] keyBytes, SigningKeys keys, boolean acceptHmac) {
+        this(keyBytes, keys, acceptHmac, IssuerBinding.NONE);
+    }
+
+    /**
+     * @param binding 발급하는 토큰에 넣고, 바인딩이 없는 키로 검증한 토큰에 요구하는 iss/aud
+     */
+    public JwtEngine(byte[] keyBytes, SigningKeys keys, boolean acceptHmac, IssuerBinding binding) {
+        if (keyBytes.length < SIGNATURE_LENGTH) {
+            throw new IllegalArgumentException("HS256 키는 32바이트 이상이어야 합니다.");
+        }
+        this.key = new SecretKeySpec(keyBytes.clone(), ALGORITHM);
+        this.keys = keys;
+        this.acceptHmac = acceptHmac;
+        this.binding = binding;
+    }
+
+    /**
+     * 토큰 발급
+     *
+     * @param subject         사용자 식별자
+     * @param issuedAtMillis  발급 시각 (epoch 밀리초)
+     * @param expiresAtMillis 만료 시각 (epoch 밀리초)
+     * @return header.payload.signature
+     */
+    public String sign(String subject, long issuedAtMillis, long expiresAtMillis) {
+        return sign(subject, null, issuedAtMillis, expiresAtMillis);
+    }
+
+    /**
+     * 토큰 발급 (로그인 제공자 클레임 포함)
+     *
+     * @param provider 로그인 제공자 (kakao / naver / google), null이면 클레임을 넣지 않음
+     */
+    public String sign(String subject, String provider, long issuedAtMillis, long expiresAtMillis) {
+        StringBuilder payload = new StringBuilder(subject.length() + 64)
+                .append("{\"sub\":\"");
+        JsonStringEncoder.getInstance().quoteAsString(subject, payload);
+        if (provider != null) {
+            payload.append("\",\"provider\":\"");
+            JsonStringEncoder.getInstance().quoteAsString(provider, payload);
+        }
+        if (binding.issuer() != null) {
+            payload.append("\",\"iss\":\"");
+            JsonStringEncoder.getInstance().quoteAsString(binding.issuer(), payload);
+        }
+        if (binding.audience() != null) {
+            payload.append("\",\"aud\":\"");
+            JsonStringEncoder.getInstance().quoteAsString(binding.audience(), payload);
+        }
+        payload.append("\",\"iat\":").append(issuedAtMillis / 1000)
+                .append(",\"exp\":").append(expiresAtMillis / 1000)
+                .append('}');
+
+        SigningKey active = keys.active();
+        String signingInput = (active != null ? active.encodedHeader() : HEADER) + '.'
+                + ENCODER.encodeToString(payload.toString().getBytes(StandardCharsets.UTF_8));
+        Scratch s = borrow();
+        try {
+            int length = s.ascii(signingInput, 0, signingInput.length());
+            byte[] signature;
+            if (active != null) {
+                signature = active.sign(s.input, length);
+            } else {
+                s.mac.update(s.input, 0, length);
+                signature = s.mac.doFinal();
+            }
+            return signingInput + '.' + ENCODER.encodeToString(signature);
+        } finally {
+            pool.offer(s);
+        }
+    }
+
+    /**
+     * 서명/만료 검증 후 사용자 정보 반환
+     *
+     * @throws InvalidTokenException 형식 오류, 서명 불일치, 만료, 아직 유효하지 않음(nbf)
+     */
+    public JwtIdentity verify(String token) {
+        return verify(token, System.currentTimeMillis());
+    }
+
+    JwtIdentity verify(String token, long nowMillis) {
+        TokenValidation result = validate(token, nowMillis);
+        if (!result.isValid()) {
+            throw new InvalidTokenException(result.failure().message());
+        }
+        return result.identity();
+    }
+
+    /**
+     * 서명/만료 검증 (유효하지 않은 토큰도 예외 없이 실패 사유로 반환)
+     */
+    public TokenValidation validate(String token) {
+        return validate(token, System.currentTimeMillis());
+    }
+
+    TokenValidation validate(String token, long nowMillis) {
+        if (token == null || token.isEmpty()) {
+            return TokenValidation.failed(Failure.MISSING);
+        }
+        int firstDot = token.indexOf('.');
+        int secondDot = firstDot > 0 ? token.indexOf('.', firstDot + 1) : -1;
+        if (secondDot < 0 || token.indexOf('.', secondDot + 1) >= 0) {
+            return TokenValidation.failed(Failure.MALFORMED);
+        }
+
+        Scratch s = borrow();
+        try {
+            return validate(s, token, firstDot, secondDot, nowMillis);
+        } finally {
+            pool.offer(s);
+        }
+    }
+
+    private TokenValidation validate(Scratch s, String token, int firstDot, int secondDot, long nowMillis) {
+        // 이 엔진이 발급하는 HS256 헤더면 헤더 JSON을 파싱하지 않음
+        boolean standardHeader = firstDot == HEADER.length() && token.regionMatches(0, HEADER, 0, firstDot);
+        Header header = null;
+        if (!standardHeader) {
+            header = parseHeader(s, token, firstDot);
+            JwsAlgorithm algorithm = header != null ? JwsAlgorithm.fromJwsName(header.alg()) : null;
+            if (algorithm != null) {
+                return validateAsymmetric(s, token, firstDot, secondDot, header, algorithm, nowMillis);
+            }
+        }
+        if (!acceptHmac) {
+            return TokenValidation.failed(Failure.UNSUPPORTED);
+        }
+
+        // HS256 서명 확인 (header.payload를 작업 버퍼에 ASCII로 복사해 Mac에 넣음)
+        int signingLength = s.ascii(token, 0, secondDot);
+        if (signingLength < 0) {
+            return TokenValidation.failed(Failure.MALFORMED);
+        }
+        s.mac.update(s.input, 0, signingLength);
+        try {
+            s.mac.doFinal(s.expected, 0);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+        if (decode(token, secondDot + 1, token.length(), s.actual) != SIGNATURE_LENGTH
+                || !MessageDigest.isEqual(s.expected, s.actual)) {
+            return TokenValidation.failed(Failure.BAD_SIGNATURE);
+        }
+
+        // 이 엔진이 발급하지 않은 헤더는 alg가 HS256이어야 함
+        if (!standardHeader) {
+            if (header == null) {
+                return TokenValidation.failed(Failure.MALFORMED);
+            }
+            if (header.critical() || !"HS256".equals(header.alg())) {
+                return TokenValidation.failed(Failure.UNSUPPORTED);
+            }
+        }
+        return claims(s, token, firstDot, secondDot, nowMillis, binding);
+    }
+
+    /**
+     * ES256/EdDSA 토큰 검증 (kid로 찾은 공개 키로 서명 확인)
+     */
+    private TokenValidation validateAsymmetric(Scratch s, String token, int firstDot, int secondDot, Header header,
+                                               JwsAlgorithm algorithm, long nowMillis) {
+        if (header.critical()) {
+            return TokenValidation.failed(Failure.UNSUPPORTED);
+        }
+        SigningKey signingKey = header.kid() != null ? keys.find(header.kid()) : null;
+        if (signingKey == null) {
+            return TokenValidation.failed(Failure.UNKNOWN_KEY);
+        }
+        // 헤더가 주장하는 alg와 키의 알고리즘이 다르면 거절 (alg 바꿔치기 방지)
+        if (signingKey.algorithm() != algorithm) {
+            return TokenValidation.failed(Failure.UNSUPPORTED);
+        }
+        int signingLength = s.ascii(token, 0, secondDot);
+        if (signingLength < 0) {
+            return TokenValidation.failed(Failure.MALFORMED);
+        }
+        if (decode(token, secondDot + 1, token.length(), s.signature) != JwsAlgorithm.SIGNATURE_LENGTH
+                || !signingKey.verify(s.input, signingLength, s.signature)) {
+            return TokenValidation.failed(Failure.BAD_SIGNATURE);
+        }
+        // 원격 JWKS 키는 그 발급자의 토큰만 (다른 발급자의 iss를 단 토큰이나 다른 서비스용 aud는 거절)
+        return claims(s, token, firstDot, secondDot, nowMillis,
+                signingKey.binding() != null ? signingKey.binding() : binding);
+    }
+
+    private static TokenValidation claims(Scratch s, String token, int firstDot, int secondDot, long nowMillis,
+                                          IssuerBinding expected) {
+        int payloadLength = decode(token, firstDot + 1, secondDot, s.grow(secondDot - firstDot));
+        if (payloadLength < 0) {
+            return TokenValidation.failed(Failure.MALFORMED);
+        }
+        return parseClaims(s.decoded, payloadLength, nowMillis, expected);
+    }
+
+    /**
+     * 이 엔진의 HS256 헤더가 아닌 헤더 파싱
+     *
+     * @return alg / kid / crit 여부, 형식 오류면 null
+     */
+    private static Header parseHeader(Scratch s, String token, int firstDot) {
+        int length = decode(token, 0, firstDot, s.grow(firstDot));
+        if (length < 0) {
+            return null;
+        }
+        String alg = null;
+        String kid = null;
+        boolean critical = false;
+        try (JsonParser parser = JSON.createParser(s.decoded, 0, length)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                JsonToken value = parser.nextToken();
+                switch (name) {
+                    case "alg" -> alg = value == JsonToken.VALUE_STRING ? parser.getText() : null;
+                    case "kid" -> kid = value == JsonToken.VALUE_STRING ? parser.getText() : null;
+                    case "crit" -> critical = true;
+                    default -> { }
+                }
+                parser.skipChildren();
+            }
+        } catch (IOException e) {
+            return null;
+        }
+        return new Header(alg, kid, critical);
+    }
+
+    private static TokenValidation parseClaims(byte[] payload, int length, long nowMillis, IssuerBinding expected) {
+        String subject = null;
+        String provider = null;
+        String issuer = null;
+        boolean audienceMatched = false;
+        long issuedAt = -1;
+        long expiresAt = -1;
+        long notBefore = -1;
+        try (JsonParser parser = JSON.createParser(payload, 0, length)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return TokenValidation.failed(Failure.INVALID_CLAIMS);
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                JsonToken value = parser.nextToken();
+                switch (name) {
+                    case "sub" -> subject = text(parser, value);
+                    case "provider" -> provider = text(parser, value);
+                    case "iss" -> issuer = text(parser, value);
+                    case "aud" -> audienceMatched = audience(parser, value, expected.audience());
+                    case "iat" -> issuedAt = seconds(parser, value);
+                    case "exp" -> expiresAt = seconds(parser, value);
+                    case "nbf" -> notBefore = seconds(parser, value);
+                    default -> parser.skipChildren();
+                }
+                if (issuedAt == INVALID || expiresAt == INVALID || notBefore == INVALID) {
+                    return TokenValidation.failed(Failure.INVALID_CLAIMS);
+                }
+            }
+        } catch (IOException e) {
+            return TokenValidation.failed(Failure.INVALID_CLAIMS);
+        }
+        if (subject == null) {
+            return TokenValidation.failed(Failure.INVALID_CLAIMS);
+        }
+        if ((expected.issuer() != null && !expected.issuer().equals(issuer))
+                || (expected.audience() != null && !audienceMatched)) {
+            return TokenValidation.failed(Failure.WRONG_ISSUER);
+        }
+        JwtIdentity identity = new JwtIdentity(subject, provider, issuedAt, expiresAt);
+        if (expiresAt >= 0 && nowMillis >= expiresAt * 1000) {
+            return TokenValidation.failed(Failure.EXPIRED, identity);
+        }
+        if (notBefore >= 0 && nowMillis < notBefore * 1000) {
+            return TokenValidation.failed(Failure.NOT_YET_VALID, identity);
+        }
+        return TokenValidation.valid(identity);
+    }
+
+    /**
+     * @return 문자열 값, 문자열이 아니면 null (객체/배열이면 안쪽 필드를 최상위 클레임으로 읽지 않도록 건너뜀)
+     */
+    private static String text(JsonParser parser, JsonToken value) throws IOException {
+        if (value != JsonToken.VALUE_STRING) {
+            parser.skipChildren();
+            return null;
+        }
+        return parser.getText();
+    }
+
+    /**
+     * aud 확인 (RFC 7519 4.1.3: 문자열 하나 또는 문자열 배열)
+     *
+     * @param expected 있어야 하는 값, null이면 확인하지 않고 건너뜀
+     * @return expected가 있으면 true
+     */
+    private static boolean audience(JsonParser parser, JsonToken value, String expected) throws IOException {
+        if (value == JsonToken.VALUE_STRING) {
+            return expected != null && expected.equals(parser.getText());
+        }
+        if (expected == null || value != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return false;
+        }
+        boolean matched = false;
+        JsonToken element;
+        while ((element = parser.nextToken()) != JsonToken.END_ARRAY && element != null) {
+            if (element == JsonToken.VALUE_STRING) {
+                matched |= expected.equals(parser.getText());
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return matched;
+    }
+
+    /**
+     * @return epoch 초, 숫자가 아니면 INVALID
+     */
+    private static long seconds(JsonParser parser, JsonToken value) throws IOException {
+        if (value != JsonToken.VALUE_NUMBER_INT && value != JsonToken.VALUE_NUMBER_FLOAT) {
+            parser.skipChildren();
+            return INVALID;
+        }
+        return parser.getValueAsLong();
+    }
+
+    /**
+     * base64url(패딩 없음) 디코딩
+     *
+     * @return 디코딩한 바이트 수, 잘못된 문자/길이면 -1 (dst가 작으면 넘치는 부분은 버리고 -1)
+     * 마지막 문자의 남는 비트가 0이 아닌 비정규 표현도 -1 (같은 바이트를 여러 문자열로 표현할 수 없도록)
+     */
+    private static int decode(String src, int from, int to, byte[] dst) {
+        int length = to - from;
+        if (length % 4 == 1) {
+            return -1;
+        }
+        int out = 0;
+        int bits = 0;
+        int buffered = 0;
+        for (int i = from; i < to; i++) {
+            char c = src.charAt(i);
+            int value = c < 128 ? BASE64_URL[c] : -1;
+            if (value < 0) {
+                return -1;
+            }
+            bits = (bits << 6) | value;
+            buffered += 6;
+            if (buffered >= 8) {
+                buffered -= 8;
+                if (out >= dst.length) {
+                    return -1;
+                }
+                dst[out++] = (byte) (bits >> buffered);
+            }
+        }
+        if ((bits & ((1 << buffered) - 1)) != 0) {
+            return -1;
+        }
+        return out;
+    }
+
+    private Scratch borrow() {
+        Scratch s = pool.poll();
+        return s != null ? s : new Scratch(newMac());
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256을 사용할 수 없습니다.", e);
+        }
+    }
+
+    private record Header(String alg, String kid, boolean critical) {
+    }
+
+    /**
+     * 검증/서명 한 번에 쓰는 작업 공간 (Mac과 입력/디코딩 버퍼, 한 번에 한 스레드만 사용)
+     */
+    private static final class Scratch {
+
+        final Mac mac;
+        final byte[] expected = new byte[SIGNATURE_LENGTH];
+        final byte[] actual = new byte[SIGNATURE_LENGTH];
+        final byte[] signature = new byte[JwsAlgorithm.SIGNATURE_LENGTH];
+        byte[] input = new byte[512];
+        byte[] decoded = new byte[384];
+
+        Scratch(Mac mac) {
+            this.mac = mac;
+        }
+
+        /**
+         * 문자열 구간을 input 버퍼에 ASCII로 복사
+         *
+         * @return 복사한 길이, ASCII가 아닌 문자가 있으면 -1
+         */
+        int ascii(String value, int from, int to) {
+            int length = to - from;
+            if (input.length < length) {
+                input = new byte[Math.max(length, input.length * 2)];
+            }
+            for (int i = 0; i < length; i++) {
+                char c = value.charAt(from + i);
+                if (c >= 128) {
+                    return -1;
+                }
+                input[i] = (byte) c;
+            }
+            return length;
+        }
+
+        /**
+         * @param encodedLength base64url 문자 수
+         * @return 디코딩 결과를 담을 수 있는 버퍼
+         */
+        byte[] grow(int encodedLength) {
+            int required = encodedLength * 3 / 4 + 1;
+            if (decoded.length < required) {
+                decoded = new byte[Math.max(required, decoded.length * 2)];
+            }
+            return decoded;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.kroaddy.api.jwt;
+
+/**
+ * 서명을 검증한 토큰의 사용자 정보 (Claims 맵 대신 필요한 값만 보관)
+ *
+ * @param subject   사용자 식별자 (sub)
+ * @param provider  로그인 제공자 (provider: kakao / naver / google, 이 클레임 이전에 발급한 토큰이면 null)
+ * @param issuedAt  발급 시각 (iat, epoch 초, 없으면 -1)
+ * @param expiresAt 만료 시각 (exp, epoch 초, 없으면 -1)
+ */
+public record JwtIdentity(String subject, String provider, long issuedAt, long expiresAt) {
+
+    /**
+     * @return 만료 시각 (epoch 밀리초, 만료가 없으면 Long.MAX_VALUE)
+     */
+    public long expiresAtMillis() {
+        return expiresAt >= 0 ? expiresAt * 1000 : Long.MAX_VALUE;
+    }
+}
@@ -0,0 +1,301 @@
+package com.kroaddy.api.jwt;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JWT 비대칭 서명 키 묶음 (서명 키 하나 + 검증 키 여러 개)
+ * 키 디렉터리의 <kid>.pem을 읽어 공개 키는 모두 검증과 JWKS 게시에 쓰고, 개인 키가 있는 키 중 하나로 서명
+ * 서명 키는 active-kid가 있으면 그 키, 없으면 파일을 넣은 뒤 publish-delay가 지난 키 중 가장 최근 키
+ * (새 키는 먼저 JWKS로 게시되고 검증 측 캐시가 받아 갈 시간이 지난 뒤에야 서명에 쓰임)
+ * 교체 절차: 새 키 파일 추가 → publish-delay 후 자동 전환 → 이전 키의 개인 키 블록 제거(검증 전용)
+ * → refresh-expiration 후 이전 키 파일 삭제. 디렉터리는 watch-interval마다 확인하므로 재기동이 필요 없음
+ * jwks.remotes의 원격 JWKS 키도 검증에 사용 (같은 kid면 로컬 키 우선, 원격 키는 그 발급자의 iss/aud 토큰만)
+ */
+@Slf4j
+@Component
+public class JwtKeyRing implements SigningKeys {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final String KEY_SUFFIX = ".pem";
+
+    private final JwtProperties.Signing signing;
+    // null이면 HS256으로 서명 (키 디렉터리의 키는 검증/게시에만 사용)
+    private final JwsAlgorithm algorithm;
+    private final List<JwksCache> remotes = new ArrayList<>();
+
+    private volatile KeySet keySet = KeySet.EMPTY;
+    // 파일별로 읽은 키 (수정 시각이 같으면 다시 읽지 않음)
+    private final Map<Path, LoadedKey> loaded = new HashMap<>();
+    private ScheduledExecutorService watcher;
+
+    @Autowired
+    public JwtKeyRing(JwtProperties jwtProperties, MeterRegistry meterRegistry) {
+        this.signing = jwtProperties.getSigning();
+        String name = signing.getAlgorithm();
+        if (name == null || name.isBlank() || "HS256".equals(name)) {
+            this.algorithm = null;
+        } else {
+            this.algorithm = JwsAlgorithm.fromJwsName(name);
+            if (this.algorithm == null) {
+                throw new IllegalArgumentException("지원하지 않는 jwt.signing.algorithm: " + name
+                        + " (HS256 / ES256 / EdDSA)");
+            }
+        }
+        for (JwtProperties.Remote remote : jwtProperties.getJwks().getRemotes()) {
+            IssuerBinding binding = IssuerBinding.of(remote.getIssuer(), remote.getAudience());
+            if (remote.getUri() == null || remote.getUri().isBlank()
+                    || binding.issuer() == null || binding.audience() == null) {
+                // 발급자에 묶지 않은 원격 키는 다른 서비스용으로 발급된 토큰까지 받아들이므로 기동하지 않음
+                throw new IllegalArgumentException("jwt.jwks.remotes에는 uri, issuer, audience가 모두 필요합니다: "
+                        + remote);
+            }
+            remotes.add(new JwksCache(URI.create(remote.getUri().trim()), binding, jwtProperties.getJwks(),
+                    meterRegistry));
+        }
+    }
+
+    /**
+     * 최초 로드 후 디렉터리 감시와 원격 JWKS 갱신 시작
+     * 읽을 수 없는 키 디렉터리, ES256/EdDSA인데 서명 키가 없으면 기동 실패
+     * (재기동마다 바뀌는 임시 키로 서명하면 노드마다 다른 키로 발급되고 재기동 시 모든 토큰이 무효가 되므로)
+     */
+    @PostConstruct
+    public void init() {
+        if (algorithm != null && !hasKeyDir()) {
+            throw new IllegalStateException("jwt.signing.algorithm=" + algorithm.jwsName()
+                    + "이면 jwt.signing.key-dir(JWT_SIGNING_KEY_DIR)이 필요합니다.");
+        }
+        if (hasKeyDir() && !Files.isDirectory(keyDir())) {
+            throw new IllegalStateException("JWT 키 디렉터리가 없습니다: " + signing.getKeyDir());
+        }
+        rescan();
+        if (algorithm != null && keySet.active() == null) {
+            throw new IllegalStateException("jwt.signing.key-dir에 개인 키가 있는 " + algorithm.jwsName()
+                    + " 키가 없습니다: " + signing.getKeyDir());
+        }
+        if (hasKeyDir()) {
+            startWatcher();
+        }
+        remotes.forEach(JwksCache::start);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (watcher != null) {
+            watcher.shutdownNow();
+        }
+        remotes.forEach(JwksCache::stop);
+    }
+
+    @Override
+    public SigningKey active() {
+        return keySet.active();
+    }
+
+    @Override
+    public SigningKey find(String kid) {
+        if (kid == null) {
+            return null;
+        }
+        SigningKey key = keySet.keys().get(kid);
+        if (key != null) {
+            return key;
+        }
+        for (JwksCache remote : remotes) {
+            key = remote.find(kid);
+            if (key != null) {
+                return key;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return 게시할 JWK Set (로컬 키의 공개 키만, 원격 키는 넣지 않음)
+     */
+    public JwkSet jwks() {
+        return keySet.jwks();
+    }
+
+    /**
+     * 키 디렉터리를 다시 읽고 서명 키 선택 (바뀐 파일만 다시 읽음)
+     * 잘못된 키 파일은 건너뛰고 나머지로 계속 동작
+     */
+    synchronized void rescan() {
+        Map<String, LoadedKey> current = new LinkedHashMap<>();
+        if (hasKeyDir()) {
+            Map<Path, LoadedKey> seen = new HashMap<>();
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(keyDir(), "*" + KEY_SUFFIX)) {
+                for (Path file : files) {
+                    LoadedKey key = load(file);
+                    if (key != null) {
+                        seen.put(file, key);
+                        current.put(key.key().kid(), key);
+                    }
+                }
+            } catch (IOException e) {
+                log.warn("JWT 키 디렉터리 확인 실패, 기존 키 유지: dir={}, error={}", signing.getKeyDir(), e.getMessage());
+                return;
+            }
+            loaded.keySet().retainAll(seen.keySet());
+            loaded.putAll(seen);
+        }
+        apply(current);
+    }
+
+    private LoadedKey load(Path file) {
+        try {
+            FileTime modified = Files.getLastModifiedTime(file);
+            LoadedKey previous = loaded.get(file);
+            if (previous != null && previous.modified().equals(modified)) {
+                return previous;
+            }
+            String fileName = file.getFileName().toString();
+            String kid = fileName.substring(0, fileName.length() - KEY_SUFFIX.length());
+            SigningKey key = SigningKey.fromPem(kid, Files.readString(file, StandardCharsets.US_ASCII));
+            log.info("JWT 키 로드: kid={}, alg={}, signing={}", kid, key.algorithm().jwsName(), key.canSign());
+            return new LoadedKey(key, modified);
+        } catch (IOException | IllegalArgumentException e) {
+            log.error("JWT 키 파일을 건너뜀: file={}, error={}", file, e.getMessage());
+            return null;
+        }
+    }
+
+    private void apply(Map<String, LoadedKey> current) {
+        SigningKey active = selectActive(current);
+        KeySet previous = keySet;
+        if (active == null && previous.active() != null) {
+            // 실행 중에 서명 키 파일이 사라지거나 검증 전용이 되면 기존 서명 키를 계속 사용
+            log.error("jwt.signing.key-dir에 {} 서명 키가 없어 기존 키로 계속 서명합니다: kid={}",
+                    algorithm.jwsName(), previous.active().kid());
+            active = previous.active();
+        }
+        Map<String, SigningKey> keys = new LinkedHashMap<>();
+        current.values().stream()
+                .sorted(Comparator.comparing(LoadedKey::modified).reversed())
+                .forEach(key -> keys.put(key.key().kid(), key.key()));
+        if (active != null) {
+            keys.putIfAbsent(active.kid(), active);
+        }
+
+        if (previous.active() != active && (previous.active() == null || active == null
+                || !previous.active().kid().equals(active.kid()))) {
+            log.info("JWT 서명 키 전환: {} -> {}", previous.active() != null ? previous.active().kid() : "HS256",
+                    active != null ? active.kid() : "HS256");
+        }
+        if (previous.active() == active && previous.keys().equals(keys)) {
+            return;
+        }
+        keySet = new KeySet(active, Map.copyOf(keys), publish(keys));
+    }
+
+    /**
+     * @return 서명 키, HS256으로 서명하거나 서명할 수 있는 키가 없으면 null
+     */
+    private SigningKey selectActive(Map<String, LoadedKey> current) {
+        if (algorithm == null) {
+            return null;
+        }
+        List<LoadedKey> candidates = current.values().stream()
+                .filter(key -> key.key().canSign() && key.key().algorithm() == algorithm)
+                .sorted(Comparator.comparing(LoadedKey::modified))
+                .toList();
+        String activeKid = signing.getActiveKid();
+        if (activeKid != null && !activeKid.isBlank()) {
+            for (LoadedKey candidate : candidates) {
+                if (candidate.key().kid().equals(activeKid)) {
+                    return candidate.key();
+                }
+            }
+            log.warn("jwt.signing.active-kid 키가 없어 자동 선택: activeKid={}", activeKid);
+        }
+        if (candidates.isEmpty()) {
+            return null;
+        }
+        // 게시된 지 publish-delay가 지난 키 중 가장 최근 키, 없으면 가장 먼저 게시된 키
+        Instant published = Instant.now().minus(signing.getPublishDelay());
+        LoadedKey selected = candidates.get(0);
+        for (LoadedKey candidate : candidates) {
+            if (!candidate.modified().toInstant().isAfter(published)) {
+                selected = candidate;
+            }
+        }
+        return selected.key();
+    }
+
+    private static JwkSet publish(Map<String, SigningKey> keys) {
+        List<Map<String, Object>> jwks = keys.values().stream().map(SigningKey::toJwk).toList();
+        try {
+            byte[] json = MAPPER.writeValueAsBytes(Map.of("keys", jwks));
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            String etag = "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(digest).substring(0, 22) + "\"";
+            return new JwkSet(json, etag);
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("JWKS를 만들 수 없습니다.", e);
+        }
+    }
+
+    private void startWatcher() {
+        watcher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "JwtKeyWatcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = signing.getWatchInterval().toMillis();
+        // 파일이 그대로여도 publish-delay가 지나면 서명 키가 바뀌므로 매번 다시 선택
+        watcher.scheduleWithFixedDelay(this::rescan, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        log.info("JWT 키 디렉터리 감시 시작: dir={}, interval={}", signing.getKeyDir(), signing.getWatchInterval());
+    }
+
+    private boolean hasKeyDir() {
+        return signing.getKeyDir() != null && !signing.getKeyDir().isBlank();
+    }
+
+    private Path keyDir() {
+        return Path.of(signing.getKeyDir());
+    }
+
+    /**
+     * 게시용 JWK Set
+     *
+     * @param json {"keys":[...]} 직렬화 결과
+     * @param etag 내용 해시 (따옴표 포함)
+     */
+    public record JwkSet(byte[] json, String etag) {
+    }
+
+    private record LoadedKey(SigningKey key, FileTime modified) {
+    }
+
+    private record KeySet(SigningKey active, Map<String, SigningKey> keys, JwkSet jwks) {
+        static final KeySet EMPTY = new KeySet(null, Map.of(), publish(Map.of()));
+    }
+}
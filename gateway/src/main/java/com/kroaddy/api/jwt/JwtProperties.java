@@ -4,6 +4,10 @@ import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
 @Component
 @ConfigurationProperties(prefix = "jwt")
 @Data
@@ -11,5 +15,57 @@ public class JwtProperties {
     private String secret;
     private Long expiration = 86400000L; // 기본 24시간
     private Long refreshExpiration = 604800000L; // 기본 7일
-}
+    private String issuer; // 발급하는 토큰의 iss (지정하면 로컬 키/HS256 토큰도 이 값이어야 함)
+    private String audience; // 발급하는 토큰의 aud (지정하면 로컬 키/HS256 토큰의 aud에 이 값이 있어야 함)
+    private VerifiedCache verifiedCache = new VerifiedCache();
+    private Signing signing = new Signing();
+    private Jwks jwks = new Jwks();
+
+    /**
+     * 검증된 토큰 캐시 (/api/auth/me 등 같은 쿠키를 반복 검증하는 경로용)
+     */
+    @Data
+    public static class VerifiedCache {
+        private boolean enabled = true;
+        private long maxEntries = 10_000; // 최대 토큰 수 (넘으면 오래 쓰지 않은 것부터 제거)
+        private Duration ttl = Duration.ofMinutes(5); // 항목 유지 시간 (토큰 만료가 더 빠르면 만료 시각까지)
+        private boolean sharedDenylist = true; // 로그아웃한 토큰을 Redis에 남겨 다른 노드/재시작 후에도 거절
+        private String denylistKeyPrefix = "jwt:revoked"; // Redis 키 접두사 (뒤에 토큰의 SHA-256)
+        private String revocationChannel = "gateway:jwt:revoked"; // 캐시한 노드에 폐기를 알리는 pub/sub 채널
+    }
 
+    /**
+     * 비대칭 서명 키 (ES256 / EdDSA, 키 교체 중에는 이전 키도 검증용으로 유지)
+     */
+    @Data
+    public static class Signing {
+        private String algorithm = "HS256"; // HS256 / ES256 / EdDSA (ES256, EdDSA면 활성 키로 서명하고 헤더에 kid)
+        private String keyDir; // <kid>.pem 디렉터리 (공개 키 필수, PKCS#8 개인 키가 있으면 서명 후보, 없으면 검증 전용)
+        private String activeKid; // 지정하면 이 키로 서명 (없으면 게시 지연이 지난 가장 최근 키)
+        private Duration publishDelay = Duration.ofMinutes(10); // 새 키를 JWKS에 게시한 뒤 서명에 쓰기까지 대기 (jwks.max-age 이상)
+        private Duration watchInterval = Duration.ofSeconds(30); // 키 디렉터리 확인 주기
+        private boolean acceptHmac = true; // HS256 토큰도 검증 (전환 중 기존 토큰용, 모두 만료되면 false)
+    }
+
+    /**
+     * JWKS 게시(/.well-known/jwks.json)와 원격 JWKS 캐시
+     */
+    @Data
+    public static class Jwks {
+        private Duration maxAge = Duration.ofMinutes(5); // 게시하는 JWKS의 Cache-Control max-age
+        private List<Remote> remotes = new ArrayList<>(); // 검증에 쓸 원격 JWKS (다른 발급자의 토큰)
+        private Duration refreshInterval = Duration.ofMinutes(5); // 백그라운드 갱신 주기 (응답의 max-age가 더 짧으면 그 값)
+        private Duration minRefreshInterval = Duration.ofSeconds(30); // 모르는 kid로 인한 즉시 갱신 최소 간격
+        private Duration timeout = Duration.ofSeconds(3); // 원격 JWKS 요청 타임아웃
+    }
+
+    /**
+     * 원격 JWKS와 그 키로 검증하는 토큰이 가져야 하는 발급자/대상 (셋 다 필수)
+     */
+    @Data
+    public static class Remote {
+        private String uri; // JWKS 주소 (예: https://auth.example.com/.well-known/jwks.json)
+        private String issuer; // 이 JWKS의 키로 검증한 토큰의 iss
+        private String audience; // 이 JWKS의 키로 검증한 토큰의 aud에 있어야 하는 값 (이 게이트웨이)
+    }
+}
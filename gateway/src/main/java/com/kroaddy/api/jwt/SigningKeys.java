@@ -0,0 +1,34 @@
+package com.kroaddy.api.jwt;
+
+/**
+ * JwtEngine이 비대칭 서명/검증에 쓰는 키 조회
+ * 교체 중에는 서명 키 하나와 여러 검증 키(이전 키, 다른 발급자의 키)가 함께 존재
+ */
+public interface SigningKeys {
+
+    /**
+     * 비대칭 키 없음 (HS256만 사용)
+     */
+    SigningKeys NONE = new SigningKeys() {
+        @Override
+        public SigningKey active() {
+            return null;
+        }
+
+        @Override
+        public SigningKey find(String kid) {
+            return null;
+        }
+    };
+
+    /**
+     * @return 새 토큰에 서명할 키, null이면 HS256으로 서명
+     */
+    SigningKey active();
+
+    /**
+     * @param kid JWS 헤더의 kid
+     * @return 검증 키, 모르는 kid면 null
+     */
+    SigningKey find(String kid);
+}
@@ -0,0 +1,100 @@
+package com.kroaddy.api.jwt;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 로그아웃한 토큰의 공유 폐기 목록 (Redis)
+ * 키는 토큰의 SHA-256 (토큰 원문을 저장하지 않음), TTL은 토큰의 남은 유효 시간이므로 만료되면 Redis에서도 사라짐
+ * 모든 게이트웨이 노드가 같은 키 공간을 쓰므로 한 노드에서 로그아웃하면 다른 노드도 (로컬 캐시에 없을 때) 거절하고,
+ * 재시작해도 폐기 표시가 남음
+ * 이미 캐시한 노드에는 같은 다이제스트를 pub/sub 채널로 알려 항목을 제거하게 함 (TokenRevocationSubscriber)
+ * Redis 오류 시 폐기되지 않은 것으로 보고(fail-open) 잠시 호출을 멈춤 (장애 중 요청마다 타임아웃을 기다리지 않도록)
+ */
+@Slf4j
+final class TokenDenylist {
+
+    private static final long ERROR_BACKOFF_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final String keyPrefix;
+    private final Counter errors;
+    private volatile long retryAt = System.nanoTime();
+
+    TokenDenylist(RedisTemplate<String, Object> redisTemplate, String keyPrefix, MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.keyPrefix = keyPrefix + ":";
+        this.errors = Counter.builder("gateway.auth.denylist.errors")
+                .description("토큰 폐기 목록(Redis) 오류 (폐기되지 않은 것으로 처리)")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param digest digest(token)
+     * @return 폐기 목록에 있으면 true, 없거나 Redis를 쓸 수 없으면 false
+     */
+    boolean contains(String digest) {
+        return Boolean.TRUE.equals(call("get", () -> redisTemplate.hasKey(key(digest))));
+    }
+
+    /**
+     * @param digest    digest(token)
+     * @param ttlMillis 토큰의 남은 유효 시간 (0 이하면 이미 만료되어 남기지 않음)
+     */
+    void add(String digest, long ttlMillis) {
+        if (ttlMillis <= 0) {
+            return;
+        }
+        call("put", () -> {
+            redisTemplate.opsForValue().set(key(digest), "1", ttlMillis, TimeUnit.MILLISECONDS);
+            return null;
+        });
+    }
+
+    /**
+     * 다른 노드에 폐기 통지 (받지 못한 노드는 캐시 항목이 만료될 때까지 통과시킴)
+     */
+    void publish(String channel, String message) {
+        call("publish", () -> redisTemplate.convertAndSend(channel, message));
+    }
+
+    String key(String digest) {
+        return keyPrefix + digest;
+    }
+
+    /**
+     * @return 토큰의 SHA-256 (base64url, 패딩 없음)
+     */
+    static String digest(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return ENCODER.encodeToString(digest.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256을 사용할 수 없습니다.", e);
+        }
+    }
+
+    private <T> T call(String operation, Supplier<T> command) {
+        if (System.nanoTime() - retryAt < 0) {
+            return null;
+        }
+        try {
+            return command.get();
+        } catch (RuntimeException e) {
+            retryAt = System.nanoTime() + ERROR_BACKOFF_NANOS;
+            errors.increment();
+            log.warn("토큰 폐기 목록 Redis 오류: operation={}, error={}", operation, e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.kroaddy.api.jwt;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 다른 노드가 보낸 토큰 폐기 통지 구독 (검증된 토큰 캐시에서 해당 항목 제거)
+ * CacheInvalidationSubscriber와 같이 기동 완료 후 백그라운드에서 연결될 때까지 재시도하며 시작
+ * (구독 전에는 통지를 받지 못하지만, 캐시 미스마다 공유 폐기 목록을 확인하므로 최대 ttl 뒤에는 거절)
+ */
+@Slf4j
+@Component
+@ConditionalOnExpression("${jwt.verified-cache.enabled:true} and ${jwt.verified-cache.shared-denylist:true}")
+public class TokenRevocationSubscriber implements DisposableBean {
+
+    private static final Duration RETRY_INTERVAL = Duration.ofSeconds(5);
+
+    private final RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+    private volatile Thread starter;
+
+    @Autowired
+    public TokenRevocationSubscriber(RedisConnectionFactory connectionFactory, VerifiedTokenCache verifiedTokenCache,
+                                     JwtProperties properties) {
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(verifiedTokenCache,
+                new ChannelTopic(properties.getVerifiedCache().getRevocationChannel()));
+        container.afterPropertiesSet();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (starter != null) {
+            return;
+        }
+        starter = Thread.ofVirtual().name("TokenRevocationSubscriber").start(() -> {
+            boolean warned = false;
+            while (!Thread.currentThread().isInterrupted()) {
+                try {
+                    container.start();
+                    if (container.isListening()) {
+                        log.info("토큰 폐기 채널 구독 시작");
+                        return;
+                    }
+                } catch (RuntimeException e) {
+                    if (!warned) {
+                        log.warn("토큰 폐기 채널 구독 실패, {}초마다 재시도: {}",
+                                RETRY_INTERVAL.toSeconds(), e.getMessage());
+                        warned = true;
+                    }
+                }
+                // 실패한 시작 상태가 남아 있으면 다음 start()가 구독 없이 끝나므로 초기화
+                container.stop();
+                try {
+                    Thread.sleep(RETRY_INTERVAL);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        });
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        if (starter != null) {
+            starter.interrupt();
+        }
+        container.destroy();
+    }
+}
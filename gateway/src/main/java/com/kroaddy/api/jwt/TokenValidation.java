@@ -0,0 +1,70 @@
+package com.kroaddy.api.jwt;
+
+/**
+ * 토큰 검증 결과 (예외 없이 사용자 정보 또는 실패 사유를 한 번에 반환)
+ * 만료/아직 유효하지 않음은 서명이 맞으므로 identity가 함께 담기지만, subject()는 유효할 때만 반환
+ *
+ * @param identity 서명을 확인한 토큰의 사용자 정보 (형식 오류/서명 불일치면 null)
+ * @param failure  실패 사유, 유효하면 null
+ */
+public record TokenValidation(JwtIdentity identity, Failure failure) {
+
+    /**
+     * 검증 실패 사유
+     */
+    public enum Failure {
+        MISSING("토큰이 없습니다."),
+        MALFORMED("JWT 형식이 아닙니다."),
+        BAD_SIGNATURE("서명이 일치하지 않습니다."),
+        UNSUPPORTED("지원하지 않는 JWT 헤더 또는 알고리즘입니다."),
+        UNKNOWN_KEY("알 수 없는 서명 키(kid)입니다."),
+        INVALID_CLAIMS("JWT 클레임이 올바르지 않습니다."),
+        WRONG_ISSUER("토큰의 발급자(iss) 또는 대상(aud)이 맞지 않습니다."),
+        EXPIRED("만료된 토큰입니다."),
+        NOT_YET_VALID("아직 유효하지 않은 토큰입니다."),
+        REVOKED("로그아웃된 토큰입니다.");
+
+        private final String message;
+        // 사용자 정보 없는 실패 결과는 사유마다 하나만 만들어 재사용
+        private final TokenValidation result;
+
+        Failure(String message) {
+            this.message = message;
+            this.result = new TokenValidation(null, this);
+        }
+
+        public String message() {
+            return message;
+        }
+    }
+
+    public static TokenValidation valid(JwtIdentity identity) {
+        return new TokenValidation(identity, null);
+    }
+
+    public static TokenValidation failed(Failure failure) {
+        return failure.result;
+    }
+
+    public static TokenValidation failed(Failure failure, JwtIdentity identity) {
+        return new TokenValidation(identity, failure);
+    }
+
+    public boolean isValid() {
+        return failure == null;
+    }
+
+    /**
+     * @return 사용자 식별자, 유효하지 않으면 null
+     */
+    public String subject() {
+        return failure == null ? identity.subject() : null;
+    }
+
+    /**
+     * @return 만료 시각 (epoch 밀리초, 만료가 없으면 Long.MAX_VALUE), 사용자 정보가 없으면 0
+     */
+    public long expiresAtMillis() {
+        return identity != null ? identity.expiresAtMillis() : 0;
+    }
+}
@@ -0,0 +1,236 @@
+package com.kroaddy.api.jwt;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 검증된 토큰 캐시 (프론트엔드가 계속 호출하는 /api/auth/me에서 같은 쿠키를 매번 다시 검증하지 않도록)
+ * 키는 토큰의 64비트 해시, 값은 원본 토큰과 검증 결과 (해시가 충돌해도 토큰이 같을 때만 적중)
+ * 항목은 min(토큰 exp, ttl)에 만료되고, 개수를 넘으면 오래 쓰지 않은 것부터 제거
+ *
+ * 로그아웃한 토큰은 만료 시각까지 폐기 표시를 남겨 REVOKED로 거절
+ * 폐기 표시는 이 노드의 캐시와 Redis 공유 폐기 목록(shared-denylist)에 함께 남기고, 캐시 미스마다 폐기 목록을 확인
+ * 이미 캐시한 다른 노드에는 revocation-channel로 토큰 다이제스트를 알려 그 항목을 바로 제거 (다음 요청은 미스로 폐기 목록 확인)
+ * (구독 전이거나 Redis 연결이 끊겨 통지를 받지 못한 노드는 항목이 만료될 때까지, 즉 최대 ttl 동안 통과)
+ */
+@Component
+public class VerifiedTokenCache implements MessageListener {
+
+    private final JwtTokenProvider jwtTokenProvider;
+    private final JwtProperties.VerifiedCache properties;
+    private final long refreshExpirationMillis;
+    private final Cache<Long, Entry> cache;
+    private final TokenDenylist denylist; // 공유 폐기 목록을 쓰지 않으면 null
+    private final String nodeId = UUID.randomUUID().toString().substring(0, 8); // 자신이 보낸 폐기 통지 구분
+    // 프로세스마다 다른 해시 시드 (외부에서 충돌하는 토큰을 미리 만들어 항목을 밀어내지 못하도록)
+    private final long seed = ThreadLocalRandom.current().nextLong();
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter revoked;
+    private final Counter remoteEvictions;
+    private final Timer saved;
+
+    @Autowired
+    public VerifiedTokenCache(JwtTokenProvider jwtTokenProvider, JwtProperties jwtProperties,
+                              MeterRegistry meterRegistry, ObjectProvider<RedisTemplate<String, Object>> redisTemplate) {
+        this(jwtTokenProvider, jwtProperties, meterRegistry,
+                jwtProperties.getVerifiedCache().isSharedDenylist() ? redisTemplate.getIfAvailable() : null);
+    }
+
+    /**
+     * 이 노드에만 폐기 표시를 남기는 캐시
+     */
+    public VerifiedTokenCache(JwtTokenProvider jwtTokenProvider, JwtProperties jwtProperties,
+                              MeterRegistry meterRegistry) {
+        this(jwtTokenProvider, jwtProperties, meterRegistry, (RedisTemplate<String, Object>) null);
+    }
+
+    VerifiedTokenCache(JwtTokenProvider jwtTokenProvider, JwtProperties jwtProperties,
+                       MeterRegistry meterRegistry, RedisTemplate<String, Object> redisTemplate) {
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.properties = jwtProperties.getVerifiedCache();
+        this.refreshExpirationMillis = jwtProperties.getRefreshExpiration();
+        this.denylist = redisTemplate != null
+                ? new TokenDenylist(redisTemplate, properties.getDenylistKeyPrefix(), meterRegistry) : null;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxEntries())
+                .expireAfter(new TokenExpiry())
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "auth-token");
+        this.hits = requests(meterRegistry, "hit");
+        this.misses = requests(meterRegistry, "miss");
+        this.revoked = requests(meterRegistry, "revoked");
+        this.remoteEvictions = Counter.builder("gateway.auth.token-cache.remote-evictions")
+                .description("다른 노드의 로그아웃 통지로 제거한 캐시 항목")
+                .register(meterRegistry);
+        this.saved = Timer.builder("gateway.auth.token-cache.saved")
+                .description("캐시 적중으로 생략한 토큰 검증 CPU 시간 (적중한 항목을 처음 검증할 때 걸린 시간)")
+                .register(meterRegistry);
+        Gauge.builder("gateway.auth.token-cache.hit.ratio", cache, c -> c.stats().hitRate())
+                .description("검증된 토큰 캐시 적중률 (시작 이후 누적)")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 캐시를 거쳐 토큰 검증 (유효한 결과만 캐시, 실패는 매번 다시 검증)
+     *
+     * @param token JWT 토큰 (null이면 MISSING)
+     * @return JwtTokenProvider.validate와 같은 결과, 로그아웃한 토큰이면 REVOKED
+     */
+    public TokenValidation validate(String token) {
+        if (token == null || token.isEmpty() || !properties.isEnabled()) {
+            TokenValidation validation = jwtTokenProvider.validate(token);
+            if (validation.isValid() && denylist != null && denylist.contains(TokenDenylist.digest(token))) {
+                revoked.increment();
+                return TokenValidation.failed(TokenValidation.Failure.REVOKED, validation.identity());
+            }
+            return validation;
+        }
+        long key = hash(token);
+        Entry entry = cache.getIfPresent(key);
+        if (entry != null && entry.token().equals(token)) {
+            if (entry.revoked()) {
+                revoked.increment();
+                return TokenValidation.failed(TokenValidation.Failure.REVOKED, entry.validation().identity());
+            }
+            // 만료 시각에 항목이 제거되지만 제거 시점과 읽기 시점이 겹칠 수 있으므로 한 번 더 확인
+            if (System.currentTimeMillis() < entry.validation().expiresAtMillis()) {
+                hits.increment();
+                saved.record(entry.verifyNanos(), TimeUnit.NANOSECONDS);
+                return entry.validation();
+            }
+        }
+
+        misses.increment();
+        long start = System.nanoTime();
+        TokenValidation validation = jwtTokenProvider.validate(token);
+        long verifyNanos = System.nanoTime() - start;
+        if (validation.isValid()) {
+            // 폐기 통지는 다이제스트로 오므로 항목에 함께 저장 (공유 폐기 목록을 쓸 때만)
+            String digest = denylist != null ? TokenDenylist.digest(token) : null;
+            if (digest != null && denylist.contains(digest)) {
+                // 다른 노드(또는 재시작 전)에서 로그아웃한 토큰: 이 노드에도 폐기 표시를 남겨 다시 묻지 않음
+                cache.put(key, new Entry(token, digest, validation, true, validation.expiresAtMillis(), 0));
+                revoked.increment();
+                return TokenValidation.failed(TokenValidation.Failure.REVOKED, validation.identity());
+            }
+            long expiresAt = Math.min(validation.expiresAtMillis(),
+                    System.currentTimeMillis() + properties.getTtl().toMillis());
+            cache.put(key, new Entry(token, digest, validation, false, expiresAt, verifyNanos));
+        }
+        return validation;
+    }
+
+    /**
+     * 토큰 폐기 (로그아웃), 이후 만료 시각까지 REVOKED (공유 폐기 목록을 쓰면 다른 노드에서도, 캐시한 노드에는 통지)
+     *
+     * @return 폐기한 토큰의 검증 결과 (유효하지 않은 토큰이면 표시를 남기지 않음)
+     */
+    public TokenValidation revoke(String token) {
+        TokenValidation validation = validate(token);
+        if (!validation.isValid()) {
+            return validation;
+        }
+        String digest = denylist != null ? TokenDenylist.digest(token) : null;
+        if (properties.isEnabled()) {
+            // 폐기 표시는 ttl과 무관하게 토큰이 만료될 때까지 유지
+            cache.put(hash(token), new Entry(token, digest, validation, true, validation.expiresAtMillis(), 0));
+        }
+        if (denylist != null) {
+            // exp가 없는 토큰은 이 게이트웨이가 발급하는 가장 긴 수명(refresh 토큰)만큼 남김
+            long expiresAt = validation.identity().expiresAt() >= 0
+                    ? validation.expiresAtMillis() : System.currentTimeMillis() + refreshExpirationMillis;
+            denylist.add(digest, expiresAt - System.currentTimeMillis());
+            // 폐기 목록에 남긴 뒤 통지해야 항목을 지운 노드가 다음 미스에서 폐기 표시를 찾음
+            denylist.publish(properties.getRevocationChannel(), nodeId + " " + digest);
+        }
+        return validation;
+    }
+
+    /**
+     * 다른 노드의 폐기 통지 ("노드id 다이제스트"): 같은 토큰의 캐시 항목 제거
+     * 캐시 키는 프로세스별 시드 해시라 다이제스트로 바로 찾을 수 없으므로 항목을 훑음 (로그아웃 때만 발생)
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int space = body.indexOf(' ');
+        if (space < 0 || body.startsWith(nodeId + " ")) {
+            return;
+        }
+        String digest = body.substring(space + 1);
+        if (cache.asMap().values().removeIf(entry -> !entry.revoked() && digest.equals(entry.digest()))) {
+            remoteEvictions.increment();
+        }
+    }
+
+    long size() {
+        cache.cleanUp();
+        return cache.estimatedSize();
+    }
+
+    private long hash(String token) {
+        // FNV-1a (64비트) + 최종 섞기, 토큰은 ASCII이므로 char 단위로 충분
+        long h = 0xcbf29ce484222325L ^ seed;
+        for (int i = 0; i < token.length(); i++) {
+            h ^= token.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        return h ^ (h >>> 33);
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("gateway.auth.token-cache.requests")
+                .description("검증된 토큰 캐시 조회 (result: hit / miss / revoked)")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param digest          토큰의 SHA-256 (폐기 통지와 비교, 공유 폐기 목록을 쓰지 않으면 null)
+     * @param expiresAtMillis 항목 만료 시각 (epoch 밀리초)
+     * @param verifyNanos     처음 검증할 때 걸린 시간 (적중 시 절약한 시간으로 기록)
+     */
+    private record Entry(String token, String digest, TokenValidation validation, boolean revoked,
+                         long expiresAtMillis, long verifyNanos) {
+    }
+
+    private static final class TokenExpiry implements Expiry<Long, Entry> {
+
+        @Override
+        public long expireAfterCreate(Long key, Entry entry, long currentTime) {
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, entry.expiresAtMillis() - System.currentTimeMillis()));
+        }
+
+        @Override
+        public long expireAfterUpdate(Long key, Entry entry, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, entry, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Long key, Entry entry, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -126,8 +126,8 @@ public class KakaoController {
                         String kakaoId = userInfo.getId().toString();
 
                         // 4. JWT 및 Refresh Token 발급 (카카오 ID를 subject로 사용)
-                        String jwt = jwtTokenProvider.generateToken(kakaoId);
-                        String refreshToken = jwtTokenProvider.generateRefreshToken(kakaoId);
+                        String jwt = jwtTokenProvider.generateToken(kakaoId, "kakao");
+                        String refreshToken = jwtTokenProvider.generateRefreshToken(kakaoId, "kakao");
 
                         // 4-1. 백엔드 콘솔에 토큰 출력
                         String timestamp = LocalDateTime.now()
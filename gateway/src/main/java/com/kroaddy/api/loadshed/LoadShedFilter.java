@@ -0,0 +1,83 @@
+package com.kroaddy.api.loadshed;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * 입장 제어 필터 (모든 필터/컨트롤러보다 먼저 실행)
+ * 경로로 우선순위를 정하고 LoadShedder에서 자리를 받은 요청만 처리, 버려진 요청은 503 + Retry-After
+ * 버려진 요청은 CORS/레이트 리밋/JWT 처리 비용도 쓰지 않도록 CorsFilter보다 앞에 둠 (브라우저에는 CORS 오류로 보일 수 있음)
+ * 비동기 디스패치(스트리밍 응답)는 최초 디스패치가 끝나면 자리를 반납
+ * 부모 요청의 자리로 처리되는 요청(배치 하위 요청)은 자리를 받지 않고 통과 (부모가 자리를 쥔 채 기다리므로)
+ */
+public class LoadShedFilter extends OncePerRequestFilter {
+
+    private final LoadShedder loadShedder;
+    private final ObjectMapper objectMapper;
+    private final long retryAfterSeconds;
+    private final Predicate<HttpServletRequest> heldByParent;
+
+    public LoadShedFilter(LoadShedder loadShedder, ObjectMapper objectMapper, long retryAfterSeconds) {
+        this(loadShedder, objectMapper, retryAfterSeconds, request -> false);
+    }
+
+    /**
+     * @param heldByParent 이미 자리를 받은 요청이 보낸 요청인지 (true면 입장 제어 없이 통과)
+     */
+    public LoadShedFilter(LoadShedder loadShedder, ObjectMapper objectMapper, long retryAfterSeconds,
+                          Predicate<HttpServletRequest> heldByParent) {
+        this.loadShedder = loadShedder;
+        this.objectMapper = objectMapper;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.heldByParent = heldByParent;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (heldByParent.test(request)) {
+            chain.doFilter(request, response);
+            return;
+        }
+        LoadShedder.Admission admission;
+        try {
+            admission = loadShedder.admit(loadShedder.classify(request.getRequestURI()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServletException("입장 대기 중 중단되었습니다.", e);
+        }
+        if (admission == null) {
+            reject(request, response);
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            admission.close();
+        }
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setHeader(HttpHeaders.CONNECTION, "close"); // 과부하 중에는 연결도 돌려받음
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        objectMapper.writeValue(response.getOutputStream(), Map.of(
+                "error", "Service overloaded",
+                "message", "요청이 많아 처리하지 못했습니다. " + retryAfterSeconds + "초 후 다시 시도하세요.",
+                "path", request.getRequestURI()));
+    }
+}
@@ -0,0 +1,41 @@
+package com.kroaddy.api.loadshed;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+@ConfigurationProperties(prefix = "gateway.load-shed")
+@Data
+public class LoadShedProperties {
+    private boolean enabled = true;
+    private int maxConcurrent = 400; // 동시에 처리할 요청 수 (넘으면 대기열에서 자리를 기다림)
+    private int maxConcurrentBulk = 300; // 그중 BULK가 차지할 수 있는 수 (나머지는 NORMAL 몫, 0 이하면 따로 제한하지 않음)
+    private int maxQueueSize = 1000; // 우선순위별 대기 요청 수 (넘으면 즉시 503)
+    private Duration retryAfter = Duration.ofSeconds(1); // 503 응답의 Retry-After
+    private List<String> criticalPaths = new ArrayList<>(List.of("/api/auth/**", "/actuator/**")); // 대기/차단 없이 바로 처리
+    private List<String> bulkPaths = new ArrayList<>(List.of("/api/ai/**", "/api/ml/**")); // 과부하 시 먼저 버림
+    private CoDel normal = CoDel.of(Duration.ofMillis(20), Duration.ofMillis(200));
+    private CoDel bulk = CoDel.of(Duration.ofMillis(5), Duration.ofMillis(100));
+
+    /**
+     * CoDel 설정: interval 동안 가장 짧은 대기 시간도 target을 넘으면 과부하로 보고,
+     * 과부하 동안은 target보다 오래 기다린 요청을 버림 (평소에는 interval까지 대기 허용)
+     */
+    @Data
+    public static class CoDel {
+        private Duration target;
+        private Duration interval;
+
+        static CoDel of(Duration target, Duration interval) {
+            CoDel coDel = new CoDel();
+            coDel.target = target;
+            coDel.interval = interval;
+            return coDel;
+        }
+    }
+}
@@ -0,0 +1,389 @@
+package com.kroaddy.api.loadshed;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 요청 처리 입장 제어 (CoDel 대기열)
+ * 동시에 처리하는 요청을 max-concurrent로 제한하고, 넘친 요청은 우선순위별 대기열에서 자리를 기다림
+ * 가상 스레드 모드의 Tomcat은 요청을 쌓아 두지 않고 모두 동시에 처리하므로, 급증 시 모든 라우트의 지연이 함께 늘어남
+ * 여기서 대기열을 명시적으로 두고 대기 시간(sojourn)을 재서 과부하를 판단
+ *
+ * CoDel: interval 동안 가장 짧은 대기 시간도 target을 넘으면 과부하 (일시적인 버스트가 아닌 고정된 대기열)
+ * - 평소: 최대 interval까지 대기 후 입장
+ * - 과부하: target보다 오래 기다린 요청은 버리고, 최근에 도착한 요청부터 입장 (adaptive LIFO: 이미 포기했을 클라이언트보다 새 요청 우선)
+ * 우선순위: CRITICAL은 대기열을 거치지 않음, 자리가 나면 NORMAL이 BULK보다 먼저, NORMAL이 과부하면 BULK도 과부하로 취급
+ * BULK(수십 초씩 걸리는 AI/ML 호출)는 max-concurrent-bulk까지만 자리를 차지 (나머지는 NORMAL 몫으로 남김)
+ * (가상 스레드를 캐리어에 묶지 않도록 synchronized 대신 ReentrantLock 사용)
+ */
+@Component
+public class LoadShedder {
+
+    private final LoadShedProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final List<PathRule> criticalPaths;
+    private final List<PathRule> bulkPaths;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Lane normal;
+    private final Lane bulk;
+    private final List<Lane> lanes; // 자리를 넘겨줄 순서
+    private int inFlight;
+    private int bulkInFlight;
+
+    @Autowired
+    public LoadShedder(LoadShedProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.criticalPaths = PathRule.parse(properties.getCriticalPaths());
+        this.bulkPaths = PathRule.parse(properties.getBulkPaths());
+        this.normal = new Lane(Priority.NORMAL, properties.getNormal());
+        this.bulk = new Lane(Priority.BULK, properties.getBulk());
+        this.lanes = List.of(normal, bulk);
+        Gauge.builder("gateway.loadshed.inflight", this, LoadShedder::getInFlight)
+                .description("입장해 처리 중인 요청 수 (CRITICAL 제외)")
+                .register(meterRegistry);
+        Gauge.builder("gateway.loadshed.inflight.bulk", this, LoadShedder::getBulkInFlight)
+                .description("입장해 처리 중인 BULK 요청 수 (max-concurrent-bulk까지)")
+                .register(meterRegistry);
+        for (Lane lane : lanes) {
+            Gauge.builder("gateway.loadshed.queued", lane, this::queued)
+                    .description("자리를 기다리는 요청 수")
+                    .tag("priority", lane.tag)
+                    .register(meterRegistry);
+            Gauge.builder("gateway.loadshed.overloaded", lane, l -> isOverloaded(l) ? 1 : 0)
+                    .description("CoDel 과부하 상태 (1이면 target보다 오래 기다린 요청을 버림)")
+                    .tag("priority", lane.tag)
+                    .register(meterRegistry);
+        }
+    }
+
+    public Priority classify(String path) {
+        if (PathRule.matchesAny(criticalPaths, path)) {
+            return Priority.CRITICAL;
+        }
+        return PathRule.matchesAny(bulkPaths, path) ? Priority.BULK : Priority.NORMAL;
+    }
+
+    /**
+     * 입장 (자리가 없으면 대기)
+     *
+     * @return 처리가 끝나면 close해야 하는 입장권, 버려진 요청이면 null
+     */
+    public Admission admit(Priority priority) throws InterruptedException {
+        if (priority == Priority.CRITICAL) {
+            count(priority, "admitted");
+            return Admission.NONE;
+        }
+        Lane lane = priority == Priority.BULK ? bulk : normal;
+        long now = System.nanoTime();
+        Waiter waiter;
+        lock.lock();
+        try {
+            // 같은 우선순위 이상의 대기 요청이 없을 때만 바로 입장 (새치기 방지)
+            boolean ahead = normal.size > 0 || (lane == bulk && bulk.size > 0);
+            if (hasRoom(lane) && !ahead) {
+                take(lane);
+                lane.record(now, 0);
+                count(priority, "admitted");
+                return () -> release(lane);
+            }
+            if (lane.size >= properties.getMaxQueueSize()) {
+                count(priority, "queue_full");
+                return null;
+            }
+            waiter = new Waiter(lock.newCondition(), now);
+            lane.enqueue(waiter);
+        } finally {
+            lock.unlock();
+        }
+        return await(lane, waiter);
+    }
+
+    private Admission await(Lane lane, Waiter waiter) throws InterruptedException {
+        lock.lock();
+        try {
+            while (!waiter.granted) {
+                long now = System.nanoTime();
+                // 대기 중 과부하로 바뀌면 허용 대기 시간도 바로 줄어듦
+                long remaining = waiter.enqueuedNanos + queueTimeoutNanos(lane) - now;
+                if (remaining <= 0) {
+                    lane.cancel(waiter);
+                    lane.record(now, now - waiter.enqueuedNanos);
+                    sojourn(lane, now - waiter.enqueuedNanos);
+                    count(lane.priority, "shed");
+                    return null;
+                }
+                try {
+                    waiter.ready.awaitNanos(remaining);
+                } catch (InterruptedException e) {
+                    if (waiter.granted) {
+                        release0(lane); // 받은 자리를 다음 요청에 넘김
+                    } else {
+                        lane.cancel(waiter);
+                    }
+                    throw e;
+                }
+            }
+            long waited = System.nanoTime() - waiter.enqueuedNanos;
+            sojourn(lane, waited);
+            count(lane.priority, "queued");
+            return () -> release(lane);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void release(Lane lane) {
+        lock.lock();
+        try {
+            release0(lane);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 자리 반납: 대기 요청이 있으면 NORMAL, BULK 순서로 자리를 바로 넘김 (잠금 안에서 호출)
+     * BULK가 한도만큼 처리 중이면 BULK 대기 요청에는 넘기지 않음
+     *
+     * @param released 반납하는 요청의 우선순위
+     */
+    private void release0(Lane released) {
+        inFlight--;
+        if (released == bulk) {
+            bulkInFlight--;
+        }
+        long now = System.nanoTime();
+        for (Lane lane : lanes) {
+            if (!hasRoom(lane)) {
+                continue;
+            }
+            Waiter next = lane.poll(overloaded(lane));
+            if (next != null) {
+                take(lane);
+                next.granted = true;
+                lane.record(now, now - next.enqueuedNanos);
+                next.ready.signal();
+                return;
+            }
+        }
+    }
+
+    /**
+     * 전체 자리와 (BULK면) BULK 한도가 남았는지 (잠금 안에서 호출)
+     */
+    private boolean hasRoom(Lane lane) {
+        int maxConcurrent = properties.getMaxConcurrent();
+        if (inFlight >= maxConcurrent) {
+            return false;
+        }
+        int maxBulk = properties.getMaxConcurrentBulk();
+        return lane != bulk || maxBulk <= 0 || bulkInFlight < Math.min(maxBulk, maxConcurrent);
+    }
+
+    private void take(Lane lane) {
+        inFlight++;
+        if (lane == bulk) {
+            bulkInFlight++;
+        }
+    }
+
+    private long queueTimeoutNanos(Lane lane) {
+        return overloaded(lane) ? lane.targetNanos : lane.intervalNanos;
+    }
+
+    /**
+     * NORMAL이 과부하면 BULK도 과부하 (BULK를 먼저 버림, 잠금 안에서 호출)
+     */
+    private boolean overloaded(Lane lane) {
+        return lane.overloaded || (lane == bulk && normal.overloaded);
+    }
+
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getBulkInFlight() {
+        lock.lock();
+        try {
+            return bulkInFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int queued(Lane lane) {
+        lock.lock();
+        try {
+            return lane.size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean isOverloaded(Lane lane) {
+        lock.lock();
+        try {
+            return overloaded(lane);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void sojourn(Lane lane, long nanos) {
+        Timer.builder("gateway.loadshed.sojourn")
+                .description("입장 대기열에서 기다린 시간 (대기한 요청만)")
+                .tag("priority", lane.tag)
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private void count(Priority priority, String result) {
+        Counter.builder("gateway.loadshed.requests")
+                .description("입장 제어 결과 (result: admitted / queued / shed / queue_full)")
+                .tag("priority", priority.name().toLowerCase())
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * 입장권 (처리가 끝나면 close해서 자리를 반납)
+     */
+    @FunctionalInterface
+    public interface Admission extends AutoCloseable {
+
+        Admission NONE = () -> {
+        };
+
+        @Override
+        void close();
+    }
+
+    private static final class Waiter {
+
+        private final Condition ready;
+        private final long enqueuedNanos;
+        private boolean granted;
+        private boolean cancelled;
+
+        Waiter(Condition ready, long enqueuedNanos) {
+            this.ready = ready;
+            this.enqueuedNanos = enqueuedNanos;
+        }
+    }
+
+    /**
+     * 우선순위 하나의 대기열과 CoDel 상태 (모든 필드는 잠금 안에서만 사용)
+     */
+    private static final class Lane {
+
+        private final Priority priority;
+        private final String tag;
+        private final long targetNanos;
+        private final long intervalNanos;
+        private final Deque<Waiter> waiters = new ArrayDeque<>();
+        private int size; // 취소되지 않은 대기 요청 수
+        private long intervalStart = System.nanoTime();
+        private long minSojourn = Long.MAX_VALUE;
+        private boolean overloaded;
+
+        Lane(Priority priority, LoadShedProperties.CoDel settings) {
+            this.priority = priority;
+            this.tag = priority.name().toLowerCase();
+            this.targetNanos = settings.getTarget().toNanos();
+            this.intervalNanos = settings.getInterval().toNanos();
+        }
+
+        void enqueue(Waiter waiter) {
+            // 오래전에 포기한 요청이 앞쪽에 쌓이지 않도록 정리 (과부하 중에는 뒤에서 꺼내므로)
+            while (!waiters.isEmpty() && waiters.peekFirst().cancelled) {
+                waiters.pollFirst();
+            }
+            waiters.addLast(waiter);
+            size++;
+        }
+
+        Waiter poll(boolean lifo) {
+            while (!waiters.isEmpty()) {
+                Waiter waiter = lifo ? waiters.pollLast() : waiters.pollFirst();
+                if (!waiter.cancelled) {
+                    size--;
+                    return waiter;
+                }
+            }
+            return null;
+        }
+
+        void cancel(Waiter waiter) {
+            waiter.cancelled = true; // 꺼낼 때 건너뜀
+            size--;
+        }
+
+        /**
+         * 대기 시간 관측: interval마다 가장 짧은 대기 시간이 target을 넘었는지로 과부하 판정
+         */
+        void record(long now, long sojournNanos) {
+            minSojourn = Math.min(minSojourn, sojournNanos);
+            if (now - intervalStart >= intervalNanos) {
+                overloaded = minSojourn > targetNanos;
+                minSojourn = Long.MAX_VALUE;
+                intervalStart = now;
+            }
+        }
+    }
+
+    /**
+     * 경로 패턴 (라우트와 같은 문법: 리터럴 또는 "리터럴 + /**")
+     */
+    private record PathRule(String prefix, boolean prefixMatch) {
+
+        static List<PathRule> parse(List<String> patterns) {
+            List<PathRule> rules = new ArrayList<>();
+            for (String pattern : patterns) {
+                if (pattern == null || !pattern.startsWith("/")) {
+                    throw new IllegalArgumentException("load-shed 경로는 '/'로 시작해야 합니다: " + pattern);
+                }
+                boolean prefixMatch = pattern.endsWith("/**");
+                rules.add(new PathRule(prefixMatch ? pattern.substring(0, pattern.length() - 3) : pattern, prefixMatch));
+            }
+            return rules;
+        }
+
+        static boolean matchesAny(List<PathRule> rules, String path) {
+            for (PathRule rule : rules) {
+                if (rule.matches(path)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        boolean matches(String path) {
+            if (!path.startsWith(prefix)) {
+                return false;
+            }
+            if (path.length() == prefix.length()) {
+                return true;
+            }
+            return prefixMatch && (prefix.isEmpty() || path.charAt(prefix.length()) == '/');
+        }
+    }
+}
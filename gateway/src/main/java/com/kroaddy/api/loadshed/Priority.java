@@ -0,0 +1,10 @@
+package com.kroaddy.api.loadshed;
+
+/**
+ * 요청 우선순위 (경로로 분류)
+ */
+public enum Priority {
+    CRITICAL, // 인증/헬스 체크: 대기열을 거치지 않고 항상 처리
+    NORMAL, // 일반 API: 자리가 나면 BULK보다 먼저 처리
+    BULK // AI/ML 추론 등 무거운 요청: 과부하 시 가장 먼저 버림
+}
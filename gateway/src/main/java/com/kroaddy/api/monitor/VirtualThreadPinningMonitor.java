@@ -0,0 +1,97 @@
+package com.kroaddy.api.monitor;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 가상 스레드 피닝 감지
+ * JFR jdk.VirtualThreadPinned 이벤트를 스트리밍으로 받아 메트릭과 로그로 남김
+ * (synchronized 블록 안에서의 블로킹 I/O 등으로 캐리어 스레드가 묶이면 가상 스레드의 확장성이 사라짐)
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor implements DisposableBean {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private final Counter pinnedCounter;
+    private final Timer pinnedTimer;
+    private final Duration threshold;
+    private final int stackDepth;
+    private RecordingStream recordingStream;
+
+    @Autowired
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry,
+                                       @Value("${gateway.virtual-threads.pinned-threshold:20ms}") Duration threshold,
+                                       @Value("${gateway.virtual-threads.pinned-stack-depth:8}") int stackDepth) {
+        this.threshold = threshold;
+        this.stackDepth = stackDepth;
+        this.pinnedCounter = Counter.builder("gateway.virtualthreads.pinned")
+                .description("threshold를 넘겨 캐리어 스레드에 고정된 가상 스레드 수")
+                .register(meterRegistry);
+        this.pinnedTimer = Timer.builder("gateway.virtualthreads.pinned.duration")
+                .description("가상 스레드 피닝 지속 시간")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        try {
+            RecordingStream stream = new RecordingStream();
+            stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+            stream.onEvent(PINNED_EVENT, this::onPinned);
+            stream.startAsync();
+            this.recordingStream = stream;
+            log.info("가상 스레드 피닝 감지 시작: threshold={}", threshold);
+        } catch (Exception | LinkageError e) {
+            // JFR이 없는 런타임이어도 서비스는 계속
+            log.warn("가상 스레드 피닝 감지를 시작할 수 없습니다: {}", e.getMessage());
+        }
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinnedCounter.increment();
+        pinnedTimer.record(event.getDuration());
+        log.warn("가상 스레드 피닝 감지: duration={}ms, thread={}, stack=\n{}",
+                event.getDuration().toMillis(),
+                event.getThread() != null ? event.getThread().getJavaName() : "unknown",
+                formatStack(event.getStackTrace()));
+    }
+
+    private String formatStack(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "    (no stack trace)";
+        }
+        List<RecordedFrame> frames = stackTrace.getFrames();
+        return frames.stream()
+                .limit(stackDepth)
+                .map(frame -> "    at " + frame.getMethod().getType().getName() + "."
+                        + frame.getMethod().getName() + ":" + frame.getLineNumber())
+                .collect(Collectors.joining("\n"));
+    }
+
+    @Override
+    public void destroy() {
+        if (recordingStream != null) {
+            recordingStream.close();
+        }
+    }
+}
@@ -129,8 +129,8 @@ public class NaverController {
                         String naverId = userInfo.getResponse().getId();
 
                         // 4. JWT 및 Refresh Token 발급 (네이버 ID를 subject로 사용)
-                        String jwt = jwtTokenProvider.generateToken(naverId);
-                        String refreshToken = jwtTokenProvider.generateRefreshToken(naverId);
+                        String jwt = jwtTokenProvider.generateToken(naverId, "naver");
+                        String refreshToken = jwtTokenProvider.generateRefreshToken(naverId, "naver");
 
                         // 4-1. 백엔드 콘솔에 토큰 출력
                         String timestamp = LocalDateTime.now()
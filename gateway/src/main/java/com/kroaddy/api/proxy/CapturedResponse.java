@@ -0,0 +1,95 @@
+package com.kroaddy.api.proxy;
+
+import org.springframework.http.HttpHeaders;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * 메모리에 담아 둔 업스트림 응답 (여러 클라이언트에 같은 응답을 보낼 때 사용)
+ * hop-by-hop 헤더는 담을 때 이미 제외되어 있고, 공유되므로 헤더와 본문은 수정하지 않음
+ *
+ * @param status  업스트림 응답 상태 코드
+ * @param headers 클라이언트로 전달할 응답 헤더 (읽기 전용)
+ * @param body    응답 본문
+ */
+public record CapturedResponse(int status, HttpHeaders headers, byte[] body) {
+
+    // 304 응답에 포함하는 헤더 (RFC 9110 15.4.5)
+    private static final List<String> NOT_MODIFIED_HEADERS = List.of(
+            HttpHeaders.CACHE_CONTROL, HttpHeaders.CONTENT_LOCATION, HttpHeaders.DATE, HttpHeaders.ETAG,
+            HttpHeaders.EXPIRES, HttpHeaders.VARY);
+
+    /**
+     * 클라이언트 응답에 상태/헤더/본문 기록
+     */
+    public void writeTo(HttpServletResponse response) throws IOException {
+        response.setStatus(status);
+        headers.forEach((name, values) -> {
+            for (String value : values) {
+                response.addHeader(name, value);
+            }
+        });
+        OutputStream out = response.getOutputStream();
+        out.write(body);
+        out.flush();
+    }
+
+    /**
+     * 클라이언트 조건부 요청(If-None-Match / If-Modified-Since)을 반영해 기록
+     * 클라이언트가 가진 버전과 같으면 본문 없이 304, 아니면 전체 응답
+     */
+    public void writeTo(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (status != 200 || !notModified(request)) {
+            writeTo(response);
+            return;
+        }
+        response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+        for (String name : NOT_MODIFIED_HEADERS) {
+            for (String value : headers.getOrEmpty(name)) {
+                response.addHeader(name, value);
+            }
+        }
+        // ETag가 없으면 Last-Modified가 캐시 갱신의 기준
+        if (!headers.containsKey(HttpHeaders.ETAG)) {
+            for (String value : headers.getOrEmpty(HttpHeaders.LAST_MODIFIED)) {
+                response.addHeader(HttpHeaders.LAST_MODIFIED, value);
+            }
+        }
+    }
+
+    /**
+     * If-None-Match가 있으면 그것만으로 판단하고 (약한 비교), 없을 때만 If-Modified-Since 사용 (RFC 9110 13.2.2)
+     */
+    private boolean notModified(HttpServletRequest request) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            String etag = headers.getETag();
+            if (etag == null) {
+                return false;
+            }
+            String opaque = weak(etag);
+            for (String candidate : ifNoneMatch.split(",")) {
+                String tag = candidate.trim();
+                if (tag.equals("*") || weak(tag).equals(opaque)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        try {
+            long lastModified = headers.getLastModified();
+            long ifModifiedSince = request.getDateHeader(HttpHeaders.IF_MODIFIED_SINCE);
+            return lastModified >= 0 && ifModifiedSince >= 0 && lastModified / 1000 <= ifModifiedSince / 1000;
+        } catch (IllegalArgumentException e) {
+            return false; // 잘못된 날짜는 무시
+        }
+    }
+
+    private static String weak(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+}
@@ -0,0 +1,14 @@
+package com.kroaddy.api.proxy;
+
+import java.io.IOException;
+
+/**
+ * 응답을 쓰는 도중 클라이언트 연결이 끊김
+ * 업스트림 연결은 이미 끊었으며, 받을 클라이언트가 없으므로 오류 응답도 보내지 않음
+ */
+public class ClientDisconnectedException extends IOException {
+
+    public ClientDisconnectedException(IOException cause) {
+        super("클라이언트 연결이 끊겼습니다.", cause);
+    }
+}
@@ -0,0 +1,76 @@
+package com.kroaddy.api.proxy;
+
+import org.springframework.http.HttpStatus;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+
+/**
+ * 프록시 처리 중 클라이언트에 그대로 돌려줄 오류
+ * GatewayProxyController의 예외 핸들러가 status와 error/message를 JSON 응답으로 변환 (retryAfter가 있으면 Retry-After 헤더)
+ */
+public class ProxyException extends RuntimeException {
+
+    private final HttpStatus status;
+    private final String error;
+    private final Duration retryAfter;
+
+    public ProxyException(HttpStatus status, String error, String message) {
+        this(status, error, message, (Duration) null);
+    }
+
+    /**
+     * @param retryAfter 클라이언트에 알릴 재시도 대기 시간 (Retry-After 헤더)
+     */
+    public ProxyException(HttpStatus status, String error, String message, Duration retryAfter) {
+        super(message);
+        this.status = status;
+        this.error = error;
+        this.retryAfter = retryAfter;
+    }
+
+    public ProxyException(HttpStatus status, String error, String message, Throwable cause) {
+        super(message, cause);
+        this.status = status;
+        this.error = error;
+        this.retryAfter = null;
+    }
+
+    /**
+     * 업스트림 호출 실패를 응답으로 변환 (연결/응답 대기 타임아웃, 기한 초과면 504, 그 밖의 I/O 오류는 502)
+     */
+    public static ProxyException upstreamFailure(IOException e) {
+        if (isTimeout(e)) {
+            return new ProxyException(HttpStatus.GATEWAY_TIMEOUT, "Gateway timeout", e.getMessage(), e);
+        }
+        return new ProxyException(HttpStatus.BAD_GATEWAY, "Bad gateway", e.getMessage(), e);
+    }
+
+    /**
+     * 원인 중에 타임아웃이 있는지 (소켓/연결/풀 대기 타임아웃은 모두 InterruptedIOException)
+     */
+    public static boolean isTimeout(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof InterruptedIOException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    /**
+     * @return 재시도 대기 시간, 지정하지 않았으면 null
+     */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
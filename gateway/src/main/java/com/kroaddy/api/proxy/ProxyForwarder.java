@@ -0,0 +1,268 @@
+package com.kroaddy.api.proxy;
+
+import com.kroaddy.api.proxy.auth.IdentitySigner;
+import com.kroaddy.api.proxy.upstream.Deadline;
+import com.kroaddy.api.proxy.upstream.UpstreamTimeout;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.StreamingHttpOutputMessage;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.Enumeration;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * 스트리밍 프록시
+ * 요청 본문(servlet input stream)을 업스트림으로, 업스트림 응답 본문을 클라이언트로 그대로 흘려보냄
+ * 본문을 String이나 byte[]로 모으지 않으므로 바이너리도 깨지지 않고, 교환당 고정 크기 버퍼 하나만 사용
+ * 프록시 인증이 켜져 있으면 보내기 직전에 사용자 헤더를 실제 업스트림 메서드/Host/경로와 함께 서명 (IdentitySigner)
+ */
+@Component
+public class ProxyForwarder {
+
+    // 프록시가 그대로 전달하면 안 되는 hop-by-hop 헤더 (RFC 9110 7.6.1)
+    private static final Set<String> HOP_BY_HOP_HEADERS = Set.of(
+            "host", "connection", "keep-alive", "proxy-authenticate", "proxy-authorization",
+            "proxy-connection", "te", "trailer", "transfer-encoding", "upgrade");
+    // 게이트웨이 안에서만 쓰는 요청 헤더 (배치 하위 요청 표시, BatchExecutor.SUB_REQUEST_HEADER)
+    private static final Set<String> INTERNAL_HEADERS = Set.of("x-gateway-batch");
+
+    private final ClientHttpRequestFactory requestFactory;
+    private final int bufferSize;
+    private final IdentitySigner identitySigner; // 프록시 인증을 끄면 null
+
+    @Autowired
+    public ProxyForwarder(@Qualifier("proxyRequestFactory") ClientHttpRequestFactory requestFactory,
+                          @Value("${gateway.proxy.buffer-size:8192}") int bufferSize,
+                          ObjectProvider<IdentitySigner> identitySigner) {
+        this(requestFactory, bufferSize, identitySigner.getIfAvailable());
+    }
+
+    public ProxyForwarder(ClientHttpRequestFactory requestFactory, int bufferSize) {
+        this(requestFactory, bufferSize, (IdentitySigner) null);
+    }
+
+    public ProxyForwarder(ClientHttpRequestFactory requestFactory, int bufferSize, IdentitySigner identitySigner) {
+        this.requestFactory = requestFactory;
+        this.bufferSize = bufferSize;
+        this.identitySigner = identitySigner;
+    }
+
+    /**
+     * 요청을 업스트림으로 보내고 응답 헤더까지만 받음 (본문은 호출 측이 소비한 뒤 close)
+     * 재시도/헤지처럼 상태 코드를 보고 클라이언트에 보낼 응답을 고를 때 사용
+     *
+     * @param headersCustomizer 업스트림 요청 헤더 조정 (클라이언트 헤더 복사 후 호출)
+     */
+    public UpstreamResponse open(HttpServletRequest request, URI targetUri, long maxBodySize,
+                                 Consumer<HttpHeaders> headersCustomizer,
+                                 UpstreamExchangeListener listener) throws IOException {
+        byte[] buffer = new byte[bufferSize];
+        ClientHttpRequest upstreamRequest = prepare(request, targetUri, maxBodySize, buffer);
+        headersCustomizer.accept(upstreamRequest.getHeaders());
+        return opened(execute(upstreamRequest, maxBodySize, listener), listener, buffer);
+    }
+
+    /**
+     * 클라이언트 요청 없이 업스트림에 GET을 보내고 응답 헤더까지만 받음
+     *
+     * @param headers 업스트림 요청 헤더 (hop-by-hop 헤더는 제외하고 전송)
+     */
+    public UpstreamResponse open(URI targetUri, HttpHeaders headers, UpstreamExchangeListener listener)
+            throws IOException {
+        return open(HttpMethod.GET, targetUri, headers, null, listener);
+    }
+
+    /**
+     * 클라이언트 연결 없이 미리 받아 둔 요청을 업스트림에 보내고 응답 헤더까지만 받음 (비동기 작업용)
+     *
+     * @param headers 업스트림 요청 헤더 (hop-by-hop 헤더는 제외하고 전송)
+     * @param body    요청 본문, null이면 본문 없음
+     */
+    public UpstreamResponse open(HttpMethod method, URI targetUri, HttpHeaders headers, byte[] body,
+                                 UpstreamExchangeListener listener) throws IOException {
+        ClientHttpRequest upstreamRequest = requestFactory.createRequest(targetUri, method);
+        headers.forEach((name, values) -> {
+            if (!isHopByHop(name)) {
+                upstreamRequest.getHeaders().addAll(name, values);
+            }
+        });
+        if (body != null) {
+            upstreamRequest.getHeaders().setContentLength(body.length);
+            if (upstreamRequest instanceof StreamingHttpOutputMessage streamingRequest) {
+                streamingRequest.setBody(out -> out.write(body));
+            } else {
+                upstreamRequest.getBody().write(body);
+            }
+        }
+        return opened(execute(upstreamRequest, -1, listener), listener, new byte[bufferSize]);
+    }
+
+    private static UpstreamResponse opened(ClientHttpResponse upstreamResponse, UpstreamExchangeListener listener,
+                                           byte[] buffer) throws IOException {
+        try {
+            int statusCode = upstreamResponse.getStatusCode().value();
+            listener.onResponse(statusCode);
+            return new UpstreamResponse(upstreamResponse, statusCode, buffer);
+        } catch (IOException | RuntimeException e) {
+            upstreamResponse.close();
+            throw e;
+        }
+    }
+
+    /**
+     * 요청 본문이 있는지 (본문이 있는 요청은 다시 보낼 수 없으므로 재시도/헤지 대상이 아님)
+     */
+    public static boolean hasBody(HttpServletRequest request) {
+        return request.getContentLengthLong() > 0 || request.getHeader(HttpHeaders.TRANSFER_ENCODING) != null;
+    }
+
+    static boolean isHopByHop(String headerName) {
+        return HOP_BY_HOP_HEADERS.contains(headerName.toLowerCase());
+    }
+
+    /**
+     * 게이트웨이 안에서만 쓰는 요청 헤더인지 (클라이언트 요청 헤더를 업스트림에 복사할 때 제외)
+     */
+    public static boolean isInternal(String headerName) {
+        return INTERNAL_HEADERS.contains(headerName.toLowerCase());
+    }
+
+    private ClientHttpRequest prepare(HttpServletRequest request, URI targetUri, long maxBodySize,
+                                      byte[] buffer) throws IOException {
+        ClientHttpRequest upstreamRequest = requestFactory.createRequest(
+                targetUri, HttpMethod.valueOf(request.getMethod()));
+        copyRequestHeaders(request, upstreamRequest.getHeaders());
+
+        if (hasBody(request)) {
+            long contentLength = request.getContentLengthLong();
+            if (maxBodySize > 0 && contentLength > maxBodySize) {
+                throw payloadTooLarge(maxBodySize);
+            }
+            InputStream body = maxBodySize > 0
+                    ? new LimitedInputStream(request.getInputStream(), maxBodySize)
+                    : request.getInputStream();
+            if (upstreamRequest instanceof StreamingHttpOutputMessage streamingRequest) {
+                // 요청 실행 시점에 업스트림 커넥션으로 직접 복사 (중간 버퍼링 없음)
+                streamingRequest.setBody(out -> copy(body, out, buffer));
+            } else {
+                copy(body, upstreamRequest.getBody(), buffer);
+            }
+        }
+        return upstreamRequest;
+    }
+
+    private ClientHttpResponse execute(ClientHttpRequest upstreamRequest, long maxBodySize,
+                                       UpstreamExchangeListener listener) throws IOException {
+        // 요청 기한이 있으면 남은 시간을 업스트림에 전달 (클라이언트가 보낸 값은 덮어씀, 업스트림이 늦은 작업을 포기할 수 있도록)
+        Deadline deadline = UpstreamTimeout.currentDeadline();
+        if (deadline != null) {
+            upstreamRequest.getHeaders().set(Deadline.HEADER, String.valueOf(deadline.remainingMillis()));
+        }
+        // 재시도/비동기 작업도 시도마다 실제로 보내는 요청 줄과 시각으로 다시 서명
+        if (identitySigner != null) {
+            identitySigner.sign(upstreamRequest.getMethod(), upstreamRequest.getURI(), upstreamRequest.getHeaders(),
+                    System.currentTimeMillis() / 1000);
+        }
+        try {
+            return upstreamRequest.execute();
+        } catch (IOException e) {
+            // 청크 업로드가 전송 도중 한도를 넘은 경우 (클라이언트 오류이므로 업스트림 실패로 통지하지 않음)
+            for (Throwable t = e; t != null; t = t.getCause()) {
+                if (t instanceof BodyTooLargeException) {
+                    throw payloadTooLarge(maxBodySize);
+                }
+            }
+            listener.onFailure(e);
+            throw e;
+        }
+    }
+
+    private void copyRequestHeaders(HttpServletRequest request, HttpHeaders target) {
+        Enumeration<String> names = request.getHeaderNames();
+        while (names.hasMoreElements()) {
+            String name = names.nextElement();
+            if (isHopByHop(name) || isInternal(name)) {
+                continue;
+            }
+            Enumeration<String> values = request.getHeaders(name);
+            while (values.hasMoreElements()) {
+                target.add(name, values.nextElement());
+            }
+        }
+    }
+
+    private static void copy(InputStream in, OutputStream out, byte[] buffer) throws IOException {
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+    }
+
+    private static ProxyException payloadTooLarge(long maxBodySize) {
+        return new ProxyException(HttpStatus.PAYLOAD_TOO_LARGE, "Payload too large",
+                "요청 본문이 허용 크기(" + maxBodySize + " bytes)를 초과했습니다.");
+    }
+
+    /**
+     * 읽은 바이트 수가 한도를 넘으면 실패하는 입력 스트림
+     * Content-Length 없이 들어오는 청크 업로드에도 한도를 적용하기 위함
+     */
+    private static class LimitedInputStream extends FilterInputStream {
+
+        private final long limit;
+        private long count;
+
+        LimitedInputStream(InputStream in, long limit) {
+            super(in);
+            this.limit = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) {
+                checkLimit(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = super.read(b, off, len);
+            if (read > 0) {
+                checkLimit(read);
+            }
+            return read;
+        }
+
+        private void checkLimit(int read) throws BodyTooLargeException {
+            count += read;
+            if (count > limit) {
+                throw new BodyTooLargeException();
+            }
+        }
+    }
+
+    private static class BodyTooLargeException extends IOException {
+        BodyTooLargeException() {
+            super("Request body exceeds limit");
+        }
+    }
+}
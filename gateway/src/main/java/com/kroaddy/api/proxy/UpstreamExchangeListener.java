@@ -0,0 +1,53 @@
+package com.kroaddy.api.proxy;
+
+/**
+ * 업스트림 교환 결과 통지
+ * 응답 헤더를 받은 시점(또는 그 전에 실패한 시점)에 한 번 호출되며, 이후 응답 본문 스트리밍 중 오류는 통지하지 않음
+ * (클라이언트가 다운로드 도중 끊은 것을 업스트림 실패로 세지 않기 위함)
+ */
+public interface UpstreamExchangeListener {
+
+    UpstreamExchangeListener NONE = new UpstreamExchangeListener() {
+        @Override
+        public void onResponse(int statusCode) {
+        }
+
+        @Override
+        public void onFailure(Throwable error) {
+        }
+    };
+
+    /**
+     * 업스트림 응답 헤더 수신
+     *
+     * @param statusCode 업스트림 응답 상태 코드
+     */
+    void onResponse(int statusCode);
+
+    /**
+     * 응답을 받기 전 업스트림 오류 (연결 실패, 타임아웃 등)
+     *
+     * @param error 발생한 오류
+     */
+    void onFailure(Throwable error);
+
+    /**
+     * 두 리스너에 차례로 통지
+     */
+    default UpstreamExchangeListener andThen(UpstreamExchangeListener next) {
+        UpstreamExchangeListener first = this;
+        return new UpstreamExchangeListener() {
+            @Override
+            public void onResponse(int statusCode) {
+                first.onResponse(statusCode);
+                next.onResponse(statusCode);
+            }
+
+            @Override
+            public void onFailure(Throwable error) {
+                first.onFailure(error);
+                next.onFailure(error);
+            }
+        };
+    }
+}
@@ -0,0 +1,218 @@
+package com.kroaddy.api.proxy;
+
+import org.apache.hc.core5.http.io.EofSensorInputStream;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.client.ClientHttpResponse;
+
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * 응답 헤더까지 받은 업스트림 응답 (본문은 아직 읽지 않음)
+ * 상태 코드를 보고 재시도/헤지 승자를 정한 뒤 relay / relayOrCapture / capture 중 하나로 본문을 소비하고 close
+ * 클라이언트 쓰기가 실패하면(연결 끊김) 남은 본문을 읽지 않고 업스트림 연결을 끊은 뒤 ClientDisconnectedException
+ */
+public final class UpstreamResponse implements AutoCloseable {
+
+    private final ClientHttpResponse response;
+    private final int statusCode;
+    private final byte[] buffer;
+
+    UpstreamResponse(ClientHttpResponse response, int statusCode, byte[] buffer) {
+        this.response = response;
+        this.statusCode = statusCode;
+        this.buffer = buffer;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    public HttpHeaders getHeaders() {
+        return response.getHeaders();
+    }
+
+    /**
+     * 상태/헤더만 클라이언트 응답에 설정 (본문은 getBody로 직접 전달하는 스트리밍 응답용)
+     */
+    public void relayHead(HttpServletResponse client) {
+        client.setStatus(statusCode);
+        copyHeaders(response.getHeaders(), client);
+    }
+
+    public InputStream getBody() throws IOException {
+        return response.getBody();
+    }
+
+    /**
+     * 상태/헤더/본문을 클라이언트로 스트리밍
+     *
+     * @throws ClientDisconnectedException 클라이언트 연결이 끊겨 전달을 중단함
+     */
+    public void relay(HttpServletResponse client) throws IOException {
+        client.setStatus(statusCode);
+        copyHeaders(response.getHeaders(), client);
+        OutputStream out = new ClientOutputStream(client.getOutputStream());
+        copy(response.getBody(), out, buffer);
+        out.flush();
+    }
+
+    /**
+     * 다른 클라이언트와 공유할 수 있는 응답이면 본문까지 메모리에 담아 반환 (클라이언트 기록은 호출 측이 수행)
+     * 공유할 수 없는 응답(Set-Cookie 포함, maxCaptureBytes 초과)은 지금까지 읽은 부분부터 그대로 스트리밍하고 null 반환
+     *
+     * @throws ClientDisconnectedException 스트리밍 중 클라이언트 연결이 끊겨 전달을 중단함
+     */
+    public CapturedResponse relayOrCapture(HttpServletResponse client, int maxCaptureBytes) throws IOException {
+        HttpHeaders upstreamHeaders = response.getHeaders();
+        InputStream in = response.getBody();
+        ByteArrayOutputStream captured = new ByteArrayOutputStream();
+        if (capture(upstreamHeaders, in, captured, maxCaptureBytes, buffer)) {
+            return captured(upstreamHeaders, captured);
+        }
+
+        client.setStatus(statusCode);
+        copyHeaders(upstreamHeaders, client);
+        OutputStream out = new ClientOutputStream(client.getOutputStream());
+        captured.writeTo(out);
+        copy(in, out, buffer);
+        out.flush();
+        return null;
+    }
+
+    /**
+     * 클라이언트 없이 본문까지 담아 반환
+     *
+     * @return 담은 응답, 공유할 수 없는 응답이면 null
+     */
+    public CapturedResponse capture(int maxCaptureBytes) throws IOException {
+        ByteArrayOutputStream captured = new ByteArrayOutputStream();
+        if (capture(response.getHeaders(), response.getBody(), captured, maxCaptureBytes, buffer)) {
+            return captured(response.getHeaders(), captured);
+        }
+        return null;
+    }
+
+    /**
+     * 공유 여부와 관계없이 본문까지 담아 반환 (요청한 클라이언트에게만 나중에 전달하는 비동기 작업 결과용)
+     *
+     * @return 담은 응답, 본문이 maxBytes를 넘으면 null
+     */
+    public CapturedResponse read(int maxBytes) throws IOException {
+        HttpHeaders upstreamHeaders = response.getHeaders();
+        if (upstreamHeaders.getContentLength() > maxBytes) {
+            return null;
+        }
+        InputStream in = response.getBody();
+        ByteArrayOutputStream captured = new ByteArrayOutputStream();
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            captured.write(buffer, 0, read);
+            if (captured.size() > maxBytes) {
+                return null;
+            }
+        }
+        return captured(upstreamHeaders, captured);
+    }
+
+    @Override
+    public void close() {
+        response.close();
+    }
+
+    /**
+     * 남은 본문을 읽지 않고 업스트림 연결을 끊음 (다른 스레드에서 막힌 읽기도 깨움)
+     * close는 커넥션 재사용을 위해 남은 본문을 끝까지 읽으므로, 끝나지 않는 스트림을 중단할 때는 먼저 abort
+     */
+    public void abort() {
+        try {
+            InputStream body = response.getBody();
+            if (body instanceof EofSensorInputStream sensor) {
+                sensor.abort(); // Apache HttpClient: 커넥션을 풀에 돌려주지 않고 소켓을 닫음
+            } else {
+                body.close();
+            }
+        } catch (IOException | RuntimeException e) {
+            // 이미 끊긴 연결
+        }
+    }
+
+    /**
+     * 공유할 수 있는 응답이면 본문을 끝까지 담고 true, 아니면 읽은 부분까지만 담고 false
+     */
+    private static boolean capture(HttpHeaders upstreamHeaders, InputStream in, ByteArrayOutputStream captured,
+                                   int maxCaptureBytes, byte[] buffer) throws IOException {
+        boolean shareable = !upstreamHeaders.containsKey(HttpHeaders.SET_COOKIE)
+                && upstreamHeaders.getContentLength() <= maxCaptureBytes;
+        int read;
+        while (shareable && (read = in.read(buffer)) != -1) {
+            captured.write(buffer, 0, read);
+            shareable = captured.size() <= maxCaptureBytes;
+        }
+        return shareable;
+    }
+
+    private CapturedResponse captured(HttpHeaders upstreamHeaders, ByteArrayOutputStream captured) {
+        HttpHeaders headers = new HttpHeaders();
+        upstreamHeaders.forEach((name, values) -> {
+            if (!ProxyForwarder.isHopByHop(name)) {
+                headers.addAll(name, values);
+            }
+        });
+        return new CapturedResponse(statusCode, HttpHeaders.readOnlyHttpHeaders(headers), captured.toByteArray());
+    }
+
+    private static void copyHeaders(HttpHeaders source, HttpServletResponse client) {
+        source.forEach((name, values) -> {
+            if (!ProxyForwarder.isHopByHop(name)) {
+                for (String value : values) {
+                    client.addHeader(name, value);
+                }
+            }
+        });
+    }
+
+    private static void copy(InputStream in, OutputStream out, byte[] buffer) throws IOException {
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+    }
+
+    /**
+     * 클라이언트 응답 스트림 (쓰기 실패 시 업스트림 연결도 끊어, 받을 사람이 없는 본문을 계속 읽지 않도록)
+     */
+    private final class ClientOutputStream extends FilterOutputStream {
+
+        ClientOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            try {
+                out.write(b, off, len);
+            } catch (IOException e) {
+                throw disconnected(e);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            try {
+                out.flush();
+            } catch (IOException e) {
+                throw disconnected(e);
+            }
+        }
+
+        private ClientDisconnectedException disconnected(IOException e) {
+            abort();
+            return new ClientDisconnectedException(e);
+        }
+    }
+}
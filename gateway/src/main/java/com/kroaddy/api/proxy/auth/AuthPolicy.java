@@ -0,0 +1,10 @@
+package com.kroaddy.api.proxy.auth;
+
+/**
+ * 라우트의 인증 정책 (게이트웨이가 JWT를 검증하고 업스트림에 사용자 헤더를 넣음)
+ */
+public enum AuthPolicy {
+    REQUIRED, // 유효한 토큰이 없으면 401, 업스트림에는 항상 사용자 헤더가 있음
+    OPTIONAL, // 유효한 토큰이 있으면 사용자 헤더를 넣고, 없거나 유효하지 않으면 익명으로 전달
+    NONE // 토큰을 검증하지 않음 (클라이언트가 보낸 사용자 헤더는 이 경우에도 제거)
+}
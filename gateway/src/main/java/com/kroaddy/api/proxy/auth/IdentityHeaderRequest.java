@@ -0,0 +1,78 @@
+package com.kroaddy.api.proxy.auth;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 사용자 헤더를 바꾼 요청
+ * 제거 대상 헤더는 보이지 않게 하고, 게이트웨이가 확인한 사용자 헤더(있으면)를 대신 보여줌
+ * (서명 헤더는 업스트림 요청 줄이 정해진 뒤 ProxyForwarder가 추가)
+ * 프록시/병합/캐시/비동기 작업은 모두 요청 헤더를 그대로 복사하므로 이 요청만 넘기면 업스트림까지 전달됨
+ */
+final class IdentityHeaderRequest extends HttpServletRequestWrapper {
+
+    private final Set<String> hidden; // 소문자
+    private final String[] injected; // IdentitySigner.IDENTITY_HEADERS 순서의 값, 익명이면 null
+
+    /**
+     * @param hidden   제거할 헤더 이름 (소문자)
+     * @param injected IdentitySigner.identity 결과, 익명이면 null
+     */
+    IdentityHeaderRequest(HttpServletRequest request, Set<String> hidden, String[] injected) {
+        super(request);
+        this.hidden = hidden;
+        this.injected = injected;
+    }
+
+    @Override
+    public String getHeader(String name) {
+        int index = injectedIndex(name);
+        if (index >= 0) {
+            return injected[index];
+        }
+        return hidden.contains(name.toLowerCase()) ? null : super.getHeader(name);
+    }
+
+    @Override
+    public Enumeration<String> getHeaders(String name) {
+        int index = injectedIndex(name);
+        if (index >= 0) {
+            return Collections.enumeration(List.of(injected[index]));
+        }
+        return hidden.contains(name.toLowerCase()) ? Collections.emptyEnumeration() : super.getHeaders(name);
+    }
+
+    @Override
+    public Enumeration<String> getHeaderNames() {
+        List<String> names = new ArrayList<>();
+        Enumeration<String> original = super.getHeaderNames();
+        while (original.hasMoreElements()) {
+            String name = original.nextElement();
+            if (!hidden.contains(name.toLowerCase())) {
+                names.add(name);
+            }
+        }
+        if (injected != null) {
+            names.addAll(IdentitySigner.IDENTITY_HEADERS);
+        }
+        return Collections.enumeration(names);
+    }
+
+    private int injectedIndex(String name) {
+        if (injected == null) {
+            return -1;
+        }
+        for (int i = 0; i < IdentitySigner.IDENTITY_HEADERS.size(); i++) {
+            if (IdentitySigner.IDENTITY_HEADERS.get(i).equalsIgnoreCase(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,125 @@
+package com.kroaddy.api.proxy.auth;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * 업스트림에 넣는 사용자 헤더 서명
+ * X-Auth-Signature = base64url(HMAC-SHA256(identity-secret,
+ *   "v2\n" + X-Auth-Timestamp + "\n" + 메서드 + "\n" + Host + "\n" + 요청 대상(경로?쿼리) + "\n" + X-User-Id + "\n" + X-Auth-Provider))
+ * 업스트림은 JWT 대신 이 서명과 타임스탬프(epoch 초, 허용 오차는 업스트림이 정함)를 자신이 받은 요청 줄/Host로 확인하면 됨
+ * (서명한 헤더를 가로채도 다른 업스트림, 경로, 메서드로는 다시 쓸 수 없음)
+ * 로드 밸런서가 인스턴스를 고른 뒤에야 Host가 정해지므로 ProxyForwarder가 업스트림에 보내기 직전에 서명
+ * (WebSocket은 WebSocketProxyHandler가 업스트림 핸드셰이크(GET ws 대상) 직전에 서명)
+ * Mac은 JwtEngine과 같이 풀에서 빌려 재사용
+ */
+public final class IdentitySigner {
+
+    public static final String USER_ID = "X-User-Id";
+    public static final String PROVIDER = "X-Auth-Provider";
+    public static final String TIMESTAMP = "X-Auth-Timestamp";
+    public static final String SIGNATURE = "X-Auth-Signature";
+    // 게이트웨이만 넣을 수 있는 헤더 (클라이언트가 보낸 값은 항상 제거)
+    public static final List<String> HEADERS = List.of(USER_ID, PROVIDER, TIMESTAMP, SIGNATURE);
+    // ProxyAuthFilter(WebSocket은 WebSocketAuthInterceptor)가 넣는 사용자 헤더 (서명 헤더는 전송 직전에 추가)
+    public static final List<String> IDENTITY_HEADERS = List.of(USER_ID, PROVIDER);
+
+    // 토큰에 로그인 제공자가 없을 때 (provider 클레임 이전에 발급한 토큰)
+    static final String UNKNOWN_PROVIDER = "unknown";
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private final SecretKeySpec key;
+    private final BlockingQueue<Mac> pool = new ArrayBlockingQueue<>(
+            Math.max(16, Runtime.getRuntime().availableProcessors() * 4));
+
+    /**
+     * @param secret 서명 키 (UTF-8 32바이트 이상)
+     */
+    public IdentitySigner(String secret) {
+        byte[] keyBytes = secret != null ? secret.getBytes(StandardCharsets.UTF_8) : new byte[0];
+        if (keyBytes.length < 32) {
+            throw new IllegalArgumentException("gateway.auth.identity-secret은 32바이트 이상이어야 합니다.");
+        }
+        this.key = new SecretKeySpec(keyBytes, ALGORITHM);
+    }
+
+    /**
+     * 업스트림 요청 헤더에 서명 추가 (ProxyAuthFilter가 넣은 X-User-Id가 없으면 서명 헤더만 제거)
+     *
+     * @param method       업스트림 요청 메서드
+     * @param uri          업스트림 요청 URI (authority와 경로/쿼리를 서명)
+     * @param headers      업스트림 요청 헤더
+     * @param epochSeconds 서명 시각
+     */
+    public void sign(HttpMethod method, URI uri, HttpHeaders headers, long epochSeconds) {
+        String userId = headers.getFirst(USER_ID);
+        if (userId == null) {
+            headers.remove(TIMESTAMP);
+            headers.remove(SIGNATURE);
+            return;
+        }
+        String target = uri.getRawQuery() != null ? uri.getRawPath() + "?" + uri.getRawQuery() : uri.getRawPath();
+        String[] signed = sign(method.name(), uri.getRawAuthority(), target, userId, headers.getFirst(PROVIDER),
+                epochSeconds);
+        headers.set(TIMESTAMP, signed[0]);
+        headers.set(SIGNATURE, signed[1]);
+    }
+
+    /**
+     * @param host         업스트림 Host (host[:port])
+     * @param target       요청 대상 (경로, 쿼리가 있으면 ?쿼리 포함, 인코딩된 그대로)
+     * @param provider     로그인 제공자, null이면 unknown
+     * @param epochSeconds 서명 시각
+     * @return TIMESTAMP, SIGNATURE 순서의 헤더 값
+     */
+    String[] sign(String method, String host, String target, String userId, String provider, long epochSeconds) {
+        String timestamp = Long.toString(epochSeconds);
+        String signingInput = "v2\n" + timestamp + "\n" + method + "\n" + host.toLowerCase() + "\n" + target
+                + "\n" + userId + "\n" + provider(provider);
+
+        Mac mac = pool.poll();
+        if (mac == null) {
+            mac = newMac();
+        }
+        try {
+            byte[] signature = mac.doFinal(signingInput.getBytes(StandardCharsets.UTF_8));
+            return new String[]{timestamp, ENCODER.encodeToString(signature)};
+        } finally {
+            pool.offer(mac);
+        }
+    }
+
+    /**
+     * @param provider 로그인 제공자, null이면 unknown
+     * @return 업스트림에 넣을 사용자 헤더 값 (IDENTITY_HEADERS 순서)
+     */
+    public static String[] identity(String userId, String provider) {
+        return new String[]{userId, provider(provider)};
+    }
+
+    private static String provider(String provider) {
+        return provider != null ? provider : UNKNOWN_PROVIDER;
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256을 사용할 수 없습니다.", e);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.kroaddy.api.proxy.auth;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kroaddy.api.jwt.JwtIdentity;
+import com.kroaddy.api.jwt.TokenValidation;
+import com.kroaddy.api.jwt.VerifiedTokenCache;
+import com.kroaddy.api.proxy.route.RouteConfig;
+import com.kroaddy.api.proxy.route.RouteTable;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 프록시 라우트 인증 필터
+ * 요청 경로의 라우트 정책(required / optional / none)에 따라 Authorization 헤더(Bearer) 또는 쿠키의 JWT를 한 번만 검증하고,
+ * 클라이언트가 보낸 사용자 헤더는 제거한 뒤 게이트웨이가 확인한 X-User-Id / X-Auth-Provider를 넣어 업스트림에 전달
+ * (서명은 ProxyForwarder가 업스트림 메서드/Host/경로가 정해진 뒤 IdentitySigner로 추가)
+ * 검증은 VerifiedTokenCache를 거치므로 같은 토큰이면 서명 검증 없이 캐시 조회만 하고, 로그아웃한 토큰은 거절
+ * 라우트가 없는 경로(게이트웨이가 직접 처리하는 /api/auth 등)는 그대로 통과
+ */
+public class ProxyAuthFilter extends OncePerRequestFilter {
+
+    private static final String[] RESULTS = {"authenticated", "anonymous", "rejected"};
+    private static final int AUTHENTICATED = 0;
+    private static final int ANONYMOUS = 1;
+    private static final int REJECTED = 2;
+
+    private final RouteTable routeTable;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final AuthPolicy defaultPolicy;
+    private final Set<String> hidden = new HashSet<>(); // 소문자
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    // 라우트 id별 결과 카운터 (요청마다 미터를 조회하지 않도록, [정책 * 3 + 결과])
+    private final Map<String, Counter[]> counters = new ConcurrentHashMap<>();
+
+    public ProxyAuthFilter(RouteTable routeTable, VerifiedTokenCache verifiedTokenCache, ProxyAuthProperties properties,
+                           ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.routeTable = routeTable;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.defaultPolicy = properties.getDefaultPolicy();
+        IdentitySigner.HEADERS.forEach(name -> hidden.add(name.toLowerCase()));
+        properties.getStripHeaders().forEach(name -> hidden.add(name.toLowerCase()));
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // CORS preflight에는 쿠키/토큰이 없음
+        return "OPTIONS".equals(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RouteConfig route = routeTable.current().match(request.getRequestURI());
+        if (route == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        AuthPolicy policy = route.getAuthPolicy() != null ? route.getAuthPolicy() : defaultPolicy;
+
+        String[] identityHeaders = null;
+        if (policy != AuthPolicy.NONE) {
+            TokenValidation validation = verifiedTokenCache.validate(extractToken(request));
+            if (validation.isValid()) {
+                JwtIdentity identity = validation.identity();
+                identityHeaders = IdentitySigner.identity(identity.subject(), identity.provider());
+                count(route, policy, AUTHENTICATED);
+            } else if (policy == AuthPolicy.REQUIRED) {
+                count(route, policy, REJECTED);
+                reject(request, response, validation.failure());
+                return;
+            } else {
+                count(route, policy, ANONYMOUS);
+            }
+        }
+
+        // 넣을 헤더도, 지울 헤더도 없으면 원본 요청 그대로
+        if (identityHeaders == null && !hasHiddenHeader(request)) {
+            chain.doFilter(request, response);
+            return;
+        }
+        chain.doFilter(new IdentityHeaderRequest(request, hidden, identityHeaders), response);
+    }
+
+    private boolean hasHiddenHeader(HttpServletRequest request) {
+        for (String name : hidden) {
+            if (request.getHeader(name) != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, TokenValidation.Failure failure)
+            throws IOException {
+        response.setStatus(HttpStatus.UNAUTHORIZED.value());
+        response.setHeader(HttpHeaders.WWW_AUTHENTICATE, failure == TokenValidation.Failure.MISSING
+                ? "Bearer" : "Bearer error=\"invalid_token\"");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        objectMapper.writeValue(response.getOutputStream(), Map.of(
+                "error", "Unauthorized",
+                "message", failure == TokenValidation.Failure.MISSING ? "인증이 필요합니다." : "유효하지 않은 토큰입니다.",
+                "reason", failure.name(),
+                "path", request.getRequestURI()));
+    }
+
+    private void count(RouteConfig route, AuthPolicy policy, int result) {
+        Counter[] routeCounters = counters.computeIfAbsent(route.getId(),
+                id -> new Counter[AuthPolicy.values().length * RESULTS.length]);
+        int index = policy.ordinal() * RESULTS.length + result;
+        Counter counter = routeCounters[index];
+        if (counter == null) {
+            // 같은 미터는 레지스트리가 하나만 만들므로 경쟁해도 같은 카운터
+            counter = Counter.builder("gateway.auth.requests")
+                    .description("프록시 라우트 인증 결과 (result: authenticated / anonymous / rejected)")
+                    .tag("route", route.getId())
+                    .tag("policy", policy.name().toLowerCase())
+                    .tag("result", RESULTS[result])
+                    .register(meterRegistry);
+            routeCounters[index] = counter;
+        }
+        counter.increment();
+    }
+
+    private String extractToken(HttpServletRequest request) {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header != null && header.startsWith("Bearer ")) {
+            return header.substring(7);
+        }
+        Cookie[] cookies = request.getCookies();
+        if (cookies != null) {
+            for (Cookie cookie : cookies) {
+                if ("Authorization".equals(cookie.getName())) {
+                    return cookie.getValue();
+                }
+            }
+        }
+        return null;
+    }
+}
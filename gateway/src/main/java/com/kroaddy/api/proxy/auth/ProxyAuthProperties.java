@@ -0,0 +1,23 @@
+package com.kroaddy.api.proxy.auth;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 프록시 라우트 인증 설정
+ * 라우트별 정책은 라우트 정의의 auth로 지정 (없으면 default-policy)
+ */
+@Component
+@ConfigurationProperties(prefix = "gateway.auth")
+@Data
+public class ProxyAuthProperties {
+    private boolean enabled = true;
+    private AuthPolicy defaultPolicy = AuthPolicy.OPTIONAL; // 라우트에 auth가 없을 때 적용
+    private String identitySecret; // 업스트림 사용자 헤더 서명 키 (JWT 키와 별도, 32바이트 이상)
+    // 클라이언트가 보내도 업스트림에 전달하지 않는 헤더 (게이트웨이가 넣는 사용자 헤더는 항상 포함)
+    private List<String> stripHeaders = new ArrayList<>(List.of("X-Forwarded-User", "X-Remote-User"));
+}
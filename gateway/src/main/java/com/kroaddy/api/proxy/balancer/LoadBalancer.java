@@ -0,0 +1,180 @@
+package com.kroaddy.api.proxy.balancer;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 요청마다 인스턴스 하나를 고르는 선택기
+ * 모든 구현은 요청 경로에서 락을 잡지 않음 (원자 카운터 또는 무작위 두 개 비교)
+ * 헬스 체크 실패/이상치 제외 중인 인스턴스는 건너뛰고, slow start 중이면 허용 비율만큼만 선택
+ */
+public abstract class LoadBalancer {
+
+    protected final List<UpstreamInstance> instances;
+
+    protected LoadBalancer(List<UpstreamInstance> instances) {
+        if (instances.isEmpty()) {
+            throw new IllegalArgumentException("인스턴스가 하나 이상 필요합니다.");
+        }
+        this.instances = List.copyOf(instances);
+    }
+
+    /**
+     * 전략에 맞는 선택기 생성 (인스턴스가 하나면 항상 그 인스턴스)
+     */
+    public static LoadBalancer create(LoadBalancerStrategy strategy, List<UpstreamInstance> instances) {
+        if (instances.size() == 1) {
+            return new Single(instances);
+        }
+        return switch (strategy) {
+            case ROUND_ROBIN -> new RoundRobin(instances);
+            case WEIGHTED -> new Weighted(instances);
+            case LEAST_OUTSTANDING -> new PowerOfTwo(instances, false);
+            case LATENCY_EWMA -> new PowerOfTwo(instances, true);
+        };
+    }
+
+    /**
+     * 인스턴스 선택
+     * 전략이 고른 후보가 제외 중이면 다시 고르고, 몇 번 안에 못 찾으면 가용 인스턴스를 순서대로 찾음
+     *
+     * @return 선택한 인스턴스, 모든 인스턴스가 제외 중이면 null
+     */
+    public UpstreamInstance choose() {
+        long now = System.nanoTime();
+        int attempts = Math.max(4, instances.size() * 2);
+        for (int attempt = 0; attempt < attempts; attempt++) {
+            UpstreamInstance candidate = pick(now);
+            if (candidate.admits(now)) {
+                return candidate;
+            }
+        }
+        for (UpstreamInstance instance : instances) {
+            if (instance.isAvailable(now)) {
+                return instance;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 전략에 따른 후보 하나 (가용 여부는 choose에서 확인)
+     */
+    protected abstract UpstreamInstance pick(long now);
+
+    public List<UpstreamInstance> getInstances() {
+        return instances;
+    }
+
+    private static final class Single extends LoadBalancer {
+
+        Single(List<UpstreamInstance> instances) {
+            super(instances);
+        }
+
+        @Override
+        protected UpstreamInstance pick(long now) {
+            return instances.get(0);
+        }
+    }
+
+    private static final class RoundRobin extends LoadBalancer {
+
+        private final AtomicInteger next = new AtomicInteger();
+
+        RoundRobin(List<UpstreamInstance> instances) {
+            super(instances);
+        }
+
+        @Override
+        protected UpstreamInstance pick(long now) {
+            return instances.get(Math.floorMod(next.getAndIncrement(), instances.size()));
+        }
+    }
+
+    /**
+     * smooth weighted round-robin (nginx 방식) 순서를 생성 시점에 한 번 계산해 두고 원자 카운터로 순회
+     * 예: weight 5,1,1 -> a a b a c a a (한 인스턴스로 몰리지 않고 고르게 섞임)
+     */
+    private static final class Weighted extends LoadBalancer {
+
+        private static final int MAX_SCHEDULE = 10_000;
+
+        private final UpstreamInstance[] schedule;
+        private final AtomicInteger next = new AtomicInteger();
+
+        Weighted(List<UpstreamInstance> instances) {
+            super(instances);
+            int total = 0;
+            int gcd = 0;
+            for (UpstreamInstance instance : this.instances) {
+                total += instance.getWeight();
+                gcd = gcd(gcd, instance.getWeight());
+            }
+            int length = total / gcd;
+            if (length > MAX_SCHEDULE) {
+                throw new IllegalArgumentException("weight 합계가 너무 큽니다 (최대공약수로 나눈 값 " + MAX_SCHEDULE + " 이하)");
+            }
+            schedule = new UpstreamInstance[length];
+            int[] current = new int[this.instances.size()];
+            for (int slot = 0; slot < length; slot++) {
+                int best = 0;
+                for (int i = 0; i < current.length; i++) {
+                    current[i] += this.instances.get(i).getWeight() / gcd;
+                    if (current[i] > current[best]) {
+                        best = i;
+                    }
+                }
+                current[best] -= length;
+                schedule[slot] = this.instances.get(best);
+            }
+        }
+
+        private static int gcd(int a, int b) {
+            return b == 0 ? a : gcd(b, a % b);
+        }
+
+        @Override
+        protected UpstreamInstance pick(long now) {
+            return schedule[Math.floorMod(next.getAndIncrement(), schedule.length)];
+        }
+    }
+
+    /**
+     * power of two choices
+     * 전체를 훑지 않고 무작위 두 개만 비교하므로 O(1)이고, 모든 인스턴스가 같은 "최선"으로 몰리는 현상도 피함
+     */
+    private static final class PowerOfTwo extends LoadBalancer {
+
+        private final boolean latencyAware;
+
+        PowerOfTwo(List<UpstreamInstance> instances, boolean latencyAware) {
+            super(instances);
+            this.latencyAware = latencyAware;
+        }
+
+        @Override
+        protected UpstreamInstance pick(long now) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            int size = instances.size();
+            int first = random.nextInt(size);
+            int second = random.nextInt(size - 1);
+            if (second >= first) {
+                second++;
+            }
+            UpstreamInstance a = instances.get(first);
+            UpstreamInstance b = instances.get(second);
+            // 제외 중인 인스턴스는 유휴 상태라 비용이 낮아 보이므로 비교 전에 걸러냄
+            boolean aAvailable = a.isAvailable(now);
+            if (aAvailable != b.isAvailable(now)) {
+                return aAvailable ? a : b;
+            }
+            if (latencyAware) {
+                return a.cost() <= b.cost() ? a : b;
+            }
+            // weight 대비 진행 중 요청 수 비교 (a.inFlight / a.weight <= b.inFlight / b.weight)
+            return (long) a.getInFlight() * b.getWeight() <= (long) b.getInFlight() * a.getWeight() ? a : b;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.kroaddy.api.proxy.balancer;
+
+/**
+ * 라우트의 인스턴스 선택 방식
+ */
+public enum LoadBalancerStrategy {
+    ROUND_ROBIN, // 순서대로
+    WEIGHTED, // weight 비율대로 (smooth weighted round-robin)
+    LEAST_OUTSTANDING, // 무작위 두 인스턴스 중 진행 중 요청(weight 대비)이 적은 쪽 (power of two choices)
+    LATENCY_EWMA // 무작위 두 인스턴스 중 지연 EWMA x (진행 중 요청 + 1)이 작은 쪽
+}
@@ -0,0 +1,206 @@
+package com.kroaddy.api.proxy.balancer;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 업스트림 base URL 하나의 가용 상태
+ * 능동 헬스 체크 결과, 실요청 기반 이상치(outlier) 제외, 제외 해제 후 점진적 재투입(slow start)을 함께 보관
+ * 요청 경로는 volatile 읽기와 카운터 증가만 하고, 상태 전이는 헬스 체커 스레드 하나만 수행
+ */
+public class UpstreamHealth {
+
+    // slow start 초반에도 최소한 이 비율은 흘려 보내 회복 여부를 관측
+    private static final double MIN_ADMISSION = 0.1;
+
+    // 능동 헬스 체크
+    private volatile boolean activeHealthy = true;
+    private volatile int probeSuccesses; // 연속 성공 (헬스 체커 스레드만 갱신)
+    private volatile int probeFailures; // 연속 실패 (헬스 체커 스레드만 갱신)
+    private volatile String lastProbeError;
+
+    // 이상치 제외
+    private volatile boolean ejected;
+    private volatile long ejectedUntil; // System.nanoTime 기준
+    private volatile int ejections; // 연속 제외 횟수 (제외 시간 백오프 배수)
+    private volatile String ejectionReason;
+
+    // slow start (제외 해제 또는 헬스 체크 복구 이후 유입 비율을 선형으로 늘림)
+    private volatile boolean warming;
+    private volatile long warmingSince;
+    private volatile long slowStartNanos;
+
+    // 실요청 결과 (요청 경로에서 갱신)
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final LongAdder windowRequests = new LongAdder();
+    private final LongAdder windowFailures = new LongAdder();
+
+    /**
+     * 실요청 결과 기록 (연결 오류/타임아웃/5xx는 실패)
+     */
+    public void recordResult(boolean success) {
+        windowRequests.increment();
+        if (success) {
+            if (consecutiveFailures.get() != 0) {
+                consecutiveFailures.set(0);
+            }
+        } else {
+            windowFailures.increment();
+            consecutiveFailures.incrementAndGet();
+        }
+    }
+
+    /**
+     * 현재 유입 허용 비율
+     *
+     * @return 0이면 선택 제외, 1이면 정상, 그 사이면 slow start 중
+     */
+    public double admission(long now) {
+        if (!activeHealthy || (ejected && now - ejectedUntil < 0)) {
+            return 0;
+        }
+        if (!warming) {
+            return 1;
+        }
+        long elapsed = now - warmingSince;
+        if (elapsed < 0) {
+            return 0;
+        }
+        if (elapsed >= slowStartNanos) {
+            warming = false;
+            return 1;
+        }
+        return Math.max(MIN_ADMISSION, (double) elapsed / slowStartNanos);
+    }
+
+    /**
+     * 선택 후보에서 제외되지 않았는지 (slow start 중이어도 true)
+     */
+    public boolean isAvailable(long now) {
+        return admission(now) > 0;
+    }
+
+    /**
+     * 이번 요청을 이 인스턴스로 보낼지 (slow start 중이면 허용 비율만큼 확률적으로 허용)
+     */
+    boolean admits(long now) {
+        double admission = admission(now);
+        return admission >= 1 || (admission > 0 && ThreadLocalRandom.current().nextDouble() < admission);
+    }
+
+    /**
+     * 능동 헬스 체크 결과 반영
+     *
+     * @return 정상/비정상 상태가 바뀌었으면 true
+     */
+    public boolean recordProbe(boolean success, String error, int healthyThreshold, int unhealthyThreshold, long now) {
+        if (success) {
+            probeFailures = 0;
+            probeSuccesses = probeSuccesses + 1;
+            lastProbeError = null;
+            if (!activeHealthy && probeSuccesses >= healthyThreshold) {
+                activeHealthy = true;
+                startWarming(now);
+                return true;
+            }
+        } else {
+            probeSuccesses = 0;
+            probeFailures = probeFailures + 1;
+            lastProbeError = error;
+            if (activeHealthy && probeFailures >= unhealthyThreshold) {
+                activeHealthy = false;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 이상치로 판정된 인스턴스를 일정 시간 선택에서 제외 (해제 시점부터 slow start)
+     */
+    public void eject(long now, long durationNanos, String reason) {
+        ejectedUntil = now + durationNanos;
+        ejectionReason = reason;
+        ejections = ejections + 1;
+        warmingSince = ejectedUntil;
+        warming = slowStartNanos > 0;
+        ejected = true;
+        consecutiveFailures.set(0);
+        drainWindow();
+    }
+
+    /**
+     * 제외 시간이 지났으면 제외 상태 해제
+     *
+     * @return 이번 호출에서 해제되었으면 true
+     */
+    public boolean releaseIfExpired(long now) {
+        if (ejected && now - ejectedUntil >= 0) {
+            ejected = false;
+            ejectionReason = null;
+            drainWindow();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 제외 없이 한 주기를 보냈으면 백오프 배수 감소
+     */
+    public void decayEjections() {
+        if (ejections > 0) {
+            ejections = ejections - 1;
+        }
+    }
+
+    /**
+     * 판정 주기 동안의 요청/실패 수를 읽고 초기화
+     *
+     * @return [요청 수, 실패 수]
+     */
+    public long[] drainWindow() {
+        return new long[]{windowRequests.sumThenReset(), windowFailures.sumThenReset()};
+    }
+
+    private void startWarming(long now) {
+        warmingSince = now;
+        warming = slowStartNanos > 0;
+    }
+
+    public void setSlowStartNanos(long slowStartNanos) {
+        this.slowStartNanos = Math.max(0, slowStartNanos);
+    }
+
+    public boolean isActiveHealthy() {
+        return activeHealthy;
+    }
+
+    public boolean isEjected() {
+        return ejected;
+    }
+
+    public long getEjectedUntil() {
+        return ejectedUntil;
+    }
+
+    public int getEjections() {
+        return ejections;
+    }
+
+    public String getEjectionReason() {
+        return ejectionReason;
+    }
+
+    public int getProbeFailures() {
+        return probeFailures;
+    }
+
+    public String getLastProbeError() {
+        return lastProbeError;
+    }
+
+    public int getConsecutiveFailures() {
+        return consecutiveFailures.get();
+    }
+}
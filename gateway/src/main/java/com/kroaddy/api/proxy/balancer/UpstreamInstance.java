@@ -0,0 +1,61 @@
+package com.kroaddy.api.proxy.balancer;
+
+/**
+ * 라우트에 속한 업스트림 인스턴스 (공유 통계 + 라우트별 weight)
+ */
+public class UpstreamInstance {
+
+    private final UpstreamStats stats;
+    private final int weight;
+
+    public UpstreamInstance(UpstreamStats stats, int weight) {
+        if (weight < 1) {
+            throw new IllegalArgumentException("weight는 1 이상이어야 합니다: " + stats.getBaseUrl());
+        }
+        this.stats = stats;
+        this.weight = weight;
+    }
+
+    /**
+     * 교환 시작 (진행 중 요청 수 증가)
+     *
+     * @return 지연 시간을 기록하고 close에서 진행 중 요청 수를 줄이는 교환
+     */
+    public UpstreamStats.Exchange begin() {
+        return stats.begin();
+    }
+
+    /**
+     * latency-ewma 비용 (weight가 클수록 같은 부하에서 더 선호)
+     */
+    double cost() {
+        return stats.cost() / weight;
+    }
+
+    /**
+     * 선택 후보에서 제외되지 않았는지 (헬스 체크 실패 또는 이상치 제외 중이면 false)
+     */
+    public boolean isAvailable(long now) {
+        return stats.getHealth().isAvailable(now);
+    }
+
+    boolean admits(long now) {
+        return stats.getHealth().admits(now);
+    }
+
+    public String getBaseUrl() {
+        return stats.getBaseUrl();
+    }
+
+    public int getWeight() {
+        return weight;
+    }
+
+    public int getInFlight() {
+        return stats.getInFlight();
+    }
+
+    public UpstreamStats getStats() {
+        return stats;
+    }
+}
@@ -0,0 +1,130 @@
+package com.kroaddy.api.proxy.balancer;
+
+import com.kroaddy.api.proxy.UpstreamExchangeListener;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 업스트림 base URL 하나의 부하 분산용 통계
+ * 진행 중 요청 수와 지연 시간 EWMA는 모두 원자 변수로만 갱신 (락 없음)
+ * 같은 base URL을 가리키는 라우트들은 같은 통계 객체를 공유 (라우트 재로드 후에도 유지)
+ * 교환 결과는 이상치 판정을 위해 가용 상태(UpstreamHealth)에도 기록
+ */
+public class UpstreamStats {
+
+    private final String baseUrl;
+    private final long decayNanos; // EWMA 시간 상수 (오래된 관측일수록 가중치가 지수적으로 감소)
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong ewmaBits = new AtomicLong(Double.doubleToRawLongBits(0.0)); // 응답 헤더까지 지연 (ns)
+    private final AtomicLong lastObservedAt = new AtomicLong(System.nanoTime());
+    private final UpstreamHealth health = new UpstreamHealth();
+
+    public UpstreamStats(String baseUrl, long decayNanos) {
+        this.baseUrl = baseUrl;
+        this.decayNanos = Math.max(1, decayNanos);
+    }
+
+    /**
+     * 교환 시작 (진행 중 요청 수 증가)
+     *
+     * @return 지연 시간을 기록하고 close에서 진행 중 요청 수를 줄이는 교환
+     */
+    public Exchange begin() {
+        inFlight.incrementAndGet();
+        return new Exchange(System.nanoTime());
+    }
+
+    /**
+     * 지연 시간 관측 (peak EWMA)
+     * 기존 평균보다 느린 관측은 즉시 반영하고, 빠른 관측은 경과 시간에 따른 감쇠로 천천히 반영
+     */
+    void observe(long latencyNanos) {
+        long now = System.nanoTime();
+        long previousAt = lastObservedAt.getAndSet(now);
+        double weightOfOld = Math.exp(-(double) Math.max(0, now - previousAt) / decayNanos);
+        long current;
+        long next;
+        do {
+            current = ewmaBits.get();
+            double ewma = Double.longBitsToDouble(current);
+            double updated = latencyNanos > ewma ? latencyNanos : ewma * weightOfOld + latencyNanos * (1 - weightOfOld);
+            next = Double.doubleToRawLongBits(updated);
+        } while (!ewmaBits.compareAndSet(current, next));
+    }
+
+    /**
+     * 지연 시간 EWMA와 진행 중 요청 수를 합친 비용 (낮을수록 선호)
+     * 아직 관측이 없는 인스턴스는 비용 0이라 먼저 시도되고, 한동안 선택되지 않은 인스턴스는
+     * EWMA가 시간에 따라 감쇠해 다시 시도됨 (한 번 느렸던 인스턴스가 영원히 배제되지 않도록)
+     */
+    double cost() {
+        long idleNanos = Math.max(0, System.nanoTime() - lastObservedAt.get());
+        double decayed = latencyEwmaNanos() * Math.exp(-(double) idleNanos / decayNanos);
+        return decayed * (inFlight.get() + 1);
+    }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public double latencyEwmaNanos() {
+        return Double.longBitsToDouble(ewmaBits.get());
+    }
+
+    public UpstreamHealth getHealth() {
+        return health;
+    }
+
+    /**
+     * 진행 중인 업스트림 교환 한 건
+     * 응답 헤더(또는 실패)까지의 시간을 지연 시간으로 기록하고, 본문 스트리밍이 끝난 뒤 close
+     */
+    public final class Exchange implements UpstreamExchangeListener, AutoCloseable {
+
+        private final long startNanos;
+        private boolean observed;
+        private boolean closed;
+
+        private Exchange(long startNanos) {
+            this.startNanos = startNanos;
+        }
+
+        @Override
+        public void onResponse(int statusCode) {
+            if (record()) {
+                health.recordResult(statusCode < 500);
+            }
+        }
+
+        @Override
+        public void onFailure(Throwable error) {
+            // 연결 실패는 보통 즉시 끝나므로 지연으로는 드러나지 않음 (이상치 판정에서 실패로 집계)
+            if (record()) {
+                health.recordResult(false);
+            }
+        }
+
+        private boolean record() {
+            if (observed) {
+                return false;
+            }
+            observed = true;
+            observe(System.nanoTime() - startNanos);
+            return true;
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                inFlight.decrementAndGet();
+            }
+        }
+    }
+}
@@ -0,0 +1,544 @@
+package com.kroaddy.api.proxy.batch;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kroaddy.api.proxy.CapturedResponse;
+import com.kroaddy.api.proxy.ProxyException;
+import com.kroaddy.api.proxy.ProxyForwarder;
+import com.kroaddy.api.proxy.UpstreamExchangeListener;
+import com.kroaddy.api.proxy.UpstreamResponse;
+import com.kroaddy.api.proxy.upstream.Deadline;
+import com.kroaddy.api.proxy.upstream.UpstreamTimeout;
+import com.kroaddy.api.ratelimit.ClientAddressResolver;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.web.context.WebServerInitializedEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * 배치 요청 실행 (페이지 로딩 시 여러 API를 한 번의 왕복으로)
+ * 하위 요청마다 가상 스레드에서 게이트웨이 자신(loopback)에 HTTP 요청을 보내므로
+ * 일반 요청과 같은 필터(레이트 리밋), 인증, 라우팅 테이블을 그대로 거침
+ * 인증 정보(Authorization 헤더, 쿠키)는 배치 요청의 것을 하위 요청에 복사
+ * 입장 제어만은 예외: 배치 요청이 이미 자리 하나를 차지하고 하위 요청의 완료를 기다리므로, 하위 요청까지 같은 자리를 기다리면
+ * 자리가 모두 배치 요청에 잡혔을 때 서로를 기다리게 됨. 하위 요청에는 프로세스마다 새로 만든 토큰을 실어 보내
+ * 입장 제어가 부모의 자리로 처리한 것으로 보고 통과시킴 (isSubRequest, 업스트림에는 전달하지 않음)
+ *
+ * 배치 하나의 동시 실행 수는 max-concurrency로 제한하고, 전체 기한(timeoutMs)이 지나면 남은 하위 요청을 취소하고 504로 보고
+ * 응답은 하위 요청이 끝나는 순서대로 항목을 쓰고 flush (기본 JSON 배열, Accept: application/x-ndjson이면 한 줄에 한 항목)
+ * 하위 응답의 Set-Cookie는 전달하지 않음 (로그인/토큰 갱신은 배치로 보내지 않음)
+ */
+@Slf4j
+@Component
+public class BatchExecutor implements DisposableBean, ApplicationListener<WebServerInitializedEvent> {
+
+    public static final String BATCH_PATH = "/api/batch";
+    public static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    public static final String SUB_REQUEST_HEADER = "X-Gateway-Batch";
+    private static final Set<String> METHODS = Set.of("GET", "POST", "PUT", "DELETE", "PATCH");
+    // 배치 요청에서 하위 요청으로 복사하는 헤더 (인증, 언어, 추적)
+    private static final List<String> INHERITED_HEADERS = List.of(HttpHeaders.AUTHORIZATION, HttpHeaders.COOKIE,
+            HttpHeaders.ACCEPT_LANGUAGE, HttpHeaders.USER_AGENT, "X-Request-Id");
+    // 하위 요청에 지정할 수 없는 헤더 (게이트웨이가 설정)
+    private static final Set<String> RESERVED_HEADERS = Set.of("host", "content-length", "x-forwarded-for",
+            "x-gateway-batch");
+    // 서블릿 컨테이너가 디코딩/제거한 뒤에야 경로 구분자가 되는 표현 (%2e %2f %5c, 이중 인코딩 %25, 경로 파라미터 ';', '\')
+    // URI.normalize는 이를 일반 문자로 보므로 허용 접두사 검사를 통과한 뒤 다른 경로로 해석될 수 있음
+    private static final Pattern AMBIGUOUS_PATH = Pattern.compile("(?i)%(2e|2f|5c|25)|[;\\\\]");
+    // 항목 응답에 담는 하위 응답 헤더
+    private static final List<String> RESULT_HEADERS = List.of(HttpHeaders.CONTENT_TYPE, HttpHeaders.CACHE_CONTROL,
+            HttpHeaders.ETAG, HttpHeaders.LAST_MODIFIED, HttpHeaders.LOCATION, HttpHeaders.RETRY_AFTER);
+
+    private final BatchProperties properties;
+    private final ProxyForwarder proxyForwarder;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final ClientAddressResolver clientAddressResolver;
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("batch-", 0).factory());
+    private final byte[] subRequestToken = newSubRequestToken();
+    private volatile String localBaseUrl;
+
+    @Autowired
+    public BatchExecutor(BatchProperties properties, ProxyForwarder proxyForwarder, ObjectMapper objectMapper,
+                         MeterRegistry meterRegistry, ClientAddressResolver clientAddressResolver) {
+        this.properties = properties;
+        this.proxyForwarder = proxyForwarder;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.clientAddressResolver = clientAddressResolver;
+    }
+
+    /**
+     * 서버 포트가 정해지면 loopback 주소 기록 (관리 포트가 따로 있으면 그 이벤트는 무시)
+     */
+    @Override
+    public void onApplicationEvent(WebServerInitializedEvent event) {
+        if (event.getApplicationContext().getServerNamespace() == null) {
+            localBaseUrl = "http://127.0.0.1:" + event.getWebServer().getPort();
+        }
+    }
+
+    /**
+     * 이 게이트웨이의 배치가 보낸 하위 요청인지 (입장 제어에서 부모 배치 요청의 자리로 처리)
+     */
+    public boolean isSubRequest(HttpServletRequest request) {
+        String token = request.getHeader(SUB_REQUEST_HEADER);
+        return token != null
+                && MessageDigest.isEqual(subRequestToken, token.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * 배치 요청을 읽어 하위 요청을 병렬로 실행하고, 끝나는 순서대로 결과를 씀
+     *
+     * @throws ProxyException 배치 비활성화(404), 잘못된 요청(400), 본문 한도 초과(413) (응답을 쓰기 전에만)
+     */
+    public void execute(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (!properties.isEnabled()) {
+            throw new ProxyException(HttpStatus.NOT_FOUND, "Not found", "배치 요청을 사용하지 않습니다.");
+        }
+        BatchRequest batch = parse(request);
+        List<BatchRequest.Item> items = batch.requests();
+        List<Call> calls = new ArrayList<>(items.size());
+        Set<String> ids = new HashSet<>();
+        String baseUrl = baseUrl();
+        HttpHeaders inherited = inheritedHeaders(request);
+        for (int i = 0; i < items.size(); i++) {
+            BatchRequest.Item item = items.get(i);
+            String id = item.id() != null ? item.id() : String.valueOf(i);
+            if (!ids.add(id)) {
+                throw invalid("하위 요청 id가 중복되었습니다: " + id);
+            }
+            calls.add(call(i, id, item, baseUrl, inherited));
+        }
+        Duration timeout = batch.timeoutMs() != null ? Duration.ofMillis(batch.timeoutMs()) : properties.getTimeout();
+        if (timeout.compareTo(properties.getMaxTimeout()) > 0) {
+            timeout = properties.getMaxTimeout();
+        }
+
+        DistributionSummary.builder("gateway.batch.size")
+                .description("배치 하나의 하위 요청 수")
+                .register(meterRegistry)
+                .record(calls.size());
+        long start = System.nanoTime();
+        String result = run(calls, start + timeout.toNanos(), request, response);
+        Counter.builder("gateway.batch.requests")
+                .description("처리한 배치 요청 (result: completed / deadline / client_gone)")
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment();
+        Timer.builder("gateway.batch.duration")
+                .description("배치 요청 전체 처리 시간")
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 하위 요청을 실행하고 결과를 씀
+     *
+     * @return completed / deadline / client_gone
+     */
+    private String run(List<Call> calls, long deadline, HttpServletRequest request, HttpServletResponse response) {
+        Semaphore permits = new Semaphore(properties.getMaxConcurrency());
+        BlockingQueue<Result> results = new LinkedBlockingQueue<>();
+        List<Future<?>> tasks = new ArrayList<>(calls.size());
+        for (Call call : calls) {
+            tasks.add(executor.submit(() -> results.add(invoke(call, permits, deadline))));
+        }
+
+        boolean ndjson = acceptsNdjson(request);
+        boolean[] reported = new boolean[calls.size()];
+        int pending = calls.size();
+        try {
+            response.setStatus(HttpServletResponse.SC_OK);
+            response.setContentType((ndjson ? APPLICATION_NDJSON : MediaType.APPLICATION_JSON).toString());
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            response.setHeader("X-Accel-Buffering", "no");
+            JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream());
+            generator.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false); // 응답 종료는 컨테이너가 처리
+            if (!ndjson) {
+                generator.writeStartArray();
+            }
+            generator.flush(); // 첫 결과 전에 헤더부터 보냄
+            try {
+                while (pending > 0) {
+                    long wait = deadline - System.nanoTime();
+                    Result result = wait > 0 ? results.poll(wait, TimeUnit.NANOSECONDS) : null;
+                    if (result == null) {
+                        break;
+                    }
+                    reported[result.index()] = true;
+                    pending--;
+                    write(generator, result, ndjson);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (pending > 0) {
+                // 기한 초과: 남은 하위 요청은 연결을 끊어 취소하고 504로 보고
+                tasks.forEach(task -> task.cancel(true));
+                for (Call call : calls) {
+                    if (!reported[call.index()]) {
+                        Result timedOut = Result.failure(call, HttpStatus.GATEWAY_TIMEOUT, "timeout",
+                                "배치 기한 안에 끝나지 않았습니다.", 0);
+                        write(generator, timedOut, ndjson);
+                    }
+                }
+            }
+            if (!ndjson) {
+                generator.writeEndArray();
+            }
+            generator.close();
+            return pending > 0 ? "deadline" : "completed";
+        } catch (IOException e) {
+            // 클라이언트 연결 끊김: 남은 하위 요청 취소
+            tasks.forEach(task -> task.cancel(true));
+            log.debug("배치 응답 중 클라이언트 연결 끊김: {}", e.getMessage());
+            return "client_gone";
+        }
+    }
+
+    /**
+     * 하위 요청 하나 실행 (가상 스레드)
+     */
+    private Result invoke(Call call, Semaphore permits, long deadline) {
+        long start = System.nanoTime();
+        Result result;
+        try {
+            if (!permits.tryAcquire(Math.max(0, deadline - start), TimeUnit.NANOSECONDS)) {
+                result = Result.failure(call, HttpStatus.GATEWAY_TIMEOUT, "timeout", "실행 대기 중 배치 기한이 지났습니다.", 0);
+            } else {
+                try {
+                    result = send(call, deadline, start);
+                } finally {
+                    permits.release();
+                }
+            }
+        } catch (InterruptedException e) {
+            result = Result.failure(call, HttpStatus.GATEWAY_TIMEOUT, "timeout", "배치 기한이 지나 취소했습니다.",
+                    System.nanoTime() - start);
+        }
+        return result;
+    }
+
+    private Result send(Call call, long deadline, long start) {
+        Duration remaining = Duration.ofNanos(deadline - System.nanoTime());
+        if (remaining.isNegative() || remaining.isZero()) {
+            return Result.failure(call, HttpStatus.GATEWAY_TIMEOUT, "timeout", "배치 기한이 지났습니다.", 0);
+        }
+        // 남은 배치 기한을 하위 요청의 기한으로 (X-Request-Timeout-Ms로 전달되어 라우트 기한보다 짧으면 그 값이 적용됨)
+        try (UpstreamResponse upstream = UpstreamTimeout.with(null, null, Deadline.after(remaining),
+                () -> proxyForwarder.open(call.method(), call.uri(), call.headers(), call.body(),
+                        UpstreamExchangeListener.NONE))) {
+            CapturedResponse captured = upstream.read(properties.getMaxItemResponseSize());
+            if (captured == null) {
+                upstream.abort(); // 남은 본문은 읽지 않고 연결을 끊음
+                return Result.failure(call, HttpStatus.BAD_GATEWAY, "response_too_large",
+                        "응답이 최대 크기(" + properties.getMaxItemResponseSize() + " bytes)를 넘었습니다.",
+                        System.nanoTime() - start);
+            }
+            return new Result(call.index(), call.id(), captured.status(), captured.headers(), captured.body(),
+                    null, null, System.nanoTime() - start);
+        } catch (SocketTimeoutException e) {
+            return Result.failure(call, HttpStatus.GATEWAY_TIMEOUT, "timeout", "배치 기한이 지났습니다.",
+                    System.nanoTime() - start);
+        } catch (InterruptedIOException e) {
+            return Result.failure(call, HttpStatus.GATEWAY_TIMEOUT, "timeout", "배치 기한이 지나 취소했습니다.",
+                    System.nanoTime() - start);
+        } catch (IOException | RuntimeException e) {
+            if (Thread.currentThread().isInterrupted()) {
+                // 취소로 소켓이 닫힘
+                return Result.failure(call, HttpStatus.GATEWAY_TIMEOUT, "timeout", "배치 기한이 지나 취소했습니다.",
+                        System.nanoTime() - start);
+            }
+            return Result.failure(call, HttpStatus.BAD_GATEWAY, "failed", "하위 요청 실패: " + e.getMessage(),
+                    System.nanoTime() - start);
+        }
+    }
+
+    private void write(JsonGenerator generator, Result result, boolean ndjson) throws IOException {
+        count(result);
+        generator.writeStartObject();
+        generator.writeStringField("id", result.id());
+        generator.writeNumberField("status", result.status());
+        if (result.error() != null) {
+            generator.writeStringField("error", result.error());
+            generator.writeStringField("message", result.message());
+        }
+        if (result.headers() != null) {
+            generator.writeObjectFieldStart("headers");
+            for (String name : RESULT_HEADERS) {
+                String value = result.headers().getFirst(name);
+                if (value != null) {
+                    generator.writeStringField(name, value);
+                }
+            }
+            generator.writeEndObject();
+        }
+        if (result.body() != null && result.body().length > 0) {
+            writeBody(generator, result);
+        }
+        generator.writeNumberField("durationMs", TimeUnit.NANOSECONDS.toMillis(result.durationNanos()));
+        generator.writeEndObject();
+        if (ndjson) {
+            generator.writeRaw('\n');
+        }
+        generator.flush();
+    }
+
+    /**
+     * 하위 응답 본문: JSON이면 그대로 중첩, 텍스트면 문자열, 그 밖에는 Base64
+     */
+    private void writeBody(JsonGenerator generator, Result result) throws IOException {
+        MediaType contentType = contentType(result.headers());
+        if (contentType != null && (MediaType.APPLICATION_JSON.isCompatibleWith(contentType)
+                || contentType.getSubtype().endsWith("+json"))) {
+            try {
+                JsonNode json = objectMapper.readTree(result.body());
+                generator.writeFieldName("body");
+                generator.writeTree(json);
+                return;
+            } catch (JsonProcessingException e) {
+                // 잘못된 JSON은 문자열로 전달
+            }
+        }
+        if (contentType == null || contentType.getCharset() != null || "text".equals(contentType.getType())
+                || MediaType.APPLICATION_JSON.isCompatibleWith(contentType)) {
+            Charset charset = contentType != null && contentType.getCharset() != null
+                    ? contentType.getCharset() : StandardCharsets.UTF_8;
+            generator.writeStringField("body", new String(result.body(), charset));
+            return;
+        }
+        generator.writeStringField("body", Base64.getEncoder().encodeToString(result.body()));
+        generator.writeStringField("bodyEncoding", "base64");
+    }
+
+    private void count(Result result) {
+        String outcome = result.error() != null
+                ? ("timeout".equals(result.error()) ? "timeout" : "failed")
+                : (result.status() < 400 ? "success" : "error");
+        Counter.builder("gateway.batch.items")
+                .description("실행한 하위 요청 (outcome: success / error(4xx/5xx 응답) / failed / timeout)")
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private BatchRequest parse(HttpServletRequest request) throws IOException {
+        byte[] body = readBody(request, properties.getMaxRequestSize());
+        BatchRequest batch;
+        try {
+            batch = objectMapper.readValue(body, BatchRequest.class);
+        } catch (JsonProcessingException e) {
+            throw invalid("배치 요청 본문을 해석할 수 없습니다.");
+        }
+        if (batch == null || batch.requests() == null || batch.requests().isEmpty()) {
+            throw invalid("requests가 비어 있습니다.");
+        }
+        if (batch.requests().size() > properties.getMaxItems()) {
+            throw invalid("하위 요청은 최대 " + properties.getMaxItems() + "개입니다.");
+        }
+        if (batch.timeoutMs() != null && batch.timeoutMs() <= 0) {
+            throw invalid("timeoutMs는 0보다 커야 합니다.");
+        }
+        return batch;
+    }
+
+    /**
+     * 하위 요청 검증 후 loopback 요청으로 변환
+     */
+    private Call call(int index, String id, BatchRequest.Item item, String baseUrl, HttpHeaders inherited)
+            throws JsonProcessingException {
+        String method = item.method() != null ? item.method().toUpperCase(Locale.ROOT) : "GET";
+        if (!METHODS.contains(method)) {
+            throw invalid("지원하지 않는 메서드입니다: " + item.method() + " (id=" + id + ")");
+        }
+        String path = item.path();
+        if (path == null || !path.startsWith("/") || path.startsWith("//")) {
+            throw invalid("path는 /로 시작하는 경로여야 합니다. (id=" + id + ")");
+        }
+        URI target;
+        try {
+            target = new URI(path).normalize();
+        } catch (URISyntaxException e) {
+            throw invalid("path가 올바르지 않습니다. (id=" + id + ")");
+        }
+        if (target.getRawPath() != null && AMBIGUOUS_PATH.matcher(target.getRawPath()).find()) {
+            throw invalid("path에 인코딩된 경로 구분자(%2e, %2f, %5c, %25)나 ';', '\\'는 쓸 수 없습니다. (id=" + id + ")");
+        }
+        String normalized = target.getRawPath();
+        if (target.getScheme() != null || target.getRawAuthority() != null || normalized == null
+                || normalized.startsWith("/..") || normalized.startsWith(BATCH_PATH)
+                || properties.getAllowedPrefixes().stream().noneMatch(normalized::startsWith)) {
+            throw invalid("배치로 보낼 수 없는 경로입니다: " + path + " (id=" + id + ")");
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.addAll(inherited);
+        if (item.headers() != null) {
+            for (Map.Entry<String, String> header : item.headers().entrySet()) {
+                if (header.getValue() != null
+                        && !RESERVED_HEADERS.contains(header.getKey().toLowerCase(Locale.ROOT))) {
+                    headers.set(header.getKey(), header.getValue());
+                }
+            }
+        }
+        byte[] body = null;
+        JsonNode node = item.body();
+        if (node != null && !node.isNull()) {
+            if (node.isTextual()) {
+                body = node.textValue().getBytes(StandardCharsets.UTF_8);
+                if (!headers.containsKey(HttpHeaders.CONTENT_TYPE)) {
+                    headers.set(HttpHeaders.CONTENT_TYPE, "text/plain;charset=UTF-8");
+                }
+            } else {
+                body = objectMapper.writeValueAsBytes(node);
+                if (!headers.containsKey(HttpHeaders.CONTENT_TYPE)) {
+                    headers.setContentType(MediaType.APPLICATION_JSON);
+                }
+            }
+        }
+        return new Call(index, id, HttpMethod.valueOf(method), URI.create(baseUrl + target), headers, body);
+    }
+
+    private String baseUrl() {
+        String baseUrl = StringUtils.hasText(properties.getLoopbackUri()) ? properties.getLoopbackUri() : localBaseUrl;
+        if (baseUrl == null) {
+            throw new ProxyException(HttpStatus.SERVICE_UNAVAILABLE, "Service unavailable", "서버가 아직 준비되지 않았습니다.");
+        }
+        return baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+    }
+
+    private HttpHeaders inheritedHeaders(HttpServletRequest request) {
+        HttpHeaders headers = new HttpHeaders();
+        for (String name : INHERITED_HEADERS) {
+            var values = request.getHeaders(name);
+            while (values.hasMoreElements()) {
+                headers.add(name, values.nextElement());
+            }
+        }
+        // 레이트 리밋/로그가 원래 클라이언트 IP를 보도록 확인한 주소 하나만 전달
+        // (클라이언트가 보낸 X-Forwarded-For를 이어 붙이면 loopback 호출에서 꾸민 IP가 그대로 쓰임)
+        headers.set("X-Forwarded-For", clientAddressResolver.resolve(request));
+        headers.set(SUB_REQUEST_HEADER, new String(subRequestToken, StandardCharsets.US_ASCII));
+        return headers;
+    }
+
+    private static byte[] newSubRequestToken() {
+        byte[] random = new byte[32];
+        new SecureRandom().nextBytes(random);
+        return Base64.getUrlEncoder().withoutPadding().encode(random);
+    }
+
+    private static boolean acceptsNdjson(HttpServletRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (accept == null) {
+            return false;
+        }
+        try {
+            return MediaType.parseMediaTypes(accept).stream()
+                    .anyMatch(type -> type.getSubtype().equals(APPLICATION_NDJSON.getSubtype()));
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    private static MediaType contentType(HttpHeaders headers) {
+        try {
+            return headers.getContentType();
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static byte[] readBody(HttpServletRequest request, int limit) throws IOException {
+        if (request.getContentLengthLong() > limit) {
+            throw payloadTooLarge(limit);
+        }
+        InputStream in = request.getInputStream();
+        ByteArrayOutputStream body = new ByteArrayOutputStream(Math.max(0, (int) request.getContentLengthLong()));
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            body.write(buffer, 0, read);
+            if (body.size() > limit) {
+                throw payloadTooLarge(limit);
+            }
+        }
+        return body.toByteArray();
+    }
+
+    private static ProxyException payloadTooLarge(int limit) {
+        return new ProxyException(HttpStatus.PAYLOAD_TOO_LARGE, "Payload too large",
+                "배치 요청 본문이 허용 크기(" + limit + " bytes)를 초과했습니다.");
+    }
+
+    private static ProxyException invalid(String message) {
+        return new ProxyException(HttpStatus.BAD_REQUEST, "Invalid batch", message);
+    }
+
+    /**
+     * 검증을 마친 하위 요청
+     */
+    private record Call(int index, String id, HttpMethod method, URI uri, HttpHeaders headers, byte[] body) {
+    }
+
+    /**
+     * 하위 요청 결과 (error가 있으면 게이트웨이가 만든 결과)
+     */
+    private record Result(int index, String id, int status, HttpHeaders headers, byte[] body,
+                          String error, String message, long durationNanos) {
+
+        static Result failure(Call call, HttpStatus status, String error, String message, long durationNanos) {
+            return new Result(call.index(), call.id(), status.value(), null, null, error, message, durationNanos);
+        }
+    }
+}
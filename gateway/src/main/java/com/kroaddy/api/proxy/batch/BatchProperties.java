@@ -0,0 +1,29 @@
+package com.kroaddy.api.proxy.batch;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 배치 요청(POST /api/batch) 설정
+ * 하위 요청은 게이트웨이 자신에게 다시 보내므로 일반 요청과 같은 필터(레이트 리밋), 인증, 라우팅을 거침
+ * (입장 제어는 배치 요청이 받은 자리로 처리)
+ */
+@Component
+@ConfigurationProperties(prefix = "gateway.batch")
+@Data
+public class BatchProperties {
+    private boolean enabled = true;
+    private int maxItems = 20; // 배치 하나에 넣을 수 있는 하위 요청 수 (넘으면 400)
+    private int maxConcurrency = 6; // 배치 하나에서 동시에 실행하는 하위 요청 수
+    private Duration timeout = Duration.ofSeconds(10); // 요청에 timeoutMs가 없을 때 배치 전체 기한
+    private Duration maxTimeout = Duration.ofSeconds(30); // 요청의 timeoutMs 상한
+    private int maxRequestSize = 256 * 1024; // 배치 요청 본문 최대 크기 (바이트, 넘으면 413)
+    private int maxItemResponseSize = 1024 * 1024; // 하위 응답 본문 최대 크기 (바이트, 넘으면 해당 항목 502)
+    private List<String> allowedPrefixes = new ArrayList<>(List.of("/api/")); // 하위 요청으로 보낼 수 있는 경로 접두사
+    private String loopbackUri; // 하위 요청을 보낼 주소, 비어 있으면 http://127.0.0.1:{server.port}
+}
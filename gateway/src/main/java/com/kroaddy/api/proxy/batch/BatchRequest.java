@@ -0,0 +1,32 @@
+package com.kroaddy.api.proxy.batch;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 배치 요청 본문
+ * <pre>
+ * {"timeoutMs": 5000, "requests": [
+ *   {"id": "me", "method": "GET", "path": "/api/auth/me"},
+ *   {"id": "predict", "method": "POST", "path": "/api/ml/usa/predict", "body": {"x": 1}}]}
+ * </pre>
+ *
+ * @param timeoutMs 배치 전체 기한 (밀리초, null이면 gateway.batch.timeout)
+ * @param requests  하위 요청 목록
+ */
+public record BatchRequest(Long timeoutMs, List<Item> requests) {
+
+    /**
+     * 하위 요청
+     *
+     * @param id      응답에서 항목을 구분할 이름 (null이면 순번)
+     * @param method  HTTP 메서드 (null이면 GET)
+     * @param path    경로 + 쿼리 (예: /api/users/1?fields=name)
+     * @param headers 추가 헤더 (인증 쿠키/헤더는 배치 요청의 것을 그대로 사용)
+     * @param body    요청 본문, 문자열이 아니면 JSON으로 전송
+     */
+    public record Item(String id, String method, String path, Map<String, String> headers, JsonNode body) {
+    }
+}
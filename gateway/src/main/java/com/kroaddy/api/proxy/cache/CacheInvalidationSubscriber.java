@@ -0,0 +1,79 @@
+package com.kroaddy.api.proxy.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 다른 노드가 보낸 응답 캐시 무효화 메시지 구독
+ * 리스너 컨테이너를 빈으로 두면 기동 시점에 Redis에 연결할 수 없을 때 컨텍스트 시작이 실패하므로,
+ * 기동 완료 후 백그라운드에서 연결될 때까지 재시도하며 시작
+ * (구독 전에는 다른 노드의 무효화를 받지 못하지만, 로컬 항목도 stale 기간이 끝나면 만료됨)
+ */
+@Slf4j
+@Component
+@ConditionalOnExpression("${gateway.response-cache.enabled:true} and ${gateway.response-cache.redis.enabled:true}")
+public class CacheInvalidationSubscriber implements DisposableBean {
+
+    private static final Duration RETRY_INTERVAL = Duration.ofSeconds(5);
+
+    private final RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+    private volatile Thread starter;
+
+    @Autowired
+    public CacheInvalidationSubscriber(RedisConnectionFactory connectionFactory, ResponseCache responseCache,
+                                       ResponseCacheProperties properties) {
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(responseCache, new ChannelTopic(properties.getRedis().getChannel()));
+        container.afterPropertiesSet();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (starter != null) {
+            return;
+        }
+        starter = Thread.ofVirtual().name("CacheInvalidationSubscriber").start(() -> {
+            boolean warned = false;
+            while (!Thread.currentThread().isInterrupted()) {
+                try {
+                    container.start();
+                    if (container.isListening()) {
+                        log.info("응답 캐시 무효화 채널 구독 시작");
+                        return;
+                    }
+                } catch (RuntimeException e) {
+                    if (!warned) {
+                        log.warn("응답 캐시 무효화 채널 구독 실패, {}초마다 재시도: {}",
+                                RETRY_INTERVAL.toSeconds(), e.getMessage());
+                        warned = true;
+                    }
+                }
+                // 실패한 시작 상태가 남아 있으면 다음 start()가 구독 없이 끝나므로 초기화
+                container.stop();
+                try {
+                    Thread.sleep(RETRY_INTERVAL);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        });
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        if (starter != null) {
+            starter.interrupt();
+        }
+        container.destroy();
+    }
+}
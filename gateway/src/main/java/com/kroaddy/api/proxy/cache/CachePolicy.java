@@ -0,0 +1,223 @@
+package com.kroaddy.api.proxy.cache;
+
+import com.kroaddy.api.proxy.CapturedResponse;
+import org.springframework.http.HttpHeaders;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * 공유 캐시 저장 가능 여부와 유효 기간 계산 (RFC 9111)
+ * 유효 기간: s-maxage > max-age > Expires - Date > 라우트 cache-ttl (명시 값이 없을 때만, 200 응답만)
+ */
+final class CachePolicy {
+
+    // 명시적 유효 기간이 있을 때만 저장하는 상태 코드 (200은 라우트 cache-ttl로도 저장)
+    private static final Set<Integer> EXPLICIT_ONLY_STATUSES = Set.of(203, 204, 300, 301, 404, 410);
+
+    // 재검증 304로 갱신되는 헤더 (RFC 9111 4.3.4)
+    static final List<String> REVALIDATION_HEADERS = List.of(
+            HttpHeaders.CACHE_CONTROL, HttpHeaders.EXPIRES, HttpHeaders.ETAG, HttpHeaders.LAST_MODIFIED,
+            HttpHeaders.DATE, HttpHeaders.VARY);
+
+    private CachePolicy() {
+    }
+
+    /**
+     * Cache-Control 지시자 (값이 없는 지시자는 -1, 없는 숫자 지시자는 null)
+     */
+    record Directives(Map<String, Long> values) {
+
+        static final Directives NONE = new Directives(Map.of());
+
+        boolean has(String name) {
+            return values.containsKey(name);
+        }
+
+        Long seconds(String name) {
+            Long value = values.get(name);
+            return value != null && value >= 0 ? value : null;
+        }
+    }
+
+    /**
+     * Cache-Control 헤더 파싱 (여러 줄/쉼표 구분, 따옴표 값은 숫자가 아니면 무시)
+     */
+    static Directives parse(List<String> headerValues) {
+        if (headerValues == null || headerValues.isEmpty()) {
+            return Directives.NONE;
+        }
+        Map<String, Long> values = new HashMap<>();
+        for (String headerValue : headerValues) {
+            for (String token : headerValue.split(",")) {
+                String directive = token.trim();
+                if (directive.isEmpty()) {
+                    continue;
+                }
+                int eq = directive.indexOf('=');
+                String name = (eq >= 0 ? directive.substring(0, eq) : directive).trim().toLowerCase(Locale.ROOT);
+                long value = -1;
+                if (eq >= 0) {
+                    String raw = directive.substring(eq + 1).trim();
+                    if (raw.length() >= 2 && raw.startsWith("\"") && raw.endsWith("\"")) {
+                        raw = raw.substring(1, raw.length() - 1);
+                    }
+                    try {
+                        value = Math.max(0, Long.parseLong(raw));
+                    } catch (NumberFormatException e) {
+                        value = -1;
+                    }
+                }
+                // 같은 지시자가 여러 번 오면 더 보수적인(작은) 값 사용
+                values.merge(name, value, (a, b) -> a < 0 ? b : b < 0 ? a : Math.min(a, b));
+            }
+        }
+        return new Directives(values);
+    }
+
+    /**
+     * 업스트림 응답을 캐시 항목으로 변환
+     *
+     * @param requestHeader 요청 헤더 값 조회 (이름 -> 쉼표로 이은 값, 없으면 빈 문자열)
+     * @param captured      업스트림 응답 (Set-Cookie가 있는 응답은 이미 담기지 않음)
+     * @param routeTtl      라우트 기본 TTL (업스트림이 유효 기간을 주지 않았을 때)
+     * @param defaultSwr    업스트림이 stale-while-revalidate를 주지 않았을 때의 값
+     * @param now           현재 시각 (epoch 밀리초)
+     * @param originMillis  업스트림 응답 시간
+     * @return 캐시 항목, 저장할 수 없는 응답이면 null
+     */
+    static CachedEntry toEntry(Function<String, String> requestHeader, CapturedResponse captured,
+                               Duration routeTtl, Duration defaultSwr, long now, long originMillis) {
+        int status = captured.status();
+        if (status != 200 && !EXPLICIT_ONLY_STATUSES.contains(status)) {
+            return null;
+        }
+        HttpHeaders headers = captured.headers();
+        if (headers.containsKey(HttpHeaders.SET_COOKIE)) {
+            return null;
+        }
+        Directives directives = parse(headers.get(HttpHeaders.CACHE_CONTROL));
+        if (directives.has("no-store") || directives.has("private") || directives.has("no-cache")) {
+            return null;
+        }
+
+        // Authorization이 있는 요청의 응답은 공유해도 된다고 명시된 경우만 저장 (RFC 9111 3.5)
+        boolean authShareable = directives.has("public") || directives.has("s-maxage")
+                || directives.has("must-revalidate");
+        if (!requestHeader.apply(HttpHeaders.AUTHORIZATION).isEmpty() && !authShareable) {
+            return null;
+        }
+
+        Map<String, String> vary = new HashMap<>();
+        for (String name : headers.getOrEmpty(HttpHeaders.VARY)) {
+            for (String token : name.split(",")) {
+                String header = token.trim().toLowerCase(Locale.ROOT);
+                if (header.equals("*")) {
+                    return null;
+                }
+                if (!header.isEmpty()) {
+                    vary.put(header, requestHeader.apply(header));
+                }
+            }
+        }
+
+        Long freshness = explicitFreshness(directives, headers);
+        if (freshness == null) {
+            if (status != 200 || routeTtl == null) {
+                return null;
+            }
+            freshness = routeTtl.toMillis();
+        }
+        long age = ageMillis(headers);
+        long dateMillis = now - age;
+        long freshUntil = dateMillis + freshness;
+
+        Long swrSeconds = directives.seconds("stale-while-revalidate");
+        long swr = swrSeconds != null ? swrSeconds * 1000 : defaultSwr.toMillis();
+        if (directives.has("must-revalidate") || directives.has("proxy-revalidate")) {
+            swr = 0;
+        }
+        long staleUntil = freshUntil + swr;
+        if (staleUntil <= now) {
+            return null;
+        }
+
+        return new CachedEntry(withoutAge(captured), dateMillis, freshUntil, staleUntil, Map.copyOf(vary),
+                authShareable, originMillis);
+    }
+
+    /**
+     * Age 헤더를 뺀 사본 (제공 시점에 저장 시각 기준으로 다시 계산)
+     */
+    static CapturedResponse withoutAge(CapturedResponse captured) {
+        if (!captured.headers().containsKey(HttpHeaders.AGE)) {
+            return captured;
+        }
+        HttpHeaders stored = new HttpHeaders();
+        captured.headers().forEach((name, values) -> {
+            if (!name.equalsIgnoreCase(HttpHeaders.AGE)) {
+                stored.addAll(name, values);
+            }
+        });
+        return new CapturedResponse(captured.status(), HttpHeaders.readOnlyHttpHeaders(stored), captured.body());
+    }
+
+    /**
+     * 재검증 304 응답의 헤더로 저장된 응답 헤더 갱신
+     */
+    static CapturedResponse refresh(CapturedResponse stored, HttpHeaders notModified) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(stored.headers());
+        for (String name : REVALIDATION_HEADERS) {
+            List<String> values = notModified.get(name);
+            if (values != null) {
+                headers.put(name, values);
+            }
+        }
+        return new CapturedResponse(stored.status(), HttpHeaders.readOnlyHttpHeaders(headers), stored.body());
+    }
+
+    private static Long explicitFreshness(Directives directives, HttpHeaders headers) {
+        Long seconds = directives.seconds("s-maxage");
+        if (seconds == null) {
+            seconds = directives.seconds("max-age");
+        }
+        if (seconds != null) {
+            return seconds * 1000;
+        }
+        if (headers.containsKey(HttpHeaders.EXPIRES)) {
+            long expires = dateHeader(headers, HttpHeaders.EXPIRES);
+            long date = dateHeader(headers, HttpHeaders.DATE);
+            if (expires < 0) {
+                return 0L; // 잘못된 Expires는 이미 만료된 것으로 처리 (RFC 9111 5.3)
+            }
+            return Math.max(0, expires - (date >= 0 ? date : System.currentTimeMillis()));
+        }
+        return null;
+    }
+
+    private static long ageMillis(HttpHeaders headers) {
+        String age = headers.getFirst(HttpHeaders.AGE);
+        if (age == null) {
+            return 0;
+        }
+        try {
+            return Math.max(0, Long.parseLong(age.trim())) * 1000;
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static long dateHeader(HttpHeaders headers, String name) {
+        try {
+            return headers.getFirstDate(name);
+        } catch (IllegalArgumentException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.kroaddy.api.proxy.cache;
+
+import com.kroaddy.api.proxy.CapturedResponse;
+import org.springframework.http.HttpHeaders;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * 캐시에 저장된 응답 한 건
+ * 노드 간에 공유되므로 시각은 모두 epoch 밀리초이며, Redis에는 encode()한 바이너리로 저장
+ *
+ * @param response      저장한 응답 (Age 헤더는 제외, 제공 시점에 다시 계산)
+ * @param dateMillis    응답 생성 시각 (업스트림 Age만큼 앞당긴 저장 시각)
+ * @param freshUntil    이 시각까지 fresh (업스트림 재검증 없이 제공)
+ * @param staleUntil    이 시각까지 stale 제공 + 백그라운드 재검증 (stale-while-revalidate)
+ * @param vary          응답 Vary에 적힌 요청 헤더 값 (소문자 이름 -> 쉼표로 이은 값, 없으면 빈 문자열)
+ * @param authShareable Authorization이 있는 요청에도 제공 가능한지 (public / s-maxage / must-revalidate)
+ * @param originMillis  업스트림이 이 응답을 만드는 데 걸린 시간 (캐시 적중 시 절약한 시간으로 기록)
+ */
+record CachedEntry(CapturedResponse response, long dateMillis, long freshUntil, long staleUntil,
+                   Map<String, String> vary, boolean authShareable, long originMillis) {
+
+    private static final byte FORMAT_VERSION = 2;
+
+    boolean isFresh(long now) {
+        return now < freshUntil;
+    }
+
+    boolean isUsable(long now) {
+        return now < staleUntil;
+    }
+
+    /**
+     * Age 헤더 값 (초)
+     */
+    long ageSeconds(long now) {
+        return Math.max(0, (now - dateMillis) / 1000);
+    }
+
+    /**
+     * 요청의 Vary 헤더 값이 저장 당시와 같은지
+     *
+     * @param header 요청 헤더 값 조회 (이름 -> 쉼표로 이은 값, 없으면 빈 문자열)
+     */
+    boolean matches(Function<String, String> header) {
+        for (Map.Entry<String, String> entry : vary.entrySet()) {
+            if (!Objects.equals(entry.getValue(), header.apply(entry.getKey()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 로컬 계층 용량 계산용 크기 (본문 + 헤더 + 고정 오버헤드 근사치)
+     */
+    int weight(String key) {
+        long weight = 128L + key.length() + response.body().length;
+        for (Map.Entry<String, List<String>> header : response.headers().entrySet()) {
+            weight += header.getKey().length();
+            for (String value : header.getValue()) {
+                weight += value.length() + 16;
+            }
+        }
+        return (int) Math.min(Integer.MAX_VALUE, weight);
+    }
+
+    byte[] encode() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(response.body().length + 512);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(FORMAT_VERSION);
+            out.writeLong(dateMillis);
+            out.writeLong(freshUntil);
+            out.writeLong(staleUntil);
+            out.writeBoolean(authShareable);
+            out.writeLong(originMillis);
+            out.writeShort(response.status());
+            out.writeShort(response.headers().size());
+            for (Map.Entry<String, List<String>> header : response.headers().entrySet()) {
+                out.writeUTF(header.getKey());
+                out.writeShort(header.getValue().size());
+                for (String value : header.getValue()) {
+                    out.writeUTF(value);
+                }
+            }
+            out.writeShort(vary.size());
+            for (Map.Entry<String, String> entry : vary.entrySet()) {
+                out.writeUTF(entry.getKey());
+                out.writeUTF(entry.getValue());
+            }
+            out.writeInt(response.body().length);
+            out.write(response.body());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * @return 디코딩한 항목, 형식 버전이 다르면 null (배포 중 노드 간 형식이 다를 수 있으므로 캐시 미스로 처리)
+     */
+    static CachedEntry decode(byte[] data) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            if (in.readByte() != FORMAT_VERSION) {
+                return null;
+            }
+            long dateMillis = in.readLong();
+            long freshUntil = in.readLong();
+            long staleUntil = in.readLong();
+            boolean authShareable = in.readBoolean();
+            long originMillis = in.readLong();
+            int status = in.readUnsignedShort();
+            HttpHeaders headers = new HttpHeaders();
+            int headerCount = in.readUnsignedShort();
+            for (int i = 0; i < headerCount; i++) {
+                String name = in.readUTF();
+                int valueCount = in.readUnsignedShort();
+                for (int j = 0; j < valueCount; j++) {
+                    headers.add(name, in.readUTF());
+                }
+            }
+            Map<String, String> vary = new LinkedHashMap<>();
+            int varyCount = in.readUnsignedShort();
+            for (int i = 0; i < varyCount; i++) {
+                vary.put(in.readUTF(), in.readUTF());
+            }
+            byte[] body = new byte[in.readInt()];
+            in.readFully(body);
+            return new CachedEntry(new CapturedResponse(status, HttpHeaders.readOnlyHttpHeaders(headers), body),
+                    dateMillis, freshUntil, staleUntil, Map.copyOf(vary), authShareable, originMillis);
+        } catch (IOException e) {
+            throw new UncheckedIOException("캐시 항목 형식이 올바르지 않습니다.", e);
+        }
+    }
+}
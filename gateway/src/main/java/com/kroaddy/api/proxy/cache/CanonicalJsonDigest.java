@@ -0,0 +1,178 @@
+package com.kroaddy.api.proxy.cache;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.StreamReadFeature;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * JSON 본문의 정규화 해시 (SHA-256)
+ * 트리를 만들지 않고 토큰 스트림을 읽으며 계산하므로 본문을 한 번만 읽음
+ * 객체 멤버 순서와 공백, 숫자 표기(1.50 / 1.5, 1e2 / 100.0)가 달라도 같은 값이면 같은 해시
+ * 정수와 소수는 구분 (1 != 1.0, 업스트림 언어에 따라 다른 타입으로 해석될 수 있음)
+ *
+ * 값별 인코딩: 스칼라는 타입 태그 + 길이 + 바이트, 배열은 원소를 순서대로 이어 붙인 해시,
+ * 객체는 멤버(이름 + 값)별 해시를 정렬해 이어 붙인 해시 (멤버 순서와 무관)
+ */
+final class CanonicalJsonDigest {
+
+    static final int MAX_DEPTH = 64;
+
+    private static final JsonFactory JSON = JsonFactory.builder()
+            .disable(StreamReadFeature.AUTO_CLOSE_SOURCE) // 원본 스트림은 호출 측이 관리
+            .build();
+
+    private static final byte STRING = 's';
+    private static final byte INTEGER = 'i';
+    private static final byte DECIMAL = 'd';
+    private static final byte TRUE = 't';
+    private static final byte FALSE = 'f';
+    private static final byte NULL = 'n';
+    private static final byte NESTED = '#';
+    private static final byte OBJECT = '{';
+    private static final byte ARRAY = '[';
+    private static final byte ARRAY_END = ']';
+
+    // 깊이별 다이제스트 (짝수: 컨테이너, 홀수: 객체 멤버), 필요한 깊이까지만 생성
+    private final MessageDigest[] digests = new MessageDigest[MAX_DEPTH * 2 + 2];
+    private final byte[] length = new byte[4];
+    private JsonParser parser;
+
+    private CanonicalJsonDigest() {
+    }
+
+    /**
+     * @return 32바이트 해시, JSON이 아니거나 정규화할 수 없으면 (중복 키, 깊이 초과, 뒤에 다른 값) null
+     * @throws IOException 스트림 읽기 실패 (JSON 오류는 예외가 아닌 null)
+     */
+    static byte[] digest(InputStream in) throws IOException {
+        CanonicalJsonDigest digest = new CanonicalJsonDigest();
+        try (JsonParser parser = JSON.createParser(in)) {
+            digest.parser = parser;
+            JsonToken token = parser.nextToken();
+            if (token == null) {
+                return null;
+            }
+            MessageDigest root = digest.digest(0);
+            if (!digest.value(token, root, 0) || parser.nextToken() != null) {
+                return null;
+            }
+            return root.digest();
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 값 하나를 out에 기록
+     *
+     * @return 정규화할 수 있는 값인지
+     */
+    private boolean value(JsonToken token, MessageDigest out, int depth) throws IOException {
+        switch (token) {
+            case START_OBJECT, START_ARRAY -> {
+                if (depth >= MAX_DEPTH) {
+                    return false;
+                }
+                byte[] nested = token == JsonToken.START_OBJECT ? object(depth + 1) : array(depth + 1);
+                if (nested == null) {
+                    return false;
+                }
+                out.update(NESTED);
+                out.update(nested);
+            }
+            case VALUE_STRING -> scalar(out, STRING, parser.getText());
+            case VALUE_NUMBER_INT -> scalar(out, INTEGER, parser.getBigIntegerValue().toString());
+            case VALUE_NUMBER_FLOAT -> scalar(out, DECIMAL, parser.getDecimalValue().stripTrailingZeros().toString());
+            case VALUE_TRUE -> out.update(TRUE);
+            case VALUE_FALSE -> out.update(FALSE);
+            case VALUE_NULL -> out.update(NULL);
+            default -> {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private byte[] object(int depth) throws IOException {
+        MessageDigest member = digest(depth * 2 + 1);
+        List<byte[]> members = new ArrayList<>();
+        Set<String> names = new HashSet<>();
+        JsonToken token;
+        while ((token = parser.nextToken()) == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            if (!names.add(name)) {
+                return null; // 중복 키는 업스트림 파서마다 해석이 다름
+            }
+            scalar(member, STRING, name);
+            if (!value(parser.nextToken(), member, depth)) {
+                return null;
+            }
+            members.add(member.digest());
+        }
+        if (token != JsonToken.END_OBJECT) {
+            return null;
+        }
+        members.sort(Arrays::compareUnsigned);
+        MessageDigest container = digest(depth * 2);
+        container.update(OBJECT);
+        writeLength(container, members.size());
+        for (byte[] hash : members) {
+            container.update(hash);
+        }
+        return container.digest();
+    }
+
+    private byte[] array(int depth) throws IOException {
+        MessageDigest container = digest(depth * 2);
+        container.update(ARRAY);
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token == null || !value(token, container, depth)) {
+                return null;
+            }
+        }
+        container.update(ARRAY_END);
+        return container.digest();
+    }
+
+    private void scalar(MessageDigest out, byte type, String text) {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        out.update(type);
+        writeLength(out, bytes.length);
+        out.update(bytes);
+    }
+
+    private void writeLength(MessageDigest out, int value) {
+        length[0] = (byte) (value >>> 24);
+        length[1] = (byte) (value >>> 16);
+        length[2] = (byte) (value >>> 8);
+        length[3] = (byte) value;
+        out.update(length);
+    }
+
+    private MessageDigest digest(int index) {
+        MessageDigest digest = digests[index];
+        if (digest == null) {
+            try {
+                digest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e); // 모든 JVM이 지원해야 하는 알고리즘
+            }
+            digests[index] = digest;
+        }
+        return digest;
+    }
+}
@@ -0,0 +1,187 @@
+package com.kroaddy.api.proxy.cache;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * 본문을 한 번 읽으며 정규화 해시를 계산한 요청
+ * 읽은 바이트는 그대로 보관해 업스트림에 다시 보내고, 한도를 넘어 다 읽지 못했으면 나머지는 원본 스트림에서 이어 읽음
+ */
+final class DigestedRequest extends HttpServletRequestWrapper {
+
+    private final byte[] buffered;
+    private final boolean complete;
+    private final byte[] digest;
+    private ServletInputStream replay;
+
+    private DigestedRequest(HttpServletRequest request, byte[] buffered, boolean complete, byte[] digest) {
+        super(request);
+        this.buffered = buffered;
+        this.complete = complete;
+        this.digest = digest;
+    }
+
+    /**
+     * 본문을 최대 maxSize 바이트까지 읽으며 해시 계산
+     * Content-Length가 한도를 넘으면 읽지 않음
+     */
+    static DigestedRequest read(HttpServletRequest request, int maxSize) throws IOException {
+        long contentLength = request.getContentLengthLong();
+        if (contentLength > maxSize) {
+            return new DigestedRequest(request, new byte[0], false, null);
+        }
+        BoundedTee tee = new BoundedTee(request.getInputStream(), maxSize,
+                contentLength > 0 ? (int) contentLength : 1024);
+        byte[] digest;
+        try {
+            digest = CanonicalJsonDigest.digest(tee);
+            tee.drain(); // 마지막 값 뒤의 공백까지 읽어야 본문 전체를 가졌는지 알 수 있음
+        } catch (LimitExceededException e) {
+            digest = null;
+        }
+        boolean complete = tee.isEof();
+        return new DigestedRequest(request, tee.toByteArray(), complete, complete ? digest : null);
+    }
+
+    /**
+     * @return 정규화 JSON 해시, 본문이 한도를 넘었거나 JSON이 아니면 null
+     */
+    byte[] digest() {
+        return digest;
+    }
+
+    @Override
+    public ServletInputStream getInputStream() throws IOException {
+        if (replay == null) {
+            replay = new ReplayInputStream(buffered, complete ? null : super.getInputStream());
+        }
+        return replay;
+    }
+
+    private static final class LimitExceededException extends IOException {
+        LimitExceededException() {
+            super("요청 본문이 해시 한도를 넘었습니다.");
+        }
+    }
+
+    /**
+     * 읽은 바이트를 보관하는 스트림 (한도를 넘으면 LimitExceededException)
+     */
+    private static final class BoundedTee extends InputStream {
+
+        private final InputStream in;
+        private final int maxSize;
+        private final ByteArrayOutputStream copy;
+        private boolean eof;
+
+        BoundedTee(InputStream in, int maxSize, int initialSize) {
+            this.in = in;
+            this.maxSize = maxSize;
+            this.copy = new ByteArrayOutputStream(Math.min(initialSize, maxSize));
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] one = new byte[1];
+            return read(one, 0, 1) < 0 ? -1 : one[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (eof) {
+                return -1;
+            }
+            int n = in.read(b, off, len);
+            if (n < 0) {
+                eof = true;
+                return -1;
+            }
+            copy.write(b, off, n);
+            if (copy.size() > maxSize) {
+                throw new LimitExceededException();
+            }
+            return n;
+        }
+
+        void drain() throws IOException {
+            byte[] buffer = new byte[1024];
+            while (read(buffer, 0, buffer.length) >= 0) {
+                // 보관만 함
+            }
+        }
+
+        boolean isEof() {
+            return eof;
+        }
+
+        byte[] toByteArray() {
+            return copy.toByteArray();
+        }
+    }
+
+    /**
+     * 보관한 바이트, 이어서 원본 스트림의 나머지
+     */
+    private static final class ReplayInputStream extends ServletInputStream {
+
+        private final byte[] buffered;
+        private final ServletInputStream rest;
+        private int position;
+        private boolean finished;
+
+        ReplayInputStream(byte[] buffered, ServletInputStream rest) {
+            this.buffered = buffered;
+            this.rest = rest;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (position < buffered.length) {
+                return buffered[position++] & 0xFF;
+            }
+            return next(rest != null ? rest.read() : -1);
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            if (position < buffered.length) {
+                int n = Math.min(len, buffered.length - position);
+                System.arraycopy(buffered, position, b, off, n);
+                position += n;
+                return n;
+            }
+            return next(rest != null ? rest.read(b, off, len) : -1);
+        }
+
+        private int next(int result) {
+            if (result < 0) {
+                finished = true;
+            }
+            return result;
+        }
+
+        @Override
+        public boolean isFinished() {
+            return finished;
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            throw new UnsupportedOperationException("비동기 읽기는 지원하지 않습니다.");
+        }
+    }
+}
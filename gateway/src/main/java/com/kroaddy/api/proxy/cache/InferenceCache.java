@@ -0,0 +1,162 @@
+package com.kroaddy.api.proxy.cache;
+
+import com.kroaddy.api.proxy.CapturedResponse;
+import com.kroaddy.api.proxy.route.RouteConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * 결정적인 추론 POST의 결과 캐시 (요청 본문 기준 content-addressed)
+ * 결과가 요청 본문에만 의존하는 라우트(inference-cache-ttl 지정)에서 정규화한 JSON 본문 해시 + 재작성 경로를 키로 사용
+ * 저장 계층(로컬 Caffeine + Redis)과 무효화/퍼지는 응답 캐시와 공유하고, 키는 "#본문 해시"로 구분
+ *
+ * 라우트 설정이 결정성을 보장하므로 Authorization 유무와 관계없이 공유하되,
+ * 업스트림이 Set-Cookie / no-store / private으로 응답하면 저장하지 않음
+ */
+@Component
+public class InferenceCache {
+
+    private final ResponseCache responseCache;
+    private final ResponseCacheProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public InferenceCache(ResponseCache responseCache, ResponseCacheProperties properties,
+                          MeterRegistry meterRegistry) {
+        this.responseCache = responseCache;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * 캐시 미스/우회 시 업스트림 호출
+     */
+    @FunctionalInterface
+    public interface Origin {
+
+        /**
+         * 업스트림 호출 후 클라이언트에 기록
+         *
+         * @param request    전달할 요청 (본문을 이미 읽었으면 읽은 바이트를 다시 내보내는 요청)
+         * @param onCaptured null이 아니면 응답을 담아 기록 전에 전달 (스트리밍한 응답은 전달하지 않음)
+         */
+        void fetch(HttpServletRequest request, Consumer<CapturedResponse> onCaptured) throws IOException;
+    }
+
+    /**
+     * 라우트에 추론 캐시가 켜져 있는지 (라우트 inference-cache-ttl 지정 + 전역 설정)
+     */
+    public boolean isEnabled(RouteConfig route) {
+        return properties.isEnabled() && properties.getInference().isEnabled()
+                && route.getInferenceCacheTtl() != null;
+    }
+
+    /**
+     * 같은 본문의 결과가 있으면 제공하고, 없으면 업스트림을 호출해 받은 결과를 저장
+     *
+     * @param upstreamPath 재작성된 업스트림 경로 (쿼리 제외)
+     */
+    public void execute(RouteConfig route, String upstreamPath, HttpServletRequest request,
+                        HttpServletResponse response, Origin origin) throws IOException {
+        String routeId = route.getId();
+        ResponseCacheProperties.Inference inference = properties.getInference();
+        if (request.getHeader(inference.getBypassHeader()) != null || noStore(request)) {
+            count(routeId, "bypass", "none");
+            origin.fetch(request, null);
+            return;
+        }
+        if (!HttpMethod.POST.matches(request.getMethod()) || !isJson(request.getContentType())) {
+            count(routeId, "uncacheable", "none");
+            origin.fetch(request, null);
+            return;
+        }
+
+        DigestedRequest body = DigestedRequest.read(request, inference.getMaxRequestSize());
+        if (body.digest() == null) {
+            // 한도 초과 또는 정규화할 수 없는 본문: 읽은 부분과 나머지를 그대로 전달
+            count(routeId, "uncacheable", "none");
+            origin.fetch(body, null);
+            return;
+        }
+
+        String key = key(routeId, upstreamPath, request.getQueryString(), body.digest());
+        long now = System.currentTimeMillis();
+        ResponseCache.Lookup found = responseCache.lookup(key, now);
+        if (found != null && found.entry().isFresh(now)) {
+            CachedEntry entry = found.entry();
+            count(routeId, "hit", found.tier());
+            responseCache.recordSaved(routeId, "inference", entry);
+            response.setHeader(HttpHeaders.AGE, String.valueOf(entry.ageSeconds(now)));
+            response.setHeader(ResponseCache.X_CACHE, "HIT");
+            entry.response().writeTo(response);
+            return;
+        }
+
+        count(routeId, "miss", "none");
+        response.setHeader(ResponseCache.X_CACHE, "MISS");
+        long start = System.nanoTime();
+        origin.fetch(body, captured -> store(route, key, captured, ResponseCache.elapsedMillis(start)));
+    }
+
+    private void store(RouteConfig route, String key, CapturedResponse captured, long originMillis) {
+        if (captured.status() != 200 || captured.headers().containsKey(HttpHeaders.SET_COOKIE)) {
+            return;
+        }
+        CachePolicy.Directives directives = CachePolicy.parse(captured.headers().get(HttpHeaders.CACHE_CONTROL));
+        if (directives.has("no-store") || directives.has("private")) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long expires = now + route.getInferenceCacheTtl().toMillis();
+        // 결과는 본문에만 의존하므로 Vary / 재검증 없이 TTL 동안만 제공
+        responseCache.put(route.getId(), key, new CachedEntry(CachePolicy.withoutAge(captured), now, expires,
+                expires, Map.of(), true, originMillis));
+    }
+
+    /**
+     * 캐시 키: 라우트 | 업스트림 경로 ? 정렬한 쿼리 # 정규화 본문 SHA-256
+     */
+    static String key(String routeId, String upstreamPath, String query, byte[] digest) {
+        return ResponseCache.key(routeId, upstreamPath, query) + "#" + HexFormat.of().formatHex(digest);
+    }
+
+    private static boolean noStore(HttpServletRequest request) {
+        return CachePolicy.parse(Collections.list(request.getHeaders(HttpHeaders.CACHE_CONTROL))).has("no-store");
+    }
+
+    private static boolean isJson(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        try {
+            MediaType mediaType = MediaType.parseMediaType(contentType);
+            return MediaType.APPLICATION_JSON.isCompatibleWith(mediaType)
+                    || mediaType.getSubtype().endsWith("+json");
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private void count(String routeId, String result, String tier) {
+        Counter.builder("gateway.cache.inference.requests")
+                .description("추론 결과 캐시 조회 (result: hit / miss / bypass / uncacheable, tier: local / redis / none)")
+                .tag("route", routeId)
+                .tag("result", result)
+                .tag("tier", tier)
+                .register(meterRegistry)
+                .increment();
+    }
+}
@@ -0,0 +1,567 @@
+package com.kroaddy.api.proxy.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.kroaddy.api.proxy.CapturedResponse;
+import com.kroaddy.api.proxy.ProxyForwarder;
+import com.kroaddy.api.proxy.route.RouteConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * 라우트별 GET 응답 캐시 (2계층)
+ * 1계층: 노드 내부 Caffeine 캐시 (W-TinyLFU, 본문 크기 기준 용량 제한)
+ * 2계층: Redis 공유 캐시 (다른 노드가 받아 둔 응답도 재사용)
+ * 업스트림 Cache-Control/Expires/ETag를 따르고, 유효 기간이 지난 항목은 stale-while-revalidate 동안
+ * 그대로 제공하면서 키당 한 번만 백그라운드로 조건부 재검증
+ * 새 버전 저장/무효화는 Redis pub/sub으로 다른 노드의 로컬 계층에도 전파
+ */
+@Slf4j
+@Component
+public class ResponseCache implements MessageListener, DisposableBean {
+
+    // 캐시 미스 시 업스트림에서 전체 응답을 받기 위해 제거하는 클라이언트 조건부 헤더
+    private static final List<String> CONDITIONAL_HEADERS = List.of(
+            HttpHeaders.IF_NONE_MATCH, HttpHeaders.IF_MODIFIED_SINCE, HttpHeaders.IF_MATCH,
+            HttpHeaders.IF_UNMODIFIED_SINCE, HttpHeaders.IF_RANGE);
+
+    static final String X_CACHE = "X-Cache";
+
+    // 무효화 메시지 종류 ("<노드 id> <종류> <값>")
+    private static final char KEY = 'K'; // 키 하나
+    private static final char PATH = 'P'; // 경로 (쿼리만 다른 키 포함)
+    private static final char PREFIX = 'R'; // 접두사 (라우트 전체, 빈 값이면 전체)
+
+    private final ResponseCacheProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Cache<String, CachedEntry> local;
+    private final SharedCacheTier shared; // Redis를 쓰지 않으면 null
+    private final String nodeId = UUID.randomUUID().toString().substring(0, 8);
+    private final Set<String> revalidating = ConcurrentHashMap.newKeySet();
+    private final ExecutorService background = Executors.newVirtualThreadPerTaskExecutor();
+
+    @Autowired
+    public ResponseCache(ResponseCacheProperties properties, MeterRegistry meterRegistry,
+                         @Qualifier("responseCacheRedisTemplate")
+                         ObjectProvider<RedisTemplate<String, byte[]>> redisTemplate) {
+        this(properties, meterRegistry, properties.getRedis().isEnabled() ? redisTemplate.getIfAvailable() : null);
+    }
+
+    ResponseCache(ResponseCacheProperties properties, MeterRegistry meterRegistry,
+                  RedisTemplate<String, byte[]> redisTemplate) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.shared = redisTemplate != null
+                ? new SharedCacheTier(redisTemplate, properties.getRedis(), meterRegistry) : null;
+        this.local = Caffeine.newBuilder()
+                .maximumWeight(properties.getLocalMaxBytes())
+                .weigher((String key, CachedEntry entry) -> entry.weight(key))
+                .expireAfter(new StaleExpiry())
+                .evictionListener((String key, CachedEntry entry, RemovalCause cause) -> evicted(cause))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, local, "gateway-response");
+        Gauge.builder("gateway.cache.local.bytes", local,
+                        cache -> cache.policy().eviction().map(e -> e.weightedSize().orElse(0L)).orElse(0L))
+                .description("응답 캐시 로컬 계층 사용량 (바이트 근사치)")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 캐시 미스/우회 시 업스트림 호출 (인스턴스 선택, 벌크헤드/서킷 브레이커는 호출 측이 담당)
+     */
+    public interface Origin {
+
+        /**
+         * 캐시와 무관하게 그대로 프록시 (클라이언트 Cache-Control: no-store)
+         */
+        void passThrough() throws IOException;
+
+        /**
+         * 클라이언트 조건부 헤더를 빼고 업스트림 호출 후 클라이언트에 기록
+         * 응답을 담았으면 기록하기 전에 onCaptured로 전달 (스트리밍한 응답은 전달하지 않음)
+         */
+        void fetch(Consumer<CapturedResponse> onCaptured) throws IOException;
+
+        /**
+         * 백그라운드 조건부 재검증 (요청 스레드가 아닌 곳에서 호출)
+         *
+         * @param headers 업스트림 요청 헤더 (If-None-Match / If-Modified-Since 포함)
+         * @return 담은 응답, 담을 수 없는 응답이면 null
+         */
+        CapturedResponse revalidate(HttpHeaders headers) throws IOException;
+    }
+
+    /**
+     * 라우트에 캐시가 켜져 있는지 (라우트 cache-ttl 지정 + gateway.response-cache.enabled)
+     */
+    public boolean isEnabled(RouteConfig route) {
+        return properties.isEnabled() && route.getCacheTtl() != null;
+    }
+
+    public int getMaxEntrySize() {
+        return properties.getMaxEntrySize();
+    }
+
+    /**
+     * 캐시에서 제공하거나, 업스트림을 호출해 받은 응답을 저장
+     *
+     * @param upstreamPath 재작성된 업스트림 경로 (쿼리 제외)
+     */
+    public void execute(RouteConfig route, String upstreamPath, HttpServletRequest request,
+                        HttpServletResponse response, Origin origin) throws IOException {
+        String routeId = route.getId();
+        CachePolicy.Directives directives = CachePolicy.parse(Collections.list(request.getHeaders(HttpHeaders.CACHE_CONTROL)));
+        if (directives.has("no-store")) {
+            count(routeId, "bypass", "none");
+            origin.passThrough();
+            return;
+        }
+
+        String key = key(routeId, upstreamPath, request.getQueryString());
+        Function<String, String> header = name -> joined(request.getHeaders(name));
+        long now = System.currentTimeMillis();
+        // no-cache는 저장된 응답을 쓰지 않고 업스트림에서 새로 받음 (받은 응답은 저장)
+        boolean lookup = !directives.has("no-cache") && !"no-cache".equalsIgnoreCase(request.getHeader("Pragma"));
+        if (lookup) {
+            Lookup found = lookup(key, now);
+            CachedEntry entry = found != null ? found.entry() : null;
+            if (entry != null && servable(entry, header, directives, now)) {
+                boolean fresh = entry.isFresh(now);
+                count(routeId, fresh ? "hit" : "stale", found.tier());
+                recordSaved(routeId, "response", entry);
+                if (!fresh) {
+                    revalidate(route, key, entry, snapshot(request), origin);
+                }
+                response.setHeader(HttpHeaders.AGE, String.valueOf(entry.ageSeconds(now)));
+                response.setHeader(X_CACHE, fresh ? "HIT" : "STALE");
+                entry.response().writeTo(request, response);
+                return;
+            }
+        }
+
+        count(routeId, "miss", "none");
+        response.setHeader(X_CACHE, "MISS");
+        long start = System.nanoTime();
+        origin.fetch(captured -> store(route, key, header, captured, elapsedMillis(start)));
+    }
+
+    /**
+     * 조회 결과와 찾은 계층
+     */
+    record Lookup(CachedEntry entry, String tier) {
+    }
+
+    /**
+     * 로컬 계층, 없으면 공유 계층에서 조회 (공유 계층에서 찾은 항목은 로컬 계층에 올림)
+     *
+     * @return 찾은 항목, 없으면 null (stale 기간이 지난 항목도 반환될 수 있으므로 호출 측이 확인)
+     */
+    Lookup lookup(String key, long now) {
+        CachedEntry entry = local.getIfPresent(key);
+        if (entry != null) {
+            return new Lookup(entry, "local");
+        }
+        if (shared == null) {
+            return null;
+        }
+        entry = shared.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.isUsable(now)) {
+            local.put(key, entry);
+        }
+        return new Lookup(entry, "redis");
+    }
+
+    private static boolean servable(CachedEntry entry, Function<String, String> header,
+                                    CachePolicy.Directives directives, long now) {
+        if (!entry.isUsable(now) || !entry.matches(header)) {
+            return false;
+        }
+        if (!entry.authShareable() && !header.apply(HttpHeaders.AUTHORIZATION).isEmpty()) {
+            return false;
+        }
+        Long maxAge = directives.seconds("max-age");
+        return maxAge == null || entry.ageSeconds(now) <= maxAge;
+    }
+
+    /**
+     * 저장 가능한 응답이면 두 계층에 저장하고 다른 노드의 로컬 사본을 무효화
+     *
+     * @return 저장했는지
+     */
+    private boolean store(RouteConfig route, String key, Function<String, String> header, CapturedResponse captured,
+                          long originMillis) {
+        CachedEntry entry = CachePolicy.toEntry(header, captured, route.getCacheTtl(),
+                properties.getStaleWhileRevalidate(), System.currentTimeMillis(), originMillis);
+        if (entry == null) {
+            // 더 이상 캐시할 수 없는 응답이면 이전 버전도 제거
+            if (local.asMap().remove(key) != null) {
+                invalidate(KEY, key, "update");
+            }
+            return false;
+        }
+        put(route.getId(), key, entry);
+        return true;
+    }
+
+    /**
+     * 두 계층에 저장하고 다른 노드의 로컬 사본을 무효화
+     */
+    void put(String routeId, String key, CachedEntry entry) {
+        local.put(key, entry);
+        Counter.builder("gateway.cache.stores")
+                .description("응답 캐시에 저장한 응답")
+                .tag("route", routeId)
+                .register(meterRegistry)
+                .increment();
+        if (shared != null) {
+            runInBackground(() -> {
+                shared.put(key, entry, entry.staleUntil() - System.currentTimeMillis());
+                shared.publish(message(KEY, key));
+            });
+        }
+    }
+
+    /**
+     * stale 항목을 키당 한 번만 백그라운드로 재검증
+     */
+    private void revalidate(RouteConfig route, String key, CachedEntry entry, HttpHeaders headers, Origin origin) {
+        if (!revalidating.add(key)) {
+            return;
+        }
+        String etag = entry.response().headers().getETag();
+        String lastModified = entry.response().headers().getFirst(HttpHeaders.LAST_MODIFIED);
+        if (etag != null) {
+            headers.set(HttpHeaders.IF_NONE_MATCH, etag);
+        } else if (lastModified != null) {
+            headers.set(HttpHeaders.IF_MODIFIED_SINCE, lastModified);
+        }
+        Function<String, String> header = name -> String.join(",", headers.getOrEmpty(name));
+
+        boolean submitted = runInBackground(() -> {
+            String outcome;
+            try {
+                long start = System.nanoTime();
+                CapturedResponse result = origin.revalidate(headers);
+                if (result == null) {
+                    outcome = remove(key);
+                } else if (result.status() == 304) {
+                    // 본문은 그대로이므로 처음 받을 때 걸린 시간 유지
+                    outcome = store(route, key, header, CachePolicy.refresh(entry.response(), result.headers()),
+                            entry.originMillis()) ? "not_modified" : "removed";
+                } else if (result.status() >= 500) {
+                    outcome = "failed"; // stale 기간이 끝날 때까지 이전 응답 유지
+                } else {
+                    outcome = store(route, key, header, result, elapsedMillis(start)) ? "updated" : remove(key);
+                }
+            } catch (Exception e) {
+                outcome = "failed";
+                log.debug("응답 캐시 재검증 실패: key={}, error={}", key, e.getMessage());
+            } finally {
+                revalidating.remove(key);
+            }
+            Counter.builder("gateway.cache.revalidations")
+                    .description("stale 응답 백그라운드 재검증 (outcome: not_modified / updated / removed / failed)")
+                    .tag("route", route.getId())
+                    .tag("outcome", outcome)
+                    .register(meterRegistry)
+                    .increment();
+        });
+        if (!submitted) {
+            revalidating.remove(key);
+        }
+    }
+
+    private String remove(String key) {
+        local.invalidate(key);
+        invalidate(KEY, key, "update");
+        return "removed";
+    }
+
+    /**
+     * 경로의 캐시 항목 무효화 (쿼리만 다른 항목 포함)
+     * 캐시 라우트에 POST/PUT/PATCH/DELETE가 성공하면 호출 (RFC 9111 4.4)
+     *
+     * @param upstreamPath 재작성된 업스트림 경로 (쿼리 제외)
+     */
+    public void invalidatePath(RouteConfig route, String upstreamPath) {
+        String path = route.getId() + "|" + upstreamPath;
+        evictLocal(PATH, path);
+        invalidate(PATH, path, "unsafe_method");
+    }
+
+    /**
+     * 라우트(또는 전체) 캐시 비우기
+     *
+     * @param routeId null이면 전체
+     * @return 이 노드의 로컬 계층에서 제거한 항목 수
+     */
+    public int purge(String routeId) {
+        String prefix = routeId != null ? routeId + "|" : "";
+        int removed = evictLocal(PREFIX, prefix);
+        invalidate(PREFIX, prefix, "purge");
+        return removed;
+    }
+
+    /**
+     * 공유 계층에서 삭제하고 다른 노드에 통지 (로컬 계층은 호출 측이 처리)
+     */
+    private void invalidate(char type, String value, String source) {
+        Counter.builder("gateway.cache.invalidations")
+                .description("응답 캐시 무효화 (source: update / unsafe_method / purge / remote)")
+                .tag("source", source)
+                .register(meterRegistry)
+                .increment();
+        if (shared == null) {
+            return;
+        }
+        runInBackground(() -> {
+            switch (type) {
+                case KEY -> shared.delete(value);
+                case PATH -> {
+                    shared.delete(value);
+                    shared.deleteByPrefix(value + "?");
+                }
+                default -> shared.deleteByPrefix(value);
+            }
+            shared.publish(message(type, value));
+        });
+    }
+
+    /**
+     * 다른 노드가 보낸 무효화 메시지 처리 (로컬 계층만 비움)
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int first = body.indexOf(' ');
+        if (first < 0 || body.length() < first + 3 || body.startsWith(nodeId + " ")) {
+            return;
+        }
+        char type = body.charAt(first + 1);
+        String value = body.substring(first + 3);
+        evictLocal(type, value);
+        Counter.builder("gateway.cache.invalidations")
+                .description("응답 캐시 무효화 (source: update / unsafe_method / purge / remote)")
+                .tag("source", "remote")
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private int evictLocal(char type, String value) {
+        if (type == KEY) {
+            return local.asMap().remove(value) != null ? 1 : 0;
+        }
+        Predicate<String> matches = type == PATH
+                ? key -> key.equals(value) || key.startsWith(value + "?")
+                : key -> key.startsWith(value);
+        int removed = 0;
+        for (Iterator<String> keys = local.asMap().keySet().iterator(); keys.hasNext(); ) {
+            if (matches.test(keys.next())) {
+                keys.remove();
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    private String message(char type, String value) {
+        return nodeId + " " + type + " " + value;
+    }
+
+    /**
+     * 캐시 상태 요약 (/actuator/gatewaycache)
+     */
+    public Map<String, Object> stats() {
+        CacheStats stats = local.stats();
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("enabled", properties.isEnabled());
+        body.put("redis", shared != null);
+        body.put("localEntries", local.estimatedSize());
+        body.put("localBytes", local.policy().eviction().map(e -> e.weightedSize().orElse(0L)).orElse(0L));
+        body.put("localMaxBytes", properties.getLocalMaxBytes());
+        body.put("localHitRate", Math.round(stats.hitRate() * 1000) / 1000.0);
+        body.put("localEvictions", stats.evictionCount());
+        body.put("revalidating", revalidating.size());
+        return body;
+    }
+
+    @Override
+    public void destroy() {
+        background.shutdownNow();
+    }
+
+    private boolean runInBackground(Runnable task) {
+        try {
+            background.execute(task);
+            return true;
+        } catch (RejectedExecutionException e) {
+            return false; // 종료 중
+        }
+    }
+
+    private void evicted(RemovalCause cause) {
+        Counter.builder("gateway.cache.evictions")
+                .description("응답 캐시 로컬 계층에서 밀려난 항목 (cause: size = 용량 초과, expired = stale 기간 종료)")
+                .tag("cause", cause == RemovalCause.SIZE ? "size" : "expired")
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * 캐시 적중으로 절약한 업스트림 시간 (저장 당시 업스트림 응답 시간)
+     *
+     * @param cache response / inference
+     */
+    void recordSaved(String routeId, String cache, CachedEntry entry) {
+        Timer.builder("gateway.cache.saved")
+                .description("캐시 적중으로 절약한 업스트림 응답 시간 (cache: response / inference)")
+                .tag("route", routeId)
+                .tag("cache", cache)
+                .register(meterRegistry)
+                .record(entry.originMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    static long elapsedMillis(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
+    private void count(String routeId, String result, String tier) {
+        Counter.builder("gateway.cache.requests")
+                .description("응답 캐시 조회 (result: hit / stale / miss / bypass, tier: local / redis / none)")
+                .tag("route", routeId)
+                .tag("result", result)
+                .tag("tier", tier)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * 업스트림 요청 헤더에서 클라이언트 조건부 헤더 제거 (캐시에 넣을 전체 응답을 받기 위함)
+     * 클라이언트에는 받은 응답을 기준으로 304 여부를 다시 판단해 기록
+     */
+    public static void removeConditionalHeaders(HttpHeaders headers) {
+        CONDITIONAL_HEADERS.forEach(headers::remove);
+    }
+
+    /**
+     * 캐시 키: 라우트 | 업스트림 경로 ? 이름순으로 정렬한 쿼리
+     * 요청 헤더에 따른 변형(Vary)은 키가 아닌 항목에 저장하고 조회 시 비교 (키당 최근 변형 하나만 유지)
+     */
+    static String key(String routeId, String upstreamPath, String query) {
+        StringBuilder key = new StringBuilder(routeId.length() + upstreamPath.length() + 32)
+                .append(routeId).append('|').append(upstreamPath);
+        if (query != null && !query.isEmpty()) {
+            String[] params = query.split("&");
+            // 같은 이름의 값 순서는 의미가 있을 수 있으므로 이름만 기준으로 안정 정렬
+            Arrays.sort(params, (a, b) -> name(a).compareTo(name(b)));
+            key.append('?').append(String.join("&", params));
+        }
+        return key.toString();
+    }
+
+    private static String name(String param) {
+        int eq = param.indexOf('=');
+        return eq >= 0 ? param.substring(0, eq) : param;
+    }
+
+    private static String joined(Enumeration<String> values) {
+        if (values == null || !values.hasMoreElements()) {
+            return "";
+        }
+        String first = values.nextElement();
+        if (!values.hasMoreElements()) {
+            return first;
+        }
+        StringBuilder joined = new StringBuilder(first);
+        while (values.hasMoreElements()) {
+            joined.append(',').append(values.nextElement());
+        }
+        return joined.toString();
+    }
+
+    /**
+     * 백그라운드 재검증에 쓸 요청 헤더 사본 (요청 객체는 응답 후 재사용되므로 복사)
+     */
+    private static HttpHeaders snapshot(HttpServletRequest request) {
+        HttpHeaders headers = new HttpHeaders();
+        Enumeration<String> names = request.getHeaderNames();
+        while (names.hasMoreElements()) {
+            String name = names.nextElement();
+            if (ProxyForwarder.isInternal(name)) {
+                continue;
+            }
+            Enumeration<String> values = request.getHeaders(name);
+            while (values.hasMoreElements()) {
+                headers.add(name, values.nextElement());
+            }
+        }
+        removeConditionalHeaders(headers);
+        headers.remove(HttpHeaders.CACHE_CONTROL);
+        headers.remove("Pragma");
+        return headers;
+    }
+
+    /**
+     * 로컬 계층 항목은 stale 기간이 끝날 때 만료
+     */
+    private static final class StaleExpiry implements Expiry<String, CachedEntry> {
+
+        @Override
+        public long expireAfterCreate(String key, CachedEntry entry, long currentTime) {
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, entry.staleUntil() - System.currentTimeMillis()));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, CachedEntry entry, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, entry, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, CachedEntry entry, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.kroaddy.api.proxy.cache;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * 응답 캐시 상태 조회 및 비우기 (/actuator/gatewaycache)
+ * DELETE는 Redis 공유 계층과 다른 노드의 로컬 계층까지 비움 (route를 주면 해당 라우트만)
+ */
+@Component
+@Endpoint(id = "gatewaycache")
+public class ResponseCacheEndpoint {
+
+    private final ResponseCache responseCache;
+
+    @Autowired
+    public ResponseCacheEndpoint(ResponseCache responseCache) {
+        this.responseCache = responseCache;
+    }
+
+    @ReadOperation
+    public Map<String, Object> stats() {
+        return responseCache.stats();
+    }
+
+    @DeleteOperation
+    public Map<String, Object> purge(@Nullable String route) {
+        int removed = responseCache.purge(route);
+        return Map.of("route", route != null ? route : "*", "localRemoved", removed);
+    }
+}
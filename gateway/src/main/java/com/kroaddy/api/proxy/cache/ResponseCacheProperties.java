@@ -0,0 +1,40 @@
+package com.kroaddy.api.proxy.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 응답 캐시 설정
+ * 라우트별 사용 여부와 기본 TTL은 라우트 정의의 cache-ttl(GET) / inference-cache-ttl(추론 POST)로 지정
+ */
+@Component
+@ConfigurationProperties(prefix = "gateway.response-cache")
+@Data
+public class ResponseCacheProperties {
+    private boolean enabled = true;
+    private long localMaxBytes = 64L * 1024 * 1024; // 로컬(인프로세스) 계층 최대 크기 (바이트, 본문 + 헤더 기준)
+    private int maxEntrySize = 1024 * 1024; // 캐시할 응답 본문 최대 크기 (바이트, 넘으면 캐시하지 않음)
+    private Duration staleWhileRevalidate = Duration.ofSeconds(30); // 업스트림이 stale-while-revalidate를 주지 않았을 때 적용
+    private Redis redis = new Redis();
+    private Inference inference = new Inference();
+
+    @Data
+    public static class Redis {
+        private boolean enabled = true; // false면 로컬 계층만 사용
+        private String keyPrefix = "respcache"; // 공유 계층 키 접두사
+        private String channel = "gateway:respcache:invalidate"; // 노드 간 무효화 pub/sub 채널
+    }
+
+    /**
+     * 추론 POST 결과 캐시 (요청 본문 해시 기준, 저장 계층은 응답 캐시와 공유)
+     */
+    @Data
+    public static class Inference {
+        private boolean enabled = true;
+        private int maxRequestSize = 256 * 1024; // 해시할 요청 본문 최대 크기 (바이트, 넘으면 캐시하지 않고 그대로 전달)
+        private String bypassHeader = "X-Cache-Bypass"; // 이 헤더가 있으면 캐시 조회/저장 모두 하지 않음
+    }
+}
@@ -0,0 +1,132 @@
+package com.kroaddy.api.proxy.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 응답 캐시의 Redis 공유 계층
+ * 모든 게이트웨이 노드가 같은 키 공간을 쓰므로 한 노드가 받은 응답을 다른 노드도 재사용
+ * Redis 오류 시 캐시 미스로 처리하고(fail-open) 잠시 호출을 멈춤 (장애 중 요청마다 타임아웃을 기다리지 않도록)
+ */
+@Slf4j
+final class SharedCacheTier {
+
+    private static final long ERROR_BACKOFF_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final int DELETE_BATCH = 500;
+
+    private final RedisTemplate<String, byte[]> redisTemplate;
+    private final String keyPrefix;
+    private final String channel;
+    private final Counter errors;
+    private volatile long retryAt = System.nanoTime();
+
+    SharedCacheTier(RedisTemplate<String, byte[]> redisTemplate, ResponseCacheProperties.Redis properties,
+                    MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.keyPrefix = properties.getKeyPrefix() + ":";
+        this.channel = properties.getChannel();
+        this.errors = Counter.builder("gateway.cache.redis.errors")
+                .description("응답 캐시 공유 계층(Redis) 오류 (캐시 미스로 처리)")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return 저장된 항목, 없거나 Redis를 쓸 수 없으면 null
+     */
+    CachedEntry get(String key) {
+        byte[] data = call("get", () -> redisTemplate.opsForValue().get(keyPrefix + key));
+        if (data == null) {
+            return null;
+        }
+        try {
+            return CachedEntry.decode(data);
+        } catch (UncheckedIOException e) {
+            log.warn("응답 캐시 항목을 읽을 수 없어 무시합니다: key={}", key);
+            return null;
+        }
+    }
+
+    void put(String key, CachedEntry entry, long ttlMillis) {
+        if (ttlMillis <= 0) {
+            return;
+        }
+        byte[] data = entry.encode();
+        call("put", () -> {
+            redisTemplate.opsForValue().set(keyPrefix + key, data, ttlMillis, TimeUnit.MILLISECONDS);
+            return null;
+        });
+    }
+
+    void delete(String key) {
+        call("delete", () -> redisTemplate.delete(keyPrefix + key));
+    }
+
+    /**
+     * 접두사가 같은 키 모두 삭제 (SCAN, 무효화/퍼지처럼 드문 작업에만 사용)
+     */
+    void deleteByPrefix(String prefix) {
+        call("scan", () -> {
+            ScanOptions options = ScanOptions.scanOptions().match(keyPrefix + escapeGlob(prefix) + "*")
+                    .count(DELETE_BATCH).build();
+            List<String> batch = new ArrayList<>(DELETE_BATCH);
+            try (Cursor<String> cursor = redisTemplate.scan(options)) {
+                while (cursor.hasNext()) {
+                    batch.add(cursor.next());
+                    if (batch.size() == DELETE_BATCH) {
+                        redisTemplate.delete(batch);
+                        batch.clear();
+                    }
+                }
+            }
+            if (!batch.isEmpty()) {
+                redisTemplate.delete(batch);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * 다른 노드에 무효화 통지
+     */
+    void publish(String message) {
+        call("publish", () -> redisTemplate.convertAndSend(channel,
+                message.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private <T> T call(String operation, Supplier<T> command) {
+        if (System.nanoTime() - retryAt < 0) {
+            return null;
+        }
+        try {
+            return command.get();
+        } catch (RuntimeException e) {
+            retryAt = System.nanoTime() + ERROR_BACKOFF_NANOS;
+            errors.increment();
+            log.warn("응답 캐시 Redis 오류: operation={}, error={}", operation, e.getMessage());
+            return null;
+        }
+    }
+
+    private static String escapeGlob(String value) {
+        StringBuilder escaped = new StringBuilder(value.length() + 8);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '*' || c == '?' || c == '[' || c == ']' || c == '\\') {
+                escaped.append('\\');
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+}
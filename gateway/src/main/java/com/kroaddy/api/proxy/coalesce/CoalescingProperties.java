@@ -0,0 +1,26 @@
+package com.kroaddy.api.proxy.coalesce;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 동일 GET 요청 병합(single-flight) 설정
+ * 라우트별 사용 여부는 라우트 정의의 coalesce로 지정
+ */
+@Component
+@ConfigurationProperties(prefix = "gateway.coalescing")
+@Data
+public class CoalescingProperties {
+    private boolean enabled = true;
+    private Duration maxWait = Duration.ofSeconds(5); // 뒤따르는 요청이 선행 요청 응답을 기다리는 최대 시간 (넘으면 직접 호출)
+    private int maxResponseSize = 1024 * 1024; // 공유할 응답 본문 최대 크기 (바이트, 넘으면 각자 호출)
+    // 같은 요청으로 볼 헤더 (값이 모두 같아야 병합, 사용자별 응답이 섞이지 않도록 인증 헤더/쿠키 포함)
+    private List<String> keyHeaders = new ArrayList<>(List.of(
+            "Accept", "Accept-Encoding", "Accept-Language", "Authorization", "Cookie",
+            "If-None-Match", "If-Modified-Since", "Range"));
+}
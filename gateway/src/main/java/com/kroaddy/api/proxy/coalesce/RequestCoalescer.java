@@ -0,0 +1,202 @@
+package com.kroaddy.api.proxy.coalesce;
+
+import com.kroaddy.api.proxy.CapturedResponse;
+import com.kroaddy.api.proxy.ProxyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 동일 GET 요청 병합 (single-flight)
+ * 같은 키의 요청이 진행 중이면 업스트림을 다시 호출하지 않고 선행 요청(leader)의 응답 바이트를 함께 받음
+ * 뒤따르는 요청(follower)은 max-wait까지만 기다리고, 넘기거나 응답을 공유할 수 없으면 직접 호출
+ * 선행 요청이 업스트림 오류로 끝나면 같은 오류를 돌려줌 (장애 업스트림에 요청을 한꺼번에 다시 보내지 않도록)
+ */
+@Component
+public class RequestCoalescer {
+
+    private final CoalescingProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, InFlight> inFlight = new ConcurrentHashMap<>();
+
+    @Autowired
+    public RequestCoalescer(CoalescingProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("gateway.coalescing.inflight", inFlight, Map::size)
+                .description("병합 대상으로 진행 중인 업스트림 호출 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 업스트림 호출 한 번
+     */
+    @FunctionalInterface
+    public interface UpstreamCall {
+
+        /**
+         * @param capture true면 공유할 수 있도록 응답을 담아서 반환 (클라이언트 기록은 호출 측이 수행)
+         * @return 담아 둔 응답, capture가 false이거나 공유할 수 없어 이미 스트리밍했으면 null
+         */
+        CapturedResponse call(boolean capture) throws IOException;
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public int getMaxResponseSize() {
+        return properties.getMaxResponseSize();
+    }
+
+    /**
+     * 같은 키의 진행 중 호출이 있으면 그 응답을 받고, 없으면 직접 호출해 결과를 공유
+     *
+     * @param routeId  라우트 id (메트릭 태그)
+     * @param key      병합 키 (key 메서드로 생성)
+     * @param request  클라이언트 요청 (공유 응답 기록 시 조건부 헤더 판단)
+     * @param response 클라이언트 응답
+     * @param call     업스트림 호출
+     */
+    public void execute(String routeId, String key, HttpServletRequest request, HttpServletResponse response,
+                        UpstreamCall call) throws IOException {
+        InFlight created = new InFlight();
+        InFlight existing = inFlight.putIfAbsent(key, created);
+        if (existing == null) {
+            lead(routeId, key, created, request, response, call);
+        } else {
+            follow(routeId, existing, request, response, call);
+        }
+    }
+
+    private void lead(String routeId, String key, InFlight flight, HttpServletRequest request,
+                      HttpServletResponse response, UpstreamCall call) throws IOException {
+        count(routeId, "leader");
+        CapturedResponse captured;
+        try {
+            captured = call.call(true);
+        } catch (IOException | RuntimeException | Error e) {
+            finish(routeId, key, flight);
+            flight.result.completeExceptionally(e);
+            throw e;
+        }
+        // 응답이 준비된 뒤에 들어온 요청은 새로 호출하도록 먼저 제거
+        finish(routeId, key, flight);
+        flight.result.complete(captured);
+        if (captured != null) {
+            captured.writeTo(request, response);
+        }
+    }
+
+    private void follow(String routeId, InFlight flight, HttpServletRequest request,
+                        HttpServletResponse response, UpstreamCall call) throws IOException {
+        flight.followers.incrementAndGet();
+        CapturedResponse captured;
+        try {
+            captured = flight.result.get(properties.getMaxWait().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            count(routeId, "timeout");
+            call.call(false);
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ProxyException(HttpStatus.SERVICE_UNAVAILABLE, "Service unavailable", "요청 처리가 중단되었습니다.", e);
+        } catch (ExecutionException e) {
+            count(routeId, "failed");
+            throw leaderFailure(e.getCause());
+        }
+        if (captured == null) {
+            count(routeId, "unshareable");
+            call.call(false);
+            return;
+        }
+        count(routeId, "follower");
+        captured.writeTo(request, response);
+    }
+
+    private void finish(String routeId, String key, InFlight flight) {
+        inFlight.remove(key, flight);
+        DistributionSummary.builder("gateway.coalescing.followers")
+                .description("업스트림 호출 한 번에 병합된 뒤따르는 요청 수")
+                .tag("route", routeId)
+                .register(meterRegistry)
+                .record(flight.followers.get());
+    }
+
+    private static ProxyException leaderFailure(Throwable cause) {
+        if (cause instanceof ProxyException e) {
+            // 선행 요청의 예외 객체를 여러 스레드에서 다시 던지지 않도록 새로 생성
+            return new ProxyException(e.getStatus(), e.getError(), e.getMessage(), e);
+        }
+        return new ProxyException(HttpStatus.BAD_GATEWAY, "Bad gateway", String.valueOf(cause.getMessage()), cause);
+    }
+
+    private void count(String routeId, String role) {
+        Counter.builder("gateway.coalescing.requests")
+                .description("병합 대상 GET 요청 (role: leader=업스트림 호출, follower=응답 공유, timeout/unshareable=직접 호출, failed=선행 요청 오류 공유)")
+                .tag("route", routeId)
+                .tag("role", role)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * 병합 키 생성
+     * 라우트 + 업스트림 경로 + 이름순으로 정렬한 쿼리 파라미터 + key-headers 값
+     * (인스턴스는 같은 응답을 준다고 보므로 base URL은 키에 넣지 않음)
+     *
+     * @param upstreamPath 재작성된 업스트림 경로
+     */
+    public String key(String routeId, String upstreamPath, HttpServletRequest request) {
+        StringBuilder key = new StringBuilder(128)
+                .append(request.getMethod()).append(' ')
+                .append(routeId).append(' ')
+                .append(upstreamPath);
+        String query = request.getQueryString();
+        if (query != null && !query.isEmpty()) {
+            String[] params = query.split("&");
+            // 같은 이름의 값 순서는 의미가 있을 수 있으므로 이름만 기준으로 안정 정렬
+            Arrays.sort(params, (a, b) -> name(a).compareTo(name(b)));
+            key.append('?').append(String.join("&", params));
+        }
+        for (String header : properties.getKeyHeaders()) {
+            Enumeration<String> values = request.getHeaders(header);
+            if (values == null || !values.hasMoreElements()) {
+                continue;
+            }
+            key.append('\n').append(header.toLowerCase(Locale.ROOT)).append(':');
+            while (values.hasMoreElements()) {
+                key.append(values.nextElement()).append(',');
+            }
+        }
+        return key.toString();
+    }
+
+    private static String name(String param) {
+        int eq = param.indexOf('=');
+        return eq >= 0 ? param.substring(0, eq) : param;
+    }
+
+    private static final class InFlight {
+        final CompletableFuture<CapturedResponse> result = new CompletableFuture<>();
+        final AtomicInteger followers = new AtomicInteger();
+    }
+}
@@ -0,0 +1,74 @@
+package com.kroaddy.api.proxy.health;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 업스트림 헬스 체크 설정
+ * 능동 체크(주기적 GET)와 실요청 기반 이상치 제외를 함께 설정
+ */
+@Component
+@ConfigurationProperties(prefix = "gateway.health-check")
+@Data
+public class HealthCheckProperties {
+    private boolean enabled = true;
+    private String path = "/"; // 기본 체크 경로 (5xx/연결 실패/타임아웃만 비정상, 4xx는 프로세스가 응답하므로 정상)
+    private Duration interval = Duration.ofSeconds(10); // 체크 주기
+    private Duration timeout = Duration.ofSeconds(2); // 연결 + 응답 대기 한도
+    private int healthyThreshold = 2; // 비정상 -> 정상 전환에 필요한 연속 성공
+    private int unhealthyThreshold = 3; // 정상 -> 비정상 전환에 필요한 연속 실패
+    private Duration slowStart = Duration.ofSeconds(30); // 복구/제외 해제 후 유입을 100%까지 늘리는 시간
+    private List<UpstreamPath> upstreams = new ArrayList<>(); // 업스트림별 체크 경로
+    private Outlier outlier = new Outlier();
+
+    /**
+     * 업스트림 하나의 체크 경로 (재정의가 없으면 path)
+     */
+    public String pathFor(String baseUrl) {
+        for (UpstreamPath upstream : upstreams) {
+            if (upstream.getUri() == null || upstream.getPath() == null) {
+                continue;
+            }
+            // 라우트처럼 쉼표로 나열한 여러 인스턴스에 같은 경로 적용
+            for (String uri : upstream.getUri().split(",")) {
+                if (stripTrailingSlash(uri).equalsIgnoreCase(baseUrl)) {
+                    return upstream.getPath();
+                }
+            }
+        }
+        return path;
+    }
+
+    private static String stripTrailingSlash(String uri) {
+        String trimmed = uri.trim();
+        return trimmed.endsWith("/") ? trimmed.substring(0, trimmed.length() - 1) : trimmed;
+    }
+
+    @Data
+    public static class UpstreamPath {
+        private String uri; // 업스트림 base URL (라우트의 uri와 같은 값, 쉼표로 여러 개)
+        private String path; // 체크 경로 (예: /actuator/health)
+    }
+
+    /**
+     * 실요청 결과로 판정하는 이상치 제외 설정
+     */
+    @Data
+    public static class Outlier {
+        private boolean enabled = true;
+        private Duration interval = Duration.ofSeconds(5); // 판정 주기
+        private int consecutiveFailures = 5; // 연속 실패(연결 오류/5xx) 수
+        private double failureRateThreshold = 50; // 판정 주기 동안 실패율(%)
+        private int minimumRequests = 20; // 실패율/지연 판정에 필요한 주기당 최소 요청 수
+        private double slowLatencyFactor = 3.0; // 같은 라우트의 다른 인스턴스 지연 중앙값 대비 배수
+        private Duration slowLatencyMin = Duration.ofSeconds(1); // 이보다 빠르면 지연으로는 제외하지 않음
+        private Duration baseEjectionTime = Duration.ofSeconds(30); // 첫 제외 시간 (연속 제외마다 2배)
+        private Duration maxEjectionTime = Duration.ofMinutes(5);
+        private int maxEjectionPercent = 50; // 라우트 인스턴스 중 동시에 제외할 수 있는 최대 비율(%)
+    }
+}
@@ -0,0 +1,154 @@
+package com.kroaddy.api.proxy.health;
+
+import com.kroaddy.api.proxy.balancer.UpstreamHealth;
+import com.kroaddy.api.proxy.balancer.UpstreamInstance;
+import com.kroaddy.api.proxy.balancer.UpstreamStats;
+import com.kroaddy.api.proxy.route.RouteConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 실요청 결과 기반 이상치(outlier) 판정
+ * 판정 주기마다 업스트림별 연속 실패, 실패율, 같은 라우트 인스턴스 대비 지연을 보고 일정 시간 선택에서 제외
+ * 제외 시간은 연속 제외마다 2배(최대값까지)로 늘리고, 해제 후에는 slow start로 점진적으로 재투입
+ * 한 라우트의 인스턴스를 max-ejection-percent 이상 동시에 제외하지 않음 (인스턴스가 하나인 라우트는 제외 없음)
+ */
+@Slf4j
+public class OutlierDetector {
+
+    static final String CONSECUTIVE_FAILURES = "consecutive_failures";
+    static final String FAILURE_RATE = "failure_rate";
+    static final String LATENCY = "latency";
+
+    private final HealthCheckProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    public OutlierDetector(HealthCheckProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * 한 주기 판정 (헬스 체커 스레드 하나에서만 호출)
+     */
+    public void evaluate(Collection<RouteConfig> routes, long now) {
+        Map<UpstreamStats, List<RouteConfig>> routesByUpstream = new LinkedHashMap<>();
+        for (RouteConfig route : routes) {
+            for (UpstreamInstance instance : route.getInstances()) {
+                routesByUpstream.computeIfAbsent(instance.getStats(), s -> new ArrayList<>()).add(route);
+            }
+        }
+
+        HealthCheckProperties.Outlier outlier = properties.getOutlier();
+        for (Map.Entry<UpstreamStats, List<RouteConfig>> entry : routesByUpstream.entrySet()) {
+            UpstreamStats stats = entry.getKey();
+            UpstreamHealth health = stats.getHealth();
+            if (health.isEjected()) {
+                if (health.releaseIfExpired(now)) {
+                    log.info("업스트림 이상치 제외 해제, slow start로 재투입: upstream={}", stats.getBaseUrl());
+                }
+                continue;
+            }
+
+            long[] window = health.drainWindow();
+            String reason = reasonToEject(stats, entry.getValue(), window[0], window[1], outlier, now);
+            if (reason == null) {
+                health.decayEjections();
+                continue;
+            }
+            if (!withinEjectionLimit(stats, entry.getValue(), outlier, now)) {
+                log.debug("이상치 제외 보류 (라우트 최대 제외 비율): upstream={}, reason={}", stats.getBaseUrl(), reason);
+                continue;
+            }
+
+            long duration = ejectionNanos(health.getEjections(), outlier);
+            health.eject(now, duration, reason);
+            Counter.builder("gateway.upstream.ejections")
+                    .description("이상치로 판정되어 선택에서 제외된 횟수")
+                    .tag("upstream", stats.getBaseUrl())
+                    .tag("reason", reason)
+                    .register(meterRegistry)
+                    .increment();
+            log.warn("업스트림 이상치 제외: upstream={}, reason={}, duration={}ms, requests={}, failures={}",
+                    stats.getBaseUrl(), reason, duration / 1_000_000, window[0], window[1]);
+        }
+    }
+
+    private static String reasonToEject(UpstreamStats stats, List<RouteConfig> routes, long requests, long failures,
+                                        HealthCheckProperties.Outlier outlier, long now) {
+        if (stats.getHealth().getConsecutiveFailures() >= outlier.getConsecutiveFailures()) {
+            return CONSECUTIVE_FAILURES;
+        }
+        if (requests < Math.max(1, outlier.getMinimumRequests())) {
+            return null;
+        }
+        if (failures * 100.0 >= outlier.getFailureRateThreshold() * requests) {
+            return FAILURE_RATE;
+        }
+        double latency = stats.latencyEwmaNanos();
+        if (latency < outlier.getSlowLatencyMin().toNanos()) {
+            return null;
+        }
+        for (RouteConfig route : routes) {
+            double peerMedian = peerMedianLatency(route, stats, now);
+            if (peerMedian > 0 && latency > peerMedian * outlier.getSlowLatencyFactor()) {
+                return LATENCY;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 같은 라우트의 다른 가용 인스턴스 지연 EWMA 중앙값 (비교 대상이 없으면 0)
+     */
+    private static double peerMedianLatency(RouteConfig route, UpstreamStats self, long now) {
+        List<Double> latencies = new ArrayList<>();
+        for (UpstreamInstance instance : route.getInstances()) {
+            if (instance.getStats() != self && instance.isAvailable(now) && instance.getStats().latencyEwmaNanos() > 0) {
+                latencies.add(instance.getStats().latencyEwmaNanos());
+            }
+        }
+        if (latencies.isEmpty()) {
+            return 0;
+        }
+        latencies.sort(null);
+        int middle = latencies.size() / 2;
+        return latencies.size() % 2 == 1
+                ? latencies.get(middle)
+                : (latencies.get(middle - 1) + latencies.get(middle)) / 2;
+    }
+
+    /**
+     * 이 업스트림을 제외해도 모든 라우트에서 제외 비율이 한도 이내인지
+     */
+    private static boolean withinEjectionLimit(UpstreamStats stats, List<RouteConfig> routes,
+                                               HealthCheckProperties.Outlier outlier, long now) {
+        for (RouteConfig route : routes) {
+            List<UpstreamInstance> instances = route.getInstances();
+            int unavailable = 1;
+            for (UpstreamInstance instance : instances) {
+                if (instance.getStats() != stats && !instance.isAvailable(now)) {
+                    unavailable++;
+                }
+            }
+            if (unavailable * 100L > (long) instances.size() * outlier.getMaxEjectionPercent()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long ejectionNanos(int previousEjections, HealthCheckProperties.Outlier outlier) {
+        long base = outlier.getBaseEjectionTime().toNanos();
+        long max = outlier.getMaxEjectionTime().toNanos();
+        int shift = Math.min(previousEjections, 20);
+        return Math.min(max, base << shift);
+    }
+}
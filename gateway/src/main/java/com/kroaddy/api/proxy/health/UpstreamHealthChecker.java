@@ -0,0 +1,189 @@
+package com.kroaddy.api.proxy.health;
+
+import com.kroaddy.api.proxy.balancer.UpstreamHealth;
+import com.kroaddy.api.proxy.balancer.UpstreamInstance;
+import com.kroaddy.api.proxy.balancer.UpstreamStats;
+import com.kroaddy.api.proxy.route.RouteConfig;
+import com.kroaddy.api.proxy.route.RouteTable;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 라우트 테이블의 모든 업스트림을 주기적으로 확인하는 헬스 체커
+ * 업스트림마다 체크 경로로 GET을 보내 연속 성공/실패 수에 따라 선택 후보에서 빼거나 되돌리고,
+ * 같은 스레드에서 이상치 판정(OutlierDetector)도 수행
+ * 상태 전이는 모두 스케줄러 스레드 하나에서만 일어나고, 요청 경로는 결과만 읽음
+ */
+@Slf4j
+@Component
+public class UpstreamHealthChecker implements DisposableBean {
+
+    private final HealthCheckProperties properties;
+    private final RouteTable routeTable;
+    private final MeterRegistry meterRegistry;
+    private final OutlierDetector outlierDetector;
+
+    private final Set<UpstreamStats> probing = ConcurrentHashMap.newKeySet();
+    private ScheduledExecutorService scheduler;
+    private ExecutorService probeExecutor;
+    private HttpClient httpClient;
+
+    @Autowired
+    public UpstreamHealthChecker(HealthCheckProperties properties, RouteTable routeTable, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.routeTable = routeTable;
+        this.meterRegistry = meterRegistry;
+        this.outlierDetector = new OutlierDetector(properties, meterRegistry);
+    }
+
+    /**
+     * 기동 완료 후 체크 시작 (업스트림이 내려가 있어도 기동은 지연되지 않음)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!properties.isEnabled() || scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "UpstreamHealthChecker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        probeExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        httpClient = HttpClient.newBuilder()
+                .connectTimeout(properties.getTimeout())
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .executor(probeExecutor)
+                .build();
+
+        long intervalMillis = properties.getInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::probeAll, 0, intervalMillis, TimeUnit.MILLISECONDS);
+        if (properties.getOutlier().isEnabled()) {
+            long outlierMillis = properties.getOutlier().getInterval().toMillis();
+            scheduler.scheduleWithFixedDelay(this::detectOutliers, outlierMillis, outlierMillis, TimeUnit.MILLISECONDS);
+        }
+        log.info("업스트림 헬스 체크 시작: interval={}, timeout={}, outlier={}",
+                properties.getInterval(), properties.getTimeout(), properties.getOutlier().isEnabled());
+    }
+
+    @Override
+    public void destroy() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            probeExecutor.shutdownNow();
+        }
+    }
+
+    private void probeAll() {
+        try {
+            long slowStartNanos = properties.getSlowStart().toNanos();
+            for (UpstreamStats stats : upstreams(routeTable.current().index().getRoutes()).values()) {
+                stats.getHealth().setSlowStartNanos(slowStartNanos);
+                // 이전 체크가 아직 끝나지 않았으면 겹쳐서 보내지 않음
+                if (probing.add(stats)) {
+                    probe(stats);
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("업스트림 헬스 체크 실패: {}", e.getMessage(), e);
+        }
+    }
+
+    private void probe(UpstreamStats stats) {
+        String target = stats.getBaseUrl() + properties.pathFor(stats.getBaseUrl());
+        HttpRequest request;
+        try {
+            request = HttpRequest.newBuilder(URI.create(target))
+                    .timeout(properties.getTimeout())
+                    .header("User-Agent", "gateway-health-check")
+                    .GET()
+                    .build();
+        } catch (IllegalArgumentException e) {
+            probing.remove(stats);
+            log.warn("헬스 체크 경로 오류: upstream={}, target={}", stats.getBaseUrl(), target);
+            return;
+        }
+        httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> {
+                    boolean success = error == null && response.statusCode() < 500;
+                    String detail = error != null ? describe(error)
+                            : !success ? "HTTP " + response.statusCode() : null;
+                    // 상태 전이는 스케줄러 스레드에서만
+                    try {
+                        scheduler.execute(() -> {
+                            probing.remove(stats);
+                            onProbeResult(stats, success, detail);
+                        });
+                    } catch (RuntimeException e) {
+                        probing.remove(stats); // 종료 중
+                    }
+                });
+    }
+
+    private static String describe(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        return cause.getMessage() != null
+                ? cause.getClass().getSimpleName() + ": " + cause.getMessage()
+                : cause.getClass().getSimpleName();
+    }
+
+    private void onProbeResult(UpstreamStats stats, boolean success, String error) {
+        Counter.builder("gateway.upstream.healthcheck")
+                .description("업스트림 능동 헬스 체크 결과")
+                .tag("upstream", stats.getBaseUrl())
+                .tag("result", success ? "success" : "failure")
+                .register(meterRegistry)
+                .increment();
+
+        UpstreamHealth health = stats.getHealth();
+        boolean changed = health.recordProbe(success, error, properties.getHealthyThreshold(),
+                properties.getUnhealthyThreshold(), System.nanoTime());
+        if (changed && health.isActiveHealthy()) {
+            log.info("업스트림 헬스 체크 복구, slow start로 재투입: upstream={}", stats.getBaseUrl());
+        } else if (changed) {
+            log.warn("업스트림 헬스 체크 실패로 선택 제외: upstream={}, error={}", stats.getBaseUrl(), error);
+        }
+    }
+
+    private void detectOutliers() {
+        try {
+            outlierDetector.evaluate(routeTable.current().index().getRoutes(), System.nanoTime());
+        } catch (RuntimeException e) {
+            log.error("이상치 판정 실패: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 라우트에 쓰이는 업스트림 (base URL 기준 중복 제거)
+     */
+    static Map<String, UpstreamStats> upstreams(Collection<RouteConfig> routes) {
+        Map<String, UpstreamStats> upstreams = new LinkedHashMap<>();
+        for (RouteConfig route : routes) {
+            for (UpstreamInstance instance : route.getInstances()) {
+                upstreams.putIfAbsent(instance.getBaseUrl(), instance.getStats());
+            }
+        }
+        return upstreams;
+    }
+}
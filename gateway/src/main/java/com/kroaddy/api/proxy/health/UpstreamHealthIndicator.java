@@ -0,0 +1,87 @@
+package com.kroaddy.api.proxy.health;
+
+import com.kroaddy.api.proxy.balancer.UpstreamHealth;
+import com.kroaddy.api.proxy.balancer.UpstreamInstance;
+import com.kroaddy.api.proxy.balancer.UpstreamStats;
+import com.kroaddy.api.proxy.route.RouteConfig;
+import com.kroaddy.api.proxy.route.RouteTable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * /actuator/health의 upstream 컴포넌트
+ * 모든 라우트에 가용 인스턴스가 있으면 UP, 가용 인스턴스가 없는 라우트가 있으면 DEGRADED
+ * 업스트림 장애로 게이트웨이 자체를 DOWN(503)으로 보고하면 컨테이너 재시작으로 이어지므로 DOWN은 쓰지 않음
+ */
+@Component
+public class UpstreamHealthIndicator implements HealthIndicator {
+
+    static final Status DEGRADED = new Status("DEGRADED", "가용 인스턴스가 없는 라우트가 있습니다.");
+
+    private final RouteTable routeTable;
+
+    @Autowired
+    public UpstreamHealthIndicator(RouteTable routeTable) {
+        this.routeTable = routeTable;
+    }
+
+    @Override
+    public Health health() {
+        long now = System.nanoTime();
+        List<RouteConfig> routes = routeTable.current().index().getRoutes();
+
+        List<String> unavailableRoutes = new ArrayList<>();
+        for (RouteConfig route : routes) {
+            if (route.getInstances().stream().noneMatch(instance -> instance.isAvailable(now))) {
+                unavailableRoutes.add(route.getId());
+            }
+        }
+
+        Map<String, Object> upstreams = new LinkedHashMap<>();
+        for (UpstreamStats stats : UpstreamHealthChecker.upstreams(routes).values()) {
+            upstreams.put(stats.getBaseUrl(), describe(stats.getHealth(), now));
+        }
+
+        Health.Builder builder = unavailableRoutes.isEmpty() ? Health.up() : Health.status(DEGRADED);
+        if (!unavailableRoutes.isEmpty()) {
+            builder.withDetail("unavailableRoutes", unavailableRoutes);
+        }
+        return builder.withDetail("upstreams", upstreams).build();
+    }
+
+    private static Map<String, Object> describe(UpstreamHealth health, long now) {
+        Map<String, Object> detail = new LinkedHashMap<>();
+        double admission = health.admission(now);
+        String status;
+        if (!health.isActiveHealthy()) {
+            status = "DOWN";
+        } else if (admission == 0) {
+            status = "EJECTED";
+        } else if (admission < 1) {
+            status = "WARMING";
+        } else {
+            status = "UP";
+        }
+        detail.put("status", status);
+        if (admission > 0 && admission < 1) {
+            detail.put("admission", Math.round(admission * 100) / 100.0);
+        }
+        if (health.isEjected() && now - health.getEjectedUntil() < 0) {
+            detail.put("ejectionReason", health.getEjectionReason());
+            detail.put("ejectedForMillis", (health.getEjectedUntil() - now) / 1_000_000);
+        }
+        if (health.getProbeFailures() > 0) {
+            detail.put("probeFailures", health.getProbeFailures());
+            detail.put("lastProbeError", String.valueOf(health.getLastProbeError()));
+        }
+        return detail;
+    }
+}
@@ -0,0 +1,57 @@
+package com.kroaddy.api.proxy.job;
+
+import com.kroaddy.api.proxy.CapturedResponse;
+import org.springframework.http.HttpHeaders;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 저장소에 보관하는 비동기 작업 한 건 (상태가 바뀔 때마다 새 값으로 덮어씀)
+ *
+ * @param owner           작업을 만든 사용자 (JWT subject), 익명 요청이면 null
+ * @param createdAt       접수 시각 (epoch 밀리초)
+ * @param responseStatus  업스트림 응답 상태 코드 (COMPLETED일 때만)
+ * @param responseHeaders 업스트림 응답 헤더 (hop-by-hop 제외, COMPLETED일 때만)
+ * @param body            업스트림 응답 본문 (COMPLETED일 때만)
+ * @param error           실패 사유 (FAILED일 때만)
+ */
+public record AsyncJob(String id, String routeId, String owner, String method, JobStatus status,
+                       long createdAt, Long startedAt, Long completedAt,
+                       Integer responseStatus, Map<String, List<String>> responseHeaders, byte[] body,
+                       String error) {
+
+    static AsyncJob queued(String id, String routeId, String owner, String method, long now) {
+        return new AsyncJob(id, routeId, owner, method, JobStatus.QUEUED, now, null, null, null, null, null, null);
+    }
+
+    AsyncJob running(long now) {
+        return new AsyncJob(id, routeId, owner, method, JobStatus.RUNNING, createdAt, now, null,
+                null, null, null, null);
+    }
+
+    AsyncJob completed(CapturedResponse response, long now) {
+        return new AsyncJob(id, routeId, owner, method, JobStatus.COMPLETED, createdAt, startedAt, now,
+                response.status(), Map.copyOf(response.headers()), response.body(), null);
+    }
+
+    AsyncJob failed(String reason, long now) {
+        return new AsyncJob(id, routeId, owner, method, JobStatus.FAILED, createdAt, startedAt, now,
+                null, null, null, reason);
+    }
+
+    /**
+     * @return 보관한 업스트림 응답, COMPLETED가 아니면 null
+     */
+    public CapturedResponse result() {
+        if (status != JobStatus.COMPLETED) {
+            return null;
+        }
+        HttpHeaders headers = new HttpHeaders();
+        if (responseHeaders != null) {
+            responseHeaders.forEach(headers::addAll);
+        }
+        return new CapturedResponse(responseStatus, HttpHeaders.readOnlyHttpHeaders(headers),
+                body != null ? body : new byte[0]);
+    }
+}
@@ -0,0 +1,27 @@
+package com.kroaddy.api.proxy.job;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 비동기 작업 설정 (async: true 라우트에 Prefer: respond-async로 들어온 요청)
+ * 작업 상태와 결과는 Redis에 저장하므로 어느 게이트웨이 노드로 조회해도 같은 결과를 받음
+ */
+@Component
+@ConfigurationProperties(prefix = "gateway.jobs")
+@Data
+public class AsyncJobProperties {
+    private boolean enabled = true;
+    private int maxConcurrent = 8; // 노드별로 동시에 실행하는 작업 수
+    private int maxQueued = 100; // 실행을 기다릴 수 있는 작업 수 (넘으면 503)
+    private Duration queueTimeout = Duration.ofMinutes(1); // 실행 대기 최대 시간 (넘으면 작업 실패)
+    private Duration timeout = Duration.ofMinutes(5); // 작업의 업스트림 응답 대기 시간 (read-timeout 대신 적용)
+    private Duration resultTtl = Duration.ofMinutes(10); // 끝난 작업의 결과 보관 기간
+    private int maxRequestSize = 1024 * 1024; // 작업으로 받을 요청 본문 최대 크기 (바이트, 넘으면 413)
+    private int maxResultSize = 5 * 1024 * 1024; // 보관할 응답 본문 최대 크기 (바이트, 넘으면 작업 실패)
+    private Duration eventsPollInterval = Duration.ofSeconds(1); // SSE 구독 시 상태 확인 주기
+    private String keyPrefix = "gateway:jobs"; // Redis 키 접두사
+}
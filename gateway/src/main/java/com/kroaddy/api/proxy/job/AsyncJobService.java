@@ -0,0 +1,553 @@
+package com.kroaddy.api.proxy.job;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kroaddy.api.jwt.JwtTokenProvider;
+import com.kroaddy.api.proxy.CapturedResponse;
+import com.kroaddy.api.proxy.ProxyException;
+import com.kroaddy.api.proxy.ProxyForwarder;
+import com.kroaddy.api.proxy.resilience.UpstreamCall;
+import com.kroaddy.api.proxy.resilience.UpstreamInvoker;
+import com.kroaddy.api.proxy.route.RouteConfig;
+import com.kroaddy.api.proxy.upstream.UpstreamTimeout;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Enumeration;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 비동기 작업 (오래 걸리는 ML 호출을 클라이언트 연결과 분리)
+ * async: true 라우트에 Prefer: respond-async로 들어온 요청은 본문까지 받아 작업으로 저장하고 바로 202 + 작업 id로 응답
+ * 업스트림 호출은 가상 스레드에서 실행하되 노드별 동시 실행 수(max-concurrent)와 대기 수(max-queued)를 제한하고,
+ * 응답 대기 시간은 read-timeout 대신 gateway.jobs.timeout 적용
+ * 결과는 저장소(Redis)에 result-ttl 동안 보관하고 GET /api/jobs/{id}(/result, /events)로 조회
+ *
+ * 멱등 키: Idempotency-Key가 같은 요청(라우트 + 사용자 + 키)은 새 작업을 만들지 않고 처음 작업을 돌려줌
+ * 같은 키로 다른 요청(메서드/경로/본문이 다름)을 보내면 422
+ */
+@Slf4j
+@Component
+public class AsyncJobService implements DisposableBean {
+
+    public static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    public static final String JOBS_PATH = "/api/jobs/";
+    private static final String RESPOND_ASYNC = "respond-async";
+    private static final Duration RETRY_AFTER = Duration.ofSeconds(5);
+    private static final long HEARTBEAT_NANOS = TimeUnit.SECONDS.toNanos(15);
+
+    private final JobStore store;
+    private final UpstreamInvoker upstreamInvoker;
+    private final ProxyForwarder proxyForwarder;
+    private final JwtTokenProvider jwtTokenProvider;
+    private final ObjectMapper objectMapper;
+    private final AsyncJobProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Semaphore slots; // 대기 + 실행
+    private final Semaphore running;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger subscribers = new AtomicInteger();
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("async-job-", 0).factory());
+
+    @Autowired
+    public AsyncJobService(JobStore store, UpstreamInvoker upstreamInvoker, ProxyForwarder proxyForwarder,
+                           JwtTokenProvider jwtTokenProvider, ObjectMapper objectMapper,
+                           AsyncJobProperties properties, MeterRegistry meterRegistry) {
+        this.store = store;
+        this.upstreamInvoker = upstreamInvoker;
+        this.proxyForwarder = proxyForwarder;
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.slots = new Semaphore(properties.getMaxConcurrent() + properties.getMaxQueued());
+        this.running = new Semaphore(properties.getMaxConcurrent(), true);
+        Gauge.builder("gateway.jobs.queued", queued, AtomicInteger::get)
+                .description("실행을 기다리는 비동기 작업 수 (노드별)")
+                .register(meterRegistry);
+        Gauge.builder("gateway.jobs.running", running,
+                        semaphore -> properties.getMaxConcurrent() - semaphore.availablePermits())
+                .description("실행 중인 비동기 작업 수 (노드별)")
+                .register(meterRegistry);
+        Gauge.builder("gateway.jobs.subscribers", subscribers, AtomicInteger::get)
+                .description("작업 상태를 SSE로 구독 중인 연결 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 라우트에 비동기 작업이 켜져 있는지 (라우트 async 지정 + 전역 설정)
+     */
+    public boolean isEnabled(RouteConfig route) {
+        return properties.isEnabled() && route.isAsync();
+    }
+
+    /**
+     * 클라이언트가 비동기 처리를 요청했는지 (Prefer: respond-async, RFC 7240)
+     */
+    public static boolean isRequested(HttpServletRequest request) {
+        Enumeration<String> values = request.getHeaders("Prefer");
+        while (values.hasMoreElements()) {
+            for (String preference : values.nextElement().split(",")) {
+                String token = preference.trim();
+                int end = token.length();
+                for (int i = 0; i < token.length(); i++) {
+                    char c = token.charAt(i);
+                    if (c == '=' || c == ';' || c == ' ') {
+                        end = i;
+                        break;
+                    }
+                }
+                if (token.substring(0, end).equalsIgnoreCase(RESPOND_ASYNC)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 요청을 작업으로 접수하고 202로 응답
+     *
+     * @param pathAndQuery 재작성된 업스트림 경로 + 쿼리
+     * @param maxBodySize  라우트 요청 본문 한도 (0 이하면 max-request-size만 적용)
+     * @throws ProxyException 본문 한도 초과(413), 멱등 키 충돌(422/409), 대기열 가득 참/저장소 오류(503)
+     */
+    public void submit(RouteConfig route, String pathAndQuery, HttpServletRequest request,
+                       HttpServletResponse response, long maxBodySize) throws IOException {
+        String routeId = route.getId();
+        String method = request.getMethod();
+        String owner = subject(request);
+        long limit = maxBodySize > 0 ? Math.min(maxBodySize, properties.getMaxRequestSize())
+                : properties.getMaxRequestSize();
+        byte[] body = ProxyForwarder.hasBody(request) ? readBody(request, limit) : null;
+        HttpHeaders headers = upstreamHeaders(request);
+        String idempotencyKey = request.getHeader(IDEMPOTENCY_KEY);
+
+        if (!slots.tryAcquire()) {
+            count(routeId, "rejected");
+            throw new ProxyException(HttpStatus.SERVICE_UNAVAILABLE, "Too many jobs",
+                    "대기 중인 작업이 너무 많습니다. 잠시 후 다시 시도하세요.", RETRY_AFTER);
+        }
+        boolean handedOff = false;
+        try {
+            AsyncJob job = AsyncJob.queued(UUID.randomUUID().toString(), routeId, owner, method,
+                    System.currentTimeMillis());
+            store.save(job, pendingTtl());
+            if (idempotencyKey != null) {
+                String fingerprint = fingerprint(method, pathAndQuery, body);
+                String claimed = store.claim(idempotencyKey(routeId, owner, idempotencyKey),
+                        job.id() + " " + fingerprint, pendingTtl().plus(properties.getResultTtl()));
+                if (claimed != null) {
+                    store.delete(job.id());
+                    replay(routeId, claimed, fingerprint, owner, response);
+                    return;
+                }
+            }
+            JobRequest jobRequest = new JobRequest(method, pathAndQuery, headers, body);
+            try {
+                executor.execute(() -> run(route, job, jobRequest));
+            } catch (RejectedExecutionException e) {
+                store.save(job.failed("게이트웨이 종료 중", System.currentTimeMillis()), properties.getResultTtl());
+                throw new ProxyException(HttpStatus.SERVICE_UNAVAILABLE, "Service unavailable",
+                        "게이트웨이가 종료 중입니다.", RETRY_AFTER);
+            }
+            handedOff = true;
+            count(routeId, "accepted");
+            writeAccepted(response, job, false);
+        } catch (ProxyException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            log.warn("비동기 작업 저장소 오류: route={}, error={}", routeId, e.getMessage());
+            count(routeId, "store_error");
+            throw new ProxyException(HttpStatus.SERVICE_UNAVAILABLE, "Job store unavailable",
+                    "작업 저장소를 사용할 수 없습니다.", RETRY_AFTER);
+        } finally {
+            if (!handedOff) {
+                slots.release();
+            }
+        }
+    }
+
+    /**
+     * 요청한 사용자가 볼 수 있는 작업 조회
+     *
+     * @return 작업, 없거나 보관 기간이 지났거나 다른 사용자의 작업이면 null
+     * @throws ProxyException 저장소 오류(503)
+     */
+    public AsyncJob find(String id, HttpServletRequest request) {
+        AsyncJob job;
+        try {
+            job = store.find(id);
+        } catch (RuntimeException e) {
+            log.warn("비동기 작업 조회 실패: id={}, error={}", id, e.getMessage());
+            throw new ProxyException(HttpStatus.SERVICE_UNAVAILABLE, "Job store unavailable",
+                    "작업 저장소를 사용할 수 없습니다.", RETRY_AFTER);
+        }
+        if (job == null || (job.owner() != null && !job.owner().equals(subject(request)))) {
+            return null;
+        }
+        return job;
+    }
+
+    /**
+     * 작업 상태를 SSE로 전달 (상태가 바뀔 때마다 이벤트, 끝나면 연결 종료)
+     * 작업이 다른 노드에서 실행될 수 있으므로 저장소를 events-poll-interval마다 확인
+     */
+    public SseEmitter subscribe(AsyncJob job) {
+        SseEmitter emitter = new SseEmitter(pendingTtl().toMillis());
+        AtomicBoolean closed = new AtomicBoolean();
+        emitter.onCompletion(() -> closed.set(true));
+        emitter.onTimeout(() -> closed.set(true));
+        emitter.onError(e -> closed.set(true));
+        subscribers.incrementAndGet();
+        try {
+            executor.execute(() -> {
+                try {
+                    publish(job, emitter, closed);
+                } finally {
+                    subscribers.decrementAndGet();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            subscribers.decrementAndGet();
+            emitter.complete();
+        }
+        return emitter;
+    }
+
+    /**
+     * 작업 상태 JSON (202 응답, 상태 조회, SSE 이벤트에 공통 사용)
+     */
+    public Map<String, Object> view(AsyncJob job) {
+        Map<String, Object> view = new LinkedHashMap<>();
+        view.put("id", job.id());
+        view.put("status", job.status().value());
+        view.put("route", job.routeId());
+        view.put("createdAt", Instant.ofEpochMilli(job.createdAt()).toString());
+        if (job.startedAt() != null) {
+            view.put("startedAt", Instant.ofEpochMilli(job.startedAt()).toString());
+        }
+        if (job.completedAt() != null) {
+            view.put("completedAt", Instant.ofEpochMilli(job.completedAt()).toString());
+        }
+        if (job.responseStatus() != null) {
+            view.put("responseStatus", job.responseStatus());
+        }
+        if (job.error() != null) {
+            view.put("error", job.error());
+        }
+        String self = JOBS_PATH + job.id();
+        view.put("links", Map.of("self", self, "result", self + "/result", "events", self + "/events"));
+        return view;
+    }
+
+    /**
+     * 아직 끝나지 않은 작업을 다시 조회할 간격 (Retry-After, 초)
+     */
+    public long getRetryAfterSeconds() {
+        return Math.max(1, properties.getEventsPollInterval().toSeconds());
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private void run(RouteConfig route, AsyncJob job, JobRequest request) {
+        long enqueuedNanos = System.nanoTime();
+        queued.incrementAndGet();
+        try {
+            boolean acquired;
+            try {
+                acquired = running.tryAcquire(properties.getQueueTimeout().toMillis(), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                finish(job.failed("게이트웨이 종료 중", System.currentTimeMillis()), "shutdown");
+                return;
+            } finally {
+                queued.decrementAndGet();
+            }
+            if (!acquired) {
+                finish(job.failed("실행 대기 시간 초과", System.currentTimeMillis()), "queue_timeout");
+                return;
+            }
+            try {
+                Timer.builder("gateway.jobs.queue.wait")
+                        .description("비동기 작업이 실행을 기다린 시간")
+                        .tag("route", route.getId())
+                        .register(meterRegistry)
+                        .record(System.nanoTime() - enqueuedNanos, TimeUnit.NANOSECONDS);
+                AsyncJob started = job.running(System.currentTimeMillis());
+                save(started, pendingTtl());
+                execute(route, started, request);
+            } finally {
+                running.release();
+            }
+        } finally {
+            slots.release();
+        }
+    }
+
+    private void execute(RouteConfig route, AsyncJob job, JobRequest request) {
+        boolean replayable = request.body() == null && UpstreamInvoker.isIdempotent(request.method());
+        try (UpstreamCall call = upstreamInvoker.open(route, request.method(), replayable, (baseUrl, listener) ->
+                UpstreamTimeout.withReadTimeout(properties.getTimeout(), () -> proxyForwarder.open(
+                        HttpMethod.valueOf(request.method()), URI.create(baseUrl + request.pathAndQuery()),
+                        request.headers(), request.body(), listener)))) {
+            CapturedResponse result = call.getResponse().read(properties.getMaxResultSize());
+            if (result == null) {
+                call.getResponse().abort(); // 남은 본문은 읽지 않고 연결을 끊음
+                finish(job.failed("결과가 최대 크기(" + properties.getMaxResultSize() + " bytes)를 넘었습니다.",
+                        System.currentTimeMillis()), "too_large");
+                return;
+            }
+            finish(job.completed(result, System.currentTimeMillis()), "completed");
+        } catch (ProxyException e) {
+            // 사용 가능한 인스턴스 없음, 서킷 차단, 동시성 한도 등
+            finish(job.failed(e.getError() + ": " + e.getMessage(), System.currentTimeMillis()), "failed");
+        } catch (SocketTimeoutException e) {
+            finish(job.failed("업스트림 응답 시간 초과", System.currentTimeMillis()), "timeout");
+        } catch (IOException e) {
+            finish(job.failed("업스트림 호출 실패: " + e.getMessage(), System.currentTimeMillis()), "failed");
+        } catch (RuntimeException e) {
+            log.warn("비동기 작업 실행 오류: id={}, route={}", job.id(), route.getId(), e);
+            finish(job.failed("게이트웨이 오류", System.currentTimeMillis()), "failed");
+        }
+    }
+
+    private void finish(AsyncJob job, String outcome) {
+        save(job, properties.getResultTtl());
+        Counter.builder("gateway.jobs.completed")
+                .description("끝난 비동기 작업 (outcome: completed / failed / timeout / too_large / queue_timeout / shutdown)")
+                .tag("route", job.routeId())
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+        Timer.builder("gateway.jobs.duration")
+                .description("비동기 작업 접수부터 끝날 때까지 걸린 시간")
+                .tag("route", job.routeId())
+                .register(meterRegistry)
+                .record(job.completedAt() - job.createdAt(), TimeUnit.MILLISECONDS);
+    }
+
+    private void save(AsyncJob job, Duration ttl) {
+        try {
+            store.save(job, ttl);
+        } catch (RuntimeException e) {
+            // 결과를 저장하지 못하면 조회 시 이전 상태가 보이다가 만료됨
+            log.warn("비동기 작업 저장 실패: id={}, status={}, error={}", job.id(), job.status(), e.getMessage());
+        }
+    }
+
+    private void publish(AsyncJob job, SseEmitter emitter, AtomicBoolean closed) {
+        AsyncJob current = job;
+        JobStatus sent = null;
+        long lastSentNanos = System.nanoTime();
+        try {
+            while (!closed.get()) {
+                if (current == null) {
+                    emitter.send(SseEmitter.event().name("expired").data(Map.of("id", job.id()),
+                            MediaType.APPLICATION_JSON));
+                    emitter.complete();
+                    return;
+                }
+                if (current.status() != sent) {
+                    sent = current.status();
+                    emitter.send(SseEmitter.event().name(sent.value()).data(view(current), MediaType.APPLICATION_JSON));
+                    lastSentNanos = System.nanoTime();
+                } else if (System.nanoTime() - lastSentNanos > HEARTBEAT_NANOS) {
+                    // 프록시/로드 밸런서의 유휴 연결 종료 방지, 끊긴 클라이언트 감지
+                    emitter.send(SseEmitter.event().comment("keepalive"));
+                    lastSentNanos = System.nanoTime();
+                }
+                if (sent.isDone()) {
+                    emitter.complete();
+                    return;
+                }
+                Thread.sleep(properties.getEventsPollInterval());
+                current = store.find(job.id());
+            }
+        } catch (IOException | IllegalStateException e) {
+            // 클라이언트 연결 끊김 (이미 완료된 emitter 포함)
+        } catch (InterruptedException e) {
+            emitter.complete();
+        } catch (RuntimeException e) {
+            log.warn("비동기 작업 이벤트 전달 중단: id={}, error={}", job.id(), e.getMessage());
+            emitter.complete();
+        }
+    }
+
+    private void replay(String routeId, String claimed, String fingerprint, String owner,
+                        HttpServletResponse response) throws IOException {
+        int separator = claimed.indexOf(' ');
+        String jobId = claimed.substring(0, separator);
+        if (!claimed.substring(separator + 1).equals(fingerprint)) {
+            count(routeId, "conflict");
+            throw new ProxyException(HttpStatus.UNPROCESSABLE_ENTITY, "Idempotency key reused",
+                    "같은 Idempotency-Key로 다른 요청을 보냈습니다.");
+        }
+        AsyncJob previous = store.find(jobId);
+        if (previous == null || (previous.owner() != null && !previous.owner().equals(owner))) {
+            count(routeId, "conflict");
+            throw new ProxyException(HttpStatus.CONFLICT, "Idempotency key in use",
+                    "같은 Idempotency-Key의 작업을 찾을 수 없습니다. 다른 키로 다시 시도하세요.");
+        }
+        count(routeId, "replayed");
+        writeAccepted(response, previous, true);
+    }
+
+    private void writeAccepted(HttpServletResponse response, AsyncJob job, boolean replayed) throws IOException {
+        response.setStatus(HttpServletResponse.SC_ACCEPTED);
+        response.setHeader(HttpHeaders.LOCATION, JOBS_PATH + job.id());
+        response.setHeader("Preference-Applied", RESPOND_ASYNC);
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(getRetryAfterSeconds()));
+        if (replayed) {
+            response.setHeader("Idempotent-Replayed", "true");
+        }
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), view(job));
+    }
+
+    /**
+     * 끝나지 않은 작업의 보관 기간 (대기 + 실행 시간 상한)
+     */
+    private Duration pendingTtl() {
+        return properties.getQueueTimeout().plus(properties.getTimeout()).plus(properties.getResultTtl());
+    }
+
+    private void count(String routeId, String result) {
+        Counter.builder("gateway.jobs.submitted")
+                .description("비동기 작업 접수 결과 (result: accepted / replayed / conflict / rejected / store_error)")
+                .tag("route", routeId)
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private static byte[] readBody(HttpServletRequest request, long limit) throws IOException {
+        if (request.getContentLengthLong() > limit) {
+            throw payloadTooLarge(limit);
+        }
+        InputStream in = request.getInputStream();
+        ByteArrayOutputStream body = new ByteArrayOutputStream(Math.max(0, (int) request.getContentLengthLong()));
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            body.write(buffer, 0, read);
+            if (body.size() > limit) {
+                throw payloadTooLarge(limit);
+            }
+        }
+        return body.toByteArray();
+    }
+
+    private static ProxyException payloadTooLarge(long limit) {
+        return new ProxyException(HttpStatus.PAYLOAD_TOO_LARGE, "Payload too large",
+                "비동기 작업 요청 본문이 허용 크기(" + limit + " bytes)를 초과했습니다.");
+    }
+
+    /**
+     * 업스트림에 보낼 헤더 (게이트웨이가 처리한 Prefer / Idempotency-Key와 내부 헤더 제외, hop-by-hop은 전송 시 제외)
+     */
+    private static HttpHeaders upstreamHeaders(HttpServletRequest request) {
+        HttpHeaders headers = new HttpHeaders();
+        Enumeration<String> names = request.getHeaderNames();
+        while (names.hasMoreElements()) {
+            String name = names.nextElement();
+            if (name.equalsIgnoreCase("Prefer") || name.equalsIgnoreCase(IDEMPOTENCY_KEY)
+                    || name.equalsIgnoreCase(HttpHeaders.CONTENT_LENGTH) || ProxyForwarder.isInternal(name)) {
+                continue;
+            }
+            Enumeration<String> values = request.getHeaders(name);
+            while (values.hasMoreElements()) {
+                headers.add(name, values.nextElement());
+            }
+        }
+        return headers;
+    }
+
+    /**
+     * 멱등 키 저장 이름: 라우트 + 사용자 + 클라이언트 키의 해시 (다른 사용자가 같은 키를 써도 섞이지 않음)
+     */
+    private static String idempotencyKey(String routeId, String owner, String key) {
+        return sha256(routeId + "\n" + (owner != null ? owner : "") + "\n" + key);
+    }
+
+    private static String fingerprint(String method, String pathAndQuery, byte[] body) {
+        MessageDigest digest = sha256();
+        digest.update((method + " " + pathAndQuery + "\n").getBytes(StandardCharsets.UTF_8));
+        if (body != null) {
+            digest.update(body);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static String sha256(String value) {
+        return HexFormat.of().formatHex(sha256().digest(value.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @return JWT subject, 토큰이 없거나 유효하지 않으면 null (익명 작업)
+     */
+    private String subject(HttpServletRequest request) {
+        String token = null;
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header != null && header.startsWith("Bearer ")) {
+            token = header.substring(7);
+        } else if (request.getCookies() != null) {
+            for (Cookie cookie : request.getCookies()) {
+                if ("Authorization".equals(cookie.getName())) {
+                    token = cookie.getValue();
+                }
+            }
+        }
+        return jwtTokenProvider.validate(token).subject();
+    }
+
+    /**
+     * 백그라운드에서 보낼 요청 (클라이언트 연결과 무관하게 보관)
+     */
+    private record JobRequest(String method, String pathAndQuery, HttpHeaders headers, byte[] body) {
+    }
+}
@@ -0,0 +1,19 @@
+package com.kroaddy.api.proxy.job;
+
+/**
+ * 비동기 작업 상태
+ */
+public enum JobStatus {
+    QUEUED, // 실행 대기
+    RUNNING, // 업스트림 호출 중
+    COMPLETED, // 업스트림 응답을 받음 (업스트림 상태 코드와 무관)
+    FAILED; // 응답을 받지 못함 (연결 실패, 타임아웃, 결과 크기 초과, 게이트웨이 종료)
+
+    public boolean isDone() {
+        return this == COMPLETED || this == FAILED;
+    }
+
+    public String value() {
+        return name().toLowerCase();
+    }
+}
@@ -0,0 +1,26 @@
+package com.kroaddy.api.proxy.job;
+
+import java.time.Duration;
+
+/**
+ * 비동기 작업 저장소 (모든 게이트웨이 노드가 공유)
+ * 저장소를 쓸 수 없으면 RuntimeException (호출 측에서 503으로 변환)
+ */
+public interface JobStore {
+
+    void save(AsyncJob job, Duration ttl);
+
+    /**
+     * @return 작업, 없거나 보관 기간이 지났으면 null
+     */
+    AsyncJob find(String id);
+
+    void delete(String id);
+
+    /**
+     * 멱등 키 선점 (키가 없을 때만 value를 저장)
+     *
+     * @return 이미 저장된 값, 새로 선점했으면 null
+     */
+    String claim(String key, String value, Duration ttl);
+}
@@ -0,0 +1,77 @@
+package com.kroaddy.api.proxy.job;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+/**
+ * Redis 기반 작업 저장소
+ * 작업: {key-prefix}:{id} (JSON, 응답 본문은 base64), 멱등 키: {key-prefix}:idem:{해시}
+ */
+@Component
+public class RedisJobStore implements JobStore {
+
+    private final RedisTemplate<String, byte[]> redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final String keyPrefix;
+
+    @Autowired
+    public RedisJobStore(RedisTemplate<String, byte[]> redisTemplate, ObjectMapper objectMapper,
+                         AsyncJobProperties properties) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.keyPrefix = properties.getKeyPrefix() + ":";
+    }
+
+    @Override
+    public void save(AsyncJob job, Duration ttl) {
+        byte[] data;
+        try {
+            data = objectMapper.writeValueAsBytes(job);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        redisTemplate.opsForValue().set(keyPrefix + job.id(), data, ttl);
+    }
+
+    @Override
+    public AsyncJob find(String id) {
+        byte[] data = redisTemplate.opsForValue().get(keyPrefix + id);
+        if (data == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(data, AsyncJob.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException("작업을 읽을 수 없습니다: " + id, e);
+        }
+    }
+
+    @Override
+    public void delete(String id) {
+        redisTemplate.delete(keyPrefix + id);
+    }
+
+    @Override
+    public String claim(String key, String value, Duration ttl) {
+        String redisKey = keyPrefix + "idem:" + key;
+        byte[] data = value.getBytes(StandardCharsets.UTF_8);
+        // 선점 실패 후 조회 사이에 만료될 수 있으므로 몇 번 반복
+        for (int attempt = 0; attempt < 3; attempt++) {
+            if (Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(redisKey, data, ttl))) {
+                return null;
+            }
+            byte[] existing = redisTemplate.opsForValue().get(redisKey);
+            if (existing != null) {
+                return new String(existing, StandardCharsets.UTF_8);
+            }
+        }
+        throw new IllegalStateException("멱등 키를 선점할 수 없습니다: " + key);
+    }
+}
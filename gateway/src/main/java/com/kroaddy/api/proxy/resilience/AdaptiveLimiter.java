@@ -0,0 +1,164 @@
+package com.kroaddy.api.proxy.resilience;
+
+import java.net.ConnectException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 라우트 + 업스트림 인스턴스 하나의 적응형 동시 호출 한도
+ * 한도가 차면 최대 maxQueueSize건까지 maxQueueWait 동안 대기하고, 그래도 자리가 없으면 거절
+ * 허가부터 응답 헤더까지의 시간을 LimitAlgorithm에 넘겨 호출이 끝날 때마다 한도를 다시 계산
+ * (가상 스레드를 캐리어에 묶지 않도록 synchronized 대신 ReentrantLock 사용)
+ */
+public final class AdaptiveLimiter {
+
+    private final String routeId;
+    private final String upstream;
+    private final LimitAlgorithm algorithm;
+    private final int minLimit;
+    private final int maxLimit;
+    private final int maxQueueSize;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+    private double limit;
+    private int inFlight;
+    private int queued;
+
+    AdaptiveLimiter(String routeId, String upstream, LimitAlgorithm algorithm, ConcurrencyLimitProperties settings) {
+        this.routeId = routeId;
+        this.upstream = upstream;
+        this.algorithm = algorithm;
+        this.minLimit = Math.min(settings.getMinLimit(), settings.getMaxLimit()); // 잘못 설정해도 max-limit 우선
+        this.maxLimit = settings.getMaxLimit();
+        this.maxQueueSize = settings.getMaxQueueSize();
+        this.limit = Math.max(minLimit, Math.min(maxLimit, settings.getInitialLimit()));
+    }
+
+    /**
+     * 호출 허가 획득 (한도가 차 있으면 자리가 날 때까지 최대 maxWaitNanos 대기)
+     *
+     * @return 호출이 끝나면 close해야 하는 허가, 대기열이 가득 찼거나 시간 안에 자리가 나지 않으면 null
+     */
+    UpstreamPermit tryAcquire(long maxWaitNanos) throws InterruptedException {
+        lock.lock();
+        try {
+            if (inFlight >= (int) limit) {
+                if (maxWaitNanos <= 0 || queued >= maxQueueSize) {
+                    return null;
+                }
+                queued++;
+                try {
+                    long remaining = maxWaitNanos;
+                    while (inFlight >= (int) limit) {
+                        if (remaining <= 0) {
+                            return null;
+                        }
+                        remaining = released.awaitNanos(remaining);
+                    }
+                } finally {
+                    queued--;
+                }
+            }
+            inFlight++;
+            return new Permit(System.nanoTime());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void release(long rttNanos, Outcome outcome) {
+        lock.lock();
+        try {
+            int before = (int) limit;
+            if (outcome != Outcome.IGNORED) {
+                double updated = algorithm.update(limit, inFlight, rttNanos, outcome == Outcome.DROPPED);
+                limit = Math.max(minLimit, Math.min(maxLimit, updated));
+            }
+            inFlight--;
+            if ((int) limit > before) {
+                released.signalAll();
+            } else {
+                released.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public String getRouteId() {
+        return routeId;
+    }
+
+    public String getUpstream() {
+        return upstream;
+    }
+
+    public int getLimit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getQueued() {
+        lock.lock();
+        try {
+            return queued;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private enum Outcome {
+        SUCCESS, DROPPED, IGNORED
+    }
+
+    /**
+     * 허가 한 건 (응답 헤더 수신 또는 실패 시점에 결과를 기록하고 close에서 반납)
+     */
+    private final class Permit implements UpstreamPermit {
+
+        private final long startNanos;
+        private final AtomicBoolean closed = new AtomicBoolean();
+        // 결과 통지는 헤지 스레드, close는 요청 스레드에서 호출될 수 있음
+        private volatile long rttNanos;
+        private volatile Outcome outcome = Outcome.IGNORED; // 결과 없이 닫히면(헤지 취소 등) 한도 계산에서 제외
+
+        Permit(long startNanos) {
+            this.startNanos = startNanos;
+        }
+
+        @Override
+        public void onResponse(int statusCode) {
+            rttNanos = System.nanoTime() - startNanos;
+            // 업스트림이 직접 과부하를 알린 응답
+            outcome = statusCode == 429 || statusCode == 503 || statusCode == 504 ? Outcome.DROPPED : Outcome.SUCCESS;
+        }
+
+        @Override
+        public void onFailure(Throwable error) {
+            rttNanos = System.nanoTime() - startNanos;
+            // 연결 거부는 용량이 아닌 인스턴스 문제 (헬스 체크/이상치 제외가 처리)
+            outcome = error instanceof ConnectException ? Outcome.IGNORED : Outcome.DROPPED;
+        }
+
+        @Override
+        public void close() {
+            if (closed.compareAndSet(false, true)) {
+                release(rttNanos, outcome);
+            }
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.kroaddy.api.proxy.resilience;
+
+import com.kroaddy.api.proxy.ProxyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.io.InterruptedIOException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 라우트 + 업스트림 인스턴스별 AdaptiveLimiter 레지스트리
+ * 같은 ML 서비스라도 라우트마다 모델이 달라 처리 용량이 다르므로 라우트별로 한도를 따로 추정
+ * (업스트림 전체를 지키는 고정 벌크헤드/서킷은 UpstreamGuardRegistry가 담당)
+ *
+ * 메트릭 (route, upstream):
+ * - gateway.upstream.concurrency.limit / inflight / queued
+ * - gateway.upstream.concurrency.rejected
+ */
+@Slf4j
+@Component
+public class AdaptiveLimiterRegistry {
+
+    private final ConcurrencyLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, AdaptiveLimiter> limiters = new ConcurrentHashMap<>();
+
+    @Autowired
+    public AdaptiveLimiterRegistry(ConcurrencyLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * 호출 허가 획득 (비활성화 상태면 아무것도 제한하지 않는 허가)
+     *
+     * @throws ProxyException         한도와 대기열이 모두 찼거나 대기 시간 안에 자리가 나지 않으면 503 + Retry-After
+     * @throws InterruptedIOException 대기 중 중단 (헤지에서 진 요청 등)
+     */
+    public UpstreamPermit acquire(String routeId, String baseUrl) throws InterruptedIOException {
+        if (!properties.isEnabled()) {
+            return UpstreamPermit.NONE;
+        }
+        AdaptiveLimiter limiter = limiters.computeIfAbsent(routeId + " " + baseUrl,
+                key -> createLimiter(routeId, baseUrl));
+        UpstreamPermit permit;
+        try {
+            permit = limiter.tryAcquire(properties.getMaxQueueWait().toNanos());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("동시 호출 한도 대기 중 중단되었습니다.");
+        }
+        if (permit == null) {
+            Counter.builder("gateway.upstream.concurrency.rejected")
+                    .description("적응형 동시 호출 한도와 대기열이 가득 차 업스트림 호출 없이 503 처리한 요청 수")
+                    .tag("route", routeId)
+                    .tag("upstream", baseUrl)
+                    .register(meterRegistry)
+                    .increment();
+            throw new ProxyException(HttpStatus.SERVICE_UNAVAILABLE, "Upstream overloaded",
+                    "업스트림 처리 용량을 초과했습니다. 잠시 후 다시 시도해주세요. (" + routeId + ")",
+                    properties.getRetryAfter());
+        }
+        return permit;
+    }
+
+    public Collection<AdaptiveLimiter> getLimiters() {
+        return limiters.values();
+    }
+
+    private AdaptiveLimiter createLimiter(String routeId, String baseUrl) {
+        LimitAlgorithm algorithm = switch (properties.getAlgorithm()) {
+            case GRADIENT -> new GradientLimit(properties.getGradient(), properties.getBackoffRatio());
+            case AIMD -> new AimdLimit(properties.getAimd(), properties.getBackoffRatio());
+        };
+        AdaptiveLimiter limiter = new AdaptiveLimiter(routeId, baseUrl, algorithm, properties);
+        Gauge.builder("gateway.upstream.concurrency.limit", limiter, AdaptiveLimiter::getLimit)
+                .description("추정한 동시 호출 한도")
+                .tag("route", routeId)
+                .tag("upstream", baseUrl)
+                .register(meterRegistry);
+        Gauge.builder("gateway.upstream.concurrency.inflight", limiter, AdaptiveLimiter::getInFlight)
+                .description("한도 안에서 진행 중인 호출 수")
+                .tag("route", routeId)
+                .tag("upstream", baseUrl)
+                .register(meterRegistry);
+        Gauge.builder("gateway.upstream.concurrency.queued", limiter, AdaptiveLimiter::getQueued)
+                .description("한도가 차서 자리를 기다리는 요청 수")
+                .tag("route", routeId)
+                .tag("upstream", baseUrl)
+                .register(meterRegistry);
+        log.info("적응형 동시 호출 한도 적용: route={}, upstream={}, algorithm={}, initialLimit={}",
+                routeId, baseUrl, properties.getAlgorithm(), limiter.getLimit());
+        return limiter;
+    }
+}
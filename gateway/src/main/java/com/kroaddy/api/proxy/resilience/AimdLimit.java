@@ -0,0 +1,24 @@
+package com.kroaddy.api.proxy.resilience;
+
+/**
+ * 가산 증가 / 곱셈 감소
+ * 드롭이나 timeout을 넘긴 응답이면 한도에 backoff-ratio를 곱하고, 한도를 절반 이상 쓰는 동안 성공하면 1씩 늘림
+ */
+final class AimdLimit implements LimitAlgorithm {
+
+    private final long timeoutNanos;
+    private final double backoffRatio;
+
+    AimdLimit(ConcurrencyLimitProperties.Aimd settings, double backoffRatio) {
+        this.timeoutNanos = settings.getTimeout().toNanos();
+        this.backoffRatio = backoffRatio;
+    }
+
+    @Override
+    public double update(double limit, int inFlight, long rttNanos, boolean dropped) {
+        if (dropped || rttNanos > timeoutNanos) {
+            return limit * backoffRatio;
+        }
+        return inFlight * 2 >= limit ? limit + 1 : limit;
+    }
+}
@@ -0,0 +1,44 @@
+package com.kroaddy.api.proxy.resilience;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 적응형 동시 호출 한도 설정 (라우트 + 업스트림 인스턴스별로 한도를 따로 추정)
+ */
+@Component
+@ConfigurationProperties(prefix = "gateway.concurrency-limit")
+@Data
+public class ConcurrencyLimitProperties {
+    private boolean enabled = true;
+    private Algorithm algorithm = Algorithm.GRADIENT; // 한도 추정 방식
+    private int initialLimit = 20; // 관측 전 시작 한도
+    private int minLimit = 2;
+    private int maxLimit = 200;
+    private Duration maxQueueWait = Duration.ofMillis(100); // 한도가 찼을 때 자리가 나기를 기다리는 최대 시간 (0이면 즉시 503)
+    private int maxQueueSize = 50; // 대기할 수 있는 요청 수 (넘으면 즉시 503)
+    private Duration retryAfter = Duration.ofSeconds(1); // 거절 응답의 Retry-After
+    private double backoffRatio = 0.9; // 드롭(타임아웃/429/503/504) 시 한도에 곱하는 값
+    private Gradient gradient = new Gradient();
+    private Aimd aimd = new Aimd();
+
+    public enum Algorithm {
+        GRADIENT, // 장기 평균 RTT 대비 현재 RTT로 한도 조정 (지연이 늘면 줄이고, 그대로면 sqrt(한도)만큼 여유)
+        AIMD // 드롭/느린 응답이면 곱셈 감소, 한도를 절반 이상 쓰는 동안 성공하면 1씩 증가
+    }
+
+    @Data
+    public static class Gradient {
+        private double rttTolerance = 1.5; // 현재 RTT가 장기 평균의 이 배수까지는 한도를 줄이지 않음
+        private double smoothing = 0.2; // 새 한도 반영 비율
+        private int longWindow = 600; // 장기 평균 RTT의 표본 수 (EWMA)
+    }
+
+    @Data
+    public static class Aimd {
+        private Duration timeout = Duration.ofSeconds(10); // 응답 헤더까지 이 시간을 넘기면 드롭으로 간주
+    }
+}
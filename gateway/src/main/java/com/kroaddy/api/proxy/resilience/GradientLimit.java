@@ -0,0 +1,40 @@
+package com.kroaddy.api.proxy.resilience;
+
+/**
+ * 장기 평균 RTT 대비 현재 RTT의 비율(gradient)로 한도 조정
+ * 업스트림에 대기열이 생기면 RTT가 늘어 gradient가 1보다 작아지고 한도가 줄어듦
+ * 지연이 그대로면 sqrt(한도)만큼 여유를 더해 처리량이 늘 수 있는지 계속 탐색
+ * 장기 평균은 느리게 따라가므로 모델/배치 크기 변경처럼 서서히 바뀌는 기준 지연에는 적응하고, 급격한 증가에만 반응
+ */
+final class GradientLimit implements LimitAlgorithm {
+
+    private final double tolerance;
+    private final double smoothing;
+    private final int longWindow;
+    private final double backoffRatio;
+    private double longRtt;
+
+    GradientLimit(ConcurrencyLimitProperties.Gradient settings, double backoffRatio) {
+        this.tolerance = settings.getRttTolerance();
+        this.smoothing = settings.getSmoothing();
+        this.longWindow = settings.getLongWindow();
+        this.backoffRatio = backoffRatio;
+    }
+
+    @Override
+    public double update(double limit, int inFlight, long rttNanos, boolean dropped) {
+        if (dropped) {
+            return limit * backoffRatio;
+        }
+        longRtt = longRtt == 0 ? rttNanos : longRtt + (rttNanos - longRtt) / longWindow;
+        if (longRtt > 2.0 * rttNanos) {
+            longRtt *= 0.95; // 과부하가 풀린 뒤 장기 평균이 높게 남아 있으면 빠르게 내려 따라감
+        }
+        if (inFlight < limit / 2) {
+            return limit; // 한도를 절반도 쓰지 않을 때의 지연은 한도 판단 근거가 안 됨
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRtt / rttNanos));
+        double target = limit * gradient + Math.sqrt(limit);
+        return limit * (1 - smoothing) + target * smoothing;
+    }
+}
@@ -0,0 +1,105 @@
+package com.kroaddy.api.proxy.resilience;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 최근 응답 시간 분포 (헤지 지연 계산용 percentile)
+ * 로그 구간 버킷(2배 구간을 4등분, 약 19% 간격)에 원자 카운터로 기록하고, 두 구간(현재 + 직전)을 합쳐 계산
+ * 구간이 지나면 직전 구간을 버리므로 업스트림 지연이 바뀌면 한두 구간 안에 반영됨
+ */
+final class LatencyHistogram {
+
+    private static final long BASE_NANOS = 100_000; // 0.1ms
+    private static final int SUB_BUCKETS = 4;
+    private static final int BUCKETS = 25 * SUB_BUCKETS; // 0.1ms * 2^25 (약 56분)까지
+
+    private final long windowNanos;
+    private volatile Window current;
+    private volatile Window previous;
+
+    LatencyHistogram(long windowNanos) {
+        this.windowNanos = windowNanos;
+        this.current = new Window(System.nanoTime());
+        this.previous = new Window(current.start - windowNanos);
+    }
+
+    void record(long nanos) {
+        window(System.nanoTime()).record(bucket(nanos));
+    }
+
+    /**
+     * @param percentile 0 ~ 100
+     * @return 백분위 응답 시간 (구간 상한, 나노초), 관측이 minSamples보다 적으면 -1
+     */
+    long percentileNanos(double percentile, int minSamples) {
+        Window now = window(System.nanoTime());
+        Window before = previous;
+        long total = 0;
+        long[] counts = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = now.counts.get(i) + before.counts.get(i);
+            total += counts[i];
+        }
+        if (total == 0 || total < minSamples) {
+            return -1;
+        }
+        long rank = (long) Math.ceil(total * percentile / 100.0);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return upperBound(i);
+            }
+        }
+        return upperBound(BUCKETS - 1);
+    }
+
+    private Window window(long now) {
+        Window window = current;
+        if (now - window.start < windowNanos) {
+            return window;
+        }
+        synchronized (this) {
+            window = current;
+            if (now - window.start >= windowNanos) {
+                // 두 구간 이상 비어 있었으면 직전 구간도 오래된 값이므로 버림
+                previous = now - window.start < 2 * windowNanos ? window : new Window(now - windowNanos);
+                window = new Window(now);
+                current = window;
+            }
+            return window;
+        }
+    }
+
+    static int bucket(long nanos) {
+        long units = nanos / BASE_NANOS;
+        if (units < 1) {
+            return 0;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(units);
+        int fraction = exponent >= 2
+                ? (int) (units >>> (exponent - 2)) & (SUB_BUCKETS - 1)
+                : (int) (units << (2 - exponent)) & (SUB_BUCKETS - 1);
+        return Math.min(BUCKETS - 1, exponent * SUB_BUCKETS + fraction);
+    }
+
+    static long upperBound(int bucket) {
+        int exponent = bucket / SUB_BUCKETS;
+        int fraction = bucket % SUB_BUCKETS;
+        return BASE_NANOS * ((long) (SUB_BUCKETS + fraction + 1) << exponent) / SUB_BUCKETS;
+    }
+
+    private static final class Window {
+
+        private final long start;
+        private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+        Window(long start) {
+            this.start = start;
+        }
+
+        void record(int bucket) {
+            counts.incrementAndGet(bucket);
+        }
+    }
+}
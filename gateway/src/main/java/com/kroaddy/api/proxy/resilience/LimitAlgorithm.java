@@ -0,0 +1,18 @@
+package com.kroaddy.api.proxy.resilience;
+
+/**
+ * 관측한 응답 시간으로 동시 호출 한도를 추정하는 방식
+ * AdaptiveLimiter가 잠금 안에서 호출하므로 구현은 스레드 안전할 필요 없음
+ */
+interface LimitAlgorithm {
+
+    /**
+     * 호출 한 건이 끝날 때 새 한도 계산 (최소/최대 한도 적용은 호출 측)
+     *
+     * @param limit    현재 한도
+     * @param inFlight 이 호출을 포함한 진행 중 호출 수
+     * @param rttNanos 허가부터 응답 헤더까지 걸린 시간
+     * @param dropped  과부하 신호(타임아웃, 429/503/504)로 끝났는지
+     */
+    double update(double limit, int inFlight, long rttNanos, boolean dropped);
+}
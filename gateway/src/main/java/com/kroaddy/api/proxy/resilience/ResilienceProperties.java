@@ -0,0 +1,93 @@
+package com.kroaddy.api.proxy.resilience;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+@ConfigurationProperties(prefix = "gateway.resilience")
+@Data
+public class ResilienceProperties {
+    private boolean enabled = true;
+    private Settings defaults = Settings.defaults();
+    private List<UpstreamSettings> upstreams = new ArrayList<>(); // 업스트림별 재정의 (지정한 값만 덮어씀)
+
+    /**
+     * 업스트림 하나에 적용할 설정 (재정의에 없는 값은 defaults 사용)
+     */
+    public Settings resolve(String baseUrl) {
+        for (UpstreamSettings upstream : upstreams) {
+            if (upstream.getUri() == null) {
+                continue;
+            }
+            // 라우트처럼 쉼표로 나열한 여러 인스턴스에 같은 설정 적용
+            for (String uri : upstream.getUri().split(",")) {
+                if (stripTrailingSlash(uri).equalsIgnoreCase(baseUrl)) {
+                    return upstream.mergedWith(defaults);
+                }
+            }
+        }
+        return defaults;
+    }
+
+    private static String stripTrailingSlash(String uri) {
+        String trimmed = uri.trim();
+        return trimmed.endsWith("/") ? trimmed.substring(0, trimmed.length() - 1) : trimmed;
+    }
+
+    @Data
+    public static class Settings {
+        // 벌크헤드
+        private Integer maxConcurrentCalls; // 업스트림당 동시 호출 수 (커넥션 풀보다 작게)
+        private Duration maxWait; // 동시 호출이 가득 찼을 때 대기 시간 (0이면 즉시 503)
+        // 서킷 브레이커
+        private Float failureRateThreshold; // 실패율(%) 이상이면 open
+        private Float slowCallRateThreshold; // 느린 호출 비율(%) 이상이면 open
+        private Duration slowCallDuration; // 응답 헤더까지 이 시간을 넘기면 느린 호출
+        private Integer slidingWindowSize; // 최근 N건 기준
+        private Integer minimumNumberOfCalls; // 최소 N건이 쌓여야 판정
+        private Duration waitDurationInOpenState; // open 유지 시간 (이후 half-open)
+        private Integer permittedCallsInHalfOpenState; // half-open에서 흘려볼 호출 수
+
+        static Settings defaults() {
+            Settings settings = new Settings();
+            settings.maxConcurrentCalls = 40;
+            settings.maxWait = Duration.ZERO;
+            settings.failureRateThreshold = 50f;
+            settings.slowCallRateThreshold = 80f;
+            settings.slowCallDuration = Duration.ofSeconds(10);
+            settings.slidingWindowSize = 20;
+            settings.minimumNumberOfCalls = 10;
+            settings.waitDurationInOpenState = Duration.ofSeconds(15);
+            settings.permittedCallsInHalfOpenState = 3;
+            return settings;
+        }
+
+        Settings mergedWith(Settings base) {
+            Settings merged = new Settings();
+            merged.maxConcurrentCalls = maxConcurrentCalls != null ? maxConcurrentCalls : base.maxConcurrentCalls;
+            merged.maxWait = maxWait != null ? maxWait : base.maxWait;
+            merged.failureRateThreshold = failureRateThreshold != null ? failureRateThreshold : base.failureRateThreshold;
+            merged.slowCallRateThreshold = slowCallRateThreshold != null ? slowCallRateThreshold : base.slowCallRateThreshold;
+            merged.slowCallDuration = slowCallDuration != null ? slowCallDuration : base.slowCallDuration;
+            merged.slidingWindowSize = slidingWindowSize != null ? slidingWindowSize : base.slidingWindowSize;
+            merged.minimumNumberOfCalls = minimumNumberOfCalls != null ? minimumNumberOfCalls : base.minimumNumberOfCalls;
+            merged.waitDurationInOpenState = waitDurationInOpenState != null
+                    ? waitDurationInOpenState : base.waitDurationInOpenState;
+            merged.permittedCallsInHalfOpenState = permittedCallsInHalfOpenState != null
+                    ? permittedCallsInHalfOpenState : base.permittedCallsInHalfOpenState;
+            return merged;
+        }
+    }
+
+    @Data
+    @EqualsAndHashCode(callSuper = true)
+    public static class UpstreamSettings extends Settings {
+        private String uri; // 업스트림 base URL (라우트의 uri와 같은 값, 쉼표로 여러 개)
+    }
+}
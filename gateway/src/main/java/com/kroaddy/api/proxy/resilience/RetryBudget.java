@@ -0,0 +1,101 @@
+package com.kroaddy.api.proxy.resilience;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 전역 재시도 예산
+ * 최근 구간의 추가 요청(재시도 + 헤지)이 "원 요청 * 비율 + 초당 최소 허용량 * 구간"을 넘지 않도록 제한
+ * 업스트림 전체가 느려질 때 재시도가 부하를 몇 배로 키우는 재시도 폭주를 막기 위함
+ * 1초 단위 버킷을 원자 변수로만 갱신하므로 경계에서 약간의 오차가 있을 수 있음 (근사치)
+ */
+final class RetryBudget {
+
+    private final double ratio;
+    private final long reserve;
+    private final SlidingCounter requests;
+    private final SlidingCounter retries;
+
+    RetryBudget(double ratio, int minPerSecond, Duration window) {
+        int seconds = (int) Math.max(1, window.toSeconds());
+        this.ratio = ratio;
+        this.reserve = (long) minPerSecond * seconds;
+        this.requests = new SlidingCounter(seconds);
+        this.retries = new SlidingCounter(seconds);
+    }
+
+    /**
+     * 원 요청 한 건 기록 (예산 적립)
+     */
+    void onRequest() {
+        requests.increment(nowSeconds());
+    }
+
+    /**
+     * 추가 요청 한 건을 보낼 수 있으면 예산에서 차감
+     */
+    boolean tryAcquire() {
+        long now = nowSeconds();
+        if (retries.sum(now) >= allowance(now)) {
+            return false;
+        }
+        retries.increment(now);
+        return true;
+    }
+
+    /**
+     * 지금 보낼 수 있는 추가 요청 수
+     */
+    long available() {
+        long now = nowSeconds();
+        return Math.max(0, allowance(now) - retries.sum(now));
+    }
+
+    private long allowance(long now) {
+        return reserve + (long) (requests.sum(now) * ratio);
+    }
+
+    private static long nowSeconds() {
+        return TimeUnit.NANOSECONDS.toSeconds(System.nanoTime());
+    }
+
+    /**
+     * 1초 버킷 n개로 나눈 최근 n초 카운터
+     */
+    private static final class SlidingCounter {
+
+        private final int size;
+        private final AtomicLongArray counts;
+        private final AtomicLongArray epochs; // 버킷이 담고 있는 초
+
+        SlidingCounter(int size) {
+            this.size = size;
+            this.counts = new AtomicLongArray(size);
+            this.epochs = new AtomicLongArray(size);
+            for (int i = 0; i < size; i++) {
+                epochs.set(i, Long.MIN_VALUE);
+            }
+        }
+
+        void increment(long second) {
+            int index = (int) Math.floorMod(second, (long) size);
+            long epoch = epochs.get(index);
+            if (epoch != second && epochs.compareAndSet(index, epoch, second)) {
+                counts.set(index, 0); // 지난 구간의 버킷 재사용
+            }
+            counts.incrementAndGet(index);
+        }
+
+        long sum(long second) {
+            long sum = 0;
+            for (int i = 0; i < size; i++) {
+                long epoch = epochs.get(i);
+                if (epoch != Long.MIN_VALUE && second - epoch < size) {
+                    sum += counts.get(i);
+                }
+            }
+            return sum;
+        }
+    }
+}
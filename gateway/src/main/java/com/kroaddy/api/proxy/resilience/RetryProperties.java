@@ -0,0 +1,22 @@
+package com.kroaddy.api.proxy.resilience;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 재시도/헤지 공통 설정
+ * 라우트별 정책은 라우트 정의의 retry / hedge로 지정하고, 여기서는 전역 예산만 관리
+ */
+@Component
+@ConfigurationProperties(prefix = "gateway.retry")
+@Data
+public class RetryProperties {
+    private boolean enabled = true; // false면 라우트의 retry / hedge 설정을 무시
+    private double budgetRatio = 0.1; // 원 요청 대비 추가 요청(재시도 + 헤지) 비율 상한 (0.1이면 최대 10% 추가 부하)
+    private int minRetriesPerSecond = 5; // 요청이 적을 때도 허용하는 초당 추가 요청
+    private Duration budgetWindow = Duration.ofSeconds(10); // 예산을 계산하는 최근 구간
+    private int hedgeMinSamples = 20; // percentile 지연을 쓰기 전 필요한 최소 관측 수 (부족하면 헤지하지 않음)
+}
@@ -0,0 +1,47 @@
+package com.kroaddy.api.proxy.resilience;
+
+import com.kroaddy.api.proxy.UpstreamResponse;
+import com.kroaddy.api.proxy.balancer.UpstreamInstance;
+import com.kroaddy.api.proxy.balancer.UpstreamStats;
+
+/**
+ * 응답 헤더까지 받은 업스트림 호출 한 건
+ * 본문을 다 보낸 뒤 close하면 응답, 진행 중 요청 수, 벌크헤드/서킷 허가를 함께 정리
+ */
+public final class UpstreamCall implements AutoCloseable {
+
+    private final UpstreamInstance instance;
+    private final UpstreamResponse response;
+    private final UpstreamPermit permit;
+    private final UpstreamStats.Exchange exchange;
+
+    UpstreamCall(UpstreamInstance instance, UpstreamResponse response, UpstreamPermit permit,
+                 UpstreamStats.Exchange exchange) {
+        this.instance = instance;
+        this.response = response;
+        this.permit = permit;
+        this.exchange = exchange;
+    }
+
+    public UpstreamResponse getResponse() {
+        return response;
+    }
+
+    public int getStatusCode() {
+        return response.getStatusCode();
+    }
+
+    UpstreamInstance getInstance() {
+        return instance;
+    }
+
+    @Override
+    public void close() {
+        try {
+            response.close();
+        } finally {
+            exchange.close();
+            permit.close();
+        }
+    }
+}
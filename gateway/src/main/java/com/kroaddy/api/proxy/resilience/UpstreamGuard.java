@@ -0,0 +1,104 @@
+package com.kroaddy.api.proxy.resilience;
+
+import com.kroaddy.api.proxy.ProxyException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.Counter;
+import org.springframework.http.HttpStatus;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 업스트림 하나의 벌크헤드와 서킷 브레이커
+ * 멈춘 업스트림이 요청 스레드와 커넥션을 모두 잡아먹지 않도록 동시 호출 수를 제한하고,
+ * 실패/느린 호출이 쌓이면 open 상태에서 즉시 503으로 실패시킨 뒤 half-open에서 몇 건만 흘려 회복을 확인
+ */
+public class UpstreamGuard {
+
+    private final String upstream;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final Counter rejectedCircuitOpen;
+    private final Counter rejectedBulkheadFull;
+
+    UpstreamGuard(String upstream, CircuitBreaker circuitBreaker, Bulkhead bulkhead,
+                  Counter rejectedCircuitOpen, Counter rejectedBulkheadFull) {
+        this.upstream = upstream;
+        this.circuitBreaker = circuitBreaker;
+        this.bulkhead = bulkhead;
+        this.rejectedCircuitOpen = rejectedCircuitOpen;
+        this.rejectedBulkheadFull = rejectedBulkheadFull;
+    }
+
+    /**
+     * 호출 허가 획득
+     *
+     * @return 호출이 끝나면 반드시 close해야 하는 허가
+     * @throws ProxyException 서킷이 열려 있거나 동시 호출 한도를 넘은 경우 (503)
+     */
+    public UpstreamPermit acquire() {
+        if (!circuitBreaker.tryAcquirePermission()) {
+            rejectedCircuitOpen.increment();
+            throw new ProxyException(HttpStatus.SERVICE_UNAVAILABLE, "Service unavailable",
+                    "업스트림 장애로 호출이 일시 차단되었습니다. (" + upstream + ")");
+        }
+        if (!bulkhead.tryAcquirePermission()) {
+            circuitBreaker.releasePermission();
+            rejectedBulkheadFull.increment();
+            throw new ProxyException(HttpStatus.SERVICE_UNAVAILABLE, "Upstream busy",
+                    "업스트림 동시 호출 한도를 초과했습니다. (" + upstream + ")");
+        }
+        return new Permit(System.nanoTime());
+    }
+
+    public String getUpstream() {
+        return upstream;
+    }
+
+    public CircuitBreaker.State getState() {
+        return circuitBreaker.getState();
+    }
+
+    private final class Permit implements UpstreamPermit {
+
+        private final long startNanos;
+        private boolean recorded;
+        private boolean closed;
+
+        Permit(long startNanos) {
+            this.startNanos = startNanos;
+        }
+
+        @Override
+        public void onResponse(int statusCode) {
+            if (recorded) {
+                return;
+            }
+            recorded = true;
+            // 5xx는 recordResult 조건에 따라 실패로, 나머지는 성공(느리면 slow call)으로 기록
+            circuitBreaker.onResult(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS, statusCode);
+        }
+
+        @Override
+        public void onFailure(Throwable error) {
+            if (recorded) {
+                return;
+            }
+            recorded = true;
+            circuitBreaker.onError(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS, error);
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            bulkhead.onComplete();
+            if (!recorded) {
+                // 업스트림 결과와 무관하게 끝난 호출 (예: 413) -> 판정에 포함하지 않음
+                circuitBreaker.releasePermission();
+            }
+        }
+    }
+}
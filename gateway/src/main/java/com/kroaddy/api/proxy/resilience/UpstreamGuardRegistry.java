@@ -0,0 +1,105 @@
+package com.kroaddy.api.proxy.resilience;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 업스트림(base URL)별 UpstreamGuard 레지스트리
+ * 같은 서비스를 가리키는 라우트(예: ml-titanic, ml-seoul)는 하나의 벌크헤드/서킷을 공유
+ *
+ * 메트릭:
+ * - resilience4j.circuitbreaker.state / calls / not.permitted.calls (name=업스트림)
+ * - resilience4j.bulkhead.available.concurrent.calls / max.allowed.concurrent.calls
+ * - gateway.upstream.rejected (upstream, reason=circuit_open|bulkhead_full)
+ */
+@Slf4j
+@Component
+public class UpstreamGuardRegistry {
+
+    private final ResilienceProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final CircuitBreakerRegistry circuitBreakerRegistry = CircuitBreakerRegistry.ofDefaults();
+    private final BulkheadRegistry bulkheadRegistry = BulkheadRegistry.ofDefaults();
+    private final Map<String, UpstreamGuard> guards = new ConcurrentHashMap<>();
+
+    @Autowired
+    public UpstreamGuardRegistry(ResilienceProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakerRegistry).bindTo(meterRegistry);
+        TaggedBulkheadMetrics.ofBulkheadRegistry(bulkheadRegistry).bindTo(meterRegistry);
+    }
+
+    /**
+     * 업스트림 호출 허가 획득 (비활성화 상태면 아무것도 제한하지 않는 허가)
+     *
+     * @param baseUrl 라우트의 업스트림 base URL
+     * @throws com.kroaddy.api.proxy.ProxyException 서킷 open 또는 벌크헤드 초과 시 503
+     */
+    public UpstreamPermit acquire(String baseUrl) {
+        if (!properties.isEnabled()) {
+            return UpstreamPermit.NONE;
+        }
+        return guards.computeIfAbsent(baseUrl, this::createGuard).acquire();
+    }
+
+    public Collection<UpstreamGuard> getGuards() {
+        return guards.values();
+    }
+
+    private UpstreamGuard createGuard(String baseUrl) {
+        ResilienceProperties.Settings settings = properties.resolve(baseUrl);
+
+        CircuitBreakerConfig circuitBreakerConfig = CircuitBreakerConfig.custom()
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                .slidingWindowSize(settings.getSlidingWindowSize())
+                .minimumNumberOfCalls(settings.getMinimumNumberOfCalls())
+                .failureRateThreshold(settings.getFailureRateThreshold())
+                .slowCallRateThreshold(settings.getSlowCallRateThreshold())
+                .slowCallDurationThreshold(settings.getSlowCallDuration())
+                .waitDurationInOpenState(settings.getWaitDurationInOpenState())
+                .permittedNumberOfCallsInHalfOpenState(settings.getPermittedCallsInHalfOpenState())
+                .automaticTransitionFromOpenToHalfOpenEnabled(false)
+                // 업스트림 5xx 응답은 실패로 기록 (4xx는 클라이언트 요청 문제이므로 성공)
+                .recordResult(result -> result instanceof Integer status && status >= 500)
+                .build();
+        CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker(baseUrl, circuitBreakerConfig);
+        circuitBreaker.getEventPublisher().onStateTransition(event ->
+                log.warn("업스트림 서킷 상태 변경: upstream={}, transition={}",
+                        baseUrl, event.getStateTransition()));
+
+        Bulkhead bulkhead = bulkheadRegistry.bulkhead(baseUrl, BulkheadConfig.custom()
+                .maxConcurrentCalls(settings.getMaxConcurrentCalls())
+                .maxWaitDuration(settings.getMaxWait())
+                .build());
+
+        log.info("업스트림 보호 적용: upstream={}, maxConcurrentCalls={}, failureRate={}%, slowCall>{} ({}%)",
+                baseUrl, settings.getMaxConcurrentCalls(), settings.getFailureRateThreshold(),
+                settings.getSlowCallDuration(), settings.getSlowCallRateThreshold());
+        return new UpstreamGuard(baseUrl, circuitBreaker, bulkhead,
+                rejected(baseUrl, "circuit_open"), rejected(baseUrl, "bulkhead_full"));
+    }
+
+    private Counter rejected(String baseUrl, String reason) {
+        return Counter.builder("gateway.upstream.rejected")
+                .description("서킷 open 또는 벌크헤드 초과로 업스트림 호출 없이 503 처리한 요청 수")
+                .tag("upstream", baseUrl)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
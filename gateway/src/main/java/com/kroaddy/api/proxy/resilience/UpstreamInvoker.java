@@ -0,0 +1,520 @@
+package com.kroaddy.api.proxy.resilience;
+
+import com.kroaddy.api.proxy.ProxyException;
+import com.kroaddy.api.proxy.ProxyForwarder;
+import com.kroaddy.api.proxy.UpstreamExchangeListener;
+import com.kroaddy.api.proxy.UpstreamResponse;
+import com.kroaddy.api.proxy.balancer.UpstreamInstance;
+import com.kroaddy.api.proxy.balancer.UpstreamStats;
+import com.kroaddy.api.proxy.route.HedgePolicy;
+import com.kroaddy.api.proxy.route.RetryPolicy;
+import com.kroaddy.api.proxy.route.RouteConfig;
+import com.kroaddy.api.proxy.upstream.Deadline;
+import com.kroaddy.api.proxy.upstream.DeadlineExceededException;
+import com.kroaddy.api.proxy.upstream.UpstreamTimeout;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import org.apache.hc.client5.http.ConnectTimeoutException;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 인스턴스를 골라 적응형 동시 호출 한도와 벌크헤드/서킷 브레이커 허가를 받은 뒤 업스트림 호출 (라우트의 retry / hedge 적용)
+ * 업스트림이 멈추거나 실패가 쌓이거나 추정 용량을 넘으면 허가 단계에서 바로 503 (다른 라우트의 스레드/커넥션을 지키기 위함)
+ *
+ * 재시도와 헤지는 다시 보내도 안전한 요청(본문 없는 GET / HEAD / OPTIONS / PUT / DELETE)에만 적용하고,
+ * 추가로 보내는 요청은 모두 전역 재시도 예산에서 차감 (업스트림 전체가 느려질 때 부하가 몇 배로 늘지 않도록)
+ * - 재시도: 연결 실패/타임아웃 또는 retry-on 상태 코드면 다른 인스턴스로 지수 백오프(full jitter) 후 다시 호출
+ *   마지막 시도의 응답은 상태 코드와 관계없이 그대로 반환
+ * - 헤지: GET / HEAD가 지연(고정 또는 최근 응답 시간 percentile)을 넘기면 다른 인스턴스로 한 번 더 보내고 먼저 성공한 응답 사용
+ *   진 쪽은 인터럽트로 취소하고, 취소로 인한 오류는 서킷 브레이커/이상치 통계에 기록하지 않음
+ * - 타임아웃: 시도마다 라우트의 connect-timeout / read-timeout을 적용하고, 요청 기한(Deadline)이 있으면 남은 시간으로 제한
+ *   기한이 지나면 재시도/헤지를 더 보내지 않고 DeadlineExceededException (504)
+ */
+@Component
+public class UpstreamInvoker implements DisposableBean {
+
+    private static final Set<String> IDEMPOTENT_METHODS = Set.of("GET", "HEAD", "OPTIONS", "PUT", "DELETE");
+    private static final Set<String> HEDGE_METHODS = Set.of("GET", "HEAD");
+    private static final Duration LATENCY_WINDOW = Duration.ofSeconds(30);
+
+    private final UpstreamGuardRegistry guards;
+    private final AdaptiveLimiterRegistry limiters;
+    private final RetryProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final RetryBudget budget;
+    // 라우트별 응답 헤더까지 걸린 시간 (헤지 지연 계산용)
+    private final Map<String, LatencyHistogram> latencies = new ConcurrentHashMap<>();
+    // 헤지 중인 첫 요청과 헤지 요청을 함께 기다리기 위한 실행기
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @Autowired
+    public UpstreamInvoker(UpstreamGuardRegistry guards, AdaptiveLimiterRegistry limiters, RetryProperties properties,
+                           MeterRegistry meterRegistry) {
+        this.guards = guards;
+        this.limiters = limiters;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.budget = new RetryBudget(properties.getBudgetRatio(), properties.getMinRetriesPerSecond(),
+                properties.getBudgetWindow());
+        Gauge.builder("gateway.upstream.retry.budget.available", budget, RetryBudget::available)
+                .description("지금 보낼 수 있는 추가 요청 수 (재시도 + 헤지 전역 예산)")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 선택한 인스턴스로 보내는 업스트림 요청 한 번 (응답 헤더까지 받고 반환)
+     */
+    @FunctionalInterface
+    public interface Opener {
+        UpstreamResponse open(String baseUrl, UpstreamExchangeListener listener) throws IOException;
+    }
+
+    /**
+     * 클라이언트 요청 전달 (메서드와 본문 유무로 재시도/헤지 가능 여부 판단)
+     */
+    public UpstreamCall open(RouteConfig route, HttpServletRequest request, Opener opener) throws IOException {
+        return open(route, request, null, opener);
+    }
+
+    /**
+     * 클라이언트 요청 전달 (기한 적용)
+     *
+     * @param deadline 요청 전체 기한, null이면 라우트 타임아웃만 적용
+     */
+    public UpstreamCall open(RouteConfig route, HttpServletRequest request, Deadline deadline, Opener opener)
+            throws IOException {
+        String method = request.getMethod();
+        boolean replayable = isIdempotent(method) && !ProxyForwarder.hasBody(request);
+        return open(route, method, replayable, deadline, opener);
+    }
+
+    /**
+     * 같은 요청을 다시 보내도 결과가 같은 메서드인지 (본문이 없을 때만 재시도/헤지 대상)
+     */
+    public static boolean isIdempotent(String method) {
+        return IDEMPOTENT_METHODS.contains(method);
+    }
+
+    /**
+     * @param method     HTTP 메서드
+     * @param replayable 같은 요청을 다시 보내도 안전한지 (false면 한 번만 호출)
+     * @return 응답 헤더까지 받은 호출 (본문을 소비한 뒤 close)
+     * @throws ProxyException 사용 가능한 인스턴스가 없거나 허가 거부
+     * @throws IOException    마지막 시도까지 응답을 받지 못함
+     */
+    public UpstreamCall open(RouteConfig route, String method, boolean replayable, Opener opener) throws IOException {
+        return open(route, method, replayable, null, opener);
+    }
+
+    /**
+     * @param deadline 요청 전체 기한 (재시도/헤지/백오프 포함), null이면 라우트 타임아웃만 적용
+     * @throws DeadlineExceededException 기한이 지나 더 시도하지 않음
+     */
+    public UpstreamCall open(RouteConfig route, String method, boolean replayable, Deadline deadline, Opener opener)
+            throws IOException {
+        boolean enabled = properties.isEnabled() && replayable;
+        RetryPolicy retry = enabled ? route.getRetry() : null;
+        HedgePolicy hedge = enabled && HEDGE_METHODS.contains(method) && route.getInstances().size() > 1
+                ? route.getHedge() : null;
+        if (retry == null && hedge == null) {
+            return call(route, choose(route, null), opener, deadline, null, null);
+        }
+
+        budget.onRequest();
+        LatencyHistogram latency = hedge != null
+                ? latencies.computeIfAbsent(route.getId(), id -> new LatencyHistogram(LATENCY_WINDOW.toNanos()))
+                : null;
+        int maxAttempts = retry != null ? retry.maxAttempts() : 1;
+        UpstreamInstance previous = null;
+        for (int attempt = 1; ; attempt++) {
+            Attempt result = hedge != null
+                    ? hedged(route, choose(route, previous), opener, deadline, hedge, latency)
+                    : attempt(route, choose(route, previous), opener, deadline, null, null);
+            boolean retryable = result.call() == null || (retry != null && retry.isRetryable(result.call().getStatusCode()));
+            if (!retryable || retry == null) {
+                return finish(route, result, attempt, false);
+            }
+            String cause = result.call() == null ? "io_error" : "status";
+            if (attempt >= maxAttempts) {
+                return finish(route, result, attempt, true);
+            }
+            if (deadline != null && deadline.isExpired()) {
+                countRetry(route.getId(), cause, "deadline_exceeded");
+                return finish(route, result, attempt, true);
+            }
+            if (!budget.tryAcquire()) {
+                countRetry(route.getId(), cause, "budget_exhausted");
+                return finish(route, result, attempt, true);
+            }
+            countRetry(route.getId(), cause, "sent");
+            result.close();
+            previous = result.instance();
+            backoff(retry, attempt, deadline);
+        }
+    }
+
+    /**
+     * 마지막 시도 결과 반환 (응답이 없으면 마지막 오류를 던짐)
+     *
+     * @param failed 재시도 대상 결과로 끝났는지
+     */
+    private UpstreamCall finish(RouteConfig route, Attempt result, int attempts, boolean failed) throws IOException {
+        if (attempts > 1) {
+            Counter.builder("gateway.upstream.retry.results")
+                    .description("재시도한 요청의 최종 결과 (result: recovered / failed)")
+                    .tag("route", route.getId())
+                    .tag("result", failed ? "failed" : "recovered")
+                    .register(meterRegistry)
+                    .increment();
+        }
+        return result.get();
+    }
+
+    /**
+     * 첫 요청이 지연을 넘기면 다른 인스턴스로 헤지 요청을 보내고 먼저 성공한 응답 사용
+     */
+    private Attempt hedged(RouteConfig route, UpstreamInstance primary, Opener opener, Deadline deadline,
+                           HedgePolicy hedge, LatencyHistogram latency) throws IOException {
+        long delay = hedgeDelayNanos(hedge, latency);
+        if (delay < 0 || (deadline != null && deadline.remaining().toNanos() <= delay)) {
+            // 관측이 부족하거나 헤지 시점 전에 기한이 끝나면 헤지하지 않음
+            return attempt(route, primary, opener, deadline, latency, null);
+        }
+
+        ExecutorCompletionService<Attempt> completion = new ExecutorCompletionService<>(executor);
+        Cancellation primaryCancel = new Cancellation();
+        Cancellation hedgeCancel = new Cancellation();
+        Future<Attempt> primaryFuture = completion.submit(() -> attempt(route, primary, opener, deadline, latency,
+                primaryCancel));
+        Future<Attempt> hedgeFuture = null;
+        // 결과를 꺼낸 요청 (꺼내지 않은 요청은 finally에서 취소하고 응답을 닫음)
+        boolean primaryTaken = false;
+        boolean hedgeTaken = false;
+        try {
+            Future<Attempt> done = completion.poll(delay, TimeUnit.NANOSECONDS);
+            if (done != null) {
+                primaryTaken = true;
+                return result(done);
+            }
+            UpstreamInstance secondary = other(route, primary);
+            if (secondary == null || !budget.tryAcquire()) {
+                countHedge(route.getId(), secondary == null ? "no_instance" : "budget_exhausted");
+                primaryTaken = true;
+                return result(primaryFuture);
+            }
+            hedgeFuture = completion.submit(() -> attempt(route, secondary, opener, deadline, latency, hedgeCancel));
+
+            // 먼저 성공(5xx가 아닌 응답)한 쪽 사용, 둘 다 실패하면 응답이 있는 쪽(없으면 먼저 끝난 쪽의 오류) 사용
+            Attempt fallback = null;
+            for (int pending = 2; pending > 0; pending--) {
+                Future<Attempt> finished = completion.take();
+                boolean fromHedge = finished == hedgeFuture;
+                if (fromHedge) {
+                    hedgeTaken = true;
+                } else {
+                    primaryTaken = true;
+                }
+                Attempt result = result(finished);
+                if (result.succeeded()) {
+                    countHedge(route.getId(), fromHedge ? "hedge_won" : "primary_won");
+                    if (fallback != null) {
+                        fallback.close();
+                    }
+                    return result;
+                }
+                if (fallback == null || (fallback.call() == null && result.call() != null)) {
+                    if (fallback != null) {
+                        fallback.close();
+                    }
+                    fallback = result;
+                } else {
+                    result.close();
+                }
+            }
+            countHedge(route.getId(), "both_failed");
+            return fallback;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("업스트림 응답 대기 중 중단되었습니다.");
+        } finally {
+            if (!primaryTaken) {
+                cancel(primaryFuture, primaryCancel);
+            }
+            if (hedgeFuture != null && !hedgeTaken) {
+                cancel(hedgeFuture, hedgeCancel);
+            }
+        }
+    }
+
+    private long hedgeDelayNanos(HedgePolicy hedge, LatencyHistogram latency) {
+        long delay = hedge.delay() != null
+                ? hedge.delay().toNanos()
+                : latency.percentileNanos(hedge.percentile(), properties.getHedgeMinSamples());
+        if (delay < 0) {
+            return -1;
+        }
+        return Math.min(hedge.maxDelay().toNanos(), Math.max(hedge.minDelay().toNanos(), delay));
+    }
+
+    /**
+     * 진 쪽 요청 취소 (취소 직전에 끝났으면 받은 응답을 닫음)
+     */
+    private static void cancel(Future<Attempt> future, Cancellation cancellation) {
+        cancellation.cancel();
+        if (future.cancel(true)) {
+            return;
+        }
+        try {
+            future.get().close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            // 응답 없이 실패
+        }
+    }
+
+    private static Attempt result(Future<Attempt> future) throws InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime; // 허가 거부 등
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * 응답 헤더까지 받은 호출 한 번 (응답 없이 실패하면 오류를 담은 결과)
+     *
+     * @param cancellation null이 아니면 취소 후의 결과 통지와 응답을 버림
+     */
+    private Attempt attempt(RouteConfig route, UpstreamInstance instance, Opener opener, Deadline deadline,
+                            LatencyHistogram latency, Cancellation cancellation) {
+        try {
+            UpstreamCall call = call(route, instance, opener, deadline, latency, cancellation);
+            if (cancellation != null && cancellation.isCancelled()) {
+                call.close();
+                return new Attempt(instance, null, new InterruptedIOException("헤지 요청이 취소되었습니다."));
+            }
+            return new Attempt(instance, call, null);
+        } catch (IOException e) {
+            return new Attempt(instance, null, e);
+        }
+    }
+
+    private UpstreamCall call(RouteConfig route, UpstreamInstance instance, Opener opener, Deadline deadline,
+                              LatencyHistogram latency, Cancellation cancellation) throws IOException {
+        if (deadline != null && deadline.isExpired()) {
+            countTimeout(route.getId(), "deadline");
+            throw new DeadlineExceededException(deadline);
+        }
+        // 적응형 한도(라우트별 대기 포함)를 먼저 얻고 업스트림 공용 벌크헤드/서킷 허가 (대기하는 동안 벌크헤드 슬롯을 잡지 않도록)
+        UpstreamPermit limit = limiters.acquire(route.getId(), instance.getBaseUrl());
+        UpstreamPermit permit;
+        try {
+            permit = limit.with(guards.acquire(instance.getBaseUrl()));
+        } catch (RuntimeException e) {
+            limit.close();
+            throw e;
+        }
+        UpstreamStats.Exchange exchange = instance.begin();
+        UpstreamExchangeListener listener = permit.andThen(exchange);
+        if (cancellation != null) {
+            listener = cancellation.wrap(listener);
+        }
+        long start = System.nanoTime();
+        try {
+            UpstreamExchangeListener attemptListener = listener;
+            UpstreamResponse response = UpstreamTimeout.with(route.getConnectTimeout(), route.getReadTimeout(), deadline,
+                    () -> opener.open(instance.getBaseUrl(), attemptListener));
+            if (latency != null) {
+                latency.record(System.nanoTime() - start);
+            }
+            return new UpstreamCall(instance, response, permit, exchange);
+        } catch (SocketTimeoutException e) {
+            if (cancellation == null || !cancellation.isCancelled()) {
+                countTimeout(route.getId(), e instanceof ConnectTimeoutException ? "connect"
+                        : deadline != null && deadline.isExpired() ? "deadline" : "read");
+            }
+            exchange.close();
+            permit.close();
+            throw e;
+        } catch (IOException | RuntimeException e) {
+            exchange.close();
+            permit.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @param avoid 직전에 실패한 인스턴스 (다른 인스턴스가 있으면 피함)
+     */
+    private static UpstreamInstance choose(RouteConfig route, UpstreamInstance avoid) {
+        UpstreamInstance instance = avoid != null ? other(route, avoid) : null;
+        if (instance == null) {
+            instance = route.choose();
+        }
+        if (instance == null) {
+            throw new ProxyException(HttpStatus.SERVICE_UNAVAILABLE, "Service unavailable",
+                    "사용 가능한 업스트림 인스턴스가 없습니다.");
+        }
+        return instance;
+    }
+
+    /**
+     * 임의 위치부터 훑어 사용 가능한 다른 인스턴스 선택
+     * (라우트의 부하 분산기를 거치면 라운드 로빈 순서가 밀려 같은 인스턴스가 계속 첫 요청을 받게 됨)
+     *
+     * @return 사용 가능한 다른 인스턴스, 없으면 null
+     */
+    private static UpstreamInstance other(RouteConfig route, UpstreamInstance avoid) {
+        List<UpstreamInstance> instances = route.getInstances();
+        int size = instances.size();
+        if (size < 2) {
+            return null;
+        }
+        long now = System.nanoTime();
+        int offset = ThreadLocalRandom.current().nextInt(size);
+        for (int i = 0; i < size; i++) {
+            UpstreamInstance candidate = instances.get((offset + i) % size);
+            if (candidate != avoid && candidate.isAvailable(now)) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * full jitter: 0 ~ min(maxBackoff, backoff * 2^(retry-1)) 사이에서 균등하게 대기 (동시에 실패한 요청이 한꺼번에 몰리지 않도록)
+     * 기한이 있으면 남은 시간보다 오래 기다리지 않음 (깨어난 뒤 다음 시도에서 기한 초과로 끝남)
+     */
+    private static void backoff(RetryPolicy retry, int retryNumber, Deadline deadline) throws InterruptedIOException {
+        long ceiling = retry.backoffCeilingNanos(retryNumber);
+        if (ceiling <= 0) {
+            return;
+        }
+        long sleep = ThreadLocalRandom.current().nextLong(ceiling + 1);
+        if (deadline != null) {
+            sleep = Math.min(sleep, Math.max(0, deadline.remaining().toNanos()));
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(sleep);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("재시도 대기 중 중단되었습니다.");
+        }
+    }
+
+    private void countRetry(String routeId, String cause, String result) {
+        Counter.builder("gateway.upstream.retries")
+                .description("업스트림 재시도 (cause: status / io_error, result: sent / budget_exhausted / deadline_exceeded)")
+                .tag("route", routeId)
+                .tag("cause", cause)
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private void countTimeout(String routeId, String phase) {
+        Counter.builder("gateway.upstream.timeouts")
+                .description("업스트림 타임아웃 (phase: connect / read / deadline)")
+                .tag("route", routeId)
+                .tag("phase", phase)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private void countHedge(String routeId, String result) {
+        Counter.builder("gateway.upstream.hedges")
+                .description("헤지 요청 (result: primary_won / hedge_won / both_failed / budget_exhausted / no_instance)")
+                .tag("route", routeId)
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 시도 한 번의 결과 (call과 failure 중 하나만 있음)
+     */
+    private record Attempt(UpstreamInstance instance, UpstreamCall call, IOException failure) {
+
+        boolean succeeded() {
+            return call != null && call.getStatusCode() < 500;
+        }
+
+        UpstreamCall get() throws IOException {
+            if (call == null) {
+                throw failure;
+            }
+            return call;
+        }
+
+        void close() {
+            if (call != null) {
+                call.close();
+            }
+        }
+    }
+
+    /**
+     * 헤지에서 진 요청 표시 (취소 후 통지는 버림: 인터럽트로 끊긴 연결을 업스트림 실패로 세지 않기 위함)
+     */
+    private static final class Cancellation {
+
+        private final AtomicBoolean cancelled = new AtomicBoolean();
+
+        void cancel() {
+            cancelled.set(true);
+        }
+
+        boolean isCancelled() {
+            return cancelled.get();
+        }
+
+        UpstreamExchangeListener wrap(UpstreamExchangeListener listener) {
+            return new UpstreamExchangeListener() {
+                @Override
+                public void onResponse(int statusCode) {
+                    if (!cancelled.get()) {
+                        listener.onResponse(statusCode);
+                    }
+                }
+
+                @Override
+                public void onFailure(Throwable error) {
+                    if (!cancelled.get()) {
+                        listener.onFailure(error);
+                    }
+                }
+            };
+        }
+    }
+}
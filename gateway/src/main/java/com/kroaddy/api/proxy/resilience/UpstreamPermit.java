@@ -0,0 +1,56 @@
+package com.kroaddy.api.proxy.resilience;
+
+import com.kroaddy.api.proxy.UpstreamExchangeListener;
+
+/**
+ * 업스트림 호출 한 건의 허가 (벌크헤드 슬롯 + 서킷 브레이커 허가)
+ * 결과는 UpstreamExchangeListener로 기록하고, close에서 슬롯을 반납
+ */
+public interface UpstreamPermit extends UpstreamExchangeListener, AutoCloseable {
+
+    UpstreamPermit NONE = new UpstreamPermit() {
+        @Override
+        public void onResponse(int statusCode) {
+        }
+
+        @Override
+        public void onFailure(Throwable error) {
+        }
+
+        @Override
+        public void close() {
+        }
+    };
+
+    @Override
+    void close();
+
+    /**
+     * 두 허가에 차례로 통지하고 close에서 모두 반납
+     */
+    default UpstreamPermit with(UpstreamPermit next) {
+        UpstreamPermit first = this;
+        return new UpstreamPermit() {
+            @Override
+            public void onResponse(int statusCode) {
+                first.onResponse(statusCode);
+                next.onResponse(statusCode);
+            }
+
+            @Override
+            public void onFailure(Throwable error) {
+                first.onFailure(error);
+                next.onFailure(error);
+            }
+
+            @Override
+            public void close() {
+                try {
+                    next.close();
+                } finally {
+                    first.close();
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,15 @@
+package com.kroaddy.api.proxy.route;
+
+import java.time.Duration;
+
+/**
+ * 라우트 헤지 정책 (본문 없는 GET/HEAD만)
+ * 첫 요청이 지연 기준 안에 응답 헤더를 받지 못하면 다른 인스턴스로 같은 요청을 한 번 더 보내고 먼저 온 응답 사용
+ *
+ * @param delay      고정 지연 (null이면 라우트의 최근 응답 시간 percentile 사용)
+ * @param percentile delay가 없을 때 사용할 응답 시간 백분위 (예: 95)
+ * @param minDelay   지연 하한 (응답이 빠른 라우트에서 헤지가 과도하게 나가지 않도록)
+ * @param maxDelay   지연 상한
+ */
+public record HedgePolicy(Duration delay, double percentile, Duration minDelay, Duration maxDelay) {
+}
@@ -0,0 +1,34 @@
+package com.kroaddy.api.proxy.route;
+
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * 라우트 재시도 정책 (멱등 메서드이면서 본문이 없는 요청만 재시도)
+ * 재시도 사이 대기는 지수 백오프 + full jitter: [0, min(maxBackoff, backoff * 2^(재시도 횟수 - 1))) 무작위
+ *
+ * @param maxAttempts 첫 시도를 포함한 최대 시도 횟수
+ * @param backoff     첫 재시도 전 대기 기준값
+ * @param maxBackoff  대기 상한
+ * @param retryOn     재시도할 업스트림 상태 코드 (응답 전 연결 실패/타임아웃은 항상 재시도)
+ */
+public record RetryPolicy(int maxAttempts, Duration backoff, Duration maxBackoff, Set<Integer> retryOn) {
+
+    public RetryPolicy {
+        retryOn = Set.copyOf(retryOn);
+    }
+
+    public boolean isRetryable(int statusCode) {
+        return retryOn.contains(statusCode);
+    }
+
+    /**
+     * n번째 재시도 전 대기 상한 (jitter 적용 전)
+     *
+     * @param retry 1부터 시작하는 재시도 순번
+     */
+    public long backoffCeilingNanos(int retry) {
+        long ceiling = backoff.toNanos() << Math.min(retry - 1, 30);
+        return ceiling < 0 ? maxBackoff.toNanos() : Math.min(ceiling, maxBackoff.toNanos());
+    }
+}
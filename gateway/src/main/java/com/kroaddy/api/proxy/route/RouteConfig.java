@@ -0,0 +1,232 @@
+package com.kroaddy.api.proxy.route;
+
+import com.kroaddy.api.proxy.auth.AuthPolicy;
+import com.kroaddy.api.proxy.balancer.LoadBalancer;
+import com.kroaddy.api.proxy.balancer.LoadBalancerStrategy;
+import com.kroaddy.api.proxy.balancer.UpstreamInstance;
+import com.kroaddy.api.proxy.balancer.UpstreamStats;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 프록시 라우트 하나
+ * 패턴은 리터럴 경로 또는 "리터럴 경로 + /**" 형태만 허용하며, 재작성 템플릿은 생성 시점에 미리 계산
+ * 업스트림은 인스턴스 하나 이상이며 요청마다 LoadBalancer가 하나를 고름
+ */
+public class RouteConfig {
+
+    static final long DEFAULT_EWMA_DECAY_NANOS = Duration.ofSeconds(10).toNanos();
+
+    private final String id;
+    private final String pattern;
+    private final LoadBalancerStrategy strategy;
+    private final LoadBalancer loadBalancer;
+    private final String rewritePath;
+    private final RouteOptions options;
+
+    // 패턴에서 미리 계산한 값
+    private final String prefix; // "/api/ai/ml/**" -> "/api/ai/ml"
+    private final boolean prefixMatch; // "/**"로 끝나는 패턴인지
+
+    public RouteConfig(String pattern, String baseUrl) {
+        this(pattern, baseUrl, null);
+    }
+
+    public RouteConfig(String pattern, String baseUrl, String rewritePath) {
+        this(pattern, baseUrl, rewritePath, null);
+    }
+
+    public RouteConfig(String pattern, String baseUrl, String rewritePath, Long maxBodySize) {
+        this(pattern, pattern, baseUrl, rewritePath, maxBodySize);
+    }
+
+    public RouteConfig(String id, String pattern, String baseUrl, String rewritePath, Long maxBodySize) {
+        this(id, pattern, LoadBalancerStrategy.ROUND_ROBIN,
+                List.of(new UpstreamInstance(new UpstreamStats(baseUrl, DEFAULT_EWMA_DECAY_NANOS), 1)), rewritePath,
+                RouteOptions.builder().maxBodySize(maxBodySize).build());
+    }
+
+    /**
+     * @param options 라우트 옵션 (null이면 기본값)
+     */
+    public RouteConfig(String id, String pattern, LoadBalancerStrategy strategy, List<UpstreamInstance> instances,
+                       String rewritePath, RouteOptions options) {
+        if (pattern == null || !pattern.startsWith("/")) {
+            throw new IllegalArgumentException("라우트 패턴은 '/'로 시작해야 합니다: " + pattern);
+        }
+        this.id = id;
+        this.pattern = pattern;
+        this.strategy = strategy;
+        this.loadBalancer = LoadBalancer.create(strategy, instances);
+        this.rewritePath = rewritePath;
+        this.options = options != null ? options : RouteOptions.DEFAULTS;
+        this.prefixMatch = pattern.endsWith("/**");
+        this.prefix = prefixMatch ? pattern.substring(0, pattern.length() - 3) : pattern;
+
+        if (prefix.contains("*") || prefix.contains("?") || prefix.contains("{")) {
+            throw new IllegalArgumentException("라우트 패턴은 마지막 '/**' 외의 와일드카드를 지원하지 않습니다: " + pattern);
+        }
+    }
+
+    /**
+     * 업스트림 경로 생성
+     * 재작성이 없으면 원본 경로 그대로, 있으면 접두사를 재작성 경로로 치환
+     * 예: /api/ai/ml/samsung -> /titanic/samsung
+     *
+     * @param path 매칭된 요청 경로
+     * @return 업스트림 경로
+     */
+    public String rewrite(String path) {
+        if (rewritePath == null) {
+            return path;
+        }
+        int start = Math.min(prefix.length(), path.length());
+        int end = path.length();
+        // 남은 경로의 앞/뒤 슬래시 정리
+        while (start < end && path.charAt(start) == '/') {
+            start++;
+        }
+        while (end > start && path.charAt(end - 1) == '/') {
+            end--;
+        }
+        if (start == end) {
+            return rewritePath;
+        }
+        return new StringBuilder(rewritePath.length() + 1 + end - start)
+                .append(rewritePath)
+                .append('/')
+                .append(path, start, end)
+                .toString();
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getPattern() {
+        return pattern;
+    }
+
+    /**
+     * 이번 요청을 보낼 업스트림 인스턴스 선택
+     *
+     * @return 선택한 인스턴스, 모든 인스턴스가 헬스 체크 실패/이상치 제외 중이면 null
+     */
+    public UpstreamInstance choose() {
+        return loadBalancer.choose();
+    }
+
+    /**
+     * 첫 번째 인스턴스의 base URL (인스턴스가 하나인 라우트의 업스트림)
+     */
+    public String getBaseUrl() {
+        return loadBalancer.getInstances().get(0).getBaseUrl();
+    }
+
+    public List<UpstreamInstance> getInstances() {
+        return loadBalancer.getInstances();
+    }
+
+    public LoadBalancerStrategy getStrategy() {
+        return strategy;
+    }
+
+    public String getRewritePath() {
+        return rewritePath;
+    }
+
+    public RouteOptions getOptions() {
+        return options;
+    }
+
+    public Long getMaxBodySize() {
+        return options.getMaxBodySize();
+    }
+
+    public boolean isCoalesce() {
+        return options.isCoalesce();
+    }
+
+    /**
+     * 응답 캐시 기본 TTL (업스트림이 유효 기간을 주지 않았을 때 적용)
+     *
+     * @return null이면 캐시하지 않는 라우트, 0이면 업스트림 Cache-Control/Expires만 따름
+     */
+    public Duration getCacheTtl() {
+        return options.getCacheTtl();
+    }
+
+    /**
+     * 추론 결과 캐시 TTL (본문 해시 기준, 결정적인 POST 라우트만 지정)
+     *
+     * @return null이면 캐시하지 않는 라우트
+     */
+    public Duration getInferenceCacheTtl() {
+        return options.getInferenceCacheTtl();
+    }
+
+    /**
+     * @return 재시도 정책, null이면 재시도하지 않는 라우트
+     */
+    public RetryPolicy getRetry() {
+        return options.getRetry();
+    }
+
+    /**
+     * @return 헤지 정책, null이면 헤지하지 않는 라우트
+     */
+    public HedgePolicy getHedge() {
+        return options.getHedge();
+    }
+
+    /**
+     * @return 스트리밍 응답 유휴 시간 한도, null이면 전역 설정 사용
+     */
+    public Duration getStreamIdleTimeout() {
+        return options.getStreamIdleTimeout();
+    }
+
+    /**
+     * @return Prefer: respond-async 요청을 비동기 작업으로 받는 라우트인지
+     */
+    public boolean isAsync() {
+        return options.isAsync();
+    }
+
+    /**
+     * @return 업스트림 연결 대기 시간, null이면 커넥션 풀 설정 사용
+     */
+    public Duration getConnectTimeout() {
+        return options.getConnectTimeout();
+    }
+
+    /**
+     * @return 업스트림 응답 대기 시간, null이면 커넥션 풀 설정 사용
+     */
+    public Duration getReadTimeout() {
+        return options.getReadTimeout();
+    }
+
+    /**
+     * @return 요청 전체 기한, null이면 전역 기본값 사용
+     */
+    public Duration getDeadline() {
+        return options.getDeadline();
+    }
+
+    /**
+     * @return 인증 정책, null이면 전역 기본값 사용
+     */
+    public AuthPolicy getAuthPolicy() {
+        return options.getAuthPolicy();
+    }
+
+    public String getPrefix() {
+        return prefix;
+    }
+
+    public boolean isPrefixMatch() {
+        return prefixMatch;
+    }
+}
@@ -0,0 +1,58 @@
+package com.kroaddy.api.proxy.route;
+
+import com.kroaddy.api.proxy.auth.AuthPolicy;
+import com.kroaddy.api.proxy.balancer.LoadBalancerStrategy;
+import lombok.Data;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 설정(YAML/properties 또는 외부 라우트 파일)에 적힌 라우트 한 건
+ * 검증 후 RouteConfig로 컴파일되어 라우팅 스냅샷에 들어감
+ */
+@Data
+public class RouteDefinition {
+    private String id; // 라우트 식별자 (메트릭 태그, actuator 표시용)
+    private String path; // 매칭 패턴 (예: /api/ai/ml/**)
+    private String uri; // 업스트림 base URL (예: http://localhost:9006), 쉼표로 여러 개를 주면 같은 weight의 인스턴스들
+    private List<Instance> instances = new ArrayList<>(); // 업스트림 인스턴스 목록 (uri 대신 사용, weight 지정 가능)
+    private LoadBalancerStrategy loadBalancer = LoadBalancerStrategy.ROUND_ROBIN; // 인스턴스 선택 방식
+    private String rewritePath; // 접두사를 치환할 경로 (예: /titanic), 없으면 원본 경로 유지
+    private Long maxBodySize; // 요청 본문 한도 (바이트), 없으면 gateway.proxy.max-body-size 사용
+    private boolean coalesce; // 동시에 들어온 동일 GET 요청을 업스트림 호출 한 번으로 병합
+    private Duration cacheTtl; // GET 응답 캐시 기본 TTL (업스트림 Cache-Control 우선, 0s면 업스트림 지정만 따름), 없으면 캐시 안 함
+    private Duration inferenceCacheTtl; // POST 추론 결과 캐시 TTL (같은 JSON 본문이면 같은 결과인 라우트만), 없으면 캐시 안 함
+    private Retry retry; // 멱등 요청 재시도 (본문 없는 GET/HEAD/OPTIONS/PUT/DELETE), 없으면 재시도 안 함
+    private Hedge hedge; // 느린 GET을 다른 인스턴스로 한 번 더 보냄, 없으면 헤지 안 함
+    private Duration streamIdleTimeout; // 스트리밍 응답(SSE/chunked)에서 데이터 없이 기다릴 최대 시간, 없으면 gateway.streaming.idle-timeout
+    private boolean async; // Prefer: respond-async 요청을 비동기 작업으로 받음 (202 + 작업 id, gateway.jobs 참고)
+    private Duration connectTimeout; // 업스트림 연결 대기 시간, 없으면 gateway.upstream.connect-timeout
+    private Duration readTimeout; // 업스트림 응답 대기 시간 (읽기 한 번 기준), 없으면 gateway.upstream.read-timeout
+    private Duration deadline; // 요청 전체 기한 (재시도/헤지 포함, 남은 시간은 업스트림에 헤더로 전달), 없으면 gateway.timeouts.default-deadline
+    private AuthPolicy auth; // 인증 정책 (required / optional / none), 없으면 gateway.auth.default-policy
+
+    @Data
+    public static class Instance {
+        private String uri; // 인스턴스 base URL
+        private int weight = 1; // weighted / least-outstanding / latency-ewma에서 사용하는 비율
+    }
+
+    @Data
+    public static class Retry {
+        private int maxAttempts = 3; // 첫 시도 포함 최대 시도 횟수
+        private Duration backoff = Duration.ofMillis(100); // 첫 재시도 전 대기 기준값 (재시도마다 2배, full jitter)
+        private Duration maxBackoff = Duration.ofSeconds(1); // 대기 상한
+        private Set<Integer> retryOn = Set.of(502, 503, 504); // 재시도할 업스트림 상태 코드 (연결 실패/타임아웃은 항상)
+    }
+
+    @Data
+    public static class Hedge {
+        private Duration delay; // 고정 지연, 없으면 최근 응답 시간의 percentile
+        private double percentile = 95;
+        private Duration minDelay = Duration.ofMillis(20); // 지연 하한
+        private Duration maxDelay = Duration.ofSeconds(2); // 지연 상한
+    }
+}
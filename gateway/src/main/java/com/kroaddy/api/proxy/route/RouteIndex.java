@@ -0,0 +1,182 @@
+package com.kroaddy.api.proxy.route;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 경로 세그먼트 트라이로 컴파일한 라우트 인덱스
+ * 조회는 경로 깊이에 비례(O(depth))하고, 세그먼트 문자열을 잘라내지 않으므로 매칭 중 객체 할당이 없음
+ * 겹치는 패턴(/api/ai/** 와 /api/ai/ml/**)은 항상 가장 긴 접두사가 이김
+ */
+public final class RouteIndex {
+
+    private final Node root;
+    private final List<RouteConfig> routes;
+
+    private RouteIndex(Node root, List<RouteConfig> routes) {
+        this.root = root;
+        this.routes = routes;
+    }
+
+    /**
+     * 라우트 목록을 트라이로 컴파일
+     *
+     * @param routes 라우트 목록
+     * @return 불변 라우트 인덱스
+     * @throws IllegalArgumentException 같은 패턴이 두 번 등록된 경우
+     */
+    public static RouteIndex compile(Collection<RouteConfig> routes) {
+        NodeBuilder rootBuilder = new NodeBuilder();
+        for (RouteConfig route : routes) {
+            NodeBuilder node = rootBuilder;
+            String prefix = route.getPrefix();
+            // "/a/b" -> ["a", "b"], "/" -> [""], "" (패턴 "/**") -> []
+            int pos = 1;
+            while (pos <= prefix.length()) {
+                int end = prefix.indexOf('/', pos);
+                if (end < 0) {
+                    end = prefix.length();
+                }
+                node = node.children.computeIfAbsent(prefix.substring(pos, end), k -> new NodeBuilder());
+                pos = end + 1;
+            }
+            if (route.isPrefixMatch()) {
+                if (node.prefixRoute != null) {
+                    throw new IllegalArgumentException("중복된 라우트 패턴: " + route.getPattern());
+                }
+                node.prefixRoute = route;
+            } else {
+                if (node.exactRoute != null) {
+                    throw new IllegalArgumentException("중복된 라우트 패턴: " + route.getPattern());
+                }
+                node.exactRoute = route;
+            }
+        }
+        return new RouteIndex(rootBuilder.build(), Collections.unmodifiableList(new ArrayList<>(routes)));
+    }
+
+    /**
+     * 요청 경로에 해당하는 라우트 조회
+     *
+     * @param path 요청 경로 (예: /api/ai/ml/samsung)
+     * @return 가장 긴 접두사로 일치한 라우트, 없으면 null
+     */
+    public RouteConfig match(String path) {
+        if (path == null || path.isEmpty() || path.charAt(0) != '/') {
+            return null;
+        }
+        Node node = root;
+        RouteConfig best = root.prefixRoute;
+        int length = path.length();
+        int pos = 1;
+        while (true) {
+            int end = path.indexOf('/', pos);
+            if (end < 0) {
+                end = length;
+            }
+            node = node.find(path, pos, end);
+            if (node == null) {
+                return best;
+            }
+            if (node.prefixRoute != null) {
+                best = node.prefixRoute;
+            }
+            if (end >= length) {
+                return node.exactRoute != null ? node.exactRoute : best;
+            }
+            pos = end + 1;
+        }
+    }
+
+    /**
+     * 컴파일에 사용한 라우트 목록 (등록 순서)
+     */
+    public List<RouteConfig> getRoutes() {
+        return routes;
+    }
+
+    /**
+     * 불변 트라이 노드
+     * 자식은 String.hashCode와 같은 해시로 오픈 어드레싱 테이블에 저장해 경로의 일부 구간으로 바로 조회
+     */
+    private static final class Node {
+
+        private final String[] keys;
+        private final int[] hashes;
+        private final Node[] children;
+        private final int mask;
+        private final RouteConfig prefixRoute;
+        private final RouteConfig exactRoute;
+
+        private Node(String[] keys, int[] hashes, Node[] children, RouteConfig prefixRoute, RouteConfig exactRoute) {
+            this.keys = keys;
+            this.hashes = hashes;
+            this.children = children;
+            this.mask = keys.length - 1;
+            this.prefixRoute = prefixRoute;
+            this.exactRoute = exactRoute;
+        }
+
+        private Node find(String path, int from, int to) {
+            if (keys.length == 0) {
+                return null;
+            }
+            int hash = 0;
+            for (int i = from; i < to; i++) {
+                hash = 31 * hash + path.charAt(i);
+            }
+            int length = to - from;
+            for (int i = spread(hash) & mask; ; i = (i + 1) & mask) {
+                String key = keys[i];
+                if (key == null) {
+                    return null;
+                }
+                if (hashes[i] == hash && key.length() == length && path.regionMatches(from, key, 0, length)) {
+                    return children[i];
+                }
+            }
+        }
+    }
+
+    /**
+     * 컴파일 중에만 쓰는 가변 노드
+     */
+    private static final class NodeBuilder {
+
+        private final Map<String, NodeBuilder> children = new LinkedHashMap<>();
+        private RouteConfig prefixRoute;
+        private RouteConfig exactRoute;
+
+        private Node build() {
+            if (children.isEmpty()) {
+                return new Node(new String[0], new int[0], new Node[0], prefixRoute, exactRoute);
+            }
+            // 적재율 50% 이하가 되도록 2의 거듭제곱 크기로 테이블 구성
+            int capacity = Integer.highestOneBit(children.size() * 2 - 1) << 1;
+            String[] keys = new String[capacity];
+            int[] hashes = new int[capacity];
+            Node[] nodes = new Node[capacity];
+            int mask = capacity - 1;
+            for (Map.Entry<String, NodeBuilder> entry : children.entrySet()) {
+                String key = entry.getKey();
+                int hash = key.hashCode();
+                int i = spread(hash) & mask;
+                while (keys[i] != null) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = key;
+                hashes[i] = hash;
+                nodes[i] = entry.getValue().build();
+            }
+            return new Node(keys, hashes, nodes, prefixRoute, exactRoute);
+        }
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+}
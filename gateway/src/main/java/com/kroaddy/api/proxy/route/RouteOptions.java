@@ -0,0 +1,31 @@
+package com.kroaddy.api.proxy.route;
+
+import com.kroaddy.api.proxy.auth.AuthPolicy;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * 라우트별 선택 기능 (요청 본문 한도, 요청 병합, 캐시, 재시도/헤지, 스트리밍 유휴 시간, 비동기 작업, 타임아웃, 인증 정책 등)
+ * 라우트 정의에 값이 없는 항목은 기본값 (기능 끔)
+ */
+@Getter
+@Builder
+public class RouteOptions {
+
+    public static final RouteOptions DEFAULTS = RouteOptions.builder().build();
+
+    private final Long maxBodySize; // null이면 gateway.proxy.max-body-size 사용
+    private final boolean coalesce; // 동일 GET 요청 병합 여부
+    private final Duration cacheTtl; // GET 응답 캐시 기본 TTL, null이면 캐시하지 않음
+    private final Duration inferenceCacheTtl; // 결정적 POST(추론) 결과 캐시 TTL, null이면 캐시하지 않음
+    private final RetryPolicy retry; // 멱등 요청 재시도, null이면 재시도하지 않음
+    private final HedgePolicy hedge; // GET 헤지, null이면 헤지하지 않음
+    private final Duration streamIdleTimeout; // 스트리밍 응답 유휴 시간 한도, null이면 gateway.streaming.idle-timeout 사용
+    private final boolean async; // Prefer: respond-async 요청을 비동기 작업으로 처리할지
+    private final Duration connectTimeout; // 업스트림 연결 대기 시간, null이면 커넥션 풀 설정 사용
+    private final Duration readTimeout; // 업스트림 응답 대기 시간, null이면 커넥션 풀 설정 사용
+    private final Duration deadline; // 요청 전체 기한, null이면 gateway.timeouts.default-deadline 사용
+    private final AuthPolicy authPolicy; // 인증 정책, null이면 gateway.auth.default-policy 사용
+}
@@ -0,0 +1,22 @@
+package com.kroaddy.api.proxy.route;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * 한 시점의 불변 라우팅 테이블
+ * 요청은 시작 시 스냅샷 하나를 잡고 끝까지 그것만 사용하므로 교체 도중의 반쯤 바뀐 테이블을 보지 않음
+ *
+ * @param version     로드할 때마다 1씩 증가하는 버전
+ * @param source      라우트를 읽어온 위치 (application 설정 또는 파일 경로)
+ * @param loadedAt    로드 시각
+ * @param definitions 원본 라우트 정의 (변경 여부 비교용)
+ * @param index       컴파일된 라우트 인덱스
+ */
+public record RouteSnapshot(long version, String source, Instant loadedAt,
+                            List<RouteDefinition> definitions, RouteIndex index) {
+
+    public RouteConfig match(String path) {
+        return index.match(path);
+    }
+}
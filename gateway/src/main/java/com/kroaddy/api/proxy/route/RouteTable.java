@@ -0,0 +1,450 @@
+package com.kroaddy.api.proxy.route;
+
+import com.kroaddy.api.proxy.balancer.UpstreamInstance;
+import com.kroaddy.api.proxy.balancer.UpstreamStats;
+import com.kroaddy.api.proxy.upstream.UpstreamClientRegistry;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.bind.PropertySourcesPlaceholdersResolver;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.env.PropertiesPropertySourceLoader;
+import org.springframework.boot.env.PropertySourceLoader;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 현재 라우팅 스냅샷 보관 및 교체
+ * 조회는 AtomicReference 읽기 한 번(락 없음), 교체는 검증/컴파일을 마친 새 스냅샷으로 원자적으로 바꿔치기
+ * 라우트는 gateway.routing.routes 또는 gateway.routing.file(변경 감시)에서 읽음
+ */
+@Slf4j
+@Component
+public class RouteTable implements DisposableBean {
+
+    private static final String ROUTES_PROPERTY = "gateway.routing.routes";
+
+    private final RoutingProperties properties;
+    private final ConfigurableEnvironment environment;
+    private final UpstreamClientRegistry upstreamClientRegistry;
+    private final MeterRegistry meterRegistry;
+
+    // base URL별 부하 분산 통계 (라우트 간, 재로드 간 공유)
+    private final Map<String, UpstreamStats> upstreamStats = new ConcurrentHashMap<>();
+    private final AtomicReference<RouteSnapshot> current = new AtomicReference<>();
+    private final ReentrantLock reloadLock = new ReentrantLock();
+    private ScheduledExecutorService watcher;
+    private FileTime fileLastModified;
+
+    @Autowired
+    public RouteTable(RoutingProperties properties, ConfigurableEnvironment environment,
+                      UpstreamClientRegistry upstreamClientRegistry, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.environment = environment;
+        this.upstreamClientRegistry = upstreamClientRegistry;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * 최초 로드 (잘못된 라우트 설정이면 기동 실패)
+     */
+    @PostConstruct
+    public void init() {
+        reloadLock.lock();
+        try {
+            apply(loadDefinitions());
+        } finally {
+            reloadLock.unlock();
+        }
+        if (isFileSource()) {
+            startWatcher();
+        }
+    }
+
+    /**
+     * 현재 라우팅 스냅샷
+     */
+    public RouteSnapshot current() {
+        return current.get();
+    }
+
+    /**
+     * 라우트 재로드
+     * 검증에 실패하면 기존 스냅샷을 그대로 유지
+     *
+     * @return 새 스냅샷으로 교체되었으면 true
+     */
+    public boolean reload() {
+        reloadLock.lock();
+        try {
+            return apply(loadDefinitions());
+        } catch (Exception e) {
+            log.error("라우트 테이블 재로드 실패, 기존 스냅샷 유지: version={}, error={}",
+                    current.get().version(), e.getMessage());
+            return false;
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    /**
+     * 설정 변경(/actuator/refresh, Config Server 등) 시 라우트 재로드
+     */
+    @EventListener(EnvironmentChangeEvent.class)
+    public void onEnvironmentChange(EnvironmentChangeEvent event) {
+        if (!isFileSource() && event.getKeys().stream().anyMatch(key -> key.startsWith("gateway.routing"))) {
+            reload();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (watcher != null) {
+            watcher.shutdownNow();
+        }
+    }
+
+    private boolean apply(List<RouteDefinition> definitions) {
+        RouteSnapshot previous = current.get();
+        if (previous != null && previous.definitions().equals(definitions)) {
+            return false;
+        }
+
+        RouteIndex index = compile(definitions, this::statsFor);
+        long version = previous != null ? previous.version() + 1 : 1;
+        RouteSnapshot snapshot = new RouteSnapshot(version, sourceName(), Instant.now(), List.copyOf(definitions), index);
+
+        // 새 업스트림은 교체 전에 커넥션 풀부터 준비
+        Set<String> baseUrls = index.getRoutes().stream()
+                .flatMap(route -> route.getInstances().stream())
+                .map(UpstreamInstance::getBaseUrl)
+                .collect(Collectors.toSet());
+        upstreamClientRegistry.registerAll(baseUrls);
+        current.set(snapshot);
+        // 빠진 업스트림의 풀과 통계/게이지 정리 (재로드가 반복돼도 쌓이지 않도록)
+        upstreamClientRegistry.retainOnly(baseUrls);
+        retireStats(baseUrls);
+
+        log.info("라우트 테이블 적용: version={}, source={}, routes={}", version, snapshot.source(), definitions.size());
+        return true;
+    }
+
+    /**
+     * 부하 분산 통계 조회 (처음 보는 업스트림이면 생성하고 게이지 등록)
+     */
+    private UpstreamStats statsFor(String baseUrl) {
+        return upstreamStats.computeIfAbsent(baseUrl, url -> {
+            UpstreamStats stats = new UpstreamStats(url, properties.getEwmaDecay().toNanos());
+            Gauge.builder("gateway.upstream.inflight", stats, UpstreamStats::getInFlight)
+                    .description("업스트림 인스턴스별 진행 중 요청 수")
+                    .tag("upstream", url)
+                    .register(meterRegistry);
+            Gauge.builder("gateway.upstream.latency.ewma", stats, s -> s.latencyEwmaNanos() / 1_000_000)
+                    .description("업스트림 인스턴스별 응답 헤더까지 지연 EWMA (ms)")
+                    .tag("upstream", url)
+                    .register(meterRegistry);
+            Gauge.builder("gateway.upstream.available", stats, s -> s.getHealth().admission(System.nanoTime()))
+                    .description("업스트림 인스턴스별 유입 허용 비율 (0: 헬스 체크 실패/이상치 제외, 0~1: slow start, 1: 정상)")
+                    .tag("upstream", url)
+                    .register(meterRegistry);
+            return stats;
+        });
+    }
+
+    /**
+     * 현재 라우트에 없는 업스트림의 통계와 게이지 제거
+     */
+    private void retireStats(Set<String> baseUrls) {
+        upstreamStats.keySet().removeIf(url -> {
+            if (baseUrls.contains(url)) {
+                return false;
+            }
+            meterRegistry.find("gateway.upstream.inflight").tag("upstream", url).meters().forEach(meterRegistry::remove);
+            meterRegistry.find("gateway.upstream.latency.ewma").tag("upstream", url).meters().forEach(meterRegistry::remove);
+            meterRegistry.find("gateway.upstream.available").tag("upstream", url).meters().forEach(meterRegistry::remove);
+            return true;
+        });
+    }
+
+    /**
+     * 라우트 정의 검증 후 인덱스로 컴파일 (통계는 컴파일마다 새로 생성)
+     */
+    static RouteIndex compile(List<RouteDefinition> definitions) {
+        Map<String, UpstreamStats> stats = new HashMap<>();
+        return compile(definitions, url -> stats.computeIfAbsent(url,
+                u -> new UpstreamStats(u, RouteConfig.DEFAULT_EWMA_DECAY_NANOS)));
+    }
+
+    /**
+     * 라우트 정의 검증 후 인덱스로 컴파일
+     *
+     * @param statsFor base URL별 부하 분산 통계 제공 (같은 URL이면 같은 객체)
+     * @throws IllegalArgumentException 하나 이상의 정의가 잘못된 경우 (모든 오류를 모아서 보고)
+     */
+    static RouteIndex compile(List<RouteDefinition> definitions, Function<String, UpstreamStats> statsFor) {
+        List<String> errors = new ArrayList<>();
+        List<RouteConfig> routes = new ArrayList<>();
+        Set<String> ids = new HashSet<>();
+
+        for (int i = 0; i < definitions.size(); i++) {
+            RouteDefinition definition = definitions.get(i);
+            String name = definition.getId() != null ? definition.getId() : "routes[" + i + "]";
+            int errorCount = errors.size();
+
+            if (definition.getId() == null || definition.getId().isBlank()) {
+                errors.add(name + ": id가 필요합니다.");
+            } else if (!ids.add(definition.getId())) {
+                errors.add(name + ": 중복된 id입니다.");
+            }
+            List<RouteDefinition.Instance> instanceDefinitions = instancesOf(definition, name, errors);
+            List<String> baseUrls = new ArrayList<>();
+            for (RouteDefinition.Instance instance : instanceDefinitions) {
+                String baseUrl = normalizeBaseUrl(instance.getUri(), name, errors);
+                if (instance.getWeight() < 1) {
+                    errors.add(name + ": weight는 1 이상이어야 합니다.");
+                }
+                if (baseUrl != null && baseUrls.contains(baseUrl)) {
+                    errors.add(name + ": 중복된 인스턴스입니다 (" + baseUrl + ")");
+                }
+                baseUrls.add(baseUrl);
+            }
+            if (definition.getLoadBalancer() == null) {
+                errors.add(name + ": load-balancer가 필요합니다.");
+            }
+            if (definition.getRewritePath() != null && !definition.getRewritePath().startsWith("/")) {
+                errors.add(name + ": rewrite-path는 '/'로 시작해야 합니다.");
+            }
+            if (definition.getCacheTtl() != null && definition.getCacheTtl().isNegative()) {
+                errors.add(name + ": cache-ttl은 0 이상이어야 합니다.");
+            }
+            if (definition.getInferenceCacheTtl() != null && !definition.getInferenceCacheTtl().isPositive()) {
+                errors.add(name + ": inference-cache-ttl은 0보다 커야 합니다.");
+            }
+            if (definition.getStreamIdleTimeout() != null && !definition.getStreamIdleTimeout().isPositive()) {
+                errors.add(name + ": stream-idle-timeout은 0보다 커야 합니다.");
+            }
+            if (definition.getConnectTimeout() != null && !definition.getConnectTimeout().isPositive()) {
+                errors.add(name + ": connect-timeout은 0보다 커야 합니다.");
+            }
+            if (definition.getReadTimeout() != null && !definition.getReadTimeout().isPositive()) {
+                errors.add(name + ": read-timeout은 0보다 커야 합니다.");
+            }
+            if (definition.getDeadline() != null && !definition.getDeadline().isPositive()) {
+                errors.add(name + ": deadline은 0보다 커야 합니다.");
+            }
+            validateRetry(definition.getRetry(), name, errors);
+            validateHedge(definition.getHedge(), name, errors);
+            if (errors.size() > errorCount) {
+                continue;
+            }
+            try {
+                List<UpstreamInstance> instances = new ArrayList<>();
+                for (int j = 0; j < baseUrls.size(); j++) {
+                    instances.add(new UpstreamInstance(statsFor.apply(baseUrls.get(j)),
+                            instanceDefinitions.get(j).getWeight()));
+                }
+                RouteOptions options = RouteOptions.builder()
+                        .maxBodySize(definition.getMaxBodySize())
+                        .coalesce(definition.isCoalesce())
+                        .cacheTtl(definition.getCacheTtl())
+                        .inferenceCacheTtl(definition.getInferenceCacheTtl())
+                        .retry(retryPolicy(definition.getRetry()))
+                        .hedge(hedgePolicy(definition.getHedge()))
+                        .streamIdleTimeout(definition.getStreamIdleTimeout())
+                        .async(definition.isAsync())
+                        .connectTimeout(definition.getConnectTimeout())
+                        .readTimeout(definition.getReadTimeout())
+                        .deadline(definition.getDeadline())
+                        .authPolicy(definition.getAuth())
+                        .build();
+                routes.add(new RouteConfig(definition.getId(), definition.getPath(), definition.getLoadBalancer(),
+                        instances, definition.getRewritePath(), options));
+            } catch (IllegalArgumentException e) {
+                errors.add(name + ": " + e.getMessage());
+            }
+        }
+
+        if (errors.isEmpty()) {
+            try {
+                return RouteIndex.compile(routes);
+            } catch (IllegalArgumentException e) {
+                errors.add(e.getMessage());
+            }
+        }
+        throw new IllegalArgumentException("라우트 설정 오류: " + String.join(", ", errors));
+    }
+
+    private static void validateRetry(RouteDefinition.Retry retry, String name, List<String> errors) {
+        if (retry == null) {
+            return;
+        }
+        if (retry.getMaxAttempts() < 1) {
+            errors.add(name + ": retry.max-attempts는 1 이상이어야 합니다.");
+        }
+        if (retry.getBackoff() == null || retry.getBackoff().isNegative()
+                || retry.getMaxBackoff() == null || retry.getMaxBackoff().compareTo(retry.getBackoff()) < 0) {
+            errors.add(name + ": retry.backoff는 0 이상, max-backoff는 backoff 이상이어야 합니다.");
+        }
+        if (retry.getRetryOn() == null || retry.getRetryOn().stream().anyMatch(status -> status < 400 || status > 599)) {
+            errors.add(name + ": retry.retry-on은 4xx/5xx 상태 코드여야 합니다.");
+        }
+    }
+
+    private static void validateHedge(RouteDefinition.Hedge hedge, String name, List<String> errors) {
+        if (hedge == null) {
+            return;
+        }
+        if (hedge.getDelay() != null && !hedge.getDelay().isPositive()) {
+            errors.add(name + ": hedge.delay는 0보다 커야 합니다.");
+        }
+        if (hedge.getPercentile() <= 0 || hedge.getPercentile() >= 100) {
+            errors.add(name + ": hedge.percentile은 0과 100 사이여야 합니다.");
+        }
+        if (hedge.getMinDelay() == null || hedge.getMinDelay().isNegative()
+                || hedge.getMaxDelay() == null || hedge.getMaxDelay().compareTo(hedge.getMinDelay()) < 0) {
+            errors.add(name + ": hedge.min-delay는 0 이상, max-delay는 min-delay 이상이어야 합니다.");
+        }
+    }
+
+    private static RetryPolicy retryPolicy(RouteDefinition.Retry retry) {
+        if (retry == null || retry.getMaxAttempts() <= 1) {
+            return null;
+        }
+        return new RetryPolicy(retry.getMaxAttempts(), retry.getBackoff(), retry.getMaxBackoff(), retry.getRetryOn());
+    }
+
+    private static HedgePolicy hedgePolicy(RouteDefinition.Hedge hedge) {
+        if (hedge == null) {
+            return null;
+        }
+        return new HedgePolicy(hedge.getDelay(), hedge.getPercentile(), hedge.getMinDelay(), hedge.getMaxDelay());
+    }
+
+    /**
+     * 인스턴스 목록 (instances 또는 쉼표로 구분한 uri)
+     */
+    private static List<RouteDefinition.Instance> instancesOf(RouteDefinition definition, String name,
+                                                             List<String> errors) {
+        boolean hasUri = definition.getUri() != null && !definition.getUri().isBlank();
+        if (!definition.getInstances().isEmpty()) {
+            if (hasUri) {
+                errors.add(name + ": uri와 instances는 함께 쓸 수 없습니다.");
+            }
+            return definition.getInstances();
+        }
+        List<RouteDefinition.Instance> instances = new ArrayList<>();
+        for (String uri : hasUri ? definition.getUri().split(",") : new String[]{definition.getUri()}) {
+            RouteDefinition.Instance instance = new RouteDefinition.Instance();
+            instance.setUri(uri);
+            instances.add(instance);
+        }
+        return instances;
+    }
+
+    private static String normalizeBaseUrl(String uri, String name, List<String> errors) {
+        if (uri == null || uri.isBlank()) {
+            errors.add(name + ": uri가 필요합니다.");
+            return null;
+        }
+        try {
+            URI parsed = URI.create(uri.trim());
+            String scheme = parsed.getScheme();
+            if (!"http".equalsIgnoreCase(scheme) && !"https".equalsIgnoreCase(scheme)) {
+                errors.add(name + ": uri는 http 또는 https여야 합니다.");
+                return null;
+            }
+            if (parsed.getHost() == null || parsed.getQuery() != null
+                    || (parsed.getPath() != null && !parsed.getPath().isEmpty() && !"/".equals(parsed.getPath()))) {
+                errors.add(name + ": uri는 scheme://host[:port] 형태의 base URL이어야 합니다.");
+                return null;
+            }
+            String normalized = uri.trim();
+            return normalized.endsWith("/") ? normalized.substring(0, normalized.length() - 1) : normalized;
+        } catch (IllegalArgumentException e) {
+            errors.add(name + ": 잘못된 uri입니다 (" + e.getMessage() + ")");
+            return null;
+        }
+    }
+
+    private List<RouteDefinition> loadDefinitions() {
+        if (!isFileSource()) {
+            return Binder.get(environment)
+                    .bind(ROUTES_PROPERTY, Bindable.listOf(RouteDefinition.class))
+                    .orElse(List.of());
+        }
+        Path path = Path.of(properties.getFile());
+        try {
+            fileLastModified = Files.getLastModifiedTime(path);
+            PropertySourceLoader loader = path.toString().endsWith(".properties")
+                    ? new PropertiesPropertySourceLoader()
+                    : new YamlPropertySourceLoader();
+            List<PropertySource<?>> sources = loader.load("gateway-routes", new FileSystemResource(path));
+            // 파일 안의 ${ENV:default} 플레이스홀더는 애플리케이션 환경으로 해석
+            Binder binder = new Binder(ConfigurationPropertySources.from(sources),
+                    new PropertySourcesPlaceholdersResolver(environment));
+            return binder.bind("routes", Bindable.listOf(RouteDefinition.class)).orElse(List.of());
+        } catch (IOException e) {
+            throw new IllegalStateException("라우트 파일을 읽을 수 없습니다: " + path + " (" + e.getMessage() + ")", e);
+        }
+    }
+
+    private void startWatcher() {
+        Path path = Path.of(properties.getFile());
+        watcher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "RouteTableWatcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = properties.getWatchInterval().toMillis();
+        watcher.scheduleWithFixedDelay(() -> {
+            try {
+                FileTime modified = Files.getLastModifiedTime(path);
+                if (!modified.equals(fileLastModified)) {
+                    reload();
+                }
+            } catch (IOException e) {
+                log.warn("라우트 파일 확인 실패, 기존 스냅샷 유지: file={}, error={}", path, e.getMessage());
+            }
+        }, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        log.info("라우트 파일 감시 시작: file={}, interval={}", path, properties.getWatchInterval());
+    }
+
+    private boolean isFileSource() {
+        return properties.getFile() != null && !properties.getFile().isBlank();
+    }
+
+    private String sourceName() {
+        return isFileSource() ? "file:" + properties.getFile() : "application:" + ROUTES_PROPERTY;
+    }
+}
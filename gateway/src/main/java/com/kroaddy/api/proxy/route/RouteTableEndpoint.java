@@ -0,0 +1,71 @@
+package com.kroaddy.api.proxy.route;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 현재 적용 중인 라우팅 테이블 조회 (/actuator/gatewayroutes)
+ */
+@Component
+@Endpoint(id = "gatewayroutes")
+public class RouteTableEndpoint {
+
+    private final RouteTable routeTable;
+
+    @Autowired
+    public RouteTableEndpoint(RouteTable routeTable) {
+        this.routeTable = routeTable;
+    }
+
+    @ReadOperation
+    public Map<String, Object> routes() {
+        RouteSnapshot snapshot = routeTable.current();
+
+        List<Map<String, Object>> routes = new ArrayList<>();
+        for (RouteConfig route : snapshot.index().getRoutes()) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("id", route.getId());
+            entry.put("path", route.getPattern());
+            entry.put("uri", route.getBaseUrl());
+            entry.put("loadBalancer", route.getStrategy());
+            entry.put("instances", route.getInstances().stream()
+                    .map(instance -> Map.of(
+                            "uri", instance.getBaseUrl(),
+                            "weight", instance.getWeight(),
+                            "inFlight", instance.getInFlight(),
+                            "latencyEwmaMillis", instance.getStats().latencyEwmaNanos() / 1_000_000,
+                            "available", instance.isAvailable(System.nanoTime())))
+                    .toList());
+            entry.put("rewritePath", route.getRewritePath());
+            entry.put("maxBodySize", route.getMaxBodySize());
+            entry.put("coalesce", route.isCoalesce());
+            entry.put("cacheTtl", route.getCacheTtl() != null ? route.getCacheTtl().toString() : null);
+            entry.put("inferenceCacheTtl",
+                    route.getInferenceCacheTtl() != null ? route.getInferenceCacheTtl().toString() : null);
+            entry.put("retry", route.getRetry());
+            entry.put("hedge", route.getHedge());
+            entry.put("streamIdleTimeout",
+                    route.getStreamIdleTimeout() != null ? route.getStreamIdleTimeout().toString() : null);
+            entry.put("async", route.isAsync());
+            entry.put("connectTimeout", route.getConnectTimeout() != null ? route.getConnectTimeout().toString() : null);
+            entry.put("readTimeout", route.getReadTimeout() != null ? route.getReadTimeout().toString() : null);
+            entry.put("deadline", route.getDeadline() != null ? route.getDeadline().toString() : null);
+            entry.put("auth", route.getAuthPolicy() != null ? route.getAuthPolicy().name().toLowerCase() : null);
+            routes.add(entry);
+        }
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("version", snapshot.version());
+        body.put("source", snapshot.source());
+        body.put("loadedAt", snapshot.loadedAt().toString());
+        body.put("routes", routes);
+        return body;
+    }
+}
@@ -0,0 +1,20 @@
+package com.kroaddy.api.proxy.route;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 라우팅 테이블 로드 설정
+ * 라우트 목록 자체(gateway.routing.routes)는 재로드 때마다 RouteTable이 Environment에서 직접 바인딩
+ */
+@Component
+@ConfigurationProperties(prefix = "gateway.routing")
+@Data
+public class RoutingProperties {
+    private String file; // 외부 라우트 파일 경로 (지정하면 routes 대신 이 파일을 사용하고 변경을 감시)
+    private Duration watchInterval = Duration.ofSeconds(5); // 외부 라우트 파일 변경 확인 주기
+    private Duration ewmaDecay = Duration.ofSeconds(10); // latency-ewma 지연 평균의 시간 상수
+}
@@ -0,0 +1,297 @@
+package com.kroaddy.api.proxy.stream;
+
+import com.kroaddy.api.proxy.UpstreamResponse;
+import com.kroaddy.api.proxy.resilience.UpstreamCall;
+import com.kroaddy.api.proxy.route.RouteConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 스트리밍 응답 전달 (SSE 토큰 스트림 등)
+ * 업스트림에서 읽은 만큼 바로 클라이언트로 쓰고 flush해서, 응답이 끝날 때까지 기다리지 않고 이벤트를 도착 즉시 전달
+ * 비동기 서블릿으로 전환해 요청 스레드는 바로 반환하고, 전달은 가상 스레드에서 수행
+ * 스트림 종료: 업스트림 EOF, 유휴 시간 초과(idle-timeout), 최대 길이 초과(max-duration), 클라이언트 연결 끊김, 업스트림 오류
+ * 유휴 시간은 감시 스레드가 1초마다 확인하고, 넘긴 스트림은 업스트림 연결을 끊어 읽기를 깨움
+ */
+@Slf4j
+@Component
+public class StreamRelay implements DisposableBean {
+
+    private static final long WATCHDOG_PERIOD_MILLIS = 1000;
+
+    private final StreamingProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final int bufferSize;
+    private final Set<Stream> streams = ConcurrentHashMap.newKeySet();
+    private final Map<String, AtomicInteger> active = new ConcurrentHashMap<>();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final ScheduledExecutorService watchdog;
+
+    @Autowired
+    public StreamRelay(StreamingProperties properties, MeterRegistry meterRegistry,
+                       @Value("${gateway.proxy.buffer-size:8192}") int bufferSize) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.bufferSize = bufferSize;
+        this.watchdog = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "StreamRelayWatchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+        watchdog.scheduleWithFixedDelay(this::closeIdleStreams, WATCHDOG_PERIOD_MILLIS, WATCHDOG_PERIOD_MILLIS,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 스트리밍으로 전달할 응답인지 판단
+     *
+     * @param capturing 캐시/병합을 위해 응답을 담으려는 호출이면 true (SSE만 스트리밍, chunked 응답은 담기 우선)
+     */
+    public boolean isStream(UpstreamResponse response, boolean capturing) {
+        if (!properties.isEnabled()) {
+            return false;
+        }
+        HttpHeaders headers = response.getHeaders();
+        MediaType contentType = contentType(headers);
+        if (contentType != null && MediaType.TEXT_EVENT_STREAM.isCompatibleWith(contentType)) {
+            return true;
+        }
+        return !capturing && properties.isChunked() && headers.getContentLength() < 0
+                && "chunked".equalsIgnoreCase(headers.getFirst(HttpHeaders.TRANSFER_ENCODING));
+    }
+
+    /**
+     * 응답을 스트리밍으로 전달 (call은 스트림이 끝나면 여기서 close)
+     * 비동기를 지원하지 않는 요청이면 현재 스레드에서 같은 방식으로 전달
+     */
+    public void relay(RouteConfig route, UpstreamCall call, HttpServletRequest request, HttpServletResponse response) {
+        Duration idleTimeout = route.getStreamIdleTimeout() != null
+                ? route.getStreamIdleTimeout() : properties.getIdleTimeout();
+        Stream stream = new Stream(route.getId(), call, response, idleTimeout.toNanos());
+        streams.add(stream);
+        active(stream.routeId).incrementAndGet();
+        if (!request.isAsyncSupported()) {
+            stream.run();
+            return;
+        }
+        AsyncContext async;
+        try {
+            async = request.startAsync();
+        } catch (IllegalStateException e) {
+            stream.run(); // 이미 비동기로 처리 중인 요청 등
+            return;
+        }
+        async.setTimeout(properties.getMaxDuration().toMillis());
+        async.addListener(stream);
+        stream.async = async;
+        try {
+            executor.execute(stream::run);
+        } catch (RejectedExecutionException e) {
+            stream.finish(0, "shutdown"); // 종료 중
+        }
+    }
+
+    public int getActiveStreams() {
+        return streams.size();
+    }
+
+    private void closeIdleStreams() {
+        long now = System.nanoTime();
+        for (Stream stream : streams) {
+            if (now - stream.lastActivityNanos > stream.idleTimeoutNanos) {
+                stream.abort("idle_timeout");
+            }
+        }
+    }
+
+    private AtomicInteger active(String routeId) {
+        return active.computeIfAbsent(routeId, id -> {
+            AtomicInteger count = new AtomicInteger();
+            Gauge.builder("gateway.streams.active", count, AtomicInteger::get)
+                    .description("전달 중인 스트리밍 응답 수")
+                    .tag("route", id)
+                    .register(meterRegistry);
+            return count;
+        });
+    }
+
+    private static MediaType contentType(HttpHeaders headers) {
+        try {
+            return headers.getContentType();
+        } catch (RuntimeException e) {
+            return null; // 잘못된 Content-Type은 일반 응답으로 처리
+        }
+    }
+
+    @Override
+    public void destroy() {
+        watchdog.shutdownNow();
+        streams.forEach(stream -> stream.abort("shutdown"));
+        executor.shutdownNow();
+    }
+
+    /**
+     * 스트림 한 건 (업스트림 읽기 -> 클라이언트 쓰기 + flush 반복)
+     */
+    private final class Stream implements AsyncListener {
+
+        private final String routeId;
+        private final UpstreamCall call;
+        private final HttpServletResponse response;
+        private final long idleTimeoutNanos;
+        private final long startNanos = System.nanoTime();
+        private final AtomicBoolean completed = new AtomicBoolean(); // AsyncContext.complete 한 번만
+        private volatile long lastActivityNanos = startNanos;
+        private volatile String abortReason; // 다른 스레드가 스트림을 끊은 이유
+        private volatile AsyncContext async;
+
+        Stream(String routeId, UpstreamCall call, HttpServletResponse response, long idleTimeoutNanos) {
+            this.routeId = routeId;
+            this.call = call;
+            this.response = response;
+            this.idleTimeoutNanos = idleTimeoutNanos;
+        }
+
+        void run() {
+            String reason = "eof";
+            long bytes = 0;
+            try {
+                UpstreamResponse upstream = call.getResponse();
+                upstream.relayHead(response);
+                // 프록시(nginx 등)가 이벤트를 모아 두지 않도록
+                response.setHeader("X-Accel-Buffering", "no");
+                response.flushBuffer(); // 첫 이벤트 전에 헤더부터 보냄
+                InputStream in = upstream.getBody();
+                OutputStream out = response.getOutputStream();
+                byte[] buffer = new byte[bufferSize];
+                while (true) {
+                    int read;
+                    try {
+                        read = in.read(buffer);
+                    } catch (IOException e) {
+                        reason = "upstream_error";
+                        break;
+                    }
+                    if (read == -1) {
+                        break;
+                    }
+                    lastActivityNanos = System.nanoTime();
+                    // 읽은 조각(보통 SSE 이벤트 하나 이상)마다 flush
+                    out.write(buffer, 0, read);
+                    out.flush();
+                    bytes += read;
+                }
+            } catch (IOException | RuntimeException e) {
+                // 클라이언트에 쓰는 중 실패 (연결 끊김, 비동기 요청 종료)
+                reason = "client_gone";
+            }
+            if (abortReason != null) {
+                reason = abortReason;
+            }
+            if (!"eof".equals(reason)) {
+                log.debug("스트림 종료: route={}, reason={}, bytes={}", routeId, reason, bytes);
+            }
+            finish(bytes, reason);
+        }
+
+        /**
+         * 다른 스레드에서 스트림 종료 (업스트림 연결을 끊어 막힌 읽기를 깨움)
+         */
+        void abort(String reason) {
+            if (abortReason == null) {
+                abortReason = reason;
+                call.getResponse().abort();
+            }
+        }
+
+        void finish(long bytes, String reason) {
+            streams.remove(this);
+            active(routeId).decrementAndGet();
+            try {
+                if (!"eof".equals(reason)) {
+                    // 끝나지 않은 업스트림 응답을 close가 끝까지 읽으며 기다리지 않도록
+                    call.getResponse().abort();
+                }
+                call.close();
+            } finally {
+                Counter.builder("gateway.streams.closed")
+                        .description("종료된 스트리밍 응답 (reason: eof / idle_timeout / max_duration / client_gone / upstream_error / shutdown)")
+                        .tag("route", routeId)
+                        .tag("reason", reason)
+                        .register(meterRegistry)
+                        .increment();
+                Counter.builder("gateway.streams.bytes")
+                        .description("스트리밍으로 전달한 본문 바이트")
+                        .tag("route", routeId)
+                        .register(meterRegistry)
+                        .increment(bytes);
+                Timer.builder("gateway.streams.duration")
+                        .description("스트림 시작부터 종료까지 걸린 시간")
+                        .tag("route", routeId)
+                        .register(meterRegistry)
+                        .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+                complete();
+            }
+        }
+
+        private void complete() {
+            AsyncContext context = async;
+            if (context != null && completed.compareAndSet(false, true)) {
+                try {
+                    context.complete();
+                } catch (IllegalStateException e) {
+                    // 컨테이너가 이미 요청을 끝냄
+                }
+            }
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            abort("max_duration");
+            complete();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            abort("client_gone");
+            complete();
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.kroaddy.api.proxy.stream;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 스트리밍 응답(SSE, 길이를 모르는 chunked 응답) 전달 설정
+ * 라우트별 유휴 시간은 라우트 정의의 stream-idle-timeout으로 지정
+ */
+@Component
+@ConfigurationProperties(prefix = "gateway.streaming")
+@Data
+public class StreamingProperties {
+    private boolean enabled = true;
+    private boolean chunked = true; // Content-Length 없는 chunked 응답도 청크마다 flush (캐시/병합으로 담는 응답 제외)
+    private Duration idleTimeout = Duration.ofSeconds(30); // 업스트림에서 데이터 없이 기다릴 최대 시간 (넘으면 스트림 종료)
+    private Duration maxDuration = Duration.ofMinutes(10); // 스트림 하나의 최대 길이 (비동기 요청 타임아웃)
+}
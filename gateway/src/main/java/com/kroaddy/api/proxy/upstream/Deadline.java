@@ -0,0 +1,90 @@
+package com.kroaddy.api.proxy.upstream;
+
+import java.time.Duration;
+
+/**
+ * 요청 전체 기한 (재시도/헤지/백오프를 모두 포함해 클라이언트에 응답해야 하는 시점)
+ * System.nanoTime 기준이므로 같은 프로세스 안에서만 의미가 있고, 업스트림에는 남은 시간을 {@link #HEADER}로 전달
+ */
+public final class Deadline {
+
+    /**
+     * 남은 기한(밀리초)을 전달하는 헤더
+     * 클라이언트가 보내면 라우트 기한보다 짧을 때 그 값을 따르고, 업스트림에는 게이트웨이가 남은 시간으로 덮어써 보냄
+     */
+    public static final String HEADER = "X-Request-Timeout-Ms";
+
+    private final long expiresAtNanos;
+
+    private Deadline(long expiresAtNanos) {
+        this.expiresAtNanos = expiresAtNanos;
+    }
+
+    /**
+     * 지금부터 timeout 뒤에 끝나는 기한
+     */
+    public static Deadline after(Duration timeout) {
+        return new Deadline(System.nanoTime() + timeout.toNanos());
+    }
+
+    /**
+     * {@link #HEADER} 값 파싱
+     *
+     * @return 남은 시간, 없거나 잘못된 값이면 null
+     */
+    public static Duration parse(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            long millis = Long.parseLong(value.trim());
+            return millis > 0 ? Duration.ofMillis(millis) : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return 둘 중 먼저 끝나는 기한 (한쪽이 null이면 다른 쪽)
+     */
+    public static Deadline earliest(Deadline a, Deadline b) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        return a.expiresAtNanos - b.expiresAtNanos <= 0 ? a : b;
+    }
+
+    /**
+     * @return 남은 시간 (이미 지났으면 0 이하)
+     */
+    public Duration remaining() {
+        return Duration.ofNanos(expiresAtNanos - System.nanoTime());
+    }
+
+    /**
+     * @return 남은 시간(밀리초, 0 이상)
+     */
+    public long remainingMillis() {
+        return Math.max(0, remaining().toMillis());
+    }
+
+    public boolean isExpired() {
+        return expiresAtNanos - System.nanoTime() <= 0;
+    }
+
+    /**
+     * @return timeout과 남은 시간 중 짧은 쪽 (timeout이 null이면 남은 시간)
+     */
+    public Duration cap(Duration timeout) {
+        Duration remaining = remaining();
+        return timeout == null || remaining.compareTo(timeout) < 0 ? remaining : timeout;
+    }
+
+    @Override
+    public String toString() {
+        return "Deadline[" + remainingMillis() + "ms]";
+    }
+}
@@ -0,0 +1,14 @@
+package com.kroaddy.api.proxy.upstream;
+
+import java.net.SocketTimeoutException;
+
+/**
+ * 요청 기한이 지나 업스트림 호출(또는 재시도)을 시작하지 않음
+ * 소켓 타임아웃과 같은 504로 처리되도록 SocketTimeoutException을 상속
+ */
+public class DeadlineExceededException extends SocketTimeoutException {
+
+    public DeadlineExceededException(Deadline deadline) {
+        super("요청 기한이 지났습니다. (" + deadline + ")");
+    }
+}
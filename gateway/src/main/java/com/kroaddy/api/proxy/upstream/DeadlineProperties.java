@@ -0,0 +1,35 @@
+package com.kroaddy.api.proxy.upstream;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 프록시 요청 기한 설정
+ * 기한은 재시도/헤지/백오프를 모두 포함한 시간이며, 지나면 504 (라우트의 deadline이 있으면 그 값이 우선)
+ */
+@Component
+@ConfigurationProperties(prefix = "gateway.deadline")
+@Data
+public class DeadlineProperties {
+    private Duration defaultTimeout; // 라우트에 deadline이 없을 때 기한, 비어 있으면 기한 없음 (시도마다 connect/read 타임아웃만 적용)
+    private boolean acceptClientHeader = true; // 클라이언트의 X-Request-Timeout-Ms가 더 짧으면 그 값을 기한으로 사용
+
+    /**
+     * 요청 기한 계산 (라우트 기한 또는 기본값과 클라이언트가 보낸 남은 시간 중 짧은 쪽)
+     *
+     * @param routeDeadline 라우트의 deadline (null이면 defaultTimeout)
+     * @param clientHeader  클라이언트가 보낸 X-Request-Timeout-Ms (null 가능)
+     * @return 기한, 어느 쪽도 없으면 null
+     */
+    public Deadline start(Duration routeDeadline, String clientHeader) {
+        Duration timeout = routeDeadline != null ? routeDeadline : defaultTimeout;
+        Duration client = acceptClientHeader ? Deadline.parse(clientHeader) : null;
+        if (client != null && (timeout == null || client.compareTo(timeout) < 0)) {
+            timeout = client;
+        }
+        return timeout != null ? Deadline.after(timeout) : null;
+    }
+}
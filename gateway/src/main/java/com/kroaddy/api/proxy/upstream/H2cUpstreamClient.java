@@ -0,0 +1,60 @@
+package com.kroaddy.api.proxy.upstream;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+/**
+ * JDK HttpClient 기반 h2c 업스트림 클라이언트
+ * HTTP/2 스트림 다중화로 커넥션 하나를 공유하므로 별도 풀(및 풀 메트릭)이 없음
+ * h2c를 지원하지 않는 서버라면 HTTP/1.1로 자동 폴백됨
+ */
+@Slf4j
+class H2cUpstreamClient implements UpstreamClient {
+
+    private final String baseUrl;
+    private final HttpClient httpClient;
+    private final JdkClientHttpRequestFactory requestFactory;
+
+    H2cUpstreamClient(String baseUrl, UpstreamClientProperties properties) {
+        this.baseUrl = baseUrl;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(properties.getConnectTimeout())
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+        this.requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        this.requestFactory.setReadTimeout(properties.getReadTimeout());
+    }
+
+    @Override
+    public ClientHttpRequestFactory requestFactory() {
+        return requestFactory;
+    }
+
+    @Override
+    public void prewarm(int connections) {
+        // HTTP/2는 커넥션 하나로 충분하므로 요청 한 번으로 업그레이드까지 마쳐 둠
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/"))
+                    .method("HEAD", HttpRequest.BodyPublishers.noBody())
+                    .build();
+            HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+            log.info("업스트림 커넥션 예열 완료: upstream={}, protocol={}", baseUrl, response.version());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("업스트림 커넥션 예열 실패: upstream={}, error={}", baseUrl, e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() {
+        httpClient.close();
+    }
+}
@@ -0,0 +1,167 @@
+package com.kroaddy.api.proxy.upstream;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.io.ConnectionEndpoint;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.pool.PoolReusePolicy;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Apache HttpClient 기반 HTTP/1.1 업스트림 클라이언트
+ * 업스트림마다 독립된 커넥션 풀을 두어 한 서비스의 지연이 다른 서비스의 커넥션을 잠식하지 않게 함
+ */
+@Slf4j
+class PooledUpstreamClient implements UpstreamClient {
+
+    private static final String METRICS_NAME = "gateway-upstream";
+
+    private final String baseUrl;
+    private final PoolingHttpClientConnectionManager connectionManager;
+    private final CloseableHttpClient httpClient;
+    private final HttpComponentsClientHttpRequestFactory requestFactory;
+    private final TimeValue keepAlive;
+    private final MeterRegistry meterRegistry;
+
+    PooledUpstreamClient(String baseUrl, UpstreamClientProperties properties, MeterRegistry meterRegistry) {
+        this.baseUrl = baseUrl;
+        this.keepAlive = TimeValue.of(properties.getKeepAlive());
+        this.meterRegistry = meterRegistry;
+
+        ConnectionConfig connectionConfig = ConnectionConfig.custom()
+                .setConnectTimeout(Timeout.of(properties.getConnectTimeout()))
+                .setSocketTimeout(Timeout.of(properties.getReadTimeout()))
+                .build();
+
+        this.connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(properties.getMaxConnections())
+                .setMaxConnPerRoute(properties.getMaxConnections())
+                .setDefaultConnectionConfig(connectionConfig)
+                // 최근 사용한 커넥션부터 재사용해 나머지는 유휴 정리 대상이 되도록 함
+                .setConnPoolPolicy(PoolReusePolicy.LIFO)
+                .build();
+
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectionRequestTimeout(Timeout.of(properties.getPoolAcquireTimeout()))
+                .setResponseTimeout(Timeout.of(properties.getReadTimeout()))
+                .build();
+
+        // 프록시 용도이므로 리다이렉트/쿠키/압축 해제/자동 재시도는 모두 끔 (클라이언트에 그대로 전달)
+        this.httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .setKeepAliveStrategy((response, context) -> keepAlive)
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(properties.getIdleEvictAfter()))
+                .disableRedirectHandling()
+                .disableCookieManagement()
+                .disableContentCompression()
+                .disableAutomaticRetries()
+                .build();
+
+        this.requestFactory = new HttpComponentsClientHttpRequestFactory(httpClient);
+        // UpstreamTimeout으로 타임아웃/기한을 재정의한 요청만 별도 RequestConfig 사용 (소켓 타임아웃도 응답 대기 시간으로 바뀜)
+        this.requestFactory.setHttpContextFactory((method, uri) -> {
+            UpstreamTimeout timeout = UpstreamTimeout.current();
+            if (timeout == null) {
+                return null;
+            }
+            HttpClientContext context = HttpClientContext.create();
+            context.setRequestConfig(requestConfig(requestConfig, timeout, properties));
+            return context;
+        });
+
+        // 풀 상태(leased/available/pending/max)를 Prometheus로 노출
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, METRICS_NAME,
+                Tags.of("upstream", baseUrl)).bindTo(meterRegistry);
+    }
+
+    /**
+     * 재정의 값으로 요청 설정 생성
+     * 기한이 있으면 풀 대기/연결/응답 대기 시간을 남은 시간으로 제한 (기한을 넘겨 기다리지 않도록)
+     */
+    @SuppressWarnings("deprecation") // 요청 단위 연결 타임아웃은 RequestConfig로만 지정 가능
+    private static RequestConfig requestConfig(RequestConfig defaults, UpstreamTimeout timeout,
+                                               UpstreamClientProperties properties) {
+        Duration connect = timeout.connectTimeout() != null ? timeout.connectTimeout() : properties.getConnectTimeout();
+        Duration read = timeout.readTimeout() != null ? timeout.readTimeout() : properties.getReadTimeout();
+        Duration poolAcquire = properties.getPoolAcquireTimeout();
+        Deadline deadline = timeout.deadline();
+        if (deadline != null) {
+            connect = atLeastOneMilli(deadline.cap(connect));
+            read = atLeastOneMilli(deadline.cap(read));
+            poolAcquire = atLeastOneMilli(deadline.cap(poolAcquire));
+        }
+        return RequestConfig.copy(defaults)
+                .setConnectionRequestTimeout(Timeout.of(poolAcquire))
+                .setConnectTimeout(Timeout.of(connect))
+                .setResponseTimeout(Timeout.of(read))
+                .build();
+    }
+
+    private static Duration atLeastOneMilli(Duration timeout) {
+        // 0은 "무제한"으로 해석되므로 이미 지난 기한도 최소 1ms로 바로 타임아웃되게 함
+        return timeout.toMillis() < 1 ? Duration.ofMillis(1) : timeout;
+    }
+
+    @Override
+    public ClientHttpRequestFactory requestFactory() {
+        return requestFactory;
+    }
+
+    @Override
+    public void prewarm(int connections) {
+        HttpRoute route = new HttpRoute(HttpHost.create(URI.create(baseUrl)));
+        List<ConnectionEndpoint> endpoints = new ArrayList<>();
+        try {
+            // 커넥션을 모두 빌린 상태에서 연결해야 같은 커넥션이 반복 재사용되지 않음
+            for (int i = 0; i < connections; i++) {
+                ConnectionEndpoint endpoint = connectionManager
+                        .lease("prewarm-" + i, route, Timeout.ofSeconds(5), null)
+                        .get(Timeout.ofSeconds(5));
+                endpoints.add(endpoint);
+                if (!endpoint.isConnected()) {
+                    connectionManager.connect(endpoint, null, HttpClientContext.create());
+                }
+            }
+            log.info("업스트림 커넥션 예열 완료: upstream={}, connections={}", baseUrl, endpoints.size());
+        } catch (Exception e) {
+            // 업스트림이 아직 떠 있지 않아도 게이트웨이 기동은 계속 진행
+            log.warn("업스트림 커넥션 예열 실패: upstream={}, error={}", baseUrl, e.getMessage());
+        } finally {
+            for (ConnectionEndpoint endpoint : endpoints) {
+                connectionManager.release(endpoint, null, keepAlive);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        httpClient.close(CloseMode.GRACEFUL);
+        // 같은 base URL로 다시 만들면 새 풀에 미터가 다시 등록되도록 이 풀의 미터 제거
+        meterRegistry.getMeters().stream()
+                .filter(meter -> METRICS_NAME.equals(meter.getId().getTag("httpclient"))
+                        && baseUrl.equals(meter.getId().getTag("upstream")))
+                .toList()
+                .forEach(meterRegistry::remove);
+    }
+}
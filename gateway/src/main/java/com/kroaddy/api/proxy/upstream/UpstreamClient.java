@@ -0,0 +1,24 @@
+package com.kroaddy.api.proxy.upstream;
+
+import org.springframework.http.client.ClientHttpRequestFactory;
+
+import java.io.Closeable;
+
+/**
+ * 업스트림 하나(base URL)에 대한 HTTP 클라이언트
+ * 커넥션 풀과 프로토콜(HTTP/1.1, h2c) 선택은 구현체가 책임짐
+ */
+public interface UpstreamClient extends Closeable {
+
+    /**
+     * 이 업스트림으로 요청을 보낼 요청 팩토리
+     */
+    ClientHttpRequestFactory requestFactory();
+
+    /**
+     * 기동 직후 커넥션을 미리 열어 첫 요청의 연결/핸드셰이크 비용을 제거
+     *
+     * @param connections 미리 열어둘 커넥션 수
+     */
+    void prewarm(int connections);
+}
@@ -0,0 +1,24 @@
+package com.kroaddy.api.proxy.upstream;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+@ConfigurationProperties(prefix = "gateway.upstream")
+@Data
+public class UpstreamClientProperties {
+    private int maxConnections = 50; // 업스트림(base URL)당 최대 커넥션 수
+    private Duration connectTimeout = Duration.ofSeconds(10);
+    private Duration readTimeout = Duration.ofSeconds(30);
+    private Duration poolAcquireTimeout = Duration.ofSeconds(5); // 풀이 가득 찼을 때 커넥션 대기 시간
+    private Duration keepAlive = Duration.ofSeconds(30); // 업스트림이 Keep-Alive 헤더를 주지 않을 때 재사용 기간
+    private Duration idleEvictAfter = Duration.ofSeconds(30); // 유휴 커넥션 정리 기준
+    private int prewarmConnections = 2; // 기동 시 업스트림별로 미리 열어둘 커넥션 수
+    private Duration retireAfter = Duration.ofSeconds(60); // 라우트에서 빠진 업스트림의 풀을 닫기까지 대기 (진행 중 요청 완료용)
+    private List<String> h2cUpstreams = new ArrayList<>(); // h2c(HTTP/2 평문)로 붙을 업스트림 base URL
+}
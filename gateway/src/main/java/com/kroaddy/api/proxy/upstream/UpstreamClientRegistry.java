@@ -0,0 +1,140 @@
+package com.kroaddy.api.proxy.upstream;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 업스트림(base URL)별 HTTP 클라이언트 레지스트리
+ * 요청 URI의 scheme://host:port로 클라이언트를 골라 요청을 생성하므로 호출 측은 풀 구성을 알 필요가 없음
+ * 라우트 재로드로 빠진 업스트림은 retire-after 후 풀을 닫고 미터를 제거 (재로드마다 풀/미터가 쌓이지 않도록)
+ */
+@Slf4j
+@Component
+public class UpstreamClientRegistry implements DisposableBean {
+
+    private final UpstreamClientProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final AsyncTaskExecutor taskExecutor;
+    private final Map<String, UpstreamClient> clients = new ConcurrentHashMap<>();
+
+    @Autowired
+    public UpstreamClientRegistry(UpstreamClientProperties properties, MeterRegistry meterRegistry,
+                                  @Qualifier("applicationTaskExecutor") AsyncTaskExecutor taskExecutor) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.taskExecutor = taskExecutor;
+    }
+
+    /**
+     * 라우트 테이블의 업스트림을 미리 등록 (기동 시 예열 대상)
+     *
+     * @param baseUrls 업스트림 base URL 목록
+     */
+    public void registerAll(Collection<String> baseUrls) {
+        for (String baseUrl : baseUrls) {
+            clientFor(URI.create(baseUrl));
+        }
+    }
+
+    /**
+     * 현재 라우트 스냅샷에 없는 업스트림 클라이언트 정리
+     * 이전 스냅샷으로 진행 중인 요청이 끝나도록 retire-after만큼 기다린 뒤 닫음
+     * (그 사이 같은 업스트림으로 요청이 오면 새 클라이언트를 만들고, 다음 재로드 때 다시 정리)
+     *
+     * @param baseUrls 현재 라우트 테이블의 업스트림 base URL 목록
+     */
+    public void retainOnly(Collection<String> baseUrls) {
+        Set<String> current = baseUrls.stream()
+                .map(url -> baseUrlOf(URI.create(url)))
+                .collect(Collectors.toSet());
+        clients.forEach((baseUrl, client) -> {
+            if (!current.contains(baseUrl) && clients.remove(baseUrl, client)) {
+                log.info("업스트림 클라이언트 정리 예약: upstream={}, after={}", baseUrl, properties.getRetireAfter());
+                CompletableFuture.runAsync(() -> close(baseUrl, client), CompletableFuture.delayedExecutor(
+                        properties.getRetireAfter().toMillis(), TimeUnit.MILLISECONDS, taskExecutor));
+            }
+        });
+    }
+
+    /**
+     * @return 클라이언트가 있는 업스트림 (scheme://host:port)
+     */
+    Set<String> baseUrls() {
+        return Set.copyOf(clients.keySet());
+    }
+
+    /**
+     * 업스트림 요청 생성 (ClientHttpRequestFactory 시그니처)
+     */
+    public ClientHttpRequest createRequest(URI uri, HttpMethod method) throws IOException {
+        return clientFor(uri).requestFactory().createRequest(uri, method);
+    }
+
+    /**
+     * 기동 완료 후 등록된 업스트림 커넥션 예열
+     * 업스트림이 느리거나 내려가 있어도 기동이 지연되지 않도록 업스트림마다 비동기로 수행
+     * (spring.threads.virtual.enabled=true면 applicationTaskExecutor가 가상 스레드를 사용)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void prewarm() {
+        int connections = properties.getPrewarmConnections();
+        if (connections <= 0) {
+            return;
+        }
+        clients.values().forEach(client -> taskExecutor.execute(() -> client.prewarm(connections)));
+    }
+
+    @Override
+    public void destroy() {
+        clients.forEach(this::close);
+        clients.clear();
+    }
+
+    private void close(String baseUrl, UpstreamClient client) {
+        try {
+            client.close();
+        } catch (Exception e) {
+            log.warn("업스트림 클라이언트 종료 실패: upstream={}, error={}", baseUrl, e.getMessage());
+        }
+    }
+
+    private UpstreamClient clientFor(URI uri) {
+        return clients.computeIfAbsent(baseUrlOf(uri), this::createClient);
+    }
+
+    private UpstreamClient createClient(String baseUrl) {
+        boolean h2c = properties.getH2cUpstreams().stream()
+                .anyMatch(url -> baseUrlOf(URI.create(url)).equals(baseUrl));
+        log.info("업스트림 클라이언트 생성: upstream={}, protocol={}, maxConnections={}",
+                baseUrl, h2c ? "h2c" : "http/1.1", properties.getMaxConnections());
+        return h2c
+                ? new H2cUpstreamClient(baseUrl, properties)
+                : new PooledUpstreamClient(baseUrl, properties, meterRegistry);
+    }
+
+    private static String baseUrlOf(URI uri) {
+        String scheme = uri.getScheme().toLowerCase(Locale.ROOT);
+        int port = uri.getPort() != -1 ? uri.getPort() : ("https".equals(scheme) ? 443 : 80);
+        return scheme + "://" + uri.getHost().toLowerCase(Locale.ROOT) + ":" + port;
+    }
+}
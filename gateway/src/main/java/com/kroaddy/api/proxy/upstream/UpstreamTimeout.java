@@ -0,0 +1,73 @@
+package com.kroaddy.api.proxy.upstream;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * 현재 스레드에서 여는 업스트림 요청의 타임아웃 재정의
+ * 기본값은 커넥션 풀의 gateway.upstream.connect-timeout / read-timeout이며,
+ * 라우트별 타임아웃, 요청 기한, 오래 걸리는 비동기 작업처럼 특정 호출만 다르게 기다릴 때 사용
+ * 중첩하면 안쪽의 connect/read 값이 우선하고, 기한은 더 이른 쪽을 따름
+ * (h2c 업스트림은 클라이언트 단위 설정만 지원하므로 적용되지 않음)
+ *
+ * @param connectTimeout 연결 수립 대기 시간 (null이면 바깥/풀 기본값)
+ * @param readTimeout    응답 대기 시간 (null이면 바깥/풀 기본값)
+ * @param deadline       요청 전체 기한 (null이면 없음), 연결/응답 대기 시간은 남은 시간을 넘지 않음
+ */
+public record UpstreamTimeout(Duration connectTimeout, Duration readTimeout, Deadline deadline) {
+
+    private static final ThreadLocal<UpstreamTimeout> CURRENT = new ThreadLocal<>();
+
+    @FunctionalInterface
+    public interface IoSupplier<T> {
+        T get() throws IOException;
+    }
+
+    /**
+     * readTimeout을 적용한 상태로 업스트림 요청을 엶
+     */
+    public static <T> T withReadTimeout(Duration readTimeout, IoSupplier<T> action) throws IOException {
+        return with(null, readTimeout, null, action);
+    }
+
+    /**
+     * 타임아웃과 기한을 적용한 상태로 업스트림 요청을 엶
+     */
+    public static <T> T with(Duration connectTimeout, Duration readTimeout, Deadline deadline,
+                             IoSupplier<T> action) throws IOException {
+        UpstreamTimeout previous = CURRENT.get();
+        if (previous == null && connectTimeout == null && readTimeout == null && deadline == null) {
+            return action.get();
+        }
+        CURRENT.set(previous == null
+                ? new UpstreamTimeout(connectTimeout, readTimeout, deadline)
+                : new UpstreamTimeout(
+                        connectTimeout != null ? connectTimeout : previous.connectTimeout,
+                        readTimeout != null ? readTimeout : previous.readTimeout,
+                        Deadline.earliest(previous.deadline, deadline)));
+        try {
+            return action.get();
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    /**
+     * @return 현재 스레드의 재정의 값, 없으면 null
+     */
+    static UpstreamTimeout current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * @return 현재 스레드에서 여는 요청의 기한, 없으면 null
+     */
+    public static Deadline currentDeadline() {
+        UpstreamTimeout current = CURRENT.get();
+        return current != null ? current.deadline : null;
+    }
+}
@@ -0,0 +1,165 @@
+package com.kroaddy.api.proxy.websocket;
+
+import com.kroaddy.api.jwt.JwtIdentity;
+import com.kroaddy.api.jwt.TokenValidation;
+import com.kroaddy.api.jwt.VerifiedTokenCache;
+import com.kroaddy.api.proxy.auth.AuthPolicy;
+import com.kroaddy.api.proxy.auth.IdentitySigner;
+import com.kroaddy.api.proxy.route.RouteConfig;
+import com.kroaddy.api.proxy.route.RouteTable;
+import com.kroaddy.api.ratelimit.ClientAddressResolver;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.server.HandshakeInterceptor;
+
+import java.util.Map;
+
+/**
+ * WebSocket 핸드셰이크 검사 (업그레이드 전에 HTTP 상태로 거절)
+ * - 라우트: 라우팅 테이블에 없는 경로는 404
+ * - 인증: HTTP 프록시(ProxyAuthFilter)와 같은 라우트 정책(required / optional / none)으로
+ *   Authorization 쿠키(또는 Bearer 헤더)의 JWT를 VerifiedTokenCache로 검증 (로그아웃한 토큰도 거절),
+ *   required 라우트에서 없거나 유효하지 않으면 401
+ * - 사용자별 동시 소켓 수: 이미 한도만큼 열려 있으면 429 (익명 연결은 클라이언트 IP별)
+ * 통과하면 라우트, 업스트림 경로, 사용자, 업스트림에 넘길 헤더를 세션 속성으로 전달
+ * (사용자 헤더의 서명은 WebSocketProxyHandler가 업스트림 인스턴스를 고른 뒤 추가)
+ */
+public class WebSocketAuthInterceptor implements HandshakeInterceptor {
+
+    static final String ROUTE = "gateway.websocket.route";
+    static final String UPSTREAM_PATH = "gateway.websocket.upstreamPath";
+    static final String USER = "gateway.websocket.user";
+    static final String UPSTREAM_HEADERS = "gateway.websocket.upstreamHeaders";
+
+    // 익명 연결의 동시 소켓 수 키 접두사 (JWT subject와 겹치지 않도록)
+    private static final String ANONYMOUS = "anonymous:";
+
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final RouteTable routeTable;
+    private final AuthPolicy defaultPolicy;
+    private final ClientAddressResolver clientAddressResolver;
+    private final WebSocketUserLimiter userLimiter;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * @param defaultPolicy 라우트에 auth가 없을 때 적용할 정책 (gateway.auth.default-policy)
+     */
+    public WebSocketAuthInterceptor(VerifiedTokenCache verifiedTokenCache, RouteTable routeTable,
+                                    AuthPolicy defaultPolicy, ClientAddressResolver clientAddressResolver,
+                                    WebSocketUserLimiter userLimiter, MeterRegistry meterRegistry) {
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.routeTable = routeTable;
+        this.defaultPolicy = defaultPolicy;
+        this.clientAddressResolver = clientAddressResolver;
+        this.userLimiter = userLimiter;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public boolean beforeHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                                   WebSocketHandler wsHandler, Map<String, Object> attributes) {
+        if (!(request instanceof ServletServerHttpRequest servletRequest)) {
+            response.setStatusCode(HttpStatus.BAD_REQUEST);
+            return false;
+        }
+        HttpServletRequest httpRequest = servletRequest.getServletRequest();
+        String path = httpRequest.getRequestURI();
+        RouteConfig route = routeTable.current().match(path);
+        if (route == null) {
+            count("none", "no_route");
+            response.setStatusCode(HttpStatus.NOT_FOUND);
+            return false;
+        }
+
+        AuthPolicy policy = route.getAuthPolicy() != null ? route.getAuthPolicy() : defaultPolicy;
+        JwtIdentity identity = null;
+        if (policy != AuthPolicy.NONE) {
+            TokenValidation validation = verifiedTokenCache.validate(extractToken(httpRequest));
+            if (validation.isValid()) {
+                identity = validation.identity();
+            } else if (policy == AuthPolicy.REQUIRED) {
+                count(route.getId(), "unauthorized");
+                response.setStatusCode(HttpStatus.UNAUTHORIZED);
+                return false;
+            }
+        }
+        String clientAddress = clientAddressResolver.resolve(httpRequest);
+        String user = identity != null ? identity.subject() : ANONYMOUS + clientAddress;
+        if (!userLimiter.hasCapacity(user)) {
+            count(route.getId(), "user_limit");
+            response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+            return false;
+        }
+
+        String upstreamPath = route.rewrite(path);
+        String query = httpRequest.getQueryString();
+        attributes.put(ROUTE, route);
+        attributes.put(UPSTREAM_PATH, query != null ? upstreamPath + "?" + query : upstreamPath);
+        attributes.put(USER, user);
+        attributes.put(UPSTREAM_HEADERS, upstreamHeaders(httpRequest, clientAddress, identity));
+        count(route.getId(), "accepted");
+        return true;
+    }
+
+    @Override
+    public void afterHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                               WebSocketHandler wsHandler, Exception exception) {
+    }
+
+    private String extractToken(HttpServletRequest request) {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header != null && header.startsWith("Bearer ")) {
+            return header.substring(7);
+        }
+        // 브라우저 WebSocket은 헤더를 지정할 수 없으므로 보통 쿠키로 인증
+        Cookie[] cookies = request.getCookies();
+        if (cookies != null) {
+            for (Cookie cookie : cookies) {
+                if ("Authorization".equals(cookie.getName())) {
+                    return cookie.getValue();
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 업스트림 핸드셰이크에 넘길 헤더 (HTTP 프록시와 같이 쿠키 전달, 인증했으면 사용자 헤더 추가)
+     * 새 헤더에 필요한 값만 넣으므로 클라이언트가 보낸 X-User-Id 등은 전달되지 않음
+     *
+     * @param clientAddress ClientAddressResolver가 정한 클라이언트 IP
+     *                      (클라이언트가 보낸 X-Forwarded-For를 이어 붙이면 꾸민 IP가 그대로 전달됨)
+     */
+    private static HttpHeaders upstreamHeaders(HttpServletRequest request, String clientAddress, JwtIdentity identity) {
+        HttpHeaders headers = new HttpHeaders();
+        String cookie = request.getHeader(HttpHeaders.COOKIE);
+        if (cookie != null) {
+            headers.set(HttpHeaders.COOKIE, cookie);
+        }
+        headers.set("X-Forwarded-For", clientAddress);
+        if (identity != null) {
+            String[] values = IdentitySigner.identity(identity.subject(), identity.provider());
+            for (int i = 0; i < values.length; i++) {
+                headers.set(IdentitySigner.IDENTITY_HEADERS.get(i), values[i]);
+            }
+        }
+        return headers;
+    }
+
+    private void count(String routeId, String result) {
+        Counter.builder("gateway.websocket.handshakes")
+                .description("WebSocket 핸드셰이크 결과 (result: accepted / unauthorized / user_limit / no_route)")
+                .tag("route", routeId)
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment();
+    }
+}
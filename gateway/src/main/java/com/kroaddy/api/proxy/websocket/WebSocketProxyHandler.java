@@ -0,0 +1,317 @@
+package com.kroaddy.api.proxy.websocket;
+
+import com.kroaddy.api.proxy.auth.IdentitySigner;
+import com.kroaddy.api.proxy.balancer.UpstreamInstance;
+import com.kroaddy.api.proxy.route.RouteConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.adapter.NativeWebSocketSession;
+import org.springframework.web.socket.client.WebSocketClient;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+import org.springframework.web.socket.handler.SessionLimitExceededException;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * WebSocket 프록시 (클라이언트 소켓 하나당 업스트림 소켓 하나를 열어 프레임을 양방향 중계)
+ * - 부분 메시지(프레임 조각)를 받은 그대로 보내므로 큰 메시지도 통째로 모으지 않음
+ * - 배압: 받은 쪽 스레드가 반대쪽으로 보내기를 마칠 때까지 다음 프레임을 읽지 않음 (TCP 수준에서 보내는 쪽이 멈춤)
+ *   상대가 send-timeout 동안 받지 않거나 밀린 프레임이 buffer-size-limit을 넘으면 양쪽 연결을 끊음
+ * - 한쪽이 닫히면 같은 상태 코드로 반대쪽도 닫음
+ * - 업스트림 핸드셰이크의 사용자 헤더는 인스턴스를 고른 뒤 IdentitySigner로 서명 (HTTP 프록시의 ProxyForwarder와 같은 형식)
+ */
+@Slf4j
+public class WebSocketProxyHandler implements WebSocketHandler {
+
+    static final CloseStatus BAD_GATEWAY = new CloseStatus(1014, "Bad gateway");
+    private static final String BRIDGE = "gateway.websocket.bridge";
+    // Tomcat 세션에서 동기 보내기를 기다리는 최대 시간 (밀리초, Long)
+    private static final String BLOCKING_SEND_TIMEOUT = "org.apache.tomcat.websocket.BLOCKING_SEND_TIMEOUT";
+
+    private final WebSocketClient client;
+    private final WebSocketUserLimiter userLimiter;
+    private final WebSocketProxyProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final IdentitySigner identitySigner; // 프록시 인증을 끄면 null (사용자 헤더를 넘기지 않음)
+    private final Map<String, AtomicInteger> connections = new ConcurrentHashMap<>();
+
+    public WebSocketProxyHandler(WebSocketClient client, WebSocketUserLimiter userLimiter,
+                                 WebSocketProxyProperties properties, MeterRegistry meterRegistry) {
+        this(client, userLimiter, properties, meterRegistry, null);
+    }
+
+    public WebSocketProxyHandler(WebSocketClient client, WebSocketUserLimiter userLimiter,
+                                 WebSocketProxyProperties properties, MeterRegistry meterRegistry,
+                                 IdentitySigner identitySigner) {
+        this.client = client;
+        this.userLimiter = userLimiter;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.identitySigner = identitySigner;
+    }
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+        RouteConfig route = (RouteConfig) session.getAttributes().get(WebSocketAuthInterceptor.ROUTE);
+        String user = (String) session.getAttributes().get(WebSocketAuthInterceptor.USER);
+        // 핸드셰이크 검사 이후 동시에 열린 소켓까지 포함해 여기서 한도 확정
+        if (!userLimiter.tryAcquire(user)) {
+            closed(route.getId(), "user_limit");
+            session.close(CloseStatus.POLICY_VIOLATION.withReason("Too many connections"));
+            return;
+        }
+        Bridge bridge = new Bridge(route.getId(), user, decorate(session));
+        session.getAttributes().put(BRIDGE, bridge);
+        connections(route.getId()).incrementAndGet();
+
+        UpstreamInstance instance = route.choose();
+        if (instance == null) {
+            bridge.close(BAD_GATEWAY, "upstream_unavailable");
+            return;
+        }
+        URI uri = URI.create(webSocketUrl(instance.getBaseUrl())
+                + session.getAttributes().get(WebSocketAuthInterceptor.UPSTREAM_PATH));
+        WebSocketHttpHeaders headers = new WebSocketHttpHeaders(
+                (HttpHeaders) session.getAttributes().get(WebSocketAuthInterceptor.UPSTREAM_HEADERS));
+        sign(uri, headers);
+        // 업스트림이 연결될 때까지 클라이언트 프레임은 읽지 않음 (연결 콜백이 끝나야 읽기 시작)
+        CompletableFuture<WebSocketSession> connecting = client.execute(new UpstreamHandler(bridge), headers, uri);
+        try {
+            bridge.upstream = decorate(connecting.get(properties.getConnectTimeout().toMillis(), TimeUnit.MILLISECONDS));
+        } catch (TimeoutException | ExecutionException e) {
+            log.warn("업스트림 WebSocket 연결 실패: route={}, uri={}, error={}", route.getId(), uri,
+                    e instanceof ExecutionException ? e.getCause() : e.getClass().getSimpleName());
+            // 늦게 연결되면 바로 닫음
+            connecting.thenAccept(WebSocketProxyHandler::closeQuietly);
+            bridge.close(BAD_GATEWAY, "upstream_unavailable");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            connecting.thenAccept(WebSocketProxyHandler::closeQuietly);
+            bridge.close(CloseStatus.GOING_AWAY, "error");
+        }
+    }
+
+    @Override
+    public void handleMessage(WebSocketSession session, WebSocketMessage<?> message) {
+        Bridge bridge = (Bridge) session.getAttributes().get(BRIDGE);
+        if (bridge != null) {
+            bridge.forward(bridge.upstream, message, "client_to_upstream");
+        }
+    }
+
+    @Override
+    public void handleTransportError(WebSocketSession session, Throwable exception) {
+        Bridge bridge = (Bridge) session.getAttributes().get(BRIDGE);
+        if (bridge != null) {
+            bridge.close(CloseStatus.SERVER_ERROR, "error");
+        }
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        Bridge bridge = (Bridge) session.getAttributes().get(BRIDGE);
+        if (bridge != null) {
+            bridge.close(sendable(status, CloseStatus.GOING_AWAY), "client");
+        }
+    }
+
+    @Override
+    public boolean supportsPartialMessages() {
+        return true;
+    }
+
+    /**
+     * 업스트림 핸드셰이크(GET ws 대상)에 사용자 헤더 서명 추가, 서명할 수 없으면 사용자 헤더를 넘기지 않음
+     */
+    void sign(URI uri, HttpHeaders headers) {
+        if (identitySigner != null) {
+            identitySigner.sign(HttpMethod.GET, uri, headers, System.currentTimeMillis() / 1000);
+        } else {
+            IdentitySigner.HEADERS.forEach(headers::remove);
+        }
+    }
+
+    private WebSocketSession decorate(WebSocketSession session) {
+        if (session instanceof NativeWebSocketSession nativeSession) {
+            jakarta.websocket.Session standard = nativeSession.getNativeSession(jakarta.websocket.Session.class);
+            if (standard != null) {
+                standard.getUserProperties().put(BLOCKING_SEND_TIMEOUT, properties.getSendTimeout().toMillis());
+            }
+        }
+        return new ConcurrentWebSocketSessionDecorator(session, (int) properties.getSendTimeout().toMillis(),
+                properties.getBufferSizeLimit());
+    }
+
+    private AtomicInteger connections(String routeId) {
+        return connections.computeIfAbsent(routeId, id -> {
+            AtomicInteger count = new AtomicInteger();
+            Gauge.builder("gateway.websocket.connections", count, AtomicInteger::get)
+                    .description("중계 중인 WebSocket 연결 수")
+                    .tag("route", id)
+                    .register(meterRegistry);
+            return count;
+        });
+    }
+
+    private void closed(String routeId, String reason) {
+        Counter.builder("gateway.websocket.closed")
+                .description("종료된 WebSocket 연결 (reason: client / upstream / upstream_unavailable / overflow / user_limit / error)")
+                .tag("route", routeId)
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    static String webSocketUrl(String baseUrl) {
+        if (baseUrl.startsWith("https://")) {
+            return "wss://" + baseUrl.substring("https://".length());
+        }
+        if (baseUrl.startsWith("http://")) {
+            return "ws://" + baseUrl.substring("http://".length());
+        }
+        return baseUrl;
+    }
+
+    /**
+     * 받은 상태 코드를 상대에게 그대로 보낼 수 없으면(1005/1006/1015는 전송 불가) 대체 코드 사용
+     */
+    private static CloseStatus sendable(CloseStatus status, CloseStatus fallback) {
+        int code = status.getCode();
+        return code == 1005 || code == 1006 || code == 1015 ? fallback : status;
+    }
+
+    private static void closeQuietly(WebSocketSession session) {
+        try {
+            session.close(CloseStatus.GOING_AWAY);
+        } catch (IOException | RuntimeException e) {
+            // 이미 닫힘
+        }
+    }
+
+    /**
+     * 클라이언트 소켓과 업스트림 소켓 한 쌍
+     */
+    private final class Bridge {
+
+        private final String routeId;
+        private final String user;
+        private final WebSocketSession client;
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private volatile WebSocketSession upstream;
+
+        Bridge(String routeId, String user, WebSocketSession client) {
+            this.routeId = routeId;
+            this.user = user;
+            this.client = client;
+        }
+
+        void forward(WebSocketSession target, WebSocketMessage<?> message, String direction) {
+            if (target == null || !(message instanceof TextMessage || message instanceof BinaryMessage)) {
+                return; // ping/pong은 각 구간에서 컨테이너가 처리
+            }
+            try {
+                // 부분 메시지는 isLast를 유지한 채 그대로 전달
+                target.sendMessage(message);
+            } catch (SessionLimitExceededException e) {
+                close(CloseStatus.SESSION_NOT_RELIABLE, "overflow");
+                return;
+            } catch (IOException | RuntimeException e) {
+                close(target == client ? CloseStatus.GOING_AWAY : BAD_GATEWAY, "error");
+                return;
+            }
+            Counter.builder("gateway.websocket.messages")
+                    .description("중계한 WebSocket 프레임 수 (부분 메시지 포함)")
+                    .tag("route", routeId)
+                    .tag("direction", direction)
+                    .register(meterRegistry)
+                    .increment();
+            Counter.builder("gateway.websocket.bytes")
+                    .description("중계한 WebSocket 페이로드 바이트")
+                    .tag("route", routeId)
+                    .tag("direction", direction)
+                    .register(meterRegistry)
+                    .increment(message.getPayloadLength());
+        }
+
+        /**
+         * 양쪽을 닫고 정리 (처음 한 번만, 이후 호출은 무시)
+         */
+        void close(CloseStatus status, String reason) {
+            if (!closed.compareAndSet(false, true)) {
+                return;
+            }
+            userLimiter.release(user);
+            connections(routeId).decrementAndGet();
+            closed(routeId, reason);
+            closeSession(upstream, status);
+            closeSession(client, status);
+        }
+
+        private void closeSession(WebSocketSession session, CloseStatus status) {
+            if (session == null || !session.isOpen()) {
+                return;
+            }
+            try {
+                session.close(status);
+            } catch (IOException | RuntimeException e) {
+                // 이미 끊긴 연결
+            }
+        }
+    }
+
+    /**
+     * 업스트림 쪽 소켓 이벤트를 클라이언트로 전달
+     */
+    private final class UpstreamHandler implements WebSocketHandler {
+
+        private final Bridge bridge;
+
+        UpstreamHandler(Bridge bridge) {
+            this.bridge = bridge;
+        }
+
+        @Override
+        public void afterConnectionEstablished(WebSocketSession session) {
+        }
+
+        @Override
+        public void handleMessage(WebSocketSession session, WebSocketMessage<?> message) {
+            bridge.forward(bridge.client, message, "upstream_to_client");
+        }
+
+        @Override
+        public void handleTransportError(WebSocketSession session, Throwable exception) {
+            bridge.close(BAD_GATEWAY, "error");
+        }
+
+        @Override
+        public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+            bridge.close(sendable(status, BAD_GATEWAY), "upstream");
+        }
+
+        @Override
+        public boolean supportsPartialMessages() {
+            return true;
+        }
+    }
+}
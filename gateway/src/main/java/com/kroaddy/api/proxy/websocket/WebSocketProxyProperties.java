@@ -0,0 +1,29 @@
+package com.kroaddy.api.proxy.websocket;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * WebSocket 프록시 설정
+ * 업스트림은 라우팅 테이블에서 경로로 찾고(http -> ws), 핸드셰이크 때 JWT 쿠키로 사용자를 확인
+ */
+@Component
+@ConfigurationProperties(prefix = "gateway.websocket")
+@Data
+public class WebSocketProxyProperties {
+    private boolean enabled = true;
+    private List<String> paths = new ArrayList<>(List.of("/api/ai/chatbot/**", "/api/ai/crawler/**")); // 업그레이드를 받을 경로
+    // 허용할 Origin (쿠키 인증이므로 다른 사이트에서 연결하지 못하도록 CORS와 같은 목록만 허용)
+    private List<String> allowedOriginPatterns = new ArrayList<>(List.of(
+            "https://www.hatchery.kr", "https://www-hatchery-kr.vercel.app", "https://*.vercel.app",
+            "http://localhost:*", "http://127.0.0.1:*"));
+    private int maxConnectionsPerUser = 5; // 사용자(JWT subject)별 동시 소켓 수 (인스턴스별)
+    private Duration connectTimeout = Duration.ofSeconds(10); // 업스트림 WebSocket 연결 대기
+    private Duration sendTimeout = Duration.ofSeconds(10); // 상대가 프레임을 받지 않을 때 보내기를 기다리는 최대 시간 (넘으면 연결 종료)
+    private int bufferSizeLimit = 512 * 1024; // 보내기가 밀릴 때 연결별로 쌓아 둘 최대 바이트 (넘으면 연결 종료)
+}
@@ -0,0 +1,56 @@
+package com.kroaddy.api.proxy.websocket;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 사용자별 동시 WebSocket 수 제한 (인스턴스별)
+ * 핸드셰이크에서 hasCapacity로 미리 거절하고, 연결이 맺어진 뒤 tryAcquire로 확정 (동시에 들어온 핸드셰이크 경합 처리)
+ */
+@Component
+public class WebSocketUserLimiter {
+
+    private final WebSocketProxyProperties properties;
+    private final Map<String, AtomicInteger> connections = new ConcurrentHashMap<>();
+
+    @Autowired
+    public WebSocketUserLimiter(WebSocketProxyProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        Gauge.builder("gateway.websocket.users", connections, Map::size)
+                .description("WebSocket을 하나 이상 연 사용자 수")
+                .register(meterRegistry);
+    }
+
+    public boolean hasCapacity(String user) {
+        AtomicInteger count = connections.get(user);
+        return count == null || count.get() < properties.getMaxConnectionsPerUser();
+    }
+
+    public boolean tryAcquire(String user) {
+        boolean[] acquired = new boolean[1];
+        connections.compute(user, (key, count) -> {
+            AtomicInteger current = count != null ? count : new AtomicInteger();
+            acquired[0] = current.get() < properties.getMaxConnectionsPerUser();
+            if (acquired[0]) {
+                current.incrementAndGet();
+            }
+            return current.get() > 0 ? current : null;
+        });
+        return acquired[0];
+    }
+
+    public void release(String user) {
+        connections.computeIfPresent(user, (key, count) -> count.decrementAndGet() > 0 ? count : null);
+    }
+
+    public int connections(String user) {
+        AtomicInteger count = connections.get(user);
+        return count != null ? count.get() : 0;
+    }
+}
@@ -0,0 +1,147 @@
+package com.kroaddy.api.ratelimit;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * 클라이언트 IP 결정 (레이트 리밋 키, 배치 하위 요청의 X-Forwarded-For)
+ * 직접 연결한 주소가 trusted-proxies(CIDR)에 있을 때만 X-Forwarded-For를 읽고,
+ * 오른쪽(가장 가까운 홉)부터 신뢰하는 프록시를 건너뛰어 처음 만나는 주소를 클라이언트로 봄
+ * (클라이언트가 보낸 X-Forwarded-For 앞부분은 신뢰하지 않으므로 값을 꾸며 다른 IP의 한도를 쓰지 못함)
+ */
+@Component
+public class ClientAddressResolver {
+
+    private static final Pattern IPV4 = Pattern.compile("\\d{1,3}(\\.\\d{1,3}){3}");
+
+    private final List<Cidr> trustedProxies;
+
+    @Autowired
+    public ClientAddressResolver(RateLimitProperties properties) {
+        this(properties.getTrustedProxies());
+    }
+
+    /**
+     * @param trustedProxies 신뢰하는 프록시 대역 (예: 10.0.0.0/8, 127.0.0.1/32, 접두사 길이가 없으면 단일 주소)
+     * @throws IllegalArgumentException 잘못된 CIDR
+     */
+    public ClientAddressResolver(List<String> trustedProxies) {
+        List<Cidr> parsed = new ArrayList<>();
+        for (String cidr : trustedProxies) {
+            parsed.add(Cidr.parse(cidr.trim()));
+        }
+        this.trustedProxies = List.copyOf(parsed);
+    }
+
+    /**
+     * @return 클라이언트 IP (신뢰하는 프록시를 거치지 않았으면 직접 연결한 주소)
+     */
+    public String resolve(HttpServletRequest request) {
+        String client = request.getRemoteAddr();
+        if (!isTrusted(client)) {
+            return client;
+        }
+        String forwardedFor = request.getHeader("X-Forwarded-For");
+        if (forwardedFor == null || forwardedFor.isBlank()) {
+            return client;
+        }
+        String[] hops = forwardedFor.split(",");
+        for (int i = hops.length - 1; i >= 0; i--) {
+            String hop = hops[i].trim();
+            // 주소가 아닌 값(unknown, 난독화 식별자 등)은 더 거슬러 올라가지 않음
+            if (parse(hop) == null) {
+                return client;
+            }
+            client = hop;
+            if (!isTrusted(hop)) {
+                return hop;
+            }
+        }
+        return client;
+    }
+
+    private boolean isTrusted(String address) {
+        if (trustedProxies.isEmpty()) {
+            return false;
+        }
+        byte[] bytes = parse(address);
+        if (bytes == null) {
+            return false;
+        }
+        for (Cidr cidr : trustedProxies) {
+            if (cidr.contains(bytes)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * IP 리터럴만 파싱 (호스트 이름은 DNS 조회를 하지 않고 null)
+     */
+    private static byte[] parse(String address) {
+        if (address == null || address.isEmpty()) {
+            return null;
+        }
+        boolean ipv6 = address.indexOf(':') >= 0;
+        if (!ipv6 && !IPV4.matcher(address).matches()) {
+            return null;
+        }
+        try {
+            String literal = ipv6 && address.startsWith("[") && address.endsWith("]")
+                    ? address.substring(1, address.length() - 1) : address;
+            return InetAddress.getByName(literal).getAddress();
+        } catch (UnknownHostException e) {
+            return null;
+        }
+    }
+
+    private record Cidr(byte[] network, int prefixLength) {
+
+        static Cidr parse(String cidr) {
+            int slash = cidr.indexOf('/');
+            String address = slash >= 0 ? cidr.substring(0, slash) : cidr;
+            byte[] network = ClientAddressResolver.parse(address);
+            if (network == null) {
+                throw new IllegalArgumentException("잘못된 trusted-proxies 주소입니다: " + cidr);
+            }
+            int prefixLength = network.length * 8;
+            if (slash >= 0) {
+                try {
+                    prefixLength = Integer.parseInt(cidr.substring(slash + 1));
+                } catch (NumberFormatException e) {
+                    prefixLength = -1;
+                }
+                if (prefixLength < 0 || prefixLength > network.length * 8) {
+                    throw new IllegalArgumentException("잘못된 trusted-proxies 접두사 길이입니다: " + cidr);
+                }
+            }
+            return new Cidr(network, prefixLength);
+        }
+
+        boolean contains(byte[] address) {
+            if (address.length != network.length) {
+                return false;
+            }
+            int fullBytes = prefixLength / 8;
+            for (int i = 0; i < fullBytes; i++) {
+                if (address[i] != network[i]) {
+                    return false;
+                }
+            }
+            int remainingBits = prefixLength % 8;
+            if (remainingBits == 0) {
+                return true;
+            }
+            int mask = 0xFF << (8 - remainingBits);
+            return (address[fullBytes] & mask) == (network[fullBytes] & mask);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.kroaddy.api.ratelimit;
+
+/**
+ * 레이트 리밋 판정 결과 (RateLimit-* 헤더 값 포함)
+ *
+ * @param rule             판정한 규칙
+ * @param allowed          통과 여부
+ * @param degraded         저장소 장애로 한도를 확인하지 못했는지
+ * @param remaining        남은 한도
+ * @param retryAfterMillis 거절 시 재시도까지 (ms)
+ * @param resetMillis      한도가 회복될 때까지 (ms)
+ */
+public record RateLimitDecision(RateLimitRule rule, boolean allowed, boolean degraded,
+                                long remaining, long retryAfterMillis, long resetMillis) {
+
+    static RateLimitDecision allowed(RateLimitRule rule, long remaining, long resetMillis) {
+        return new RateLimitDecision(rule, true, false, Math.max(0, remaining), 0, resetMillis);
+    }
+
+    static RateLimitDecision rejected(RateLimitRule rule, long retryAfterMillis, long resetMillis) {
+        return new RateLimitDecision(rule, false, false, 0, retryAfterMillis, resetMillis);
+    }
+
+    static RateLimitDecision unavailable(RateLimitRule rule, boolean failOpen) {
+        return new RateLimitDecision(rule, failOpen, true, 0, 0, 0);
+    }
+
+    /**
+     * Retry-After 헤더 값 (초, 올림, 최소 1)
+     */
+    public long retryAfterSeconds() {
+        return Math.max(1, (retryAfterMillis + 999) / 1000);
+    }
+
+    /**
+     * RateLimit-Reset 헤더 값 (초, 올림)
+     */
+    public long resetSeconds() {
+        return (resetMillis + 999) / 1000;
+    }
+}
@@ -0,0 +1,152 @@
+package com.kroaddy.api.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kroaddy.api.jwt.JwtTokenProvider;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * 경로별 레이트 리밋 필터
+ * 요청 경로에 해당하는 모든 규칙을 순서대로 검사하고, 하나라도 거절하면 429 + Retry-After로 응답
+ * 통과한 응답에는 가장 빡빡한 규칙 기준으로 RateLimit-* 헤더를 붙임 (IETF RateLimit 헤더 초안)
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    static final String HEADER_LIMIT = "RateLimit-Limit";
+    static final String HEADER_REMAINING = "RateLimit-Remaining";
+    static final String HEADER_RESET = "RateLimit-Reset";
+    static final String HEADER_POLICY = "RateLimit-Policy";
+
+    private final RateLimiter rateLimiter;
+    private final JwtTokenProvider jwtTokenProvider;
+    private final ObjectMapper objectMapper;
+    private final ClientAddressResolver clientAddressResolver;
+
+    public RateLimitFilter(RateLimiter rateLimiter, JwtTokenProvider jwtTokenProvider,
+                           ObjectMapper objectMapper, ClientAddressResolver clientAddressResolver) {
+        this.rateLimiter = rateLimiter;
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.objectMapper = objectMapper;
+        this.clientAddressResolver = clientAddressResolver;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // CORS preflight는 한도에 포함하지 않음
+        return "OPTIONS".equals(request.getMethod()) || rateLimiter.getRules().isEmpty();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String path = request.getRequestURI();
+        RateLimitDecision strictest = null;
+        String userKey = null;
+
+        for (RateLimitRule rule : rateLimiter.getRules()) {
+            if (!rule.matches(path)) {
+                continue;
+            }
+            String key;
+            switch (rule.getKeyType()) {
+                case USER -> {
+                    if (userKey == null) {
+                        userKey = resolveUserKey(request);
+                    }
+                    key = userKey;
+                }
+                case ROUTE -> key = "route";
+                default -> key = "ip:" + clientIp(request);
+            }
+
+            RateLimitDecision decision = rateLimiter.check(rule, key);
+            if (!decision.allowed()) {
+                reject(request, response, decision);
+                return;
+            }
+            if (!decision.degraded() && (strictest == null || decision.remaining() < strictest.remaining())) {
+                strictest = decision;
+            }
+        }
+
+        if (strictest != null) {
+            writeHeaders(response, strictest);
+        }
+        chain.doFilter(request, response);
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, RateLimitDecision decision)
+            throws IOException {
+        Map<String, Object> body;
+        if (decision.degraded()) {
+            // 저장소 장애 + fail-closed 설정
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            body = Map.of(
+                    "error", "Rate limiter unavailable",
+                    "message", "요청 한도를 확인할 수 없습니다. 잠시 후 다시 시도하세요.",
+                    "path", request.getRequestURI());
+        } else {
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(decision.retryAfterSeconds()));
+            writeHeaders(response, decision);
+            body = Map.of(
+                    "error", "Too Many Requests",
+                    "message", "요청 한도를 초과했습니다. " + decision.retryAfterSeconds() + "초 후 다시 시도하세요.",
+                    "path", request.getRequestURI());
+        }
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+
+    private void writeHeaders(HttpServletResponse response, RateLimitDecision decision) {
+        RateLimitRule rule = decision.rule();
+        response.setHeader(HEADER_LIMIT, String.valueOf(rule.getCapacity()));
+        response.setHeader(HEADER_REMAINING, String.valueOf(decision.remaining()));
+        response.setHeader(HEADER_RESET, String.valueOf(decision.resetSeconds()));
+        response.setHeader(HEADER_POLICY, rule.getPolicy());
+    }
+
+    /**
+     * 사용자 키 (JWT subject), 토큰이 없거나 유효하지 않으면 IP 키
+     */
+    private String resolveUserKey(HttpServletRequest request) {
+        // 유효하지 않은 토큰은 익명 요청으로 취급
+        String subject = jwtTokenProvider.validate(extractToken(request)).subject();
+        if (subject != null) {
+            return "user:" + subject;
+        }
+        return "ip:" + clientIp(request);
+    }
+
+    private String extractToken(HttpServletRequest request) {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header != null && header.startsWith("Bearer ")) {
+            return header.substring(7);
+        }
+        Cookie[] cookies = request.getCookies();
+        if (cookies != null) {
+            for (Cookie cookie : cookies) {
+                if ("Authorization".equals(cookie.getName())) {
+                    return cookie.getValue();
+                }
+            }
+        }
+        return null;
+    }
+
+    private String clientIp(HttpServletRequest request) {
+        return clientAddressResolver.resolve(request);
+    }
+}
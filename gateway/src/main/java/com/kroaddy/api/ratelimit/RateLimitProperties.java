@@ -0,0 +1,44 @@
+package com.kroaddy.api.ratelimit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+@ConfigurationProperties(prefix = "gateway.rate-limit")
+@Data
+public class RateLimitProperties {
+    private boolean enabled = true;
+    private String keyPrefix = "ratelimit"; // Redis 키 접두사
+    private boolean failOpen = true; // Redis 장애 시 통과(true) 또는 503(false)
+    private List<String> trustedProxies = new ArrayList<>(List.of("127.0.0.1/32", "::1/128")); // X-Forwarded-For를 믿을 직접 연결 대역 (로드밸런서 CIDR, 배치 loopback 호출용 loopback 포함)
+    private double leaseFraction = 0.1; // Redis에서 한 번에 빌려올 최대 허용량 비율 (limit 대비, 최소 1, 키마다 1부터 요청이 잦을수록 늘림)
+    private Duration leaseTtl = Duration.ofSeconds(1); // 빌려온 허용량을 로컬에서 쓸 수 있는 시간
+    private int maxLocalKeys = 100_000; // 로컬 사전 검사 상태를 유지할 최대 키 수
+    private List<Rule> rules = new ArrayList<>();
+
+    @Data
+    public static class Rule {
+        private String id;
+        private String path; // 라우트와 같은 문법 (리터럴 또는 "리터럴 + /**")
+        private KeyType key = KeyType.IP;
+        private Algorithm algorithm = Algorithm.TOKEN_BUCKET;
+        private long limit; // period당 허용 요청 수
+        private Duration period = Duration.ofMinutes(1);
+        private Long burst; // 토큰 버킷 용량 (없으면 limit)
+    }
+
+    public enum KeyType {
+        IP, // 클라이언트 IP별
+        USER, // JWT subject별 (토큰이 없거나 유효하지 않으면 IP별)
+        ROUTE // 규칙 전체에 하나의 한도
+    }
+
+    public enum Algorithm {
+        TOKEN_BUCKET, SLIDING_WINDOW
+    }
+}
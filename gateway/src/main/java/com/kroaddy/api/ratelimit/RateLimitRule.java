@@ -0,0 +1,109 @@
+package com.kroaddy.api.ratelimit;
+
+import com.kroaddy.api.ratelimit.RateLimitProperties.Algorithm;
+import com.kroaddy.api.ratelimit.RateLimitProperties.KeyType;
+
+/**
+ * 검증을 마친 레이트 리밋 규칙
+ * 경로 패턴과 버킷 파라미터를 생성 시점에 미리 계산
+ */
+public class RateLimitRule {
+
+    private final String id;
+    private final String pattern;
+    private final String prefix; // "/api/ai/**" -> "/api/ai"
+    private final boolean prefixMatch;
+    private final KeyType keyType;
+    private final Algorithm algorithm;
+    private final long limit;
+    private final long capacity; // 토큰 버킷 용량 (슬라이딩 윈도우는 limit과 같음)
+    private final long periodMillis;
+    private final int leaseSize;
+    private final String policy; // RateLimit-Policy 헤더 값
+
+    public RateLimitRule(RateLimitProperties.Rule rule, double leaseFraction) {
+        if (rule.getId() == null || rule.getId().isBlank()) {
+            throw new IllegalArgumentException("레이트 리밋 규칙에 id가 필요합니다.");
+        }
+        String path = rule.getPath();
+        if (path == null || !path.startsWith("/")) {
+            throw new IllegalArgumentException(rule.getId() + ": path는 '/'로 시작해야 합니다.");
+        }
+        if (rule.getLimit() <= 0 || rule.getPeriod() == null || rule.getPeriod().toMillis() <= 0) {
+            throw new IllegalArgumentException(rule.getId() + ": limit과 period는 0보다 커야 합니다.");
+        }
+        this.id = rule.getId();
+        this.pattern = path;
+        this.prefixMatch = path.endsWith("/**");
+        this.prefix = prefixMatch ? path.substring(0, path.length() - 3) : path;
+        if (prefix.contains("*") || prefix.contains("?") || prefix.contains("{")) {
+            throw new IllegalArgumentException(rule.getId() + ": path는 마지막 '/**' 외의 와일드카드를 지원하지 않습니다.");
+        }
+        this.keyType = rule.getKey();
+        this.algorithm = rule.getAlgorithm();
+        this.limit = rule.getLimit();
+        this.capacity = algorithm == Algorithm.TOKEN_BUCKET && rule.getBurst() != null
+                ? Math.max(1, rule.getBurst())
+                : limit;
+        this.periodMillis = rule.getPeriod().toMillis();
+        this.leaseSize = (int) Math.max(1, Math.min(Integer.MAX_VALUE, (long) (limit * leaseFraction)));
+        this.policy = limit + ";w=" + Math.max(1, periodMillis / 1000)
+                + (algorithm == Algorithm.TOKEN_BUCKET && capacity != limit ? ";burst=" + capacity : "");
+    }
+
+    /**
+     * 요청 경로가 규칙에 해당하는지 (라우트 패턴과 같은 규칙: 접두사 뒤는 경계 '/'여야 함)
+     */
+    public boolean matches(String path) {
+        if (!path.startsWith(prefix)) {
+            return false;
+        }
+        if (path.length() == prefix.length()) {
+            return true;
+        }
+        return prefixMatch && (prefix.isEmpty() || path.charAt(prefix.length()) == '/');
+    }
+
+    /**
+     * 토큰 버킷 보충 속도 (토큰/ms)
+     */
+    public double refillPerMillis() {
+        return (double) limit / periodMillis;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getPattern() {
+        return pattern;
+    }
+
+    public KeyType getKeyType() {
+        return keyType;
+    }
+
+    public Algorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    public long getLimit() {
+        return limit;
+    }
+
+    public long getCapacity() {
+        return capacity;
+    }
+
+    public long getPeriodMillis() {
+        return periodMillis;
+    }
+
+    public int getLeaseSize() {
+        return leaseSize;
+    }
+
+    public String getPolicy() {
+        return policy;
+    }
+}
@@ -0,0 +1,28 @@
+package com.kroaddy.api.ratelimit;
+
+/**
+ * 인스턴스 간 공유되는 레이트 리밋 상태 저장소
+ */
+public interface RateLimitStore {
+
+    /**
+     * 규칙의 버킷/윈도우에서 최대 permits개를 원자적으로 차감
+     *
+     * @param rule    적용할 규칙
+     * @param key     저장소 키
+     * @param permits 요청 수 (로컬 임대분 포함)
+     * @return 실제로 허용된 수와 남은 한도
+     */
+    Grant acquire(RateLimitRule rule, String key, int permits);
+
+    /**
+     * 차감 결과
+     *
+     * @param granted          허용된 수 (0이면 거절)
+     * @param remaining        차감 후 남은 한도
+     * @param retryAfterMillis 거절 시 다음 요청이 허용될 때까지 (ms)
+     * @param resetMillis      한도가 완전히 회복될 때까지 (ms)
+     */
+    record Grant(long granted, long remaining, long retryAfterMillis, long resetMillis) {
+    }
+}
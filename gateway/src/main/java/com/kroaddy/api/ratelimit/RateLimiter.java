@@ -0,0 +1,274 @@
+package com.kroaddy.api.ratelimit;
+
+import com.kroaddy.api.ratelimit.RateLimitStore.Grant;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 레이트 리밋 판정
+ * Redis(공유 상태)에서 한도의 일부를 임대해 로컬에서 소진하고, 거절된 키는 Retry-After 동안 로컬에서 바로 거절
+ * 그래서 대부분의 요청은 Redis까지 가지 않음 (임대분만큼 인스턴스 간 오차 허용)
+ * 임대 크기는 키마다 1에서 시작해 임대를 lease-ttl 안에 다 쓸 때마다 두 배로 늘리고(최대 limit × lease-fraction),
+ * 만료된 뒤에 오는 요청은 다시 1부터 임대 (IP/사용자별 키처럼 드문 요청이 요청마다 임대분을 버려 한도보다 적게 통과하지 않도록)
+ */
+@Slf4j
+@Component
+public class RateLimiter {
+
+    // 저장소 오류 후 다시 시도하기까지 대기 (장애 중 모든 요청이 연결 타임아웃을 기다리지 않도록)
+    private static final long STORE_ERROR_BACKOFF_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final RateLimitStore store;
+    private final RateLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final List<RateLimitRule> rules;
+    private final Map<String, RuleMetrics> metrics = new HashMap<>();
+    private final Map<String, LocalQuota> quotas = new ConcurrentHashMap<>();
+    private final ReentrantLock sweepLock = new ReentrantLock();
+    private final long leaseTtlNanos;
+    private volatile long storeRetryAt = System.nanoTime();
+
+    @Autowired
+    public RateLimiter(RateLimitStore store, RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.store = store;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.rules = compile(properties);
+        this.leaseTtlNanos = properties.getLeaseTtl().toNanos();
+        for (RateLimitRule rule : rules) {
+            metrics.put(rule.getId(), new RuleMetrics(rule.getId()));
+        }
+        log.info("레이트 리밋 규칙 적용: {}", rules.stream()
+                .map(rule -> rule.getId() + "(" + rule.getPattern() + ", " + rule.getKeyType()
+                        + ", " + rule.getAlgorithm() + ", " + rule.getPolicy() + ")")
+                .toList());
+    }
+
+    /**
+     * 규칙 정의 검증 (잘못된 규칙이 있으면 기동 실패)
+     */
+    static List<RateLimitRule> compile(RateLimitProperties properties) {
+        List<RateLimitRule> compiled = new ArrayList<>();
+        List<String> errors = new ArrayList<>();
+        Set<String> ids = new HashSet<>();
+        for (RateLimitProperties.Rule rule : properties.getRules()) {
+            try {
+                RateLimitRule compiledRule = new RateLimitRule(rule, properties.getLeaseFraction());
+                if (!ids.add(compiledRule.getId())) {
+                    errors.add(compiledRule.getId() + ": 중복된 id입니다.");
+                    continue;
+                }
+                compiled.add(compiledRule);
+            } catch (IllegalArgumentException e) {
+                errors.add(e.getMessage());
+            }
+        }
+        if (!errors.isEmpty()) {
+            throw new IllegalArgumentException("레이트 리밋 설정 오류: " + String.join(", ", errors));
+        }
+        return List.copyOf(compiled);
+    }
+
+    public List<RateLimitRule> getRules() {
+        return rules;
+    }
+
+    /**
+     * 요청 한 건에 대한 판정
+     *
+     * @param rule 적용할 규칙
+     * @param key  규칙 안에서의 식별자 (예: "ip:1.2.3.4", "user:1234")
+     * @return 판정 결과
+     */
+    public RateLimitDecision check(RateLimitRule rule, String key) {
+        RuleMetrics ruleMetrics = metrics.get(rule.getId());
+        String storeKey = properties.getKeyPrefix() + ":" + rule.getId() + ":" + key;
+        long now = System.nanoTime();
+
+        LocalQuota quota = quotas.get(storeKey);
+        if (quota != null) {
+            if (quota.isBlocked(now)) {
+                ruleMetrics.rejectedLocal.increment();
+                return RateLimitDecision.rejected(rule, quota.millisUntil(quota.blockedUntil, now),
+                        quota.millisUntil(quota.resetAt, now));
+            }
+            if (quota.tryTake(now)) {
+                ruleMetrics.allowedLocal.increment();
+                return RateLimitDecision.allowed(rule, quota.remaining + quota.permits.get(),
+                        quota.millisUntil(quota.resetAt, now));
+            }
+        }
+
+        if (now - storeRetryAt < 0) {
+            ruleMetrics.storeErrors.increment();
+            return RateLimitDecision.unavailable(rule, properties.isFailOpen());
+        }
+        Grant grant;
+        try {
+            grant = store.acquire(rule, storeKey, quota != null ? quota.nextLeaseSize(now, rule.getLeaseSize()) : 1);
+        } catch (RuntimeException e) {
+            storeRetryAt = System.nanoTime() + STORE_ERROR_BACKOFF_NANOS;
+            ruleMetrics.storeErrors.increment();
+            log.warn("레이트 리밋 저장소 오류: rule={}, failOpen={}, error={}",
+                    rule.getId(), properties.isFailOpen(), e.getMessage());
+            return RateLimitDecision.unavailable(rule, properties.isFailOpen());
+        }
+
+        if (quota == null) {
+            quota = quotas.computeIfAbsent(storeKey, k -> new LocalQuota(now));
+            sweepIfNeeded(now);
+        }
+        if (grant.granted() > 0) {
+            quota.lease(grant, now, leaseTtlNanos);
+            ruleMetrics.allowedStore.increment();
+            return RateLimitDecision.allowed(rule, grant.remaining() + grant.granted() - 1, grant.resetMillis());
+        }
+        quota.block(grant, now);
+        ruleMetrics.rejectedStore.increment();
+        return RateLimitDecision.rejected(rule, grant.retryAfterMillis(), grant.resetMillis());
+    }
+
+    int localKeyCount() {
+        return quotas.size();
+    }
+
+    /**
+     * 로컬 상태가 너무 많아지면 만료된 항목 정리 (그래도 넘치면 전부 비움: Redis 왕복만 늘어날 뿐 판정은 유지)
+     */
+    private void sweepIfNeeded(long now) {
+        if (quotas.size() <= properties.getMaxLocalKeys() || !sweepLock.tryLock()) {
+            return;
+        }
+        try {
+            quotas.values().removeIf(quota -> quota.isIdle(now));
+            if (quotas.size() > properties.getMaxLocalKeys()) {
+                quotas.clear();
+            }
+        } finally {
+            sweepLock.unlock();
+        }
+    }
+
+    /**
+     * 키별 로컬 상태: Redis에서 임대한 허용량과 거절 캐시
+     * 시각은 모두 System.nanoTime 기준
+     */
+    static final class LocalQuota {
+
+        final AtomicLong permits = new AtomicLong();
+        volatile long leaseExpiresAt;
+        volatile long blockedUntil;
+        volatile long resetAt;
+        volatile long remaining; // 임대 시점에 Redis에 남아 있던 한도 (헤더 표시용)
+        volatile int leaseSize = 1; // 다음에 임대할 크기
+
+        LocalQuota(long now) {
+            // nanoTime은 음수일 수 있으므로 0이 아닌 생성 시각을 기준으로 초기화
+            leaseExpiresAt = now;
+            blockedUntil = now;
+            resetAt = now;
+        }
+
+        boolean tryTake(long now) {
+            if (now - leaseExpiresAt >= 0) {
+                return false;
+            }
+            long current;
+            do {
+                current = permits.get();
+                if (current <= 0) {
+                    return false;
+                }
+            } while (!permits.compareAndSet(current, current - 1));
+            return true;
+        }
+
+        /**
+         * 임대를 다 썼을 때 다음 임대 크기 결정
+         * 유효 시간 안에 다 썼으면 요청이 잦으므로 두 배로, 이미 만료됐으면 드문 요청이므로 1로
+         * (동시에 여러 요청이 늘려도 max를 넘지 않음)
+         *
+         * @param max 규칙의 최대 임대 크기
+         */
+        int nextLeaseSize(long now, int max) {
+            int size = now - leaseExpiresAt < 0 ? (int) Math.min(max, leaseSize * 2L) : 1;
+            leaseSize = size;
+            return size;
+        }
+
+        boolean isBlocked(long now) {
+            return now - blockedUntil < 0;
+        }
+
+        void lease(Grant grant, long now, long ttlNanos) {
+            long leased = grant.granted() - 1; // 한 건은 현재 요청이 사용
+            if (now - leaseExpiresAt >= 0) {
+                permits.set(leased);
+            } else {
+                permits.addAndGet(leased);
+            }
+            remaining = grant.remaining();
+            resetAt = now + TimeUnit.MILLISECONDS.toNanos(grant.resetMillis());
+            leaseExpiresAt = now + ttlNanos;
+            blockedUntil = now;
+        }
+
+        void block(Grant grant, long now) {
+            permits.set(0);
+            remaining = 0;
+            resetAt = now + TimeUnit.MILLISECONDS.toNanos(grant.resetMillis());
+            blockedUntil = now + TimeUnit.MILLISECONDS.toNanos(Math.max(1, grant.retryAfterMillis()));
+        }
+
+        boolean isIdle(long now) {
+            return now - leaseExpiresAt >= 0 && now - blockedUntil >= 0;
+        }
+
+        long millisUntil(long deadline, long now) {
+            return Math.max(0, TimeUnit.NANOSECONDS.toMillis(deadline - now));
+        }
+    }
+
+    private final class RuleMetrics {
+
+        final Counter allowedLocal;
+        final Counter allowedStore;
+        final Counter rejectedLocal;
+        final Counter rejectedStore;
+        final Counter storeErrors;
+
+        RuleMetrics(String ruleId) {
+            allowedLocal = decisions(ruleId, "allowed", "local");
+            allowedStore = decisions(ruleId, "allowed", "redis");
+            rejectedLocal = decisions(ruleId, "rejected", "local");
+            rejectedStore = decisions(ruleId, "rejected", "redis");
+            storeErrors = Counter.builder("gateway.ratelimit.store.errors")
+                    .description("저장소(Redis) 오류로 한도를 확인하지 못한 판정 수 (오류 후 1초간은 호출 생략)")
+                    .tag("rule", ruleId)
+                    .register(meterRegistry);
+        }
+
+        private Counter decisions(String ruleId, String outcome, String source) {
+            return Counter.builder("gateway.ratelimit.decisions")
+                    .description("레이트 리밋 판정 수 (source=local이면 Redis 왕복 없이 판정)")
+                    .tag("rule", ruleId)
+                    .tag("outcome", outcome)
+                    .tag("source", source)
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.kroaddy.api.ratelimit;
+
+import com.kroaddy.api.ratelimit.RateLimitProperties.Algorithm;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Redis Lua 스크립트로 레이트 리밋 상태를 원자적으로 갱신
+ * 스크립트는 EVALSHA로 실행되며 (캐시에 없으면 EVAL로 재시도) 보충/차감/만료 설정이 한 번의 왕복으로 끝남
+ */
+@Component
+public class RedisRateLimitStore implements RateLimitStore {
+
+    private static final RedisScript<List> TOKEN_BUCKET =
+            RedisScript.of(new ClassPathResource("scripts/ratelimit/token_bucket.lua"), List.class);
+    private static final RedisScript<List> SLIDING_WINDOW =
+            RedisScript.of(new ClassPathResource("scripts/ratelimit/sliding_window.lua"), List.class);
+
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    @Autowired
+    public RedisRateLimitStore(RedisTemplate<String, Object> redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    public Grant acquire(RateLimitRule rule, String key, int permits) {
+        List<?> result;
+        if (rule.getAlgorithm() == Algorithm.TOKEN_BUCKET) {
+            result = redisTemplate.execute(TOKEN_BUCKET, List.of(key),
+                    String.valueOf(rule.getCapacity()),
+                    Double.toString(rule.refillPerMillis()),
+                    String.valueOf(permits));
+        } else {
+            result = redisTemplate.execute(SLIDING_WINDOW, List.of(key),
+                    String.valueOf(rule.getLimit()),
+                    String.valueOf(rule.getPeriodMillis()),
+                    String.valueOf(permits));
+        }
+        if (result == null || result.size() < 4) {
+            throw new IllegalStateException("레이트 리밋 스크립트 응답이 올바르지 않습니다: " + result);
+        }
+        return new Grant(toLong(result.get(0)), toLong(result.get(1)), toLong(result.get(2)), toLong(result.get(3)));
+    }
+
+    private static long toLong(Object value) {
+        return value instanceof Number number ? number.longValue() : Long.parseLong(String.valueOf(value));
+    }
+}
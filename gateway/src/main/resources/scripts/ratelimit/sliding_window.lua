@@ -0,0 +1,48 @@
+-- 슬라이딩 윈도우 카운터 (이전 윈도우를 경과 비율만큼 가중)
+-- KEYS[1]: 카운터 키 (hash: w 윈도우 번호, c 현재 윈도우 수, p 이전 윈도우 수)
+-- ARGV[1]: 윈도우당 한도, ARGV[2]: 윈도우 길이 (ms), ARGV[3]: 요청 수 (로컬 임대분 포함)
+-- 반환: {허용 수, 남은 수, 재시도까지 ms, 현재 윈도우 종료까지 ms}
+local limit = tonumber(ARGV[1])
+local window = tonumber(ARGV[2])
+local requested = tonumber(ARGV[3])
+
+-- 인스턴스 간 시계 차이를 없애기 위해 Redis 서버 시간 사용
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+local index = math.floor(now / window)
+local elapsed = now - index * window
+
+local state = redis.call('HMGET', KEYS[1], 'w', 'c', 'p')
+local w = tonumber(state[1])
+local current = tonumber(state[2]) or 0
+local previous = tonumber(state[3]) or 0
+if w == nil then
+  current = 0
+  previous = 0
+elseif w == index - 1 then
+  previous = current
+  current = 0
+elseif w ~= index then
+  current = 0
+  previous = 0
+end
+
+local weighted = math.floor(previous * (window - elapsed) / window)
+local granted = math.max(0, math.min(requested, limit - weighted - current))
+current = current + granted
+
+redis.call('HSET', KEYS[1], 'w', tostring(index), 'c', tostring(current), 'p', tostring(previous))
+redis.call('PEXPIRE', KEYS[1], window * 2)
+
+local retry = 0
+if granted == 0 then
+  if current >= limit or previous == 0 then
+    -- 현재 윈도우만으로 한도 초과: 다음 윈도우까지 대기
+    retry = window - elapsed
+  else
+    -- 이전 윈도우 가중치가 줄어 한 건이 들어갈 때까지 대기
+    retry = math.ceil((window - elapsed) - (limit - 1 - current) * window / previous)
+  end
+  retry = math.max(1, retry)
+end
+return {granted, math.max(0, limit - weighted - current), retry, window - elapsed}
@@ -0,0 +1,32 @@
+-- 토큰 버킷 (원자적 보충 + 차감)
+-- KEYS[1]: 버킷 키 (hash: tokens, ts)
+-- ARGV[1]: 용량, ARGV[2]: 보충 속도 (토큰/ms), ARGV[3]: 요청 토큰 수 (로컬 임대분 포함)
+-- 반환: {허용 토큰 수, 남은 토큰 수, 재시도까지 ms, 가득 찰 때까지 ms}
+local capacity = tonumber(ARGV[1])
+local rate = tonumber(ARGV[2])
+local requested = tonumber(ARGV[3])
+
+-- 인스턴스 간 시계 차이를 없애기 위해 Redis 서버 시간 사용
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+
+local state = redis.call('HMGET', KEYS[1], 'tokens', 'ts')
+local tokens = tonumber(state[1])
+local ts = tonumber(state[2])
+if tokens == nil or ts == nil then
+  tokens = capacity
+  ts = now
+end
+
+tokens = math.min(capacity, tokens + math.max(0, now - ts) * rate)
+local granted = math.min(requested, math.floor(tokens))
+tokens = tokens - granted
+
+redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'ts', tostring(now))
+redis.call('PEXPIRE', KEYS[1], math.ceil(capacity / rate) + 1000)
+
+local retry = 0
+if granted == 0 then
+  retry = math.ceil((1 - tokens) / rate)
+end
+return {granted, math.floor(tokens), retry, math.ceil((capacity - tokens) / rate)}
@@ -0,0 +1,203 @@
+package com.kroaddy.api.jwt;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwksCacheTest {
+
+    private static final String ISSUER = "https://auth.example.com";
+    private static final String AUDIENCE = "kroaddy-gateway";
+
+    @TempDir
+    Path keyDir;
+
+    private JwtKeyRing issuerRing;
+    private JwtTokenProvider issuer;
+    private HttpServer stub;
+    private final AtomicInteger requests = new AtomicInteger();
+    private String jwksUri;
+    private SimpleMeterRegistry meterRegistry;
+    private JwtKeyRing verifierRing;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        JwtKeyRingTest.writeKey(keyDir, "2026-09", JwsAlgorithm.EDDSA, true, Instant.now().minus(Duration.ofDays(1)));
+        JwtProperties issuerProperties = JwtKeyRingTest.properties("EdDSA", keyDir);
+        issuerProperties.setIssuer(ISSUER);
+        issuerProperties.setAudience(AUDIENCE);
+        issuerRing = new JwtKeyRing(issuerProperties, new SimpleMeterRegistry());
+        issuerRing.init();
+        issuer = new JwtTokenProvider(issuerProperties, issuerRing);
+
+        // JwksController와 같은 응답 (ETag 조건부 요청이면 304)
+        stub = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 10);
+        stub.createContext("/.well-known/jwks.json", exchange -> {
+            requests.incrementAndGet();
+            JwtKeyRing.JwkSet jwks = issuerRing.jwks();
+            exchange.getResponseHeaders().add("ETag", jwks.etag());
+            exchange.getResponseHeaders().add("Cache-Control", "max-age=300, public");
+            if (jwks.etag().equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                exchange.sendResponseHeaders(304, -1);
+            } else {
+                exchange.getResponseHeaders().add("Content-Type", "application/jwk-set+json");
+                exchange.sendResponseHeaders(200, jwks.json().length);
+                exchange.getResponseBody().write(jwks.json());
+            }
+            exchange.close();
+        });
+        stub.start();
+        jwksUri = "http://127.0.0.1:" + stub.getAddress().getPort() + "/.well-known/jwks.json";
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        stub.stop(0);
+        issuerRing.stop();
+        if (verifierRing != null) {
+            verifierRing.stop();
+        }
+    }
+
+    @Test
+    void verifiesRemoteTokensOfflineAndPicksUpRotatedKeys() throws Exception {
+        JwtTokenProvider verifier = verifier(Duration.ZERO);
+        String token = issuer.generateToken("kakao-42", "kakao");
+
+        TokenValidation validation = verifier.validate(token);
+        assertThat(validation.subject()).isEqualTo("kakao-42");
+        assertThat(validation.identity().provider()).isEqualTo("kakao");
+        int afterFirst = requests.get();
+        // 캐시된 키로 검증 (요청 없음)
+        for (int i = 0; i < 10; i++) {
+            assertThat(verifier.validate(token).isValid()).isTrue();
+        }
+        assertThat(requests.get()).isEqualTo(afterFirst);
+
+        // 발급자가 키를 교체하면 새 kid를 처음 본 요청에서 한 번 갱신
+        JwtKeyRingTest.writeKey(keyDir, "2026-10", JwsAlgorithm.EDDSA, true, Instant.now().minus(Duration.ofHours(1)));
+        issuerRing.rescan();
+        String rotated = issuer.generateToken("user-2");
+        assertThat(issuerRing.active().kid()).isEqualTo("2026-10");
+
+        assertThat(verifier.validate(rotated).subject()).isEqualTo("user-2");
+        assertThat(verifier.validate(token).subject()).isEqualTo("kakao-42");
+        assertThat(refreshes("updated")).isGreaterThanOrEqualTo(2);
+
+        // 키가 그대로면 조건부 요청에 304, 모르는 kid는 거절
+        assertThat(verifier.validate(forgeKid(token, "unknown")).failure())
+                .isEqualTo(TokenValidation.Failure.UNKNOWN_KEY);
+        assertThat(refreshes("not_modified")).isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    void unknownKidRefreshIsRateLimitedAndLastKeysSurviveOutage() {
+        JwtProperties.Jwks config = new JwtProperties.Jwks();
+        config.setMinRefreshInterval(Duration.ofHours(1));
+        JwksCache cache = new JwksCache(URI.create(jwksUri), IssuerBinding.of(ISSUER, AUDIENCE), config, meterRegistry);
+
+        assertThat(cache.find("2026-09")).isNotNull();
+        assertThat(requests.get()).isEqualTo(1);
+
+        // 모르는 kid를 아무리 보내도 min-refresh-interval 안에는 다시 요청하지 않음
+        for (int i = 0; i < 20; i++) {
+            assertThat(cache.find("random-" + i)).isNull();
+        }
+        assertThat(requests.get()).isEqualTo(1);
+
+        // 발급자가 내려가도 마지막으로 받은 키로 계속 검증
+        stub.stop(0);
+        assertThat(cache.refresh(true)).isEqualTo(-1);
+        assertThat(refreshes("failed")).isEqualTo(1);
+        assertThat(cache.kids()).containsExactly("2026-09");
+        SigningKey key = cache.find("2026-09");
+        JwtEngine engine = new JwtEngine(new byte[32], new SigningKeys() {
+            @Override
+            public SigningKey active() {
+                return null;
+            }
+
+            @Override
+            public SigningKey find(String kid) {
+                return cache.find(kid);
+            }
+        }, false);
+        assertThat(key.canSign()).isFalse();
+        assertThat(engine.validate(issuer.generateToken("user-1")).subject()).isEqualTo("user-1");
+    }
+
+    @Test
+    void remoteKeysOnlyVerifyTokensForTheirIssuerAndAudience() throws Exception {
+        JwtTokenProvider verifier = verifier(Duration.ZERO);
+        assertThat(verifier.validate(issuer.generateToken("user-1")).subject()).isEqualTo("user-1");
+
+        // 같은 발급자의 키로 서명했어도 다른 서비스용(aud)이거나 다른 iss를 단 토큰은 거절
+        for (String[] claims : new String[][]{{ISSUER, "billing-service"}, {"https://evil.example.com", AUDIENCE},
+                {null, null}}) {
+            JwtProperties otherProperties = JwtKeyRingTest.properties("EdDSA", keyDir);
+            otherProperties.setIssuer(claims[0]);
+            otherProperties.setAudience(claims[1]);
+            JwtTokenProvider other = new JwtTokenProvider(otherProperties, issuerRing);
+            assertThat(verifier.validate(other.generateToken("user-1")).failure())
+                    .isEqualTo(TokenValidation.Failure.WRONG_ISSUER);
+        }
+    }
+
+    @Test
+    void remoteWithoutIssuerOrAudienceFailsStartup() {
+        JwtProperties properties = JwtKeyRingTest.properties("HS256", null);
+        JwtProperties.Remote remote = new JwtProperties.Remote();
+        remote.setUri(jwksUri);
+        remote.setIssuer(ISSUER);
+        properties.getJwks().setRemotes(List.of(remote));
+
+        assertThatThrownBy(() -> new JwtKeyRing(properties, meterRegistry))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("audience");
+    }
+
+    private JwtTokenProvider verifier(Duration minRefreshInterval) {
+        JwtProperties properties = JwtKeyRingTest.properties("HS256", null);
+        JwtProperties.Remote remote = new JwtProperties.Remote();
+        remote.setUri(jwksUri);
+        remote.setIssuer(ISSUER);
+        remote.setAudience(AUDIENCE);
+        properties.getJwks().setRemotes(List.of(remote));
+        properties.getJwks().setMinRefreshInterval(minRefreshInterval);
+        properties.getJwks().setTimeout(Duration.ofSeconds(2));
+        verifierRing = new JwtKeyRing(properties, meterRegistry);
+        verifierRing.init();
+        return new JwtTokenProvider(properties, verifierRing);
+    }
+
+    private double refreshes(String result) {
+        return meterRegistry.get("gateway.auth.jwks.refresh").tag("result", result).counters().stream()
+                .mapToDouble(counter -> counter.count()).sum();
+    }
+
+    /**
+     * 서명은 그대로 두고 헤더의 kid만 바꾼 토큰
+     */
+    private static String forgeKid(String token, String kid) {
+        String header = Base64.getUrlEncoder().withoutPadding().encodeToString(
+                ("{\"alg\":\"EdDSA\",\"kid\":\"" + kid + "\"}").getBytes(StandardCharsets.UTF_8));
+        return header + token.substring(token.indexOf('.'));
+    }
+}
@@ -0,0 +1,223 @@
+package com.kroaddy.api.jwt;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Base64;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtEngineTest {
+
+    private static final byte[] KEY = "test-secret-key-for-jwt-engine-0".getBytes(StandardCharsets.UTF_8);
+    private static final long NOW = 1_760_000_000_000L;
+
+    private final JwtEngine engine = new JwtEngine(KEY);
+    private final SecretKey jjwtKey = Keys.hmacShaKeyFor(KEY);
+
+    @Test
+    void tokensAreInterchangeableWithJjwt() {
+        // 엔진이 발급한 토큰을 jjwt로 검증
+        String token = engine.sign("kakao-42", NOW, NOW + 60_000);
+        Claims claims = Jwts.parser().verifyWith(jjwtKey).clock(() -> new Date(NOW)).build()
+                .parseSignedClaims(token).getPayload();
+        assertThat(claims.getSubject()).isEqualTo("kakao-42");
+        assertThat(claims.getExpiration().getTime()).isEqualTo(NOW + 60_000);
+
+        // 기존 jjwt로 발급한 토큰을 엔진으로 검증
+        String legacy = Jwts.builder()
+                .subject("naver-7")
+                .issuedAt(new Date(NOW))
+                .expiration(new Date(NOW + 60_000))
+                .signWith(jjwtKey)
+                .compact();
+        JwtIdentity identity = engine.verify(legacy, NOW);
+        assertThat(identity.subject()).isEqualTo("naver-7");
+        assertThat(identity.issuedAt()).isEqualTo(NOW / 1000);
+        assertThat(identity.expiresAtMillis()).isEqualTo(NOW + 60_000);
+    }
+
+    @Test
+    void subjectIsEscaped() {
+        String subject = "user \"quoted\" \\ 한글";
+        String token = engine.sign(subject, NOW, NOW + 60_000);
+        assertThat(engine.verify(token, NOW).subject()).isEqualTo(subject);
+    }
+
+    @Test
+    void providerClaimIsOptional() {
+        String token = engine.sign("kakao-42", "kakao", NOW, NOW + 60_000);
+        Claims claims = Jwts.parser().verifyWith(jjwtKey).clock(() -> new Date(NOW)).build()
+                .parseSignedClaims(token).getPayload();
+        assertThat(claims.get("provider", String.class)).isEqualTo("kakao");
+        assertThat(engine.verify(token, NOW).provider()).isEqualTo("kakao");
+        assertThat(engine.verify(engine.sign("kakao-42", NOW, NOW + 60_000), NOW).provider()).isNull();
+    }
+
+    @Test
+    void expiredOrNotYetValidTokensAreRejected() {
+        String token = engine.sign("user-1", NOW, NOW + 60_000);
+        assertThat(engine.verify(token, NOW + 59_999).subject()).isEqualTo("user-1");
+        assertRejected(() -> engine.verify(token, NOW + 60_000), "만료");
+
+        String future = Jwts.builder().subject("user-1").notBefore(new Date(NOW + 10_000)).signWith(jjwtKey).compact();
+        assertRejected(() -> engine.verify(future, NOW), "아직");
+        assertThat(engine.verify(future, NOW + 10_000).expiresAt()).isEqualTo(-1);
+    }
+
+    @Test
+    void forgedOrMalformedTokensAreRejected() {
+        String token = engine.sign("user-1", NOW, NOW + 60_000);
+        String[] parts = token.split("\\.");
+
+        // 다른 키로 서명
+        String otherKey = new JwtEngine("another-secret-key-for-jwt-engine".getBytes(StandardCharsets.UTF_8))
+                .sign("user-1", NOW, NOW + 60_000);
+        assertRejected(() -> engine.verify(otherKey, NOW), "서명");
+        // 클레임 변조
+        String payload = encode("{\"sub\":\"admin\",\"exp\":" + (NOW / 1000 + 60) + "}");
+        assertRejected(() -> engine.verify(parts[0] + "." + payload + "." + parts[2], NOW), "서명");
+        // 서명 제거 / alg none
+        assertRejected(() -> engine.verify(parts[0] + "." + parts[1] + ".", NOW), "서명");
+        String none = encode("{\"alg\":\"none\"}") + "." + parts[1] + ".";
+        assertRejected(() -> engine.verify(none, NOW), "서명");
+        // 서명은 맞지만 다른 알고리즘을 주장하는 헤더
+        String hs512 = Jwts.builder().subject("user-1").signWith(Keys.hmacShaKeyFor(
+                "test-secret-key-for-jwt-engine-0-and-more-bytes-to-reach-64-bytes!!".getBytes(StandardCharsets.UTF_8)))
+                .compact();
+        assertRejected(() -> engine.verify(hs512, NOW), "서명");
+
+        for (String malformed : new String[]{"", "abc", "a.b", "a.b.c.d", parts[0] + ".한글." + parts[2],
+                parts[0] + "." + parts[1] + "." + parts[2] + "A"}) {
+            assertThatThrownBy(() -> engine.verify(malformed, NOW)).isInstanceOf(InvalidTokenException.class);
+        }
+        assertThatThrownBy(() -> engine.verify(null, NOW)).isInstanceOf(InvalidTokenException.class);
+    }
+
+    @Test
+    void validateReportsFailureReasonWithoutThrowing() {
+        String token = engine.sign("user-1", NOW, NOW + 60_000);
+        String[] parts = token.split("\\.");
+
+        TokenValidation valid = engine.validate(token, NOW);
+        assertThat(valid.isValid()).isTrue();
+        assertThat(valid.subject()).isEqualTo("user-1");
+        assertThat(valid.expiresAtMillis()).isEqualTo(NOW + 60_000);
+
+        // 만료된 토큰은 서명이 맞으므로 사용자 정보는 남지만 subject는 내주지 않음
+        TokenValidation expired = engine.validate(token, NOW + 60_000);
+        assertThat(expired.failure()).isEqualTo(TokenValidation.Failure.EXPIRED);
+        assertThat(expired.subject()).isNull();
+        assertThat(expired.identity().subject()).isEqualTo("user-1");
+
+        assertThat(engine.validate(null, NOW).failure()).isEqualTo(TokenValidation.Failure.MISSING);
+        assertThat(engine.validate("", NOW).failure()).isEqualTo(TokenValidation.Failure.MISSING);
+        assertThat(engine.validate("a.b", NOW).failure()).isEqualTo(TokenValidation.Failure.MALFORMED);
+        assertThat(engine.validate(parts[0] + "." + parts[1] + ".", NOW).failure())
+                .isEqualTo(TokenValidation.Failure.BAD_SIGNATURE);
+        assertThat(engine.validate(Jwts.builder().subject("user-1").notBefore(new Date(NOW + 10_000))
+                .signWith(jjwtKey).compact(), NOW).failure()).isEqualTo(TokenValidation.Failure.NOT_YET_VALID);
+        // 서명은 맞지만 허용하지 않는 헤더
+        String crit = Jwts.builder().header().critical().add("x").and().add("x", 1).and()
+                .subject("user-1").signWith(jjwtKey, Jwts.SIG.HS256).compact();
+        assertThat(engine.validate(crit, NOW).failure()).isEqualTo(TokenValidation.Failure.UNSUPPORTED);
+        // 서명은 맞지만 클레임이 객체가 아님
+        String array = encode("{\"alg\":\"HS256\"}") + "." + encode("[1]");
+        String arraySigned = array + "." + Base64.getUrlEncoder().withoutPadding().encodeToString(
+                hmac(array.getBytes(StandardCharsets.US_ASCII)));
+        assertThat(engine.validate(arraySigned, NOW).failure()).isEqualTo(TokenValidation.Failure.INVALID_CLAIMS);
+    }
+
+    @Test
+    void nestedClaimValuesAreNotReadAsTopLevelClaims() {
+        long exp = NOW / 1000 + 60;
+        // sub가 객체면 안쪽 sub를 최상위 subject로 읽지 않음
+        TokenValidation nested = engine.validate(signed("{\"sub\":{\"sub\":\"admin\",\"exp\":" + (exp + 3600)
+                + "},\"exp\":" + exp + "}"), NOW);
+        assertThat(nested.failure()).isEqualTo(TokenValidation.Failure.INVALID_CLAIMS);
+        // provider가 객체/배열이어도 안쪽 필드가 sub/exp를 덮어쓰지 않음
+        TokenValidation provider = engine.validate(signed("{\"sub\":\"user-1\",\"provider\":{\"sub\":\"admin\","
+                + "\"exp\":" + (exp + 3600) + "},\"exp\":" + exp + "}"), NOW + 60_000);
+        assertThat(provider.failure()).isEqualTo(TokenValidation.Failure.EXPIRED);
+        assertThat(provider.identity().subject()).isEqualTo("user-1");
+        assertThat(provider.identity().provider()).isNull();
+        assertThat(engine.validate(signed("{\"sub\":\"user-1\",\"provider\":[\"sub\",\"admin\"]}"), NOW).subject())
+                .isEqualTo("user-1");
+    }
+
+    @Test
+    void nonCanonicalBase64IsRejected() {
+        String token = engine.sign("user-1", NOW, NOW + 60_000);
+        // 서명 43자의 마지막 문자는 4비트만 쓰므로 남는 2비트를 바꾸면 같은 바이트로 디코딩되는 다른 문자열
+        char last = token.charAt(token.length() - 1);
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_";
+        String variant = token.substring(0, token.length() - 1) + alphabet.charAt(alphabet.indexOf(last) ^ 1);
+        assertThat(Base64.getUrlDecoder().decode(variant.substring(variant.lastIndexOf('.') + 1)))
+                .isEqualTo(Base64.getUrlDecoder().decode(token.substring(token.lastIndexOf('.') + 1)));
+        assertThat(engine.validate(token, NOW).isValid()).isTrue();
+        assertThat(engine.validate(variant, NOW).failure()).isEqualTo(TokenValidation.Failure.BAD_SIGNATURE);
+    }
+
+    @Test
+    void issuerAndAudienceMustMatchBinding() {
+        JwtEngine bound = new JwtEngine(KEY, SigningKeys.NONE, true, IssuerBinding.of("kroaddy", "gateway"));
+        long exp = NOW / 1000 + 60;
+
+        // 발급하는 토큰에 iss/aud를 넣고 검증
+        String token = bound.sign("user-1", NOW, NOW + 60_000);
+        assertThat(bound.validate(token, NOW).subject()).isEqualTo("user-1");
+        // aud는 배열이어도 되고, 엔진에 바인딩이 없으면 iss/aud를 확인하지 않음
+        assertThat(bound.validate(signed("{\"sub\":\"user-1\",\"iss\":\"kroaddy\",\"aud\":[\"other\",\"gateway\"],"
+                + "\"exp\":" + exp + "}"), NOW).subject()).isEqualTo("user-1");
+        assertThat(engine.validate(token, NOW).subject()).isEqualTo("user-1");
+
+        // 다른 발급자, 다른 대상, 누락, 문자열이 아닌 값은 거절
+        for (String claims : new String[]{
+                "\"iss\":\"other\",\"aud\":\"gateway\"",
+                "\"iss\":\"kroaddy\",\"aud\":\"other\"",
+                "\"iss\":\"kroaddy\",\"aud\":[\"other\"]",
+                "\"aud\":\"gateway\"",
+                "\"iss\":\"kroaddy\"",
+                "\"iss\":[\"kroaddy\"],\"aud\":\"gateway\"",
+                "\"iss\":\"kroaddy\",\"aud\":{\"aud\":\"gateway\"}"}) {
+            assertThat(bound.validate(signed("{\"sub\":\"user-1\"," + claims + ",\"exp\":" + exp + "}"), NOW)
+                    .failure()).as(claims).isEqualTo(TokenValidation.Failure.WRONG_ISSUER);
+        }
+    }
+
+    /**
+     * 엔진이 발급하는 헤더와 임의의 클레임으로 서명한 토큰
+     */
+    private static String signed(String claims) {
+        String input = encode("{\"alg\":\"HS256\"}") + "." + encode(claims);
+        return input + "." + Base64.getUrlEncoder().withoutPadding().encodeToString(
+                hmac(input.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    private static byte[] hmac(byte[] input) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(KEY, "HmacSHA256"));
+            return mac.doFinal(input);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void assertRejected(Runnable verify, String reason) {
+        assertThatThrownBy(verify::run).isInstanceOf(InvalidTokenException.class).hasMessageContaining(reason);
+    }
+
+    private static String encode(String json) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
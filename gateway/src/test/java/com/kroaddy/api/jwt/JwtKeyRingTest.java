@@ -0,0 +1,272 @@
+package com.kroaddy.api.jwt;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtKeyRingTest {
+
+    private static final String SECRET = "test-secret-key-for-jwt-key-ring-0123";
+
+    @TempDir
+    Path keyDir;
+
+    private final List<JwtKeyRing> rings = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        rings.forEach(JwtKeyRing::stop);
+    }
+
+    @Test
+    void signsWithKidAndInteroperatesWithJjwt() throws Exception {
+        for (JwsAlgorithm algorithm : JwsAlgorithm.values()) {
+            Path dir = Files.createDirectory(keyDir.resolve(algorithm.name()));
+            KeyPair pair = writeKey(dir, "2026-10", algorithm, true, Instant.now().minusSeconds(3600));
+            JwtProperties properties = properties(algorithm.jwsName(), dir);
+            JwtTokenProvider provider = new JwtTokenProvider(properties, ring(properties));
+
+            String token = provider.generateToken("kakao-42", "kakao");
+            assertThat(header(token)).isEqualTo("{\"alg\":\"" + algorithm.jwsName() + "\",\"kid\":\"2026-10\"}");
+            TokenValidation validation = provider.validate(token);
+            assertThat(validation.subject()).isEqualTo("kakao-42");
+            assertThat(validation.identity().provider()).isEqualTo("kakao");
+
+            // 공개 키만 있으면 jjwt로도 검증되고, jjwt가 발급한 토큰도 엔진이 검증
+            assertThat(Jwts.parser().verifyWith(pair.getPublic()).build().parseSignedClaims(token)
+                    .getPayload().getSubject()).isEqualTo("kakao-42");
+            String jjwt = Jwts.builder().header().keyId("2026-10").and()
+                    .subject("naver-7").expiration(new Date(System.currentTimeMillis() + 60_000))
+                    .signWith(pair.getPrivate()).compact();
+            assertThat(provider.validate(jjwt).subject()).isEqualTo("naver-7");
+
+            // 서명 변조
+            String forged = token.substring(0, token.length() - 4) + (token.endsWith("AAAA") ? "BBBB" : "AAAA");
+            assertThat(provider.validate(forged).failure()).isEqualTo(TokenValidation.Failure.BAD_SIGNATURE);
+        }
+    }
+
+    @Test
+    void rotationKeepsPreviousKeysVerifiable() throws Exception {
+        Instant now = Instant.now();
+        writeKey(keyDir, "2026-09", JwsAlgorithm.EDDSA, true, now.minus(Duration.ofDays(30)));
+        JwtProperties properties = properties("EdDSA", keyDir);
+        JwtKeyRing ring = ring(properties);
+        JwtTokenProvider provider = new JwtTokenProvider(properties, ring);
+        String oldToken = provider.generateToken("user-1");
+        assertThat(ring.active().kid()).isEqualTo("2026-09");
+
+        // 새 키는 바로 게시되지만 publish-delay가 지나기 전에는 서명에 쓰지 않음
+        writeKey(keyDir, "2026-10", JwsAlgorithm.EDDSA, true, now);
+        ring.rescan();
+        assertThat(ring.active().kid()).isEqualTo("2026-09");
+        assertThat(kids(ring)).containsExactly("2026-10", "2026-09");
+
+        Files.setLastModifiedTime(keyDir.resolve("2026-10.pem"), FileTime.from(now.minus(Duration.ofMinutes(11))));
+        ring.rescan();
+        assertThat(ring.active().kid()).isEqualTo("2026-10");
+        String newToken = provider.generateToken("user-2");
+        assertThat(header(newToken)).contains("\"kid\":\"2026-10\"");
+        assertThat(provider.validate(oldToken).subject()).isEqualTo("user-1");
+
+        // 이전 키는 검증 전용으로 남겼다가 삭제하면 그 키로 서명한 토큰은 거절
+        SigningKey retired = ring.find("2026-09");
+        Files.writeString(keyDir.resolve("2026-09.pem"), pem("PUBLIC KEY", retired.publicKey().getEncoded()));
+        ring.rescan();
+        assertThat(ring.find("2026-09").canSign()).isFalse();
+        assertThat(provider.validate(oldToken).isValid()).isTrue();
+        Files.delete(keyDir.resolve("2026-09.pem"));
+        ring.rescan();
+        assertThat(provider.validate(oldToken).failure()).isEqualTo(TokenValidation.Failure.UNKNOWN_KEY);
+        assertThat(provider.validate(newToken).subject()).isEqualTo("user-2");
+        assertThat(kids(ring)).containsExactly("2026-10");
+
+        // active-kid를 지정하면 게시 시각과 관계없이 그 키
+        writeKey(keyDir, "2026-11", JwsAlgorithm.EDDSA, true, now);
+        properties.getSigning().setActiveKid("2026-11");
+        ring.rescan();
+        assertThat(ring.active().kid()).isEqualTo("2026-11");
+    }
+
+    @Test
+    void jwksPublishesOnlyPublicKeys() throws Exception {
+        Instant published = Instant.now().minus(Duration.ofHours(1));
+        writeKey(keyDir, "ed", JwsAlgorithm.EDDSA, true, published);
+        writeKey(keyDir, "ec", JwsAlgorithm.ES256, false, published.minusSeconds(60));
+        Files.writeString(keyDir.resolve("broken.pem"), "-----BEGIN PUBLIC KEY-----\nAAAA\n-----END PUBLIC KEY-----\n");
+        JwtProperties properties = properties("EdDSA", keyDir);
+        JwtKeyRing ring = ring(properties);
+
+        JwtKeyRing.JwkSet jwks = ring.jwks();
+        List<Map<String, Object>> keys = new ObjectMapper().<Map<String, List<Map<String, Object>>>>readValue(
+                jwks.json(), new TypeReference<>() {
+                }).get("keys");
+        assertThat(keys).extracting(jwk -> jwk.get("kid")).containsExactly("ed", "ec");
+        assertThat(keys.get(0)).containsEntry("kty", "OKP").containsEntry("crv", "Ed25519")
+                .containsEntry("alg", "EdDSA").containsEntry("use", "sig").doesNotContainKey("d");
+        assertThat(keys.get(1)).containsEntry("kty", "EC").containsEntry("crv", "P-256")
+                .containsKeys("x", "y").doesNotContainKey("d");
+        assertThat(jwks.etag()).startsWith("\"").endsWith("\"");
+
+        // JWK로 다시 만든 검증 전용 키로 같은 토큰 검증
+        String token = new JwtTokenProvider(properties, ring).generateToken("user-1");
+        JwtEngine verifier = new JwtEngine(SECRET.getBytes(StandardCharsets.UTF_8), new SigningKeys() {
+            private final SigningKey key = SigningKey.fromJwk(keys.get(0));
+
+            @Override
+            public SigningKey active() {
+                return null;
+            }
+
+            @Override
+            public SigningKey find(String kid) {
+                return key.kid().equals(kid) ? key : null;
+            }
+        }, false);
+        assertThat(verifier.validate(token).subject()).isEqualTo("user-1");
+
+        // 키가 그대로면 ETag도 그대로
+        ring.rescan();
+        assertThat(ring.jwks().etag()).isEqualTo(jwks.etag());
+        assertThatThrownBy(() -> SigningKey.fromJwk(Map.of("kid", "x", "kty", "EC", "crv", "P-256",
+                "x", keys.get(1).get("x"), "y", keys.get(1).get("x"))))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rejectsAlgorithmConfusionAndHmacWhenDisabled() throws Exception {
+        writeKey(keyDir, "ed", JwsAlgorithm.EDDSA, true, Instant.now().minusSeconds(3600));
+        JwtProperties properties = properties("EdDSA", keyDir);
+        JwtKeyRing ring = ring(properties);
+        JwtTokenProvider provider = new JwtTokenProvider(properties, ring);
+        String token = provider.generateToken("user-1");
+        String[] parts = token.split("\\.");
+
+        // Ed25519 키를 ES256이라고 주장하는 헤더, 모르는 kid, kid 없음
+        assertThat(provider.validate(encode("{\"alg\":\"ES256\",\"kid\":\"ed\"}") + "." + parts[1] + "." + parts[2])
+                .failure()).isEqualTo(TokenValidation.Failure.UNSUPPORTED);
+        assertThat(provider.validate(encode("{\"alg\":\"EdDSA\",\"kid\":\"other\"}") + "." + parts[1] + "." + parts[2])
+                .failure()).isEqualTo(TokenValidation.Failure.UNKNOWN_KEY);
+        assertThat(provider.validate(encode("{\"alg\":\"EdDSA\"}") + "." + parts[1] + "." + parts[2])
+                .failure()).isEqualTo(TokenValidation.Failure.UNKNOWN_KEY);
+
+        // 전환 중에는 기존 HS256 토큰도 검증, accept-hmac=false면 거절
+        String hmacToken = new JwtTokenProvider(properties).generateToken("user-2");
+        assertThat(provider.validate(hmacToken).subject()).isEqualTo("user-2");
+        properties.getSigning().setAcceptHmac(false);
+        JwtTokenProvider strict = new JwtTokenProvider(properties, ring);
+        assertThat(strict.validate(hmacToken).failure()).isEqualTo(TokenValidation.Failure.UNSUPPORTED);
+        assertThat(strict.validate(token).subject()).isEqualTo("user-1");
+
+        // HS256으로 서명하면서 HS256을 거절하는 설정은 기동 실패
+        JwtProperties hmacOnly = properties("HS256", keyDir);
+        hmacOnly.getSigning().setAcceptHmac(false);
+        assertThatThrownBy(() -> new JwtTokenProvider(hmacOnly, ring(hmacOnly)))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void asymmetricSigningWithoutKeyFailsStartup() throws Exception {
+        // 키 디렉터리가 없거나 서명할 수 있는 키가 없으면 임시 키로 대신하지 않고 기동 실패
+        assertThatThrownBy(() -> ring(properties("ES256", null)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("key-dir");
+        assertThatThrownBy(() -> ring(properties("EdDSA", keyDir)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("EdDSA");
+        writeKey(keyDir, "2026-09", JwsAlgorithm.EDDSA, false, Instant.now().minus(Duration.ofDays(1)));
+        writeKey(keyDir, "2026-10", JwsAlgorithm.ES256, true, Instant.now().minus(Duration.ofDays(1)));
+        assertThatThrownBy(() -> ring(properties("EdDSA", keyDir)))
+                .isInstanceOf(IllegalStateException.class);
+
+        // 실행 중에 서명 키 파일이 사라지면 기존 키로 계속 서명
+        JwtKeyRing ring = ring(properties("ES256", keyDir));
+        JwtTokenProvider provider = new JwtTokenProvider(properties("ES256", keyDir), ring);
+        Files.delete(keyDir.resolve("2026-10.pem"));
+        ring.rescan();
+        assertThat(ring.active().kid()).isEqualTo("2026-10");
+        assertThat(provider.validate(provider.generateToken("user-1")).subject()).isEqualTo("user-1");
+
+        // HS256이면 비대칭 키 없이 기존과 같은 토큰
+        JwtProperties hmac = properties("HS256", null);
+        JwtKeyRing hmacRing = ring(hmac);
+        assertThat(hmacRing.active()).isNull();
+        assertThat(header(new JwtTokenProvider(hmac, hmacRing).generateToken("user-1"))).isEqualTo("{\"alg\":\"HS256\"}");
+        assertThat(new String(hmacRing.jwks().json(), StandardCharsets.UTF_8)).isEqualTo("{\"keys\":[]}");
+    }
+
+    static JwtProperties properties(String algorithm, Path keyDir) {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret(SECRET);
+        properties.getSigning().setAlgorithm(algorithm);
+        properties.getSigning().setKeyDir(keyDir != null ? keyDir.toString() : null);
+        return properties;
+    }
+
+    /**
+     * @param withPrivate false면 공개 키만 (검증 전용)
+     */
+    static KeyPair writeKey(Path dir, String kid, JwsAlgorithm algorithm, boolean withPrivate, Instant modified)
+            throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance(algorithm == JwsAlgorithm.ES256 ? "EC" : "Ed25519");
+        if (algorithm == JwsAlgorithm.ES256) {
+            generator.initialize(new ECGenParameterSpec("secp256r1"));
+        }
+        KeyPair pair = generator.generateKeyPair();
+        String pem = (withPrivate ? pem("PRIVATE KEY", pair.getPrivate().getEncoded()) : "")
+                + pem("PUBLIC KEY", pair.getPublic().getEncoded());
+        Path file = dir.resolve(kid + ".pem");
+        Files.writeString(file, pem);
+        Files.setLastModifiedTime(file, FileTime.from(modified));
+        return pair;
+    }
+
+    private JwtKeyRing ring(JwtProperties properties) {
+        JwtKeyRing ring = new JwtKeyRing(properties, new SimpleMeterRegistry());
+        ring.init();
+        rings.add(ring);
+        return ring;
+    }
+
+    private static List<Object> kids(JwtKeyRing ring) throws Exception {
+        return new ObjectMapper().<Map<String, List<Map<String, Object>>>>readValue(ring.jwks().json(),
+                new TypeReference<>() {
+                }).get("keys").stream().map(jwk -> jwk.get("kid")).toList();
+    }
+
+    private static String pem(String type, byte[] der) {
+        return "-----BEGIN " + type + "-----\n"
+                + Base64.getMimeEncoder(64, "\n".getBytes(StandardCharsets.US_ASCII)).encodeToString(der)
+                + "\n-----END " + type + "-----\n";
+    }
+
+    private static String header(String token) {
+        return new String(Base64.getUrlDecoder().decode(token.substring(0, token.indexOf('.'))), StandardCharsets.UTF_8);
+    }
+
+    private static String encode(String json) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,228 @@
+package com.kroaddy.api.jwt;
+
+import com.github.fppt.jedismock.RedisServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VerifiedTokenCacheTest {
+
+    private JwtProperties jwtProperties;
+    private JwtTokenProvider jwtTokenProvider;
+    private SimpleMeterRegistry meterRegistry;
+    private VerifiedTokenCache cache;
+
+    @BeforeEach
+    void setUp() {
+        jwtProperties = new JwtProperties();
+        jwtProperties.setSecret("test-secret-key-for-verified-token-cache");
+        jwtTokenProvider = new JwtTokenProvider(jwtProperties);
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new VerifiedTokenCache(jwtTokenProvider, jwtProperties, meterRegistry);
+    }
+
+    @Test
+    void repeatedTokenIsServedFromCache() {
+        String token = jwtTokenProvider.generateToken("kakao-42");
+
+        for (int i = 0; i < 3; i++) {
+            TokenValidation validation = cache.validate(token);
+            assertThat(validation.isValid()).isTrue();
+            assertThat(validation.subject()).isEqualTo("kakao-42");
+        }
+
+        assertThat(requests("miss")).isEqualTo(1);
+        assertThat(requests("hit")).isEqualTo(2);
+        assertThat(meterRegistry.get("gateway.auth.token-cache.saved").timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("gateway.auth.token-cache.hit.ratio").gauge().value()).isGreaterThan(0.6);
+    }
+
+    @Test
+    void invalidTokensAreNotCached() {
+        String token = jwtTokenProvider.generateToken("user-1");
+        String forged = token.substring(0, token.length() - 2) + "AA";
+
+        assertThat(cache.validate(forged).failure()).isEqualTo(TokenValidation.Failure.BAD_SIGNATURE);
+        assertThat(cache.validate(forged).failure()).isEqualTo(TokenValidation.Failure.BAD_SIGNATURE);
+        assertThat(cache.validate(null).failure()).isEqualTo(TokenValidation.Failure.MISSING);
+        assertThat(cache.size()).isZero();
+        assertThat(requests("hit")).isZero();
+    }
+
+    @Test
+    void entriesExpireAtTokenExpiryOrTtl() throws InterruptedException {
+        // 토큰 만료가 ttl보다 빠르면 토큰 만료 시각에 제거
+        jwtProperties.setExpiration(1000L);
+        String shortLived = jwtTokenProvider.generateToken("user-1");
+        TokenValidation validation = cache.validate(shortLived);
+        assertThat(validation.isValid()).isTrue();
+        Thread.sleep(Math.max(0, validation.expiresAtMillis() - System.currentTimeMillis()) + 20);
+        assertThat(cache.validate(shortLived).failure()).isEqualTo(TokenValidation.Failure.EXPIRED);
+
+        // ttl이 더 짧으면 ttl 후 다시 검증
+        jwtProperties.setExpiration(60_000L);
+        jwtProperties.getVerifiedCache().setTtl(Duration.ofMillis(50));
+        String token = jwtTokenProvider.generateToken("user-2");
+        cache.validate(token);
+        Thread.sleep(80);
+        assertThat(cache.validate(token).isValid()).isTrue();
+        assertThat(requests("hit")).isZero();
+        assertThat(requests("miss")).isEqualTo(4);
+    }
+
+    @Test
+    void revokedTokenIsRejectedUntilExpiry() {
+        String token = jwtTokenProvider.generateToken("user-1");
+        String other = jwtTokenProvider.generateToken("user-2");
+        cache.validate(token);
+        cache.validate(other);
+
+        assertThat(cache.revoke(token).subject()).isEqualTo("user-1");
+
+        TokenValidation validation = cache.validate(token);
+        assertThat(validation.failure()).isEqualTo(TokenValidation.Failure.REVOKED);
+        assertThat(validation.subject()).isNull();
+        assertThat(cache.validate(other).subject()).isEqualTo("user-2");
+        assertThat(requests("revoked")).isEqualTo(1);
+        // 유효하지 않은 토큰은 폐기 표시를 남기지 않음
+        assertThat(cache.revoke(null).failure()).isEqualTo(TokenValidation.Failure.MISSING);
+    }
+
+    @Test
+    void revocationIsSharedAcrossNodesThroughRedis() throws Exception {
+        RedisServer server = RedisServer.newRedisServer().start();
+        LettuceConnectionFactory connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(server.getHost(), server.getBindPort()));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        try {
+            RedisTemplate<String, Object> template = new RedisTemplate<>();
+            template.setConnectionFactory(connectionFactory);
+            template.setKeySerializer(new StringRedisSerializer());
+            template.setValueSerializer(new StringRedisSerializer());
+            template.afterPropertiesSet();
+            VerifiedTokenCache nodeA = new VerifiedTokenCache(jwtTokenProvider, jwtProperties, meterRegistry, template);
+            VerifiedTokenCache nodeB = new VerifiedTokenCache(jwtTokenProvider, jwtProperties,
+                    new SimpleMeterRegistry(), template);
+            String token = jwtTokenProvider.generateToken("user-1");
+            String refreshToken = jwtTokenProvider.generateRefreshToken("user-1");
+
+            // A에서 로그아웃하면 캐시에 없는 B도 거절 (refresh 토큰도 같은 경로)
+            assertThat(nodeA.revoke(token).isValid()).isTrue();
+            assertThat(nodeA.revoke(refreshToken).isValid()).isTrue();
+            assertThat(nodeB.validate(token).failure()).isEqualTo(TokenValidation.Failure.REVOKED);
+            assertThat(nodeB.validate(refreshToken).failure()).isEqualTo(TokenValidation.Failure.REVOKED);
+
+            // 키는 토큰 원문이 아닌 다이제스트, TTL은 토큰의 남은 유효 시간
+            assertThat(template.keys("jwt:revoked:*")).hasSize(2).noneMatch(key -> key.contains(token));
+            long remaining = jwtTokenProvider.validate(token).expiresAtMillis() - System.currentTimeMillis();
+            Long ttl = template.getExpire(new TokenDenylist(template, "jwt:revoked", meterRegistry)
+                    .key(TokenDenylist.digest(token)), TimeUnit.MILLISECONDS);
+            assertThat(ttl).isPositive().isLessThanOrEqualTo(remaining + 1000);
+
+            // 재시작한 노드도 거절
+            VerifiedTokenCache restarted = new VerifiedTokenCache(jwtTokenProvider, jwtProperties,
+                    new SimpleMeterRegistry(), template);
+            assertThat(restarted.validate(token).failure()).isEqualTo(TokenValidation.Failure.REVOKED);
+
+            // Redis에 연결할 수 없으면 폐기되지 않은 것으로 처리
+            int closedPort;
+            try (ServerSocket socket = new ServerSocket(0)) {
+                closedPort = socket.getLocalPort();
+            }
+            LettuceConnectionFactory unreachable = new LettuceConnectionFactory(
+                    new RedisStandaloneConfiguration("127.0.0.1", closedPort));
+            unreachable.afterPropertiesSet();
+            unreachable.start();
+            try {
+                RedisTemplate<String, Object> down = new RedisTemplate<>();
+                down.setConnectionFactory(unreachable);
+                down.setKeySerializer(new StringRedisSerializer());
+                down.afterPropertiesSet();
+                SimpleMeterRegistry nodeCRegistry = new SimpleMeterRegistry();
+                VerifiedTokenCache nodeC = new VerifiedTokenCache(jwtTokenProvider, jwtProperties, nodeCRegistry, down);
+                assertThat(nodeC.validate(token).subject()).isEqualTo("user-1");
+                assertThat(nodeCRegistry.get("gateway.auth.denylist.errors").counter().count()).isEqualTo(1);
+            } finally {
+                unreachable.destroy();
+            }
+        } finally {
+            connectionFactory.destroy();
+            server.stop();
+        }
+    }
+
+    @Test
+    void revocationEvictsTokenCachedOnOtherNodes() throws Exception {
+        RedisServer server = RedisServer.newRedisServer().start();
+        LettuceConnectionFactory connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(server.getHost(), server.getBindPort()));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        try {
+            RedisTemplate<String, Object> template = new RedisTemplate<>();
+            template.setConnectionFactory(connectionFactory);
+            template.setKeySerializer(new StringRedisSerializer());
+            template.setValueSerializer(new StringRedisSerializer());
+            template.afterPropertiesSet();
+            VerifiedTokenCache nodeA = new VerifiedTokenCache(jwtTokenProvider, jwtProperties, meterRegistry, template);
+            SimpleMeterRegistry nodeBRegistry = new SimpleMeterRegistry();
+            VerifiedTokenCache nodeB = new VerifiedTokenCache(jwtTokenProvider, jwtProperties, nodeBRegistry, template);
+            container.setConnectionFactory(connectionFactory);
+            container.addMessageListener(nodeB, new ChannelTopic(jwtProperties.getVerifiedCache().getRevocationChannel()));
+            container.afterPropertiesSet();
+            container.start();
+
+            // B가 먼저 캐시한 토큰
+            String token = jwtTokenProvider.generateToken("user-1");
+            String other = jwtTokenProvider.generateToken("user-2");
+            assertThat(nodeB.validate(token).isValid()).isTrue();
+            assertThat(nodeB.validate(other).isValid()).isTrue();
+            assertThat(nodeB.validate(token).isValid()).isTrue();
+            assertThat(nodeBRegistry.get("gateway.auth.token-cache.requests").tag("result", "hit").counter().count())
+                    .isEqualTo(1);
+
+            // A에서 로그아웃하면 ttl을 기다리지 않고 B의 항목도 제거되어 다음 요청에서 거절
+            nodeA.revoke(token);
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (nodeBRegistry.get("gateway.auth.token-cache.remote-evictions").counter().count() < 1
+                    && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertThat(nodeB.validate(token).failure()).isEqualTo(TokenValidation.Failure.REVOKED);
+            assertThat(nodeB.validate(other).isValid()).isTrue();
+            assertThat(nodeBRegistry.get("gateway.auth.token-cache.remote-evictions").counter().count()).isEqualTo(1);
+        } finally {
+            container.destroy();
+            connectionFactory.destroy();
+            server.stop();
+        }
+    }
+
+    @Test
+    void disabledCacheVerifiesEveryTime() {
+        jwtProperties.getVerifiedCache().setEnabled(false);
+        String token = jwtTokenProvider.generateToken("user-1");
+
+        assertThat(cache.validate(token).subject()).isEqualTo("user-1");
+        assertThat(cache.validate(token).subject()).isEqualTo("user-1");
+        assertThat(cache.size()).isZero();
+    }
+
+    private double requests(String result) {
+        return meterRegistry.get("gateway.auth.token-cache.requests").tag("result", result).counter().count();
+    }
+}
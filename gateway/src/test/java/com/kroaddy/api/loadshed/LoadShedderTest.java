@@ -0,0 +1,199 @@
+package com.kroaddy.api.loadshed;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LoadShedderTest {
+
+    private LoadShedProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        properties = new LoadShedProperties();
+        properties.setMaxConcurrent(1);
+        properties.setNormal(LoadShedProperties.CoDel.of(Duration.ofSeconds(5), Duration.ofSeconds(10)));
+        properties.setBulk(LoadShedProperties.CoDel.of(Duration.ofSeconds(5), Duration.ofSeconds(10)));
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void criticalPathsBypassTheGate() throws Exception {
+        LoadShedder shedder = new LoadShedder(properties, meterRegistry);
+        assertThat(shedder.classify("/api/auth/login")).isEqualTo(Priority.CRITICAL);
+        assertThat(shedder.classify("/actuator/health")).isEqualTo(Priority.CRITICAL);
+        assertThat(shedder.classify("/api/ai/rag/query")).isEqualTo(Priority.BULK);
+        assertThat(shedder.classify("/api/authx")).isEqualTo(Priority.NORMAL);
+        assertThat(shedder.classify("/api/users/me")).isEqualTo(Priority.NORMAL);
+
+        LoadShedder.Admission held = shedder.admit(Priority.NORMAL);
+        // 자리가 없어도 인증/헬스 체크는 바로 처리
+        assertThat(shedder.admit(Priority.CRITICAL)).isSameAs(LoadShedder.Admission.NONE);
+        assertThat(shedder.getInFlight()).isEqualTo(1);
+        held.close();
+        assertThat(shedder.getInFlight()).isZero();
+    }
+
+    @Test
+    void releasedSlotGoesToNormalBeforeBulk() throws Exception {
+        LoadShedder shedder = new LoadShedder(properties, meterRegistry);
+        LoadShedder.Admission held = shedder.admit(Priority.NORMAL);
+        List<Priority> order = new CopyOnWriteArrayList<>();
+
+        CompletableFuture<Void> bulk = waitInLine(shedder, Priority.BULK, order);
+        awaitQueued("bulk", 1);
+        CompletableFuture<Void> normal = waitInLine(shedder, Priority.NORMAL, order);
+        awaitQueued("normal", 1);
+
+        // 나중에 온 NORMAL이 먼저 자리를 받음
+        held.close();
+        normal.get(5, TimeUnit.SECONDS);
+        bulk.get(5, TimeUnit.SECONDS);
+        assertThat(order).containsExactly(Priority.NORMAL, Priority.BULK);
+        assertThat(shedder.getInFlight()).isZero();
+        assertThat(requests("normal", "queued")).isEqualTo(1);
+        assertThat(requests("bulk", "queued")).isEqualTo(1);
+    }
+
+    @Test
+    void bulkLeavesHeadroomForNormal() throws Exception {
+        properties.setMaxConcurrent(3);
+        properties.setMaxConcurrentBulk(2);
+        LoadShedder shedder = new LoadShedder(properties, meterRegistry);
+        LoadShedder.Admission bulk1 = shedder.admit(Priority.BULK);
+        LoadShedder.Admission bulk2 = shedder.admit(Priority.BULK);
+        List<Priority> order = new CopyOnWriteArrayList<>();
+
+        // 전체 자리가 남아도 BULK 몫을 다 쓰면 대기
+        CompletableFuture<Void> waitingBulk = waitInLine(shedder, Priority.BULK, order);
+        awaitQueued("bulk", 1);
+        assertThat(shedder.getBulkInFlight()).isEqualTo(2);
+        // 남은 자리는 NORMAL이 바로 받음
+        LoadShedder.Admission normal = shedder.admit(Priority.NORMAL);
+        assertThat(shedder.getInFlight()).isEqualTo(3);
+
+        // NORMAL이 반납한 자리는 BULK 한도 때문에 넘기지 않고, BULK가 반납해야 대기 중인 BULK가 받음
+        normal.close();
+        assertThat(shedder.getInFlight()).isEqualTo(2);
+        assertThat(order).isEmpty();
+        bulk1.close();
+        waitingBulk.get(5, TimeUnit.SECONDS);
+        assertThat(order).containsExactly(Priority.BULK);
+        bulk2.close();
+        assertThat(shedder.getInFlight()).isZero();
+        assertThat(shedder.getBulkInFlight()).isZero();
+    }
+
+    @Test
+    void standingQueueSwitchesToShortTimeout() throws Exception {
+        properties.setNormal(LoadShedProperties.CoDel.of(Duration.ofMillis(10), Duration.ofMillis(50)));
+        properties.setBulk(LoadShedProperties.CoDel.of(Duration.ofMillis(20), Duration.ofSeconds(10)));
+        LoadShedder shedder = new LoadShedder(properties, meterRegistry);
+        LoadShedder.Admission held = shedder.admit(Priority.NORMAL);
+
+        // 평소에는 interval까지 기다린 뒤 버림, interval 내내 대기 시간이 target을 넘으면 과부하
+        assertThat(shedder.admit(Priority.NORMAL)).isNull();
+        assertThat(shedder.admit(Priority.NORMAL)).isNull();
+        assertThat(meterRegistry.get("gateway.loadshed.overloaded").tags("priority", "normal").gauge().value())
+                .isEqualTo(1);
+        // NORMAL이 과부하면 BULK도 interval이 아닌 target만 기다림
+        long start = System.nanoTime();
+        assertThat(shedder.admit(Priority.BULK)).isNull();
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(5));
+        assertThat(requests("normal", "shed")).isEqualTo(2);
+        assertThat(requests("bulk", "shed")).isEqualTo(1);
+
+        // 자리가 나면 바로 입장하고 다음 interval에 과부하 해제
+        held.close();
+        Thread.sleep(60);
+        shedder.admit(Priority.NORMAL).close();
+        assertThat(meterRegistry.get("gateway.loadshed.overloaded").tags("priority", "normal").gauge().value())
+                .isZero();
+    }
+
+    @Test
+    void filterRejectsWithRetryAfterWhenQueueIsFull() throws Exception {
+        properties.setMaxQueueSize(0);
+        LoadShedder shedder = new LoadShedder(properties, meterRegistry);
+        LoadShedFilter filter = new LoadShedFilter(shedder, new ObjectMapper(), 2);
+
+        MockHttpServletResponse passed = call(filter, "/api/users/me");
+        assertThat(passed.getStatus()).isEqualTo(200);
+        assertThat(shedder.getInFlight()).isZero();
+
+        LoadShedder.Admission held = shedder.admit(Priority.NORMAL);
+        MockHttpServletResponse rejected = call(filter, "/api/ai/rag/query");
+        assertThat(rejected.getStatus()).isEqualTo(503);
+        assertThat(rejected.getHeader("Retry-After")).isEqualTo("2");
+        assertThat(rejected.getContentAsString()).contains("Service overloaded");
+        assertThat(requests("bulk", "queue_full")).isEqualTo(1);
+
+        assertThat(call(filter, "/api/auth/me").getStatus()).isEqualTo(200);
+        held.close();
+    }
+
+    @Test
+    void batchSubRequestsUseTheParentSlot() throws Exception {
+        properties.setMaxQueueSize(0);
+        LoadShedder shedder = new LoadShedder(properties, meterRegistry);
+        LoadShedFilter filter = new LoadShedFilter(shedder, new ObjectMapper(), 1,
+                request -> "token".equals(request.getHeader("X-Gateway-Batch")));
+
+        // 배치 요청이 자리를 쥐고 있어도 그 하위 요청은 통과, 다른 요청은 자리가 없어 503
+        LoadShedder.Admission batch = shedder.admit(Priority.NORMAL);
+        MockHttpServletRequest subRequest = new MockHttpServletRequest("GET", "/api/users/me");
+        subRequest.addHeader("X-Gateway-Batch", "token");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(subRequest, response, new MockFilterChain());
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(shedder.getInFlight()).isEqualTo(1);
+        assertThat(call(filter, "/api/users/me").getStatus()).isEqualTo(503);
+        batch.close();
+    }
+
+    private CompletableFuture<Void> waitInLine(LoadShedder shedder, Priority priority, List<Priority> order) {
+        return CompletableFuture.runAsync(() -> {
+            try {
+                LoadShedder.Admission admission = shedder.admit(priority);
+                order.add(priority);
+                Thread.sleep(20);
+                admission.close();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, command -> Thread.ofVirtual().start(command));
+    }
+
+    private void awaitQueued(String priority, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (meterRegistry.get("gateway.loadshed.queued").tags("priority", priority).gauge().value() < expected
+                && System.nanoTime() - deadline < 0) {
+            Thread.sleep(5);
+        }
+    }
+
+    private double requests(String priority, String result) {
+        var counter = meterRegistry.find("gateway.loadshed.requests")
+                .tags("priority", priority, "result", result).counter();
+        return counter != null ? counter.count() : 0;
+    }
+
+    private static MockHttpServletResponse call(LoadShedFilter filter, String path) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", path), response, new MockFilterChain());
+        return response;
+    }
+}
@@ -0,0 +1,200 @@
+package com.kroaddy.api.proxy;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.mock.web.DelegatingServletInputStream;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 대용량 본문을 로컬 스텁 업스트림으로 프록시할 때 힙 사용량이 본문 크기와 무관한지 확인
+ */
+class ProxyForwarderTest {
+
+    private static final long BODY_SIZE = 256L * 1024 * 1024;
+
+    private HttpServer upstream;
+    private final AtomicLong upstreamReceived = new AtomicLong();
+    private ProxyForwarder forwarder;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        upstream = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        // 요청 본문을 모두 읽고, 같은 크기의 본문을 청크로 돌려주는 스텁
+        upstream.createContext("/echo-size", exchange -> {
+            byte[] buffer = new byte[8192];
+            long received = 0;
+            try (InputStream in = exchange.getRequestBody()) {
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    received += read;
+                }
+            }
+            upstreamReceived.set(received);
+            exchange.getResponseHeaders().add("Content-Type", "application/octet-stream");
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream out = exchange.getResponseBody()) {
+                writePattern(out, received);
+            }
+        });
+        upstream.start();
+
+        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
+        forwarder = new ProxyForwarder(factory, 8192);
+    }
+
+    @AfterEach
+    void tearDown() {
+        upstream.stop(0);
+    }
+
+    @Test
+    void streamsLargeBodyWithoutBufferingIt() throws Exception {
+        MockHttpServletRequest request = streamingRequest(BODY_SIZE);
+        CountingResponse response = new CountingResponse();
+
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().threadId();
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+
+        try (UpstreamResponse upstreamResponse = forwarder.open(request, upstreamUri("/echo-size"), -1, headers -> {
+        }, UpstreamExchangeListener.NONE)) {
+            upstreamResponse.relay(response);
+        }
+
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(upstreamReceived.get()).isEqualTo(BODY_SIZE);
+        assertThat(response.written.get()).isEqualTo(BODY_SIZE);
+        // 요청/응답을 합쳐 512MB가 지나가도 프록시 스레드의 할당량은 본문 크기에 비례하지 않아야 함
+        assertThat(allocated).isLessThan(16L * 1024 * 1024);
+    }
+
+    @Test
+    void rejectsBodyOverRouteLimit() {
+        MockHttpServletRequest request = streamingRequest(1024 * 1024);
+
+        assertThatThrownBy(() -> forwarder.open(request, upstreamUri("/echo-size"), 1024, headers -> {
+        }, UpstreamExchangeListener.NONE).relay(new MockHttpServletResponse()))
+                .isInstanceOf(ProxyException.class)
+                .satisfies(e -> assertThat(((ProxyException) e).getStatus().value()).isEqualTo(413));
+    }
+
+    private URI upstreamUri(String path) {
+        return URI.create("http://127.0.0.1:" + upstream.getAddress().getPort() + path);
+    }
+
+    private static MockHttpServletRequest streamingRequest(long size) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/ai/ml/upload") {
+            @Override
+            public ServletInputStream getInputStream() {
+                return new DelegatingServletInputStream(new PatternInputStream(size));
+            }
+
+            @Override
+            public long getContentLengthLong() {
+                return size;
+            }
+        };
+        request.addHeader("Content-Type", "application/octet-stream");
+        request.addHeader("Content-Length", size);
+        return request;
+    }
+
+    private static void writePattern(OutputStream out, long size) throws IOException {
+        byte[] chunk = new byte[8192];
+        for (int i = 0; i < chunk.length; i++) {
+            chunk[i] = (byte) i;
+        }
+        long remaining = size;
+        while (remaining > 0) {
+            int n = (int) Math.min(chunk.length, remaining);
+            out.write(chunk, 0, n);
+            remaining -= n;
+        }
+    }
+
+    /**
+     * 메모리에 올리지 않고 지정한 크기만큼 바이트를 생성하는 입력 스트림
+     */
+    private static class PatternInputStream extends InputStream {
+
+        private long remaining;
+
+        PatternInputStream(long size) {
+            this.remaining = size;
+        }
+
+        @Override
+        public int read() {
+            if (remaining <= 0) {
+                return -1;
+            }
+            remaining--;
+            return (int) (remaining & 0xFF);
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int n = (int) Math.min(len, remaining);
+            remaining -= n;
+            return n;
+        }
+    }
+
+    /**
+     * 본문을 저장하지 않고 바이트 수만 세는 응답
+     */
+    private static class CountingResponse extends MockHttpServletResponse {
+
+        private final AtomicLong written = new AtomicLong();
+
+        private final ServletOutputStream out = new ServletOutputStream() {
+            @Override
+            public void write(int b) {
+                written.incrementAndGet();
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                written.addAndGet(len);
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+            }
+        };
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            return out;
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package com.kroaddy.api.proxy.auth;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kroaddy.api.config.ProxyAuthConfig;
+import com.kroaddy.api.jwt.JwtProperties;
+import com.kroaddy.api.jwt.JwtTokenProvider;
+import com.kroaddy.api.jwt.VerifiedTokenCache;
+import com.kroaddy.api.proxy.ProxyForwarder;
+import com.kroaddy.api.proxy.UpstreamExchangeListener;
+import com.kroaddy.api.proxy.UpstreamResponse;
+import com.kroaddy.api.proxy.balancer.LoadBalancerStrategy;
+import com.kroaddy.api.proxy.balancer.UpstreamInstance;
+import com.kroaddy.api.proxy.balancer.UpstreamStats;
+import com.kroaddy.api.proxy.route.RouteConfig;
+import com.kroaddy.api.proxy.route.RouteIndex;
+import com.kroaddy.api.proxy.route.RouteOptions;
+import com.kroaddy.api.proxy.route.RouteSnapshot;
+import com.kroaddy.api.proxy.route.RouteTable;
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ProxyAuthFilterTest {
+
+    private static final String IDENTITY_SECRET = "test-identity-secret-for-proxy-auth-filter";
+
+    private JwtTokenProvider jwtTokenProvider;
+    private VerifiedTokenCache verifiedTokenCache;
+    private SimpleMeterRegistry meterRegistry;
+    private ProxyAuthProperties properties;
+    private ProxyAuthFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        JwtProperties jwtProperties = new JwtProperties();
+        jwtProperties.setSecret("test-secret-key-for-proxy-auth-filter-0123");
+        jwtTokenProvider = new JwtTokenProvider(jwtProperties);
+        meterRegistry = new SimpleMeterRegistry();
+        verifiedTokenCache = new VerifiedTokenCache(jwtTokenProvider, jwtProperties, meterRegistry);
+
+        RouteIndex index = RouteIndex.compile(List.of(
+                route("user-service", "/api/users/**", AuthPolicy.REQUIRED),
+                route("ai-rag", "/api/ai/rag/**", null),
+                route("docs", "/transformer-docs/**", AuthPolicy.NONE)));
+        RouteSnapshot snapshot = new RouteSnapshot(1, "test", Instant.now(), List.of(), index);
+        RouteTable routeTable = new RouteTable(null, null, null, null) {
+            @Override
+            public RouteSnapshot current() {
+                return snapshot;
+            }
+        };
+        properties = new ProxyAuthProperties();
+        properties.setIdentitySecret(IDENTITY_SECRET);
+        filter = new ProxyAuthFilter(routeTable, verifiedTokenCache, properties, new ObjectMapper(), meterRegistry);
+    }
+
+    @Test
+    void requiredRouteInjectsSignedIdentity() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/me");
+        request.setCookies(new Cookie("Authorization", jwtTokenProvider.generateToken("kakao-42", "kakao")));
+        // 클라이언트가 보낸 사용자 헤더는 게이트웨이 값으로 대체
+        request.addHeader("X-User-Id", "admin");
+        request.addHeader("x-auth-signature", "forged");
+        request.addHeader("X-Remote-User", "admin");
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        HttpServletRequest forwarded = (HttpServletRequest) chain.getRequest();
+        assertThat(forwarded.getHeader("X-User-Id")).isEqualTo("kakao-42");
+        assertThat(Collections.list(forwarded.getHeaders("x-user-id"))).containsExactly("kakao-42");
+        assertThat(forwarded.getHeader("X-Auth-Provider")).isEqualTo("kakao");
+        assertThat(forwarded.getHeader("X-Remote-User")).isNull();
+        // 서명 헤더는 업스트림 요청 줄이 정해진 뒤 ProxyForwarder가 넣음 (클라이언트 값은 제거)
+        assertThat(forwarded.getHeader("X-Auth-Signature")).isNull();
+        assertThat(Collections.list(forwarded.getHeaderNames()))
+                .filteredOn(name -> name.equalsIgnoreCase("X-User-Id") || name.equalsIgnoreCase("X-Auth-Signature"))
+                .containsExactly("X-User-Id");
+        assertThat(requests("user-service", "required", "authenticated")).isEqualTo(1);
+    }
+
+    @Test
+    void forwarderSignsIdentityWithUpstreamRequestLine() throws Exception {
+        AtomicReference<Headers> received = new AtomicReference<>();
+        HttpServer upstream = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        upstream.createContext("/", exchange -> {
+            received.set(exchange.getRequestHeaders());
+            exchange.sendResponseHeaders(204, -1);
+            exchange.close();
+        });
+        upstream.start();
+        try {
+            MockHttpServletRequest request = new MockHttpServletRequest("DELETE", "/api/users/me");
+            request.addHeader("Authorization", "Bearer " + jwtTokenProvider.generateToken("kakao-42", "kakao"));
+            request.addHeader("X-Auth-Timestamp", "1");
+            MockFilterChain chain = new MockFilterChain();
+            filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+            ProxyForwarder forwarder = new ProxyForwarder(new SimpleClientHttpRequestFactory(), 8192,
+                    new IdentitySigner(IDENTITY_SECRET));
+            String host = "127.0.0.1:" + upstream.getAddress().getPort();
+            try (UpstreamResponse response = forwarder.open((HttpServletRequest) chain.getRequest(),
+                    URI.create("http://" + host + "/users/me?fields=a%2Cb"), -1, headers -> {
+                    }, UpstreamExchangeListener.NONE)) {
+                assertThat(response.getStatusCode()).isEqualTo(204);
+            }
+
+            Headers headers = received.get();
+            String timestamp = headers.getFirst("X-Auth-Timestamp");
+            assertThat(Long.parseLong(timestamp)).isBetween(System.currentTimeMillis() / 1000 - 5,
+                    System.currentTimeMillis() / 1000);
+            assertThat(headers.getFirst("X-User-Id")).isEqualTo("kakao-42");
+            // 메서드, 실제 업스트림 Host, 재작성된 경로와 쿼리(인코딩된 그대로)까지 서명
+            assertThat(headers.getFirst("X-Auth-Signature")).isEqualTo(expectedSignature(
+                    "v2\n" + timestamp + "\nDELETE\n" + host + "\n/users/me?fields=a%2Cb\nkakao-42\nkakao"));
+            assertThat(headers.getFirst("X-Auth-Signature")).isNotEqualTo(expectedSignature(
+                    "v2\n" + timestamp + "\nGET\n" + host + "\n/users/me?fields=a%2Cb\nkakao-42\nkakao"));
+        } finally {
+            upstream.stop(0);
+        }
+    }
+
+    @Test
+    void identitySecretIsRequiredOutsideDevProfile() {
+        ProxyAuthConfig config = new ProxyAuthConfig();
+        ProxyAuthProperties missing = new ProxyAuthProperties();
+        assertThatThrownBy(() -> config.identitySigner(missing, new MockEnvironment()))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("GATEWAY_IDENTITY_SECRET");
+
+        // 저장소에 공개된 기본 키는 dev 프로필에서만 허용
+        ProxyAuthProperties published = new ProxyAuthProperties();
+        published.setIdentitySecret("dev-identity-secret-not-for-production-0123456789");
+        assertThatThrownBy(() -> config.identitySigner(published, new MockEnvironment()))
+                .isInstanceOf(IllegalStateException.class);
+        MockEnvironment dev = new MockEnvironment();
+        dev.setActiveProfiles("dev");
+        assertThat(config.identitySigner(published, dev)).isNotNull();
+        assertThat(config.identitySigner(properties, new MockEnvironment())).isNotNull();
+    }
+
+    @Test
+    void requiredRouteRejectsMissingOrInvalidToken() throws Exception {
+        MockHttpServletResponse missing = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/users/1"), missing, chain);
+        assertThat(missing.getStatus()).isEqualTo(401);
+        assertThat(missing.getHeader("WWW-Authenticate")).isEqualTo("Bearer");
+        assertThat(missing.getContentAsString()).contains("\"reason\":\"MISSING\"");
+        assertThat(chain.getRequest()).isNull();
+
+        // 로그아웃한 토큰도 거절
+        String token = jwtTokenProvider.generateToken("user-1");
+        verifiedTokenCache.revoke(token);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/1");
+        request.addHeader("Authorization", "Bearer " + token);
+        MockHttpServletResponse revoked = new MockHttpServletResponse();
+        filter.doFilter(request, revoked, new MockFilterChain());
+        assertThat(revoked.getStatus()).isEqualTo(401);
+        assertThat(revoked.getContentAsString()).contains("\"reason\":\"REVOKED\"");
+        assertThat(requests("user-service", "required", "rejected")).isEqualTo(2);
+    }
+
+    @Test
+    void optionalRouteForwardsAnonymousRequestsWithoutIdentity() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/ai/rag/query");
+        request.setCookies(new Cookie("Authorization", "not-a-token"));
+        request.addHeader("X-User-Id", "admin");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, response, chain);
+
+        HttpServletRequest forwarded = (HttpServletRequest) chain.getRequest();
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(forwarded.getHeader("X-User-Id")).isNull();
+        assertThat(Collections.list(forwarded.getHeaderNames())).noneMatch(name -> name.equalsIgnoreCase("X-User-Id"));
+        assertThat(requests("ai-rag", "optional", "anonymous")).isEqualTo(1);
+
+        // 유효한 토큰이면 optional 라우트에도 사용자 헤더 (provider 클레임이 없는 토큰은 unknown)
+        MockHttpServletRequest authenticated = new MockHttpServletRequest("GET", "/api/ai/rag/query");
+        authenticated.addHeader("Authorization", "Bearer " + jwtTokenProvider.generateToken("user-1"));
+        MockFilterChain authenticatedChain = new MockFilterChain();
+        filter.doFilter(authenticated, new MockHttpServletResponse(), authenticatedChain);
+        assertThat(((HttpServletRequest) authenticatedChain.getRequest()).getHeader("X-User-Id")).isEqualTo("user-1");
+        assertThat(((HttpServletRequest) authenticatedChain.getRequest()).getHeader("X-Auth-Provider"))
+                .isEqualTo("unknown");
+    }
+
+    @Test
+    void publicAndGatewayPathsPassThrough() throws Exception {
+        // none 라우트는 검증하지 않지만 사용자 헤더는 제거
+        MockHttpServletRequest docs = new MockHttpServletRequest("GET", "/transformer-docs/index.html");
+        docs.addHeader("X-User-Id", "admin");
+        MockFilterChain docsChain = new MockFilterChain();
+        filter.doFilter(docs, new MockHttpServletResponse(), docsChain);
+        assertThat(((HttpServletRequest) docsChain.getRequest()).getHeader("X-User-Id")).isNull();
+
+        // 헤더를 바꿀 필요가 없으면 원본 요청 그대로
+        MockHttpServletRequest clean = new MockHttpServletRequest("GET", "/transformer-docs/index.html");
+        MockFilterChain cleanChain = new MockFilterChain();
+        filter.doFilter(clean, new MockHttpServletResponse(), cleanChain);
+        assertThat(cleanChain.getRequest()).isSameAs(clean);
+
+        // 라우트가 없는 경로는 게이트웨이 컨트롤러가 처리
+        MockHttpServletRequest me = new MockHttpServletRequest("GET", "/api/auth/me");
+        MockFilterChain meChain = new MockFilterChain();
+        filter.doFilter(me, new MockHttpServletResponse(), meChain);
+        assertThat(meChain.getRequest()).isSameAs(me);
+    }
+
+    private double requests(String route, String policy, String result) {
+        return meterRegistry.get("gateway.auth.requests")
+                .tag("route", route).tag("policy", policy).tag("result", result)
+                .counter().count();
+    }
+
+    private static RouteConfig route(String id, String pattern, AuthPolicy policy) {
+        return new RouteConfig(id, pattern, LoadBalancerStrategy.ROUND_ROBIN,
+                List.of(new UpstreamInstance(new UpstreamStats("http://localhost:9000", 1_000_000_000L), 1)), null,
+                RouteOptions.builder().authPolicy(policy).build());
+    }
+
+    private static String expectedSignature(String input) throws Exception {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(IDENTITY_SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(
+                mac.doFinal(input.getBytes(StandardCharsets.UTF_8)));
+    }
+}
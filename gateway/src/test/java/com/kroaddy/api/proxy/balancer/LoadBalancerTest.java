@@ -0,0 +1,209 @@
+package com.kroaddy.api.proxy.balancer;
+
+import com.kroaddy.api.proxy.ProxyForwarder;
+import com.kroaddy.api.proxy.UpstreamResponse;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LoadBalancerTest {
+
+    private static final long DECAY_NANOS = Duration.ofSeconds(1).toNanos();
+
+    private final List<HttpServer> stubs = new ArrayList<>();
+    private final List<ExecutorService> stubExecutors = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        stubs.forEach(stub -> stub.stop(0));
+        stubExecutors.forEach(ExecutorService::close);
+    }
+
+    @Test
+    void roundRobinCyclesThroughInstances() {
+        LoadBalancer balancer = LoadBalancer.create(LoadBalancerStrategy.ROUND_ROBIN,
+                instances(Map.of("http://a:1", 1, "http://b:1", 1, "http://c:1", 1)));
+
+        Map<String, Integer> counts = pick(balancer, 300);
+        assertThat(counts.values()).containsOnly(100);
+    }
+
+    @Test
+    void weightedFollowsWeightsAndInterleaves() {
+        List<UpstreamInstance> instances = List.of(
+                new UpstreamInstance(new UpstreamStats("http://a:1", DECAY_NANOS), 5),
+                new UpstreamInstance(new UpstreamStats("http://b:1", DECAY_NANOS), 1),
+                new UpstreamInstance(new UpstreamStats("http://c:1", DECAY_NANOS), 1));
+        LoadBalancer balancer = LoadBalancer.create(LoadBalancerStrategy.WEIGHTED, instances);
+
+        StringBuilder sequence = new StringBuilder();
+        for (int i = 0; i < 7; i++) {
+            sequence.append(balancer.choose().getBaseUrl().charAt(7));
+        }
+        // smooth weighted round-robin: 무거운 인스턴스도 연속으로 몰리지 않음
+        assertThat(sequence.toString()).isEqualTo("aabacaa");
+        assertThat(pick(balancer, 700)).containsEntry("http://a:1", 500)
+                .containsEntry("http://b:1", 100)
+                .containsEntry("http://c:1", 100);
+    }
+
+    @Test
+    void inFlightCountersStayConsistentUnderContention() throws Exception {
+        UpstreamStats stats = new UpstreamStats("http://a:1", DECAY_NANOS);
+        UpstreamInstance instance = new UpstreamInstance(stats, 1);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 64; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        try (UpstreamStats.Exchange exchange = instance.begin()) {
+                            exchange.onResponse(200);
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+        assertThat(stats.getInFlight()).isZero();
+        assertThat(stats.latencyEwmaNanos()).isPositive();
+    }
+
+    /**
+     * 지연이 다른 스텁 3개(20ms, 20ms, 300ms)에 동시 요청을 흘려 전략별 분배와 평균 지연 비교
+     */
+    @Test
+    void loadAwareStrategiesAvoidSlowInstance() throws Exception {
+        String fast1 = startStub(20);
+        String fast2 = startStub(20);
+        String slow = startStub(300);
+
+        Result roundRobin = run(LoadBalancerStrategy.ROUND_ROBIN, fast1, fast2, slow);
+        Result leastOutstanding = run(LoadBalancerStrategy.LEAST_OUTSTANDING, fast1, fast2, slow);
+        Result latencyEwma = run(LoadBalancerStrategy.LATENCY_EWMA, fast1, fast2, slow);
+
+        // round-robin은 느린 인스턴스에도 1/3을 보내고, 부하 인식 전략은 그보다 훨씬 적게 보냄
+        double roundRobinShare = roundRobin.slowShare(slow);
+        double leastOutstandingShare = leastOutstanding.slowShare(slow);
+        double latencyEwmaShare = latencyEwma.slowShare(slow);
+        assertThat(roundRobinShare).isBetween(0.30, 0.37);
+        assertThat(leastOutstandingShare).isLessThan(0.2).isLessThan(roundRobinShare / 2);
+        assertThat(latencyEwmaShare).isLessThan(0.1).isLessThan(roundRobinShare / 3);
+        assertThat(leastOutstanding.meanMillis()).isLessThan(roundRobin.meanMillis());
+        assertThat(latencyEwma.meanMillis()).isLessThan(roundRobin.meanMillis());
+    }
+
+    private Result run(LoadBalancerStrategy strategy, String... baseUrls) throws Exception {
+        Map<String, UpstreamStats> stats = new HashMap<>();
+        List<UpstreamInstance> instances = new ArrayList<>();
+        for (String baseUrl : baseUrls) {
+            UpstreamStats upstreamStats = new UpstreamStats(baseUrl, DECAY_NANOS);
+            stats.put(baseUrl, upstreamStats);
+            instances.add(new UpstreamInstance(upstreamStats, 1));
+        }
+        LoadBalancer balancer = LoadBalancer.create(strategy, instances);
+        ProxyForwarder forwarder = new ProxyForwarder(new SimpleClientHttpRequestFactory(), 8192);
+
+        Map<String, AtomicLong> counts = new ConcurrentHashMap<>();
+        AtomicLong totalNanos = new AtomicLong();
+        int clients = 12;
+        int requestsPerClient = 25;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int c = 0; c < clients; c++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < requestsPerClient; i++) {
+                        long start = System.nanoTime();
+                        UpstreamInstance instance = balancer.choose();
+                        try (UpstreamStats.Exchange exchange = instance.begin();
+                             UpstreamResponse upstreamResponse = forwarder.open(
+                                     new MockHttpServletRequest("GET", "/api/ml/usa/predict"),
+                                     URI.create(instance.getBaseUrl() + "/usa/predict"), -1, headers -> {
+                                     }, exchange)) {
+                            upstreamResponse.relay(new MockHttpServletResponse());
+                        }
+                        totalNanos.addAndGet(System.nanoTime() - start);
+                        counts.computeIfAbsent(instance.getBaseUrl(), k -> new AtomicLong()).incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+        stats.values().forEach(s -> assertThat(s.getInFlight()).isZero());
+        return new Result(counts.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().get())),
+                clients * requestsPerClient, totalNanos.get());
+    }
+
+    private String startStub(long latencyMillis) throws IOException {
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        HttpServer stub = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 100);
+        stub.setExecutor(executor);
+        stub.createContext("/", exchange -> {
+            try {
+                Thread.sleep(latencyMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(200, 2);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write("ok".getBytes());
+            }
+        });
+        stub.start();
+        stubs.add(stub);
+        stubExecutors.add(executor);
+        return "http://127.0.0.1:" + stub.getAddress().getPort();
+    }
+
+    private static List<UpstreamInstance> instances(Map<String, Integer> weights) {
+        return weights.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .map(e -> new UpstreamInstance(new UpstreamStats(e.getKey(), DECAY_NANOS), e.getValue()))
+                .toList();
+    }
+
+    private static Map<String, Integer> pick(LoadBalancer balancer, int times) {
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < times; i++) {
+            counts.merge(balancer.choose().getBaseUrl(), 1, Integer::sum);
+        }
+        return counts;
+    }
+
+    private record Result(Map<String, Long> counts, int total, long totalNanos) {
+
+        double slowShare(String slow) {
+            return (double) counts.getOrDefault(slow, 0L) / total;
+        }
+
+        long meanMillis() {
+            return totalNanos / total / 1_000_000;
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package com.kroaddy.api.proxy.batch;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kroaddy.api.proxy.ProxyException;
+import com.kroaddy.api.proxy.ProxyForwarder;
+import com.kroaddy.api.ratelimit.ClientAddressResolver;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BatchExecutorTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger maxActive = new AtomicInteger();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private BatchProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private BatchExecutor executor;
+    private HttpServer stub;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        stub = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 50);
+        stub.createContext("/api/auth/me", exchange -> respond(exchange, 200, "application/json",
+                "{\"id\":\"" + exchange.getRequestHeaders().getFirst("Cookie") + "\"}"));
+        stub.createContext("/api/users", exchange -> respond(exchange, 404, "text/plain", "no user"));
+        stub.createContext("/api/ml/echo", exchange -> respond(exchange, 200, "application/json",
+                new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8)));
+        stub.createContext("/api/ml/headers", exchange -> respond(exchange, 200, "text/plain",
+                exchange.getRequestHeaders().getFirst("X-Forwarded-For") + "|"
+                        + exchange.getRequestHeaders().getFirst("X-Custom")));
+        stub.createContext("/api/ml/token", exchange -> respond(exchange, 200, "text/plain",
+                String.valueOf(exchange.getRequestHeaders().getFirst(BatchExecutor.SUB_REQUEST_HEADER))));
+        stub.createContext("/api/ml/slow", this::slow);
+        stub.createContext("/api/ml/hang", exchange -> {
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            respond(exchange, 200, "text/plain", "late");
+        });
+        stub.setExecutor(Executors.newCachedThreadPool());
+        stub.start();
+
+        properties = new BatchProperties();
+        properties.setLoopbackUri("http://127.0.0.1:" + stub.getAddress().getPort());
+        meterRegistry = new SimpleMeterRegistry();
+        executor = new BatchExecutor(properties,
+                new ProxyForwarder(new HttpComponentsClientHttpRequestFactory(), 8192), objectMapper, meterRegistry,
+                new ClientAddressResolver(List.of("127.0.0.1/32")));
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        stub.stop(0);
+        executor.destroy();
+    }
+
+    @Test
+    void itemsRunInParallelWithClientCredentials() throws Exception {
+        MockHttpServletRequest request = batch("""
+                {"requests": [
+                  {"id": "me", "path": "/api/auth/me"},
+                  {"id": "user", "path": "/api/users/1"},
+                  {"id": "echo", "method": "post", "path": "/api/ml/echo", "body": {"x": [1, 2]}},
+                  {"id": "headers", "path": "/api/ml/headers", "headers": {"X-Custom": "v", "X-Forwarded-For": "spoof"}}
+                ]}""");
+        request.setCookies(new Cookie("Authorization", "token"));
+        request.setRemoteAddr("203.0.113.7");
+        request.addHeader("X-Forwarded-For", "198.51.100.1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        executor.execute(request, response);
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentType()).startsWith("application/json");
+        JsonNode results = objectMapper.readTree(response.getContentAsByteArray());
+        assertThat(results).hasSize(4);
+        // 배치 요청의 쿠키로 인증, JSON 응답은 그대로 중첩
+        assertThat(item(results, "me").get("status").asInt()).isEqualTo(200);
+        assertThat(item(results, "me").get("body").get("id").asText()).isEqualTo("Authorization=token");
+        // 하위 요청의 오류 응답은 항목 상태로만 보고
+        assertThat(item(results, "user").get("status").asInt()).isEqualTo(404);
+        assertThat(item(results, "user").get("body").asText()).isEqualTo("no user");
+        assertThat(item(results, "echo").get("body").get("x").get(1).asInt()).isEqualTo(2);
+        // X-Forwarded-For는 게이트웨이가 확인한 클라이언트 주소 (신뢰하지 않는 클라이언트가 보낸 값은 버림)
+        assertThat(item(results, "headers").get("body").asText()).isEqualTo("203.0.113.7|v");
+        assertThat(meterRegistry.get("gateway.batch.items").tag("outcome", "success").counter().count()).isEqualTo(3);
+        assertThat(meterRegistry.get("gateway.batch.items").tag("outcome", "error").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void concurrencyIsBoundedPerBatch() throws Exception {
+        properties.setMaxConcurrency(2);
+        List<String> items = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            items.add("{\"path\": \"/api/ml/slow\"}");
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        executor.execute(batch("{\"requests\": [" + String.join(",", items) + "]}"), response);
+
+        JsonNode results = objectMapper.readTree(response.getContentAsByteArray());
+        assertThat(results).hasSize(6);
+        results.forEach(result -> assertThat(result.get("status").asInt()).isEqualTo(200));
+        assertThat(maxActive.get()).isEqualTo(2);
+    }
+
+    @Test
+    void deadlineCancelsSlowItems() throws Exception {
+        MockHttpServletRequest request = batch("""
+                {"timeoutMs": 300, "requests": [
+                  {"id": "fast", "path": "/api/auth/me"},
+                  {"id": "hang", "path": "/api/ml/hang"}
+                ]}""");
+        request.addHeader("Accept", "application/x-ndjson");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        long start = System.nanoTime();
+        executor.execute(request, response);
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(3));
+
+        // 한 줄에 한 항목, 끝난 순서대로
+        assertThat(response.getContentType()).startsWith("application/x-ndjson");
+        String[] lines = response.getContentAsString().split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readTree(lines[0]).get("id").asText()).isEqualTo("fast");
+        JsonNode hang = objectMapper.readTree(lines[1]);
+        assertThat(hang.get("status").asInt()).isEqualTo(504);
+        assertThat(hang.get("error").asText()).isEqualTo("timeout");
+        assertThat(meterRegistry.get("gateway.batch.requests").tag("result", "deadline").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void subRequestsCarryTokenOnlyThisGatewayAccepts() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        executor.execute(batch("""
+                {"requests": [{"path": "/api/ml/token", "headers": {"X-Gateway-Batch": "forged"}}]}"""), response);
+        // 하위 요청이 직접 지정한 값은 무시하고 게이트웨이 토큰으로 덮어씀
+        String token = objectMapper.readTree(response.getContentAsByteArray()).get(0).get("body").asText();
+        assertThat(token).isNotEqualTo("forged");
+
+        MockHttpServletRequest subRequest = new MockHttpServletRequest("GET", "/api/ml/token");
+        subRequest.addHeader(BatchExecutor.SUB_REQUEST_HEADER, token);
+        assertThat(executor.isSubRequest(subRequest)).isTrue();
+        MockHttpServletRequest forged = new MockHttpServletRequest("GET", "/api/ml/token");
+        forged.addHeader(BatchExecutor.SUB_REQUEST_HEADER, "forged");
+        assertThat(executor.isSubRequest(forged)).isFalse();
+        assertThat(executor.isSubRequest(new MockHttpServletRequest("GET", "/api/ml/token"))).isFalse();
+    }
+
+    @Test
+    void invalidBatchesAreRejectedBeforeRunning() {
+        assertRejected("{\"requests\": []}", HttpStatus.BAD_REQUEST);
+        assertRejected("{\"requests\": [{\"path\": \"/api/batch\"}]}", HttpStatus.BAD_REQUEST);
+        assertRejected("{\"requests\": [{\"path\": \"/api/x/../../actuator/env\"}]}", HttpStatus.BAD_REQUEST);
+        assertRejected("{\"requests\": [{\"path\": \"http://evil/api/x\"}]}", HttpStatus.BAD_REQUEST);
+        // 컨테이너가 디코딩/경로 파라미터 제거 후 정규화하면 /actuator/env가 되는 경로
+        for (String path : List.of("/api/%2e%2e/actuator/env", "/api/x/%2E%2E%2F%2e%2e/actuator/env",
+                "/api/x%2f..%2f..%2factuator/env", "/api/%252e%252e/actuator/env", "/api/..;/actuator/env",
+                "/api/x/..\\\\..\\\\actuator/env")) {
+            assertRejected("{\"requests\": [{\"path\": \"" + path + "\"}]}", HttpStatus.BAD_REQUEST);
+        }
+        assertRejected("{\"requests\": [{\"path\": \"/api/a\", \"method\": \"TRACE\"}]}", HttpStatus.BAD_REQUEST);
+        assertRejected("{\"requests\": [{\"id\": \"a\", \"path\": \"/api/a\"}, {\"id\": \"a\", \"path\": \"/api/b\"}]}",
+                HttpStatus.BAD_REQUEST);
+        properties.setMaxItems(1);
+        assertRejected("{\"requests\": [{\"path\": \"/api/a\"}, {\"path\": \"/api/b\"}]}", HttpStatus.BAD_REQUEST);
+        properties.setMaxRequestSize(10);
+        assertRejected("{\"requests\": [{\"path\": \"/api/a\"}]}", HttpStatus.PAYLOAD_TOO_LARGE);
+    }
+
+    private void assertRejected(String body, HttpStatus status) {
+        assertThatThrownBy(() -> executor.execute(batch(body), new MockHttpServletResponse()))
+                .isInstanceOf(ProxyException.class)
+                .extracting(e -> ((ProxyException) e).getStatus())
+                .isEqualTo(status);
+    }
+
+    private static MockHttpServletRequest batch(String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", BatchExecutor.BATCH_PATH);
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    private static JsonNode item(JsonNode results, String id) {
+        for (JsonNode result : results) {
+            if (id.equals(result.get("id").asText())) {
+                return result;
+            }
+        }
+        throw new AssertionError("no item " + id);
+    }
+
+    private void slow(HttpExchange exchange) throws IOException {
+        maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+        try {
+            Thread.sleep(100);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            active.decrementAndGet();
+        }
+        respond(exchange, 200, "text/plain", "ok");
+    }
+
+    private static void respond(HttpExchange exchange, int status, String contentType, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package com.kroaddy.api.proxy.cache;
+
+import com.kroaddy.api.proxy.CapturedResponse;
+import com.kroaddy.api.proxy.ProxyForwarder;
+import com.kroaddy.api.proxy.UpstreamExchangeListener;
+import com.kroaddy.api.proxy.UpstreamResponse;
+import com.kroaddy.api.proxy.balancer.LoadBalancerStrategy;
+import com.kroaddy.api.proxy.balancer.UpstreamInstance;
+import com.kroaddy.api.proxy.balancer.UpstreamStats;
+import com.kroaddy.api.proxy.route.RouteConfig;
+import com.kroaddy.api.proxy.route.RouteOptions;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InferenceCacheTest {
+
+    private final List<String> upstreamBodies = new CopyOnWriteArrayList<>();
+    private ResponseCacheProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private ProxyForwarder forwarder;
+    private HttpServer stub;
+    private RouteConfig route;
+    private ResponseCache responseCache;
+    private InferenceCache cache;
+    private volatile int upstreamStatus = 200;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        properties = new ResponseCacheProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        forwarder = new ProxyForwarder(new SimpleClientHttpRequestFactory(), 8192);
+        stub = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 50);
+        stub.createContext("/titanic", this::predict);
+        stub.start();
+        String upstream = "http://127.0.0.1:" + stub.getAddress().getPort();
+        route = new RouteConfig("ml-titanic", "/api/ai/titanic/**", LoadBalancerStrategy.ROUND_ROBIN,
+                List.of(new UpstreamInstance(new UpstreamStats(upstream, 1), 1)), "/titanic",
+                RouteOptions.builder().inferenceCacheTtl(Duration.ofMinutes(10)).build());
+        responseCache = new ResponseCache(properties, meterRegistry, (RedisTemplate<String, byte[]>) null);
+        cache = new InferenceCache(responseCache, properties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        stub.stop(0);
+        responseCache.destroy();
+    }
+
+    @Test
+    void equivalentJsonBodiesShareOneResult() throws Exception {
+        MockHttpServletResponse miss = post("{\"age\": 22, \"fare\": 7.250, \"sex\": \"male\"}");
+        assertThat(miss.getHeader(ResponseCache.X_CACHE)).isEqualTo("MISS");
+        assertThat(miss.getContentAsString()).isEqualTo("prediction#1");
+
+        // 멤버 순서, 공백, 소수 표기가 달라도 같은 값이면 같은 결과
+        MockHttpServletResponse hit = post("{\"sex\":\"male\",\"fare\":7.25,\"age\":22}");
+        assertThat(hit.getHeader(ResponseCache.X_CACHE)).isEqualTo("HIT");
+        assertThat(hit.getContentAsString()).isEqualTo("prediction#1");
+        assertThat(upstreamBodies).containsExactly("{\"age\": 22, \"fare\": 7.250, \"sex\": \"male\"}");
+
+        // 값이 다르면 다른 결과 (정수와 소수도 구분)
+        post("{\"age\": 22.0, \"fare\": 7.25, \"sex\": \"male\"}");
+        assertThat(upstreamBodies).hasSize(2);
+
+        assertThat(requests("hit")).isEqualTo(1);
+        assertThat(requests("miss")).isEqualTo(2);
+        assertThat(meterRegistry.get("gateway.cache.saved").tags("route", "ml-titanic", "cache", "inference")
+                .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void bypassHeaderSkipsLookupAndStore() throws Exception {
+        MockHttpServletRequest bypass = request("{\"age\":30}");
+        bypass.addHeader("X-Cache-Bypass", "1");
+        MockHttpServletResponse response = execute(bypass);
+        assertThat(response.getHeader(ResponseCache.X_CACHE)).isNull();
+
+        assertThat(post("{\"age\":30}").getHeader(ResponseCache.X_CACHE)).isEqualTo("MISS");
+        assertThat(upstreamBodies).hasSize(2);
+        assertThat(requests("bypass")).isEqualTo(1);
+    }
+
+    @Test
+    void oversizedOrInvalidBodiesAreForwardedIntact() throws Exception {
+        properties.getInference().setMaxRequestSize(32);
+        String large = "{\"features\":[" + "1,".repeat(100) + "1]}";
+
+        // 길이를 모르는 본문이 한도를 넘으면 읽은 부분과 나머지를 이어서 전달
+        MockHttpServletRequest chunked = new MockHttpServletRequest("POST", "/api/ai/titanic/predict") {
+            @Override
+            public long getContentLengthLong() {
+                return -1;
+            }
+
+            @Override
+            public int getContentLength() {
+                return -1;
+            }
+        };
+        chunked.setContentType("application/json");
+        chunked.addHeader("Transfer-Encoding", "chunked");
+        chunked.setContent(large.getBytes(StandardCharsets.UTF_8));
+        execute(chunked);
+        execute(request(large));
+        execute(request("{\"age\": "));
+        execute(request("{\"age\": "));
+
+        assertThat(upstreamBodies).containsExactly(large, large, "{\"age\": ", "{\"age\": ");
+        assertThat(requests("uncacheable")).isEqualTo(4);
+    }
+
+    @Test
+    void onlySuccessfulResponsesAreStored() throws Exception {
+        upstreamStatus = 500;
+        post("{\"age\":40}");
+        upstreamStatus = 200;
+        assertThat(post("{\"age\":40}").getHeader(ResponseCache.X_CACHE)).isEqualTo("MISS");
+        assertThat(post("{\"age\":40}").getHeader(ResponseCache.X_CACHE)).isEqualTo("HIT");
+        assertThat(upstreamBodies).hasSize(2);
+    }
+
+    @Test
+    void canonicalDigestIgnoresFormattingButNotValues() throws Exception {
+        assertThat(digest("{\"a\":[1,{\"y\":true,\"x\":null}],\"b\":1e2}"))
+                .isEqualTo(digest(" { \"b\" : 100.00 , \"a\" : [ 1 , { \"x\" : null , \"y\" : true } ] } "));
+        assertThat(digest("[1,2]")).isNotEqualTo(digest("[2,1]"));
+        assertThat(digest("{\"a\":\"1\"}")).isNotEqualTo(digest("{\"a\":1}"));
+        assertThat(digest("{\"a\":[\"b\",\"c\"]}")).isNotEqualTo(digest("{\"a\":[\"bc\"]}"));
+
+        // 정규화할 수 없는 본문
+        assertThat(digest("{\"a\":1,\"a\":2}")).isNull();
+        assertThat(digest("{\"a\":1} {\"b\":2}")).isNull();
+        assertThat(digest("not json")).isNull();
+        assertThat(digest("[".repeat(CanonicalJsonDigest.MAX_DEPTH + 1) + "]".repeat(CanonicalJsonDigest.MAX_DEPTH + 1)))
+                .isNull();
+    }
+
+    private MockHttpServletResponse post(String body) throws IOException {
+        return execute(request(body));
+    }
+
+    private MockHttpServletResponse execute(MockHttpServletRequest request) throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        URI target = URI.create(route.choose().getBaseUrl() + "/titanic/predict");
+        cache.execute(route, "/titanic/predict", request, response, (body, onCaptured) -> {
+            CapturedResponse captured;
+            try (UpstreamResponse upstreamResponse = forwarder.open(body, target, -1, headers -> {
+            }, UpstreamExchangeListener.NONE)) {
+                if (onCaptured == null) {
+                    upstreamResponse.relay(response);
+                    return;
+                }
+                captured = upstreamResponse.relayOrCapture(response, responseCache.getMaxEntrySize());
+            }
+            if (captured != null) {
+                onCaptured.accept(captured);
+                captured.writeTo(response);
+            }
+        });
+        return response;
+    }
+
+    private void predict(HttpExchange exchange) throws IOException {
+        String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+        upstreamBodies.add(body);
+        byte[] bytes = ("prediction#" + upstreamBodies.size()).getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(upstreamStatus, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static MockHttpServletRequest request(String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/ai/titanic/predict");
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    private static String digest(String json) throws IOException {
+        byte[] digest = CanonicalJsonDigest.digest(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+        return digest != null ? HexFormat.of().formatHex(digest) : null;
+    }
+
+    private double requests(String result) {
+        return meterRegistry.get("gateway.cache.inference.requests")
+                .tags("route", "ml-titanic", "result", result).counter().count();
+    }
+}
@@ -0,0 +1,388 @@
+package com.kroaddy.api.proxy.cache;
+
+import com.github.fppt.jedismock.RedisServer;
+import com.kroaddy.api.proxy.CapturedResponse;
+import com.kroaddy.api.proxy.ProxyForwarder;
+import com.kroaddy.api.proxy.UpstreamExchangeListener;
+import com.kroaddy.api.proxy.UpstreamResponse;
+import com.kroaddy.api.proxy.balancer.LoadBalancerStrategy;
+import com.kroaddy.api.proxy.balancer.UpstreamInstance;
+import com.kroaddy.api.proxy.balancer.UpstreamStats;
+import com.kroaddy.api.proxy.route.RouteConfig;
+import com.kroaddy.api.proxy.route.RouteOptions;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResponseCacheTest {
+
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+    private final List<AutoCloseable> resources = new ArrayList<>();
+    private ResponseCacheProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private ProxyForwarder forwarder;
+    private HttpServer stub;
+    private String upstream;
+    private RouteConfig route;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        properties = new ResponseCacheProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        forwarder = new ProxyForwarder(new SimpleClientHttpRequestFactory(), 8192);
+        stub = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 50);
+        stub.start();
+        upstream = "http://127.0.0.1:" + stub.getAddress().getPort();
+        route = new RouteConfig("docs", "/transformer-docs/**", LoadBalancerStrategy.ROUND_ROBIN,
+                List.of(new UpstreamInstance(new UpstreamStats(upstream, 1), 1)), "/docs",
+                RouteOptions.builder().cacheTtl(Duration.ofMinutes(5)).build());
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        stub.stop(0);
+        for (AutoCloseable resource : resources.reversed()) {
+            resource.close();
+        }
+    }
+
+    @Test
+    void freshResponseIsServedFromCacheWithConditional304() throws Exception {
+        stubContext("/docs", exchange -> {
+            exchange.getResponseHeaders().add("Cache-Control", "max-age=60");
+            exchange.getResponseHeaders().add("ETag", "\"v1\"");
+            respond(exchange, 200, "<html>docs</html>");
+        });
+        ResponseCache cache = localCache();
+
+        MockHttpServletResponse miss = get(cache, request(), "/docs");
+        assertThat(miss.getHeader(ResponseCache.X_CACHE)).isEqualTo("MISS");
+        assertThat(miss.getContentAsString()).isEqualTo("<html>docs</html>");
+
+        MockHttpServletResponse hit = get(cache, request(), "/docs");
+        assertThat(hit.getHeader(ResponseCache.X_CACHE)).isEqualTo("HIT");
+        assertThat(hit.getHeader("Age")).isEqualTo("0");
+        assertThat(hit.getContentAsString()).isEqualTo("<html>docs</html>");
+        assertThat(upstreamCalls.get()).isEqualTo(1);
+
+        // 클라이언트가 같은 버전을 가지고 있으면 본문 없이 304
+        MockHttpServletRequest conditional = request();
+        conditional.addHeader("If-None-Match", "W/\"v1\"");
+        MockHttpServletResponse notModified = get(cache, conditional, "/docs");
+        assertThat(notModified.getStatus()).isEqualTo(304);
+        assertThat(notModified.getContentAsByteArray()).isEmpty();
+        assertThat(notModified.getHeader("ETag")).isEqualTo("\"v1\"");
+
+        // 클라이언트 no-cache면 업스트림에서 새로 받음
+        MockHttpServletRequest noCache = request();
+        noCache.addHeader("Cache-Control", "no-cache");
+        get(cache, noCache, "/docs");
+        assertThat(upstreamCalls.get()).isEqualTo(2);
+
+        assertThat(requests("hit", "local")).isEqualTo(2);
+        assertThat(requests("miss", "none")).isEqualTo(2);
+        assertThat(meterRegistry.get("cache.gets").tags("cache", "gateway-response", "result", "hit")
+                .functionCounter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void conditionalMissFetchesFullResponseFromUpstream() throws Exception {
+        List<String> upstreamConditions = new ArrayList<>();
+        stubContext("/docs", exchange -> {
+            upstreamConditions.add(String.valueOf(exchange.getRequestHeaders().getFirst("If-None-Match")));
+            exchange.getResponseHeaders().add("ETag", "\"v1\"");
+            respond(exchange, 200, "body");
+        });
+        ResponseCache cache = localCache();
+
+        MockHttpServletRequest conditional = request();
+        conditional.addHeader("If-None-Match", "\"v1\"");
+        MockHttpServletResponse response = get(cache, conditional, "/docs");
+
+        // 업스트림에는 조건 없이 보내 전체 응답을 저장하고, 클라이언트에는 304
+        assertThat(upstreamConditions).containsExactly("null");
+        assertThat(response.getStatus()).isEqualTo(304);
+        assertThat(get(cache, request(), "/docs").getContentAsString()).isEqualTo("body");
+        assertThat(upstreamCalls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void uncacheableResponsesAreNotStored() throws Exception {
+        stubContext("/no-store", exchange -> {
+            exchange.getResponseHeaders().add("Cache-Control", "no-store");
+            respond(exchange, 200, "secret");
+        });
+        stubContext("/private", exchange -> {
+            exchange.getResponseHeaders().add("Cache-Control", "private, max-age=60");
+            respond(exchange, 200, "mine");
+        });
+        stubContext("/cookie", exchange -> {
+            exchange.getResponseHeaders().add("Set-Cookie", "session=abc");
+            respond(exchange, 200, "cookie");
+        });
+        stubContext("/error", exchange -> respond(exchange, 500, "error"));
+        ResponseCache cache = localCache();
+
+        for (String path : List.of("/no-store", "/private", "/cookie", "/error")) {
+            get(cache, request(), path);
+            get(cache, request(), path);
+        }
+        assertThat(upstreamCalls.get()).isEqualTo(8);
+
+        // Authorization 요청의 응답은 public일 때만 공유
+        stubContext("/auth", exchange -> respond(exchange, 200, "user"));
+        MockHttpServletRequest authorized = request();
+        authorized.addHeader("Authorization", "Bearer a");
+        get(cache, authorized, "/auth");
+        get(cache, authorized, "/auth");
+        assertThat(upstreamCalls.get()).isEqualTo(10);
+    }
+
+    @Test
+    void varyHeaderSeparatesVariants() throws Exception {
+        stubContext("/docs", exchange -> {
+            exchange.getResponseHeaders().add("Vary", "Accept-Language");
+            respond(exchange, 200, "lang=" + exchange.getRequestHeaders().getFirst("Accept-Language"));
+        });
+        ResponseCache cache = localCache();
+
+        MockHttpServletRequest ko = request();
+        ko.addHeader("Accept-Language", "ko");
+        MockHttpServletRequest en = request();
+        en.addHeader("Accept-Language", "en");
+
+        assertThat(get(cache, ko, "/docs").getContentAsString()).isEqualTo("lang=ko");
+        assertThat(get(cache, ko, "/docs").getHeader(ResponseCache.X_CACHE)).isEqualTo("HIT");
+        assertThat(get(cache, en, "/docs").getContentAsString()).isEqualTo("lang=en");
+        assertThat(upstreamCalls.get()).isEqualTo(2);
+    }
+
+    @Test
+    void staleResponseIsServedWhileRevalidatingInBackground() throws Exception {
+        AtomicInteger conditionalCalls = new AtomicInteger();
+        stubContext("/docs", exchange -> {
+            if ("\"v1\"".equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                conditionalCalls.incrementAndGet();
+                exchange.getResponseHeaders().add("Cache-Control", "max-age=60");
+                exchange.sendResponseHeaders(304, -1);
+                exchange.close();
+                return;
+            }
+            // 받자마자 stale, 30초 동안은 stale 제공 가능
+            exchange.getResponseHeaders().add("Cache-Control", "max-age=0, stale-while-revalidate=30");
+            exchange.getResponseHeaders().add("ETag", "\"v1\"");
+            respond(exchange, 200, "v1");
+        });
+        ResponseCache cache = localCache();
+
+        get(cache, request(), "/docs");
+        MockHttpServletResponse stale = get(cache, request(), "/docs");
+        assertThat(stale.getHeader(ResponseCache.X_CACHE)).isEqualTo("STALE");
+        assertThat(stale.getContentAsString()).isEqualTo("v1");
+
+        await(() -> revalidations("not_modified") == 1);
+        assertThat(conditionalCalls.get()).isEqualTo(1);
+
+        // 304의 Cache-Control로 갱신되어 다시 fresh
+        MockHttpServletResponse refreshed = get(cache, request(), "/docs");
+        assertThat(refreshed.getHeader(ResponseCache.X_CACHE)).isEqualTo("HIT");
+        assertThat(refreshed.getContentAsString()).isEqualTo("v1");
+        assertThat(upstreamCalls.get()).isEqualTo(2);
+    }
+
+    @Test
+    void sizeBoundedLocalTierEvictsEntries() throws Exception {
+        properties.setLocalMaxBytes(16 * 1024);
+        properties.getRedis().setEnabled(false);
+        stubContext("/docs", exchange -> respond(exchange, 200, "x".repeat(4096)));
+        ResponseCache cache = localCache();
+
+        for (int i = 0; i < 20; i++) {
+            MockHttpServletRequest request = request();
+            request.setQueryString("page=" + i);
+            get(cache, request, "/docs?page=" + i);
+        }
+        await(() -> evictions() > 0 && (long) cache.stats().get("localBytes") <= 16 * 1024);
+    }
+
+    @Test
+    void nodesShareRedisTierAndInvalidateThroughPubSub() throws Exception {
+        AtomicInteger version = new AtomicInteger(1);
+        stubContext("/docs", exchange -> respond(exchange, 200, "v" + version.get()));
+        RedisTemplate<String, byte[]> template = redisTemplate();
+        ResponseCache nodeA = sharedCache(template);
+        ResponseCache nodeB = sharedCache(template);
+
+        // A가 받은 응답을 B는 Redis에서 재사용
+        get(nodeA, request(), "/docs");
+        await(() -> template.hasKey("respcache:docs|/docs"));
+        MockHttpServletResponse fromRedis = get(nodeB, request(), "/docs");
+        assertThat(fromRedis.getHeader(ResponseCache.X_CACHE)).isEqualTo("HIT");
+        assertThat(fromRedis.getContentAsString()).isEqualTo("v1");
+        assertThat(requests("hit", "redis")).isEqualTo(1);
+        assertThat(upstreamCalls.get()).isEqualTo(1);
+
+        // A에서 변경 요청이 성공하면 Redis와 B의 로컬 사본도 무효화
+        version.set(2);
+        nodeA.invalidatePath(route, "/docs");
+        await(() -> (long) nodeB.stats().get("localEntries") == 0 && !template.hasKey("respcache:docs|/docs"));
+        assertThat(meterRegistry.get("gateway.cache.invalidations").tag("source", "remote").counter().count())
+                .isPositive();
+        assertThat(get(nodeB, request(), "/docs").getContentAsString()).isEqualTo("v2");
+        assertThat(upstreamCalls.get()).isEqualTo(2);
+
+        // 전체 비우기
+        await(() -> template.hasKey("respcache:docs|/docs"));
+        nodeB.purge(null);
+        await(() -> !template.hasKey("respcache:docs|/docs"));
+    }
+
+    private MockHttpServletResponse get(ResponseCache cache, MockHttpServletRequest request, String upstreamPathAndQuery)
+            throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        URI target = URI.create(upstream + upstreamPathAndQuery);
+        String upstreamPath = upstreamPathAndQuery.split("\\?")[0];
+        cache.execute(route, upstreamPath, request, response, new ResponseCache.Origin() {
+            @Override
+            public void passThrough() throws IOException {
+                try (UpstreamResponse upstreamResponse = forwarder.open(request, target, -1, headers -> {
+                }, UpstreamExchangeListener.NONE)) {
+                    upstreamResponse.relay(response);
+                }
+            }
+
+            @Override
+            public void fetch(Consumer<CapturedResponse> onCaptured) throws IOException {
+                CapturedResponse captured;
+                try (UpstreamResponse upstreamResponse = forwarder.open(request, target, -1,
+                        ResponseCache::removeConditionalHeaders, UpstreamExchangeListener.NONE)) {
+                    captured = upstreamResponse.relayOrCapture(response, cache.getMaxEntrySize());
+                }
+                if (captured != null) {
+                    onCaptured.accept(captured);
+                    captured.writeTo(request, response);
+                }
+            }
+
+            @Override
+            public CapturedResponse revalidate(HttpHeaders headers) throws IOException {
+                try (UpstreamResponse upstreamResponse = forwarder.open(target, headers, UpstreamExchangeListener.NONE)) {
+                    return upstreamResponse.capture(cache.getMaxEntrySize());
+                }
+            }
+        });
+        return response;
+    }
+
+    private ResponseCache localCache() {
+        ResponseCache cache = new ResponseCache(properties, meterRegistry, (RedisTemplate<String, byte[]>) null);
+        resources.add(cache::destroy);
+        return cache;
+    }
+
+    private ResponseCache sharedCache(RedisTemplate<String, byte[]> template) {
+        ResponseCache cache = new ResponseCache(properties, meterRegistry, template);
+        resources.add(cache::destroy);
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(template.getConnectionFactory());
+        container.addMessageListener(cache, new ChannelTopic(properties.getRedis().getChannel()));
+        container.afterPropertiesSet();
+        container.start();
+        resources.add(container::destroy);
+        return cache;
+    }
+
+    private RedisTemplate<String, byte[]> redisTemplate() throws IOException {
+        RedisServer server = RedisServer.newRedisServer().start();
+        resources.add(server::stop);
+        LettuceConnectionFactory connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(server.getHost(), server.getBindPort()));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        resources.add(connectionFactory::destroy);
+
+        RedisTemplate<String, byte[]> template = new RedisTemplate<>();
+        template.setConnectionFactory(connectionFactory);
+        template.setKeySerializer(new StringRedisSerializer());
+        template.setValueSerializer(RedisSerializer.byteArray());
+        template.afterPropertiesSet();
+        return template;
+    }
+
+    private void stubContext(String path, StubHandler handler) {
+        stub.createContext(path, exchange -> {
+            upstreamCalls.incrementAndGet();
+            handler.handle(exchange);
+        });
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static MockHttpServletRequest request() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/transformer-docs");
+        request.addHeader("Accept", "text/html");
+        return request;
+    }
+
+    private double requests(String result, String tier) {
+        return meterRegistry.get("gateway.cache.requests")
+                .tags("route", "docs", "result", result, "tier", tier).counter().count();
+    }
+
+    private double revalidations(String outcome) {
+        var counter = meterRegistry.find("gateway.cache.revalidations").tag("outcome", outcome).counter();
+        return counter != null ? counter.count() : 0;
+    }
+
+    private double evictions() {
+        var counter = meterRegistry.find("gateway.cache.evictions").tag("cause", "size").counter();
+        return counter != null ? counter.count() : 0;
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime() - deadline).as("조건 대기 시간 초과").isNegative();
+            Thread.sleep(20);
+        }
+    }
+
+    @FunctionalInterface
+    private interface StubHandler {
+        void handle(HttpExchange exchange) throws IOException;
+    }
+}
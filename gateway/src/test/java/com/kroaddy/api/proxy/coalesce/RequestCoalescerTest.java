@@ -0,0 +1,268 @@
+package com.kroaddy.api.proxy.coalesce;
+
+import com.kroaddy.api.proxy.CapturedResponse;
+import com.kroaddy.api.proxy.ProxyException;
+import com.kroaddy.api.proxy.ProxyForwarder;
+import com.kroaddy.api.proxy.UpstreamExchangeListener;
+import com.kroaddy.api.proxy.UpstreamResponse;
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestCoalescerTest {
+
+    private static final int CLIENTS = 50;
+
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+    private final AtomicInteger arrived = new AtomicInteger();
+    private CoalescingProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private RequestCoalescer coalescer;
+    private ProxyForwarder forwarder;
+    private HttpServer stub;
+    private ExecutorService stubExecutor;
+    private String upstream;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        properties = new CoalescingProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        coalescer = new RequestCoalescer(properties, meterRegistry);
+        forwarder = new ProxyForwarder(new SimpleClientHttpRequestFactory(), 8192);
+
+        stubExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        stub = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 200);
+        stub.setExecutor(stubExecutor);
+        stub.start();
+        upstream = "http://127.0.0.1:" + stub.getAddress().getPort();
+    }
+
+    @AfterEach
+    void tearDown() {
+        stub.stop(0);
+        stubExecutor.close();
+    }
+
+    @Test
+    void identicalConcurrentGetsShareOneUpstreamCall() throws Exception {
+        stubContext("/openapi.json", 200, "{\"openapi\":\"3.1.0\"}", headers -> headers.add("ETag", "\"v1\""));
+
+        List<MockHttpServletResponse> responses = runClients(i -> request("/transformer-openapi", null));
+
+        assertThat(upstreamCalls.get()).isEqualTo(1);
+        for (MockHttpServletResponse response : responses) {
+            assertThat(response.getStatus()).isEqualTo(200);
+            assertThat(response.getContentAsString()).isEqualTo("{\"openapi\":\"3.1.0\"}");
+            assertThat(response.getHeader("ETag")).isEqualTo("\"v1\"");
+        }
+        assertThat(count("leader")).isEqualTo(1);
+        assertThat(count("follower")).isEqualTo(CLIENTS - 1);
+        assertThat(meterRegistry.get("gateway.coalescing.followers").summary().totalAmount())
+                .isEqualTo(CLIENTS - 1);
+        assertThat(meterRegistry.get("gateway.coalescing.inflight").gauge().value()).isZero();
+
+        // 진행 중인 호출이 끝난 뒤의 요청은 새로 호출
+        runClient(request("/transformer-openapi", null));
+        assertThat(upstreamCalls.get()).isEqualTo(2);
+    }
+
+    @Test
+    void differentCredentialsAreNotCoalesced() throws Exception {
+        stubContext("/usa/predict", 200, "ok", headers -> {
+        });
+
+        runClients(i -> request("/api/ml/usa/predict", "Bearer user-" + (i % 2)));
+
+        assertThat(upstreamCalls.get()).isEqualTo(2);
+    }
+
+    @Test
+    void responsesWithSetCookieAreNotShared() throws Exception {
+        stubContext("/docs", 200, "<html></html>", headers -> headers.add("Set-Cookie", "session=abc"));
+
+        List<MockHttpServletResponse> responses = runClients(i -> request("/transformer-docs", null));
+
+        // 선행 요청은 그대로 스트리밍하고, 나머지는 각자 호출
+        assertThat(upstreamCalls.get()).isEqualTo(CLIENTS);
+        assertThat(count("unshareable")).isEqualTo(CLIENTS - 1);
+        responses.forEach(response -> assertThat(response.getHeader("Set-Cookie")).isEqualTo("session=abc"));
+    }
+
+    @Test
+    void followersGiveUpAfterMaxWait() throws Exception {
+        properties.setMaxWait(Duration.ofMillis(50));
+        stubContext("/seoul/stats", 200, "slow", headers -> {
+        });
+
+        List<MockHttpServletResponse> responses = runClients(i -> request("/api/ai/seoul/stats", null));
+
+        assertThat(count("timeout")).isEqualTo(CLIENTS - 1);
+        assertThat(upstreamCalls.get()).isEqualTo(CLIENTS);
+        responses.forEach(response -> assertThat(response.getStatus()).isEqualTo(200));
+    }
+
+    @Test
+    void leaderFailureIsSharedWithFollowers() throws Exception {
+        List<Throwable> errors = new ArrayList<>();
+        runClients(i -> request("/broken", null), () -> {
+            upstreamCalls.incrementAndGet();
+            awaitClients();
+            throw new ProxyException(HttpStatus.BAD_GATEWAY, "Bad gateway", "Connection refused");
+        }, errors);
+
+        assertThat(upstreamCalls.get()).isEqualTo(1);
+        assertThat(errors).hasSize(CLIENTS)
+                .allSatisfy(e -> assertThat(((ProxyException) e).getStatus().value()).isEqualTo(502));
+        assertThat(count("failed")).isEqualTo(CLIENTS - 1);
+    }
+
+    @Test
+    void keyIgnoresQueryParameterOrderButNotValues() {
+        MockHttpServletRequest a = request("/api/ml/usa/predict", null);
+        a.setQueryString("year=2020&state=CA");
+        MockHttpServletRequest b = request("/api/ml/usa/predict", null);
+        b.setQueryString("state=CA&year=2020");
+        MockHttpServletRequest c = request("/api/ml/usa/predict", null);
+        c.setQueryString("state=NY&year=2020");
+        MockHttpServletRequest d = request("/api/ml/usa/predict", null);
+        d.setQueryString("state=CA&year=2020");
+        d.addHeader("Accept-Language", "en");
+
+        String key = coalescer.key("ml-usa", "/usa/predict", a);
+        assertThat(coalescer.key("ml-usa", "/usa/predict", b)).isEqualTo(key);
+        assertThat(coalescer.key("ml-usa", "/usa/predict", c)).isNotEqualTo(key);
+        assertThat(coalescer.key("ml-usa", "/usa/predict", d)).isNotEqualTo(key);
+    }
+
+    private void stubContext(String path, int status, String body, Consumer<Headers> headers) {
+        stub.createContext(path, exchange -> {
+            upstreamCalls.incrementAndGet();
+            awaitClients();
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            headers.accept(exchange.getResponseHeaders());
+            exchange.sendResponseHeaders(status, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        });
+    }
+
+    /**
+     * 모든 클라이언트가 병합 지점에 도착할 때까지 업스트림 응답 지연
+     */
+    private void awaitClients() {
+        long deadline = System.nanoTime() + Duration.ofSeconds(2).toNanos();
+        while (arrived.get() < CLIENTS && System.nanoTime() - deadline < 0) {
+            Thread.onSpinWait();
+        }
+        try {
+            Thread.sleep(100);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private List<MockHttpServletResponse> runClients(IntFunction<MockHttpServletRequest> requests)
+            throws Exception {
+        return runClients(requests, null, new ArrayList<>());
+    }
+
+    private List<MockHttpServletResponse> runClients(IntFunction<MockHttpServletRequest> requests,
+                                                     FailingCall failingCall, List<Throwable> errors) throws Exception {
+        List<MockHttpServletResponse> responses = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<MockHttpServletResponse>> futures = new ArrayList<>();
+            for (int i = 0; i < CLIENTS; i++) {
+                MockHttpServletRequest request = requests.apply(i);
+                futures.add(executor.submit(() -> {
+                    arrived.incrementAndGet();
+                    if (failingCall == null) {
+                        return runClient(request);
+                    }
+                    try {
+                        coalescer.execute("test", coalescer.key("test", request.getRequestURI(), request),
+                                request, new MockHttpServletResponse(), capture -> failingCall.call());
+                    } catch (ProxyException e) {
+                        synchronized (errors) {
+                            errors.add(e);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<MockHttpServletResponse> future : futures) {
+                responses.add(future.get());
+            }
+        }
+        return responses;
+    }
+
+    private MockHttpServletResponse runClient(MockHttpServletRequest request) throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        URI target = URI.create(upstream + upstreamPath(request.getRequestURI()));
+        coalescer.execute("test", coalescer.key("test", request.getRequestURI(), request), request, response,
+                capture -> {
+                    try (UpstreamResponse upstreamResponse = forwarder.open(request, target, -1, headers -> {
+                    }, UpstreamExchangeListener.NONE)) {
+                        if (capture) {
+                            return upstreamResponse.relayOrCapture(response, properties.getMaxResponseSize());
+                        }
+                        upstreamResponse.relay(response);
+                        return null;
+                    }
+                });
+        return response;
+    }
+
+    private static String upstreamPath(String path) {
+        return switch (path) {
+            case "/transformer-openapi" -> "/openapi.json";
+            case "/transformer-docs" -> "/docs";
+            case "/api/ml/usa/predict" -> "/usa/predict";
+            case "/api/ai/seoul/stats" -> "/seoul/stats";
+            default -> path;
+        };
+    }
+
+    private static MockHttpServletRequest request(String path, String authorization) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.addHeader("Accept", "application/json");
+        if (authorization != null) {
+            request.addHeader("Authorization", authorization);
+        }
+        return request;
+    }
+
+    private double count(String role) {
+        return meterRegistry.get("gateway.coalescing.requests").tags("route", "test", "role", role).counter().count();
+    }
+
+    @FunctionalInterface
+    private interface FailingCall {
+        CapturedResponse call();
+    }
+}
@@ -0,0 +1,258 @@
+package com.kroaddy.api.proxy.health;
+
+import com.kroaddy.api.proxy.balancer.LoadBalancerStrategy;
+import com.kroaddy.api.proxy.balancer.UpstreamInstance;
+import com.kroaddy.api.proxy.balancer.UpstreamStats;
+import com.kroaddy.api.proxy.route.RouteConfig;
+import com.kroaddy.api.proxy.route.RouteIndex;
+import com.kroaddy.api.proxy.route.RouteSnapshot;
+import com.kroaddy.api.proxy.route.RouteTable;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class UpstreamHealthCheckerTest {
+
+    private static final long DECAY_NANOS = Duration.ofSeconds(1).toNanos();
+
+    private HealthCheckProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private HttpServer stub;
+    private UpstreamHealthChecker checker;
+
+    @BeforeEach
+    void setUp() {
+        properties = new HealthCheckProperties();
+        properties.setSlowStart(Duration.ZERO);
+        HealthCheckProperties.Outlier outlier = properties.getOutlier();
+        outlier.setConsecutiveFailures(3);
+        outlier.setMinimumRequests(10);
+        outlier.setBaseEjectionTime(Duration.ofMillis(200));
+        outlier.setMaxEjectionTime(Duration.ofSeconds(1));
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (checker != null) {
+            checker.destroy();
+        }
+        if (stub != null) {
+            stub.stop(0);
+        }
+    }
+
+    @Test
+    void consecutiveFailuresEjectInstanceWithGrowingBackoff() throws Exception {
+        List<UpstreamInstance> instances = instances("http://a:1", "http://b:1", "http://c:1");
+        RouteConfig route = route("ml", LoadBalancerStrategy.ROUND_ROBIN, instances);
+        OutlierDetector detector = new OutlierDetector(properties, meterRegistry);
+        UpstreamInstance bad = instances.get(2);
+
+        fail(bad, 3);
+        detector.evaluate(List.of(route), System.nanoTime());
+        assertThat(bad.isAvailable(System.nanoTime())).isFalse();
+        assertThat(pick(route, 300)).doesNotContainKey("http://c:1");
+        assertThat(meterRegistry.get("gateway.upstream.ejections")
+                .tags("upstream", "http://c:1", "reason", "consecutive_failures").counter().count()).isEqualTo(1);
+
+        // 제외 시간이 지나면 다시 선택 대상
+        Thread.sleep(250);
+        detector.evaluate(List.of(route), System.nanoTime());
+        assertThat(bad.getStats().getHealth().isEjected()).isFalse();
+        assertThat(pick(route, 300)).containsEntry("http://c:1", 100);
+
+        // 바로 다시 실패하면 제외 시간이 2배
+        fail(bad, 3);
+        long now = System.nanoTime();
+        detector.evaluate(List.of(route), now);
+        assertThat(bad.getStats().getHealth().getEjectedUntil() - now)
+                .isEqualTo(Duration.ofMillis(400).toNanos());
+    }
+
+    @Test
+    void failureRateAndLatencyOutliersAreEjected() {
+        List<UpstreamInstance> instances = instances("http://a:1", "http://b:1", "http://c:1", "http://d:1");
+        RouteConfig route = route("ml", LoadBalancerStrategy.LEAST_OUTSTANDING, instances);
+        OutlierDetector detector = new OutlierDetector(properties, meterRegistry);
+
+        // b: 실패율 60% (연속 실패는 아님)
+        for (int i = 0; i < 20; i++) {
+            record(instances.get(1), i % 5 % 2 == 0 ? 503 : 200);
+        }
+        // d: 다른 인스턴스(약 0ms)보다 훨씬 느림
+        properties.getOutlier().setSlowLatencyMin(Duration.ofMillis(20));
+        for (int i = 0; i < 20; i++) {
+            record(instances.get(0), 200);
+            record(instances.get(2), 200);
+        }
+        for (int i = 0; i < 20; i++) {
+            try (UpstreamStats.Exchange exchange = instances.get(3).begin()) {
+                sleep(2);
+                exchange.onResponse(200);
+            }
+        }
+        try (UpstreamStats.Exchange exchange = instances.get(3).begin()) {
+            sleep(50);
+            exchange.onResponse(200);
+        }
+
+        detector.evaluate(List.of(route), System.nanoTime());
+        assertThat(meterRegistry.get("gateway.upstream.ejections")
+                .tags("upstream", "http://b:1", "reason", "failure_rate").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("gateway.upstream.ejections")
+                .tags("upstream", "http://d:1", "reason", "latency").counter().count()).isEqualTo(1);
+        assertThat(pick(route, 200).keySet()).containsExactlyInAnyOrder("http://a:1", "http://c:1");
+    }
+
+    @Test
+    void neverEjectsBeyondMaxEjectionPercent() {
+        List<UpstreamInstance> pair = instances("http://a:1", "http://b:1");
+        List<UpstreamInstance> single = List.of(pair.get(0));
+        RouteConfig pairRoute = route("pair", LoadBalancerStrategy.ROUND_ROBIN, pair);
+        RouteConfig singleRoute = route("single", LoadBalancerStrategy.ROUND_ROBIN, single);
+        OutlierDetector detector = new OutlierDetector(properties, meterRegistry);
+
+        fail(pair.get(0), 5);
+        fail(pair.get(1), 5);
+        detector.evaluate(List.of(pairRoute, singleRoute), System.nanoTime());
+
+        // a는 인스턴스가 하나뿐인 라우트에도 쓰이므로 제외하지 않고, b만 제외 (2개 중 1개 = 50%)
+        assertThat(pair.get(0).isAvailable(System.nanoTime())).isTrue();
+        assertThat(pair.get(1).isAvailable(System.nanoTime())).isFalse();
+        assertThat(pairRoute.choose().getBaseUrl()).isEqualTo("http://a:1");
+    }
+
+    @Test
+    void slowStartRampsTrafficAfterReadmission() throws Exception {
+        properties.setSlowStart(Duration.ofMillis(400));
+        List<UpstreamInstance> instances = instances("http://a:1", "http://b:1");
+        instances.forEach(instance -> instance.getStats().getHealth().setSlowStartNanos(Duration.ofMillis(400).toNanos()));
+        RouteConfig route = route("ml", LoadBalancerStrategy.ROUND_ROBIN, instances);
+        OutlierDetector detector = new OutlierDetector(properties, meterRegistry);
+
+        fail(instances.get(1), 3);
+        detector.evaluate(List.of(route), System.nanoTime());
+        Thread.sleep(250);
+        detector.evaluate(List.of(route), System.nanoTime());
+
+        // 해제 직후에는 일부만, slow start가 끝나면 다시 절반
+        int early = pick(route, 1000).getOrDefault("http://b:1", 0);
+        Thread.sleep(450);
+        int late = pick(route, 1000).getOrDefault("http://b:1", 0);
+        assertThat(early).isBetween(1, 350);
+        assertThat(late).isEqualTo(500);
+    }
+
+    @Test
+    void activeProbesRemoveAndRestoreUpstream() throws Exception {
+        AtomicInteger status = new AtomicInteger(200);
+        AtomicInteger probes = new AtomicInteger();
+        stub = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 10);
+        stub.createContext("/health", exchange -> {
+            probes.incrementAndGet();
+            exchange.sendResponseHeaders(status.get(), -1);
+            exchange.close();
+        });
+        stub.start();
+        String upstream = "http://127.0.0.1:" + stub.getAddress().getPort();
+
+        properties.setPath("/");
+        HealthCheckProperties.UpstreamPath override = new HealthCheckProperties.UpstreamPath();
+        override.setUri(upstream + "/");
+        override.setPath("/health");
+        properties.setUpstreams(List.of(override));
+        properties.setInterval(Duration.ofMillis(50));
+        properties.setTimeout(Duration.ofMillis(500));
+        properties.getOutlier().setEnabled(false);
+
+        RouteConfig route = route("user-service", LoadBalancerStrategy.ROUND_ROBIN, instances(upstream));
+        RouteTable routeTable = mock(RouteTable.class);
+        when(routeTable.current()).thenReturn(new RouteSnapshot(1, "test", Instant.now(), List.of(),
+                RouteIndex.compile(List.of(route))));
+        checker = new UpstreamHealthChecker(properties, routeTable, meterRegistry);
+        UpstreamHealthIndicator indicator = new UpstreamHealthIndicator(routeTable);
+        checker.start();
+
+        status.set(500);
+        await(() -> route.choose() == null);
+        Health degraded = indicator.health();
+        assertThat(degraded.getStatus()).isEqualTo(UpstreamHealthIndicator.DEGRADED);
+        assertThat(degraded.getDetails()).containsEntry("unavailableRoutes", List.of("user-service"));
+        assertThat(meterRegistry.get("gateway.upstream.healthcheck")
+                .tags("upstream", upstream, "result", "failure").counter().count()).isGreaterThanOrEqualTo(3);
+
+        // 4xx는 프로세스가 응답하므로 정상
+        status.set(404);
+        await(() -> route.choose() != null);
+        assertThat(indicator.health().getStatus()).isEqualTo(Status.UP);
+        assertThat(probes.get()).isGreaterThanOrEqualTo(5);
+    }
+
+    private static void fail(UpstreamInstance instance, int times) {
+        for (int i = 0; i < times; i++) {
+            try (UpstreamStats.Exchange exchange = instance.begin()) {
+                exchange.onFailure(new IOException("Connection refused"));
+            }
+        }
+    }
+
+    private static void record(UpstreamInstance instance, int status) {
+        try (UpstreamStats.Exchange exchange = instance.begin()) {
+            exchange.onResponse(status);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime() - deadline).as("조건 대기 시간 초과").isNegative();
+            Thread.sleep(20);
+        }
+    }
+
+    private static List<UpstreamInstance> instances(String... baseUrls) {
+        return Arrays.stream(baseUrls)
+                .map(url -> new UpstreamInstance(new UpstreamStats(url, DECAY_NANOS), 1))
+                .toList();
+    }
+
+    private static RouteConfig route(String id, LoadBalancerStrategy strategy, List<UpstreamInstance> instances) {
+        return new RouteConfig(id, "/api/" + id + "/**", strategy, instances, null, null);
+    }
+
+    private static Map<String, Integer> pick(RouteConfig route, int times) {
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < times; i++) {
+            counts.merge(route.choose().getBaseUrl(), 1, Integer::sum);
+        }
+        return counts;
+    }
+}
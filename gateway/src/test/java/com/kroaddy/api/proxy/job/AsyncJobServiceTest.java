@@ -0,0 +1,265 @@
+package com.kroaddy.api.proxy.job;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kroaddy.api.jwt.JwtProperties;
+import com.kroaddy.api.jwt.JwtTokenProvider;
+import com.kroaddy.api.proxy.ProxyException;
+import com.kroaddy.api.proxy.ProxyForwarder;
+import com.kroaddy.api.proxy.balancer.LoadBalancerStrategy;
+import com.kroaddy.api.proxy.balancer.UpstreamInstance;
+import com.kroaddy.api.proxy.balancer.UpstreamStats;
+import com.kroaddy.api.proxy.resilience.AdaptiveLimiterRegistry;
+import com.kroaddy.api.proxy.resilience.ConcurrencyLimitProperties;
+import com.kroaddy.api.proxy.resilience.ResilienceProperties;
+import com.kroaddy.api.proxy.resilience.RetryProperties;
+import com.kroaddy.api.proxy.resilience.UpstreamGuardRegistry;
+import com.kroaddy.api.proxy.resilience.UpstreamInvoker;
+import com.kroaddy.api.proxy.route.RouteConfig;
+import com.kroaddy.api.proxy.route.RouteOptions;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AsyncJobServiceTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+    private final InMemoryJobStore store = new InMemoryJobStore();
+    private AsyncJobProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private JwtTokenProvider jwtTokenProvider;
+    private UpstreamInvoker invoker;
+    private AsyncJobService service;
+    private HttpServer stub;
+    private RouteConfig route;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        properties = new AsyncJobProperties();
+        properties.setEventsPollInterval(Duration.ofMillis(20));
+        meterRegistry = new SimpleMeterRegistry();
+        JwtProperties jwtProperties = new JwtProperties();
+        jwtProperties.setSecret("test-secret-key-for-async-jobs-min-32-characters");
+        jwtTokenProvider = new JwtTokenProvider(jwtProperties);
+        ResilienceProperties resilience = new ResilienceProperties();
+        resilience.setEnabled(false);
+        ConcurrencyLimitProperties limits = new ConcurrencyLimitProperties();
+        limits.setEnabled(false);
+        invoker = new UpstreamInvoker(new UpstreamGuardRegistry(resilience, meterRegistry),
+                new AdaptiveLimiterRegistry(limits, meterRegistry), new RetryProperties(), meterRegistry);
+        service = new AsyncJobService(store, invoker,
+                new ProxyForwarder(new HttpComponentsClientHttpRequestFactory(), 8192),
+                jwtTokenProvider, new ObjectMapper(), properties, meterRegistry);
+
+        stub = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 50);
+        stub.createContext("/seoul/train", this::train);
+        stub.setExecutor(Executors.newCachedThreadPool());
+        stub.start();
+        route = new RouteConfig("ml-seoul", "/api/ai/seoul/**", LoadBalancerStrategy.ROUND_ROBIN,
+                List.of(new UpstreamInstance(new UpstreamStats("http://127.0.0.1:" + stub.getAddress().getPort(), 1), 1)),
+                "/seoul", RouteOptions.builder().async(true).build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        stub.stop(0);
+        service.destroy();
+        invoker.destroy();
+    }
+
+    @Test
+    void submitReturnsAcceptedAndStoresResult() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        service.submit(route, "/seoul/train", post("user-1", "{\"epochs\":3}"), response, -1);
+
+        // 업스트림이 끝나기 전에 202 + 작업 위치로 응답
+        assertThat(response.getStatus()).isEqualTo(202);
+        assertThat(response.getHeader("Preference-Applied")).isEqualTo("respond-async");
+        String id = jobId(response);
+        assertThat(store.find(id).status()).isIn(JobStatus.QUEUED, JobStatus.RUNNING);
+
+        release.countDown();
+        awaitTrue(() -> store.find(id).status() == JobStatus.COMPLETED);
+        AsyncJob job = store.find(id);
+        assertThat(job.responseStatus()).isEqualTo(200);
+        // 업스트림에는 게이트웨이가 처리한 Prefer 없이 본문 그대로 전달
+        assertThat(new String(job.body(), StandardCharsets.UTF_8)).isEqualTo("trained:{\"epochs\":3}:prefer=null");
+
+        MockHttpServletResponse result = new MockHttpServletResponse();
+        job.result().writeTo(result);
+        assertThat(result.getContentType()).isEqualTo("application/json");
+        assertThat(meterRegistry.get("gateway.jobs.completed").tags("route", "ml-seoul", "outcome", "completed")
+                .counter().count()).isEqualTo(1);
+        // 결과 저장 후 업스트림 호출을 닫음
+        awaitTrue(() -> route.getInstances().get(0).getInFlight() == 0);
+    }
+
+    @Test
+    void idempotencyKeyReplaysExistingJob() throws Exception {
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        service.submit(route, "/seoul/train", withKey(post("user-1", "{\"epochs\":3}"), "k1"), first, -1);
+        MockHttpServletResponse second = new MockHttpServletResponse();
+        service.submit(route, "/seoul/train", withKey(post("user-1", "{\"epochs\":3}"), "k1"), second, -1);
+
+        // 같은 키 + 같은 요청은 새 작업 없이 처음 작업을 돌려줌
+        assertThat(second.getStatus()).isEqualTo(202);
+        assertThat(second.getHeader("Idempotent-Replayed")).isEqualTo("true");
+        assertThat(jobId(second)).isEqualTo(jobId(first));
+        assertThat(store.jobs()).isEqualTo(1);
+
+        // 같은 키로 다른 본문은 422
+        assertThatThrownBy(() -> service.submit(route, "/seoul/train",
+                withKey(post("user-1", "{\"epochs\":5}"), "k1"), new MockHttpServletResponse(), -1))
+                .isInstanceOf(ProxyException.class)
+                .extracting(e -> ((ProxyException) e).getStatus())
+                .isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
+
+        // 다른 사용자의 같은 키는 별개 작업
+        MockHttpServletResponse other = new MockHttpServletResponse();
+        service.submit(route, "/seoul/train", withKey(post("user-2", "{\"epochs\":3}"), "k1"), other, -1);
+        assertThat(jobId(other)).isNotEqualTo(jobId(first));
+
+        release.countDown();
+        awaitTrue(() -> upstreamCalls.get() == 2);
+    }
+
+    @Test
+    void jobsAreVisibleOnlyToOwner() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        service.submit(route, "/seoul/train", post("user-1", "{}"), response, -1);
+        String id = jobId(response);
+
+        assertThat(service.find(id, post("user-1", ""))).isNotNull();
+        assertThat(service.find(id, post("user-2", ""))).isNull();
+        assertThat(service.find(id, new MockHttpServletRequest("GET", "/api/jobs/" + id))).isNull();
+        assertThat(service.find("missing", post("user-1", ""))).isNull();
+    }
+
+    @Test
+    void oversizedBodyIsRejectedBeforeQueueing() {
+        properties.setMaxRequestSize(4);
+        assertThatThrownBy(() -> service.submit(route, "/seoul/train", post("user-1", "{\"epochs\":3}"),
+                new MockHttpServletResponse(), -1))
+                .isInstanceOf(ProxyException.class)
+                .extracting(e -> ((ProxyException) e).getStatus())
+                .isEqualTo(HttpStatus.PAYLOAD_TOO_LARGE);
+        assertThat(store.jobs()).isZero();
+    }
+
+    @Test
+    void preferHeaderParsing() {
+        assertThat(AsyncJobService.isRequested(prefer("respond-async"))).isTrue();
+        assertThat(AsyncJobService.isRequested(prefer("return=minimal, Respond-Async; wait=10"))).isTrue();
+        assertThat(AsyncJobService.isRequested(prefer("respond-async=1"))).isTrue();
+        assertThat(AsyncJobService.isRequested(prefer("respond-asynchronously"))).isFalse();
+        assertThat(AsyncJobService.isRequested(new MockHttpServletRequest("POST", "/"))).isFalse();
+    }
+
+    private MockHttpServletRequest post(String user, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/ai/seoul/train");
+        request.addHeader("Authorization", "Bearer " + jwtTokenProvider.generateToken(user));
+        request.addHeader("Prefer", "respond-async");
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    private static MockHttpServletRequest withKey(MockHttpServletRequest request, String key) {
+        request.addHeader(AsyncJobService.IDEMPOTENCY_KEY, key);
+        return request;
+    }
+
+    private static MockHttpServletRequest prefer(String value) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/");
+        request.addHeader("Prefer", value);
+        return request;
+    }
+
+    private static String jobId(MockHttpServletResponse response) {
+        return response.getHeader("Location").substring(AsyncJobService.JOBS_PATH.length());
+    }
+
+    private void train(HttpExchange exchange) throws IOException {
+        upstreamCalls.incrementAndGet();
+        byte[] request = exchange.getRequestBody().readAllBytes();
+        try {
+            release.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        byte[] body = ("trained:" + new String(request, StandardCharsets.UTF_8)
+                + ":prefer=" + exchange.getRequestHeaders().getFirst("Prefer")).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static void awaitTrue(Condition condition) throws Exception {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.test() && System.nanoTime() - deadline < 0) {
+            Thread.sleep(10);
+        }
+        assertThat(condition.test()).isTrue();
+    }
+
+    @FunctionalInterface
+    private interface Condition {
+        boolean test() throws Exception;
+    }
+
+    private static final class InMemoryJobStore implements JobStore {
+
+        private final Map<String, AsyncJob> jobs = new ConcurrentHashMap<>();
+        private final Map<String, String> claims = new ConcurrentHashMap<>();
+
+        @Override
+        public void save(AsyncJob job, Duration ttl) {
+            jobs.put(job.id(), job);
+        }
+
+        @Override
+        public AsyncJob find(String id) {
+            return jobs.get(id);
+        }
+
+        @Override
+        public void delete(String id) {
+            jobs.remove(id);
+        }
+
+        @Override
+        public String claim(String key, String value, Duration ttl) {
+            return claims.putIfAbsent(key, value);
+        }
+
+        int jobs() {
+            return jobs.size();
+        }
+    }
+}
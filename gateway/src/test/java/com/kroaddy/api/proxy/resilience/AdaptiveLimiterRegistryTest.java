@@ -0,0 +1,144 @@
+package com.kroaddy.api.proxy.resilience;
+
+import com.kroaddy.api.proxy.ProxyException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AdaptiveLimiterRegistryTest {
+
+    private static final String ML = "http://localhost:9006";
+
+    private ConcurrencyLimitProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private AdaptiveLimiterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ConcurrencyLimitProperties();
+        properties.setInitialLimit(2);
+        properties.setMinLimit(1);
+        properties.setMaxQueueSize(1);
+        properties.setMaxQueueWait(Duration.ofMillis(100));
+        properties.setRetryAfter(Duration.ofSeconds(2));
+        meterRegistry = new SimpleMeterRegistry();
+        registry = new AdaptiveLimiterRegistry(properties, meterRegistry);
+    }
+
+    @Test
+    void overflowWaitsBrieflyThenIsRejectedWithRetryAfter() throws Exception {
+        UpstreamPermit first = registry.acquire("ml-titanic", ML);
+        UpstreamPermit second = registry.acquire("ml-titanic", ML);
+        assertThat(gauge("gateway.upstream.concurrency.inflight", "ml-titanic")).isEqualTo(2);
+
+        // 한도가 찬 동안 대기열에서 기다리다 자리가 나면 통과
+        CompletableFuture<UpstreamPermit> queued = CompletableFuture.supplyAsync(() -> acquire("ml-titanic"));
+        while (gauge("gateway.upstream.concurrency.queued", "ml-titanic") == 0) {
+            Thread.onSpinWait();
+        }
+        // 대기열(1건)도 가득 차면 기다리지 않고 거절
+        assertThatThrownBy(() -> registry.acquire("ml-titanic", ML))
+                .isInstanceOf(ProxyException.class)
+                .satisfies(e -> {
+                    ProxyException proxy = (ProxyException) e;
+                    assertThat(proxy.getStatus().value()).isEqualTo(503);
+                    assertThat(proxy.getRetryAfter()).isEqualTo(Duration.ofSeconds(2));
+                });
+        first.onResponse(200);
+        first.close();
+        UpstreamPermit third = queued.get(1, TimeUnit.SECONDS);
+
+        // 대기 시간 안에 자리가 나지 않으면 거절
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> registry.acquire("ml-titanic", ML)).isInstanceOf(ProxyException.class);
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(Duration.ofMillis(90));
+        assertThat(meterRegistry.get("gateway.upstream.concurrency.rejected").tags("route", "ml-titanic", "upstream", ML)
+                .counter().count()).isEqualTo(2);
+
+        // 한도는 라우트별 (같은 업스트림이라도 다른 라우트는 영향 없음)
+        registry.acquire("ml-nlp", ML).close();
+        second.close();
+        third.close();
+        assertThat(gauge("gateway.upstream.concurrency.inflight", "ml-titanic")).isZero();
+    }
+
+    @Test
+    void overloadSignalsShrinkLimitButConnectionRefusalDoesNot() throws Exception {
+        properties.setInitialLimit(10);
+        UpstreamPermit refused = registry.acquire("ml-usa", ML);
+        refused.onFailure(new ConnectException("Connection refused"));
+        refused.close();
+        assertThat(gauge("gateway.upstream.concurrency.limit", "ml-usa")).isEqualTo(10);
+
+        UpstreamPermit timedOut = registry.acquire("ml-usa", ML);
+        timedOut.onFailure(new SocketTimeoutException("Read timed out"));
+        timedOut.close();
+        UpstreamPermit busy = registry.acquire("ml-usa", ML);
+        busy.onResponse(503);
+        busy.close();
+        assertThat(gauge("gateway.upstream.concurrency.limit", "ml-usa")).isEqualTo(8); // 10 * 0.9 * 0.9
+
+        // 결과 없이 닫힌 허가(헤지 취소 등)는 한도 계산에서 제외, 두 번 닫아도 한 번만 반납
+        UpstreamPermit cancelled = registry.acquire("ml-usa", ML);
+        cancelled.close();
+        cancelled.close();
+        assertThat(gauge("gateway.upstream.concurrency.inflight", "ml-usa")).isZero();
+        assertThat(gauge("gateway.upstream.concurrency.limit", "ml-usa")).isEqualTo(8);
+    }
+
+    @Test
+    void gradientGrowsWhileLatencyIsStableAndShrinksWhenItRises() {
+        GradientLimit gradient = new GradientLimit(new ConcurrencyLimitProperties.Gradient(), 0.9);
+        double limit = 20;
+        for (int i = 0; i < 50; i++) {
+            limit = gradient.update(limit, (int) limit, millis(50), false);
+        }
+        assertThat(limit).isGreaterThan(40);
+
+        // 업스트림에 대기열이 생겨 지연이 4배가 되면 한도를 줄임
+        double grown = limit;
+        for (int i = 0; i < 20; i++) {
+            limit = gradient.update(limit, (int) limit, millis(200), false);
+        }
+        assertThat(limit).isLessThan(grown / 2);
+
+        // 한도를 절반도 쓰지 않을 때는 지연과 관계없이 유지
+        assertThat(gradient.update(limit, 1, millis(5_000), false)).isEqualTo(limit);
+    }
+
+    @Test
+    void aimdAddsOneOnSuccessAndBacksOffOnDropOrTimeout() {
+        ConcurrencyLimitProperties.Aimd settings = new ConcurrencyLimitProperties.Aimd();
+        settings.setTimeout(Duration.ofSeconds(1));
+        AimdLimit aimd = new AimdLimit(settings, 0.5);
+        assertThat(aimd.update(10, 6, millis(100), false)).isEqualTo(11);
+        assertThat(aimd.update(10, 2, millis(100), false)).isEqualTo(10);
+        assertThat(aimd.update(10, 6, millis(100), true)).isEqualTo(5);
+        assertThat(aimd.update(10, 6, millis(1_500), false)).isEqualTo(5);
+    }
+
+    private UpstreamPermit acquire(String routeId) {
+        try {
+            return registry.acquire(routeId, ML);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private double gauge(String name, String routeId) {
+        return meterRegistry.get(name).tags("route", routeId, "upstream", ML).gauge().value();
+    }
+
+    private static long millis(long millis) {
+        return TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+}
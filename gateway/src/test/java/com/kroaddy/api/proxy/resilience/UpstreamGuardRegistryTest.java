@@ -0,0 +1,151 @@
+package com.kroaddy.api.proxy.resilience;
+
+import com.kroaddy.api.proxy.ProxyException;
+import com.kroaddy.api.proxy.ProxyForwarder;
+import com.kroaddy.api.proxy.UpstreamResponse;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UpstreamGuardRegistryTest {
+
+    private static final String TRANSFORMER = "http://localhost:9007";
+    private static final String USER_SERVICE = "http://localhost:8082";
+
+    private ResilienceProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private UpstreamGuardRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ResilienceProperties();
+        ResilienceProperties.Settings defaults = properties.getDefaults();
+        defaults.setMaxConcurrentCalls(2);
+        defaults.setSlidingWindowSize(4);
+        defaults.setMinimumNumberOfCalls(4);
+        defaults.setSlowCallDuration(Duration.ofMillis(50));
+        defaults.setWaitDurationInOpenState(Duration.ofMillis(200));
+        defaults.setPermittedCallsInHalfOpenState(2);
+        meterRegistry = new SimpleMeterRegistry();
+        registry = new UpstreamGuardRegistry(properties, meterRegistry);
+    }
+
+    @Test
+    void failuresOpenCircuitAndHalfOpenProbesCloseIt() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            try (UpstreamPermit permit = registry.acquire(TRANSFORMER)) {
+                permit.onResponse(502);
+            }
+        }
+        assertThat(stateOf(TRANSFORMER)).isEqualTo(CircuitBreaker.State.OPEN);
+
+        // open 동안 업스트림을 호출하지 않고 503
+        assertThatThrownBy(() -> registry.acquire(TRANSFORMER))
+                .isInstanceOf(ProxyException.class)
+                .satisfies(e -> assertThat(((ProxyException) e).getStatus().value()).isEqualTo(503));
+        assertThat(meterRegistry.get("gateway.upstream.rejected")
+                .tags("upstream", TRANSFORMER, "reason", "circuit_open").counter().count()).isEqualTo(1);
+
+        // 다른 업스트림은 영향 없음
+        try (UpstreamPermit permit = registry.acquire(USER_SERVICE)) {
+            permit.onResponse(200);
+        }
+
+        // half-open: 설정한 수만큼만 시험 호출을 허용하고, 성공하면 closed
+        Thread.sleep(250);
+        UpstreamPermit probe1 = registry.acquire(TRANSFORMER);
+        UpstreamPermit probe2 = registry.acquire(TRANSFORMER);
+        assertThat(stateOf(TRANSFORMER)).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThatThrownBy(() -> registry.acquire(TRANSFORMER)).isInstanceOf(ProxyException.class);
+        probe1.onResponse(200);
+        probe1.close();
+        probe2.onResponse(404); // 4xx는 업스트림 정상
+        probe2.close();
+        assertThat(stateOf(TRANSFORMER)).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void slowCallsOpenCircuit() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            try (UpstreamPermit permit = registry.acquire(TRANSFORMER)) {
+                Thread.sleep(60);
+                permit.onResponse(200);
+            }
+        }
+        assertThat(stateOf(TRANSFORMER)).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void bulkheadLimitsConcurrentCallsPerUpstream() {
+        UpstreamPermit first = registry.acquire(TRANSFORMER);
+        UpstreamPermit second = registry.acquire(TRANSFORMER);
+
+        assertThatThrownBy(() -> registry.acquire(TRANSFORMER))
+                .isInstanceOf(ProxyException.class)
+                .hasMessageContaining("동시 호출 한도");
+        // 멈춘 업스트림이 다른 라우트의 슬롯을 쓰지 않음
+        registry.acquire(USER_SERVICE).close();
+
+        first.close();
+        registry.acquire(TRANSFORMER).close();
+        second.close();
+        assertThat(meterRegistry.get("gateway.upstream.rejected")
+                .tags("upstream", TRANSFORMER, "reason", "bulkhead_full").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("resilience4j.bulkhead.available.concurrent.calls")
+                .tag("name", TRANSFORMER).gauge().value()).isEqualTo(2);
+    }
+
+    @Test
+    void unrecordedCallsDoNotCount() {
+        // 예: 413처럼 업스트림 응답 전에 클라이언트 문제로 끝난 호출
+        for (int i = 0; i < 10; i++) {
+            registry.acquire(TRANSFORMER).close();
+        }
+        assertThat(stateOf(TRANSFORMER)).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(meterRegistry.get("resilience4j.circuitbreaker.buffered.calls")
+                .tag("name", TRANSFORMER).tag("kind", "failed").gauge().value()).isZero();
+    }
+
+    @Test
+    void connectionFailuresFromForwarderAreRecorded() throws IOException {
+        int closedPort;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            closedPort = socket.getLocalPort();
+        }
+        String upstream = "http://127.0.0.1:" + closedPort;
+        ProxyForwarder forwarder = new ProxyForwarder(new SimpleClientHttpRequestFactory(), 8192);
+
+        for (int i = 0; i < 4; i++) {
+            try (UpstreamPermit permit = registry.acquire(upstream);
+                 UpstreamResponse upstreamResponse = forwarder.open(
+                         new MockHttpServletRequest("GET", "/api/ai/transformer/predict"),
+                         URI.create(upstream + "/koelectra/predict"), -1, headers -> {
+                         }, permit)) {
+                upstreamResponse.relay(new MockHttpServletResponse());
+            } catch (IOException expected) {
+                // 연결 거부
+            }
+        }
+        assertThat(stateOf(upstream)).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    private CircuitBreaker.State stateOf(String upstream) {
+        return registry.getGuards().stream()
+                .filter(guard -> guard.getUpstream().equals(upstream))
+                .findFirst()
+                .orElseThrow()
+                .getState();
+    }
+}
@@ -0,0 +1,368 @@
+package com.kroaddy.api.proxy.resilience;
+
+import com.kroaddy.api.proxy.ProxyException;
+import com.kroaddy.api.proxy.ProxyForwarder;
+import com.kroaddy.api.proxy.balancer.LoadBalancerStrategy;
+import com.kroaddy.api.proxy.balancer.UpstreamInstance;
+import com.kroaddy.api.proxy.balancer.UpstreamStats;
+import com.kroaddy.api.proxy.route.HedgePolicy;
+import com.kroaddy.api.proxy.route.RetryPolicy;
+import com.kroaddy.api.proxy.route.RouteConfig;
+import com.kroaddy.api.proxy.route.RouteOptions;
+import com.kroaddy.api.proxy.upstream.Deadline;
+import com.kroaddy.api.proxy.upstream.DeadlineExceededException;
+import com.kroaddy.api.proxy.upstream.UpstreamClientProperties;
+import com.kroaddy.api.proxy.upstream.UpstreamClientRegistry;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UpstreamInvokerTest {
+
+    private static final RetryPolicy RETRY = new RetryPolicy(3, Duration.ZERO, Duration.ZERO, Set.of(502, 503, 504));
+
+    private final List<HttpServer> stubs = new ArrayList<>();
+    private RetryProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private ProxyForwarder forwarder;
+    private UpstreamInvoker invoker;
+    private UpstreamClientRegistry clients;
+
+    @BeforeEach
+    void setUp() {
+        properties = new RetryProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        forwarder = new ProxyForwarder(new SimpleClientHttpRequestFactory(), 8192);
+        invoker = new UpstreamInvoker(new UpstreamGuardRegistry(disabledResilience(), meterRegistry), limiters(),
+                properties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        stubs.forEach(stub -> stub.stop(0));
+        invoker.destroy();
+        if (clients != null) {
+            clients.destroy();
+        }
+    }
+
+    @Test
+    void retryableStatusIsRetriedForIdempotentRequests() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        String upstream = stub(exchange -> respond(exchange, calls.incrementAndGet() <= 2 ? 503 : 200, "ok"));
+        RouteConfig route = route(RouteOptions.builder().retry(RETRY).build(), upstream);
+
+        MockHttpServletResponse response = send(route, new MockHttpServletRequest("GET", "/items"));
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(calls).hasValue(3);
+        assertThat(retries("status", "sent")).isEqualTo(2);
+        assertThat(meterRegistry.get("gateway.upstream.retry.results").tags("route", "items", "result", "recovered")
+                .counter().count()).isEqualTo(1);
+
+        // 재시도를 다 써도 실패하면 마지막 응답을 그대로 전달
+        calls.set(-10);
+        assertThat(send(route, new MockHttpServletRequest("DELETE", "/items/1")).getStatus()).isEqualTo(503);
+        assertThat(calls).hasValue(-7);
+    }
+
+    @Test
+    void nonIdempotentOrBodyRequestsAreSentOnce() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        String upstream = stub(exchange -> {
+            calls.incrementAndGet();
+            exchange.getRequestBody().readAllBytes();
+            respond(exchange, 503, "busy");
+        });
+        RouteConfig route = route(RouteOptions.builder().retry(RETRY).build(), upstream);
+
+        assertThat(send(route, new MockHttpServletRequest("POST", "/items")).getStatus()).isEqualTo(503);
+        MockHttpServletRequest putWithBody = new MockHttpServletRequest("PUT", "/items/1");
+        putWithBody.setContent("{\"name\":\"a\"}".getBytes(StandardCharsets.UTF_8));
+        assertThat(send(route, putWithBody).getStatus()).isEqualTo(503);
+        assertThat(calls).hasValue(2);
+        assertThat(meterRegistry.find("gateway.upstream.retries").counters()).isEmpty();
+    }
+
+    @Test
+    void connectionFailureIsRetriedOnAnotherInstance() throws Exception {
+        String upstream = stub(exchange -> respond(exchange, 200, "ok"));
+        RouteConfig route = route(RouteOptions.builder().retry(RETRY).build(), closedPort(), upstream);
+
+        for (int i = 0; i < 4; i++) {
+            MockHttpServletResponse response = send(route, new MockHttpServletRequest("GET", "/items"));
+            assertThat(response.getStatus()).isEqualTo(200);
+            assertThat(response.getContentAsString()).isEqualTo("ok");
+        }
+        assertThat(retries("io_error", "sent")).isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    void retryBudgetCapsExtraLoad() throws Exception {
+        properties.setBudgetRatio(0.1);
+        properties.setMinRetriesPerSecond(0);
+        invoker.destroy();
+        invoker = new UpstreamInvoker(new UpstreamGuardRegistry(disabledResilience(), meterRegistry), limiters(),
+                properties, meterRegistry);
+        AtomicInteger calls = new AtomicInteger();
+        String upstream = stub(exchange -> {
+            calls.incrementAndGet();
+            respond(exchange, 503, "down");
+        });
+        RetryPolicy retry = new RetryPolicy(2, Duration.ZERO, Duration.ZERO, Set.of(503));
+        RouteConfig route = route(RouteOptions.builder().retry(retry).build(), upstream);
+
+        for (int i = 0; i < 30; i++) {
+            assertThat(send(route, new MockHttpServletRequest("GET", "/items")).getStatus()).isEqualTo(503);
+        }
+        // 업스트림이 모두 실패해도 추가 요청은 원 요청의 10% 이내
+        double sent = retries("status", "sent");
+        assertThat(sent).isBetween(1.0, 3.0);
+        assertThat(sent + retries("status", "budget_exhausted")).isEqualTo(30);
+        assertThat(calls.get()).isEqualTo(30 + (int) sent);
+    }
+
+    @Test
+    void slowResponseIsHedgedToAnotherInstance() throws Exception {
+        String slow = stub(exchange -> {
+            try {
+                Thread.sleep(2_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            respond(exchange, 200, "slow");
+        });
+        String fast = stub(exchange -> respond(exchange, 200, "fast"));
+        HedgePolicy hedge = new HedgePolicy(Duration.ofMillis(50), 95, Duration.ZERO, Duration.ofSeconds(1));
+        RouteConfig route = route(RouteOptions.builder().hedge(hedge).build(), slow, fast);
+
+        for (int i = 0; i < 4; i++) {
+            long start = System.nanoTime();
+            MockHttpServletResponse response = send(route, new MockHttpServletRequest("GET", "/items"));
+            assertThat(response.getContentAsString()).isEqualTo("fast");
+            assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(1));
+        }
+        // 라운드 로빈으로 느린 인스턴스가 먼저 선택된 요청만 헤지
+        assertThat(hedges("hedge_won")).isEqualTo(2);
+        assertThat(hedges("primary_won")).isZero();
+        // 진 요청은 취소되어 진행 중 요청 수에서 빠짐
+        long deadline = System.nanoTime() + Duration.ofSeconds(1).toNanos();
+        while (route.getInstances().get(0).getInFlight() > 0 && System.nanoTime() - deadline < 0) {
+            Thread.sleep(10);
+        }
+        assertThat(route.getInstances().get(0).getInFlight()).isZero();
+    }
+
+    @Test
+    void percentileHedgeWaitsForEnoughSamples() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        String slow = stub(exchange -> {
+            calls.incrementAndGet();
+            try {
+                Thread.sleep(150);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            respond(exchange, 200, "slow");
+        });
+        String fast = stub(exchange -> {
+            calls.incrementAndGet();
+            respond(exchange, 200, "fast");
+        });
+        properties.setHedgeMinSamples(5);
+        HedgePolicy hedge = new HedgePolicy(null, 95, Duration.ZERO, Duration.ofSeconds(1));
+        RouteConfig route = route(RouteOptions.builder().hedge(hedge).build(), slow, fast);
+
+        // 관측이 min-samples보다 적으면 느린 인스턴스로 가도 헤지하지 않음
+        for (int i = 0; i < 4; i++) {
+            assertThat(send(route, new MockHttpServletRequest("GET", "/items")).getStatus()).isEqualTo(200);
+        }
+        assertThat(calls).hasValue(4);
+        assertThat(meterRegistry.find("gateway.upstream.hedges").counters()).isEmpty();
+    }
+
+    @Test
+    void routeReadTimeoutAppliesToEachAttempt() throws Exception {
+        usePooledClients();
+        AtomicInteger calls = new AtomicInteger();
+        String upstream = stub(exchange -> {
+            calls.incrementAndGet();
+            sleep(1_000);
+            respond(exchange, 200, "late");
+        });
+        RetryPolicy retry = new RetryPolicy(2, Duration.ZERO, Duration.ZERO, Set.of(503));
+        RouteConfig route = route(RouteOptions.builder().retry(retry).readTimeout(Duration.ofMillis(150)).build(),
+                upstream);
+
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> send(route, new MockHttpServletRequest("GET", "/items")))
+                .isInstanceOf(SocketTimeoutException.class)
+                .satisfies(e -> assertThat(ProxyException.upstreamFailure((IOException) e).getStatus())
+                        .isEqualTo(HttpStatus.GATEWAY_TIMEOUT));
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofMillis(900));
+        assertThat(calls).hasValue(2);
+        assertThat(timeouts("read")).isEqualTo(2);
+    }
+
+    @Test
+    void deadlineBoundsRetriesAndIsPropagated() throws Exception {
+        usePooledClients();
+        List<String> propagated = new CopyOnWriteArrayList<>();
+        String upstream = stub(exchange -> {
+            propagated.add(exchange.getRequestHeaders().getFirst(Deadline.HEADER));
+            sleep(250);
+            respond(exchange, 503, "busy");
+        });
+        RetryPolicy retry = new RetryPolicy(10, Duration.ZERO, Duration.ZERO, Set.of(503));
+        RouteConfig route = route(RouteOptions.builder().retry(retry).build(), upstream);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/items");
+        // 클라이언트가 보낸 값은 게이트웨이의 남은 시간으로 덮어씀
+        request.addHeader(Deadline.HEADER, "60000");
+
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> send(route, request, Deadline.after(Duration.ofMillis(600))))
+                .isInstanceOf(SocketTimeoutException.class);
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofMillis(1_000));
+        // 10번까지 재시도할 수 있어도 기한 안에서만 보냄
+        assertThat(propagated).hasSizeBetween(2, 3);
+        assertThat(Long.parseLong(propagated.get(0))).isBetween(400L, 600L);
+        assertThat(Long.parseLong(propagated.get(1))).isLessThan(Long.parseLong(propagated.get(0)));
+        assertThat(timeouts("read") + timeouts("deadline")).isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    void expiredDeadlineIsNotSent() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        String upstream = stub(exchange -> {
+            calls.incrementAndGet();
+            respond(exchange, 200, "ok");
+        });
+        RouteConfig route = route(RouteOptions.builder().build(), upstream);
+
+        assertThatThrownBy(() -> send(route, new MockHttpServletRequest("GET", "/items"), Deadline.after(Duration.ZERO)))
+                .isInstanceOf(DeadlineExceededException.class);
+        assertThat(calls).hasValue(0);
+        assertThat(timeouts("deadline")).isEqualTo(1);
+    }
+
+    private MockHttpServletResponse send(RouteConfig route, MockHttpServletRequest request) throws IOException {
+        return send(route, request, null);
+    }
+
+    private MockHttpServletResponse send(RouteConfig route, MockHttpServletRequest request, Deadline deadline)
+            throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try (UpstreamCall call = invoker.open(route, request, deadline, (baseUrl, listener) ->
+                forwarder.open(request, URI.create(baseUrl + request.getRequestURI()), -1, headers -> {
+                }, listener))) {
+            call.getResponse().relay(response);
+        }
+        return response;
+    }
+
+    private RouteConfig route(RouteOptions options, String... upstreams) {
+        List<UpstreamInstance> instances = new ArrayList<>();
+        for (String upstream : upstreams) {
+            instances.add(new UpstreamInstance(new UpstreamStats(upstream, Duration.ofSeconds(10).toNanos()), 1));
+        }
+        return new RouteConfig("items", "/api/items/**", LoadBalancerStrategy.ROUND_ROBIN, instances, null, options);
+    }
+
+    private String stub(Handler handler) throws IOException {
+        HttpServer stub = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 50);
+        stub.createContext("/", handler::handle);
+        stub.setExecutor(Executors.newCachedThreadPool());
+        stub.start();
+        stubs.add(stub);
+        return "http://127.0.0.1:" + stub.getAddress().getPort();
+    }
+
+    private double retries(String cause, String result) {
+        var counter = meterRegistry.find("gateway.upstream.retries")
+                .tags("route", "items", "cause", cause, "result", result).counter();
+        return counter != null ? counter.count() : 0;
+    }
+
+    private double timeouts(String phase) {
+        var counter = meterRegistry.find("gateway.upstream.timeouts").tags("route", "items", "phase", phase).counter();
+        return counter != null ? counter.count() : 0;
+    }
+
+    /**
+     * 운영과 같은 업스트림별 커넥션 풀 사용 (라우트 타임아웃/기한은 풀 클라이언트에서만 적용)
+     */
+    private void usePooledClients() {
+        clients = new UpstreamClientRegistry(new UpstreamClientProperties(), meterRegistry,
+                new SimpleAsyncTaskExecutor());
+        forwarder = new ProxyForwarder(clients::createRequest, 8192);
+    }
+
+    private double hedges(String result) {
+        var counter = meterRegistry.find("gateway.upstream.hedges").tags("route", "items", "result", result).counter();
+        return counter != null ? counter.count() : 0;
+    }
+
+    private AdaptiveLimiterRegistry limiters() {
+        ConcurrencyLimitProperties limits = new ConcurrencyLimitProperties();
+        limits.setEnabled(false);
+        return new AdaptiveLimiterRegistry(limits, meterRegistry);
+    }
+
+    private static ResilienceProperties disabledResilience() {
+        ResilienceProperties resilience = new ResilienceProperties();
+        resilience.setEnabled(false);
+        return resilience;
+    }
+
+    private static String closedPort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return "http://127.0.0.1:" + socket.getLocalPort();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        void handle(HttpExchange exchange) throws IOException;
+    }
+}
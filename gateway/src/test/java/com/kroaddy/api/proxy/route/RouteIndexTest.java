@@ -0,0 +1,59 @@
+package com.kroaddy.api.proxy.route;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RouteIndexTest {
+
+    private final RouteConfig ai = new RouteConfig("/api/ai/**", "http://localhost:9001");
+    private final RouteConfig ml = new RouteConfig("/api/ai/ml/**", "http://localhost:9006", "/titanic");
+    private final RouteConfig openapi = new RouteConfig("/transformer-openapi/**", "http://localhost:9007", "/openapi.json");
+    private final RouteConfig exact = new RouteConfig("/api/ai/ml/health", "http://localhost:9008");
+
+    private final RouteIndex index = RouteIndex.compile(List.of(ai, ml, openapi, exact));
+
+    @Test
+    void longestPrefixWinsRegardlessOfRegistrationOrder() {
+        RouteIndex reversed = RouteIndex.compile(List.of(exact, openapi, ml, ai));
+
+        assertThat(index.match("/api/ai/ml/samsung")).isSameAs(ml);
+        assertThat(reversed.match("/api/ai/ml/samsung")).isSameAs(ml);
+        assertThat(index.match("/api/ai/chatbot/ask")).isSameAs(ai);
+        assertThat(index.match("/api/ai/mlx")).isSameAs(ai);
+    }
+
+    @Test
+    void prefixPatternMatchesItsOwnRootAndTrailingSlash() {
+        assertThat(index.match("/api/ai/ml")).isSameAs(ml);
+        assertThat(index.match("/api/ai/ml/")).isSameAs(ml);
+        assertThat(index.match("/api/users/1")).isNull();
+        assertThat(index.match("")).isNull();
+    }
+
+    @Test
+    void exactRouteBeatsPrefixOnlyForTheExactPath() {
+        assertThat(index.match("/api/ai/ml/health")).isSameAs(exact);
+        assertThat(index.match("/api/ai/ml/health/deep")).isSameAs(ml);
+    }
+
+    @Test
+    void rewriteKeepsRemainingPath() {
+        assertThat(ml.rewrite("/api/ai/ml/samsung")).isEqualTo("/titanic/samsung");
+        assertThat(ml.rewrite("/api/ai/ml/samsung/")).isEqualTo("/titanic/samsung");
+        assertThat(ml.rewrite("/api/ai/ml")).isEqualTo("/titanic");
+        assertThat(openapi.rewrite("/transformer-openapi")).isEqualTo("/openapi.json");
+        assertThat(ai.rewrite("/api/ai/chatbot/ask")).isEqualTo("/api/ai/chatbot/ask");
+    }
+
+    @Test
+    void rejectsDuplicateAndUnsupportedPatterns() {
+        assertThatThrownBy(() -> RouteIndex.compile(List.of(ml, new RouteConfig("/api/ai/ml/**", "http://other"))))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new RouteConfig("/api/*/ml/**", "http://other"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
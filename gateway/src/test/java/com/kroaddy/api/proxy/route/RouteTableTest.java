@@ -0,0 +1,88 @@
+package com.kroaddy.api.proxy.route;
+
+import com.kroaddy.api.proxy.balancer.LoadBalancerStrategy;
+import com.kroaddy.api.proxy.balancer.UpstreamInstance;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+class RouteTableTest {
+
+    @Test
+    void compilesValidDefinitions() {
+        RouteIndex index = RouteTable.compile(List.of(
+                definition("ml", "/api/ai/ml/**", "http://localhost:9006/", "/titanic")));
+
+        RouteConfig route = index.match("/api/ai/ml/samsung");
+        assertThat(route.getId()).isEqualTo("ml");
+        assertThat(route.getBaseUrl()).isEqualTo("http://localhost:9006");
+        assertThat(route.rewrite("/api/ai/ml/samsung")).isEqualTo("/titanic/samsung");
+    }
+
+    @Test
+    void reportsEveryInvalidDefinition() {
+        assertThatThrownBy(() -> RouteTable.compile(List.of(
+                definition("a", "/api/a/**", "ftp://localhost", null),
+                definition("a", "/api/b/**", "http://localhost:9001/base", null),
+                definition("c", "/api/*/c/**", "http://localhost:9001", "no-slash"))))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("a: uri는 http 또는 https여야 합니다.")
+                .hasMessageContaining("a: 중복된 id입니다.")
+                .hasMessageContaining("c: rewrite-path는 '/'로 시작해야 합니다.");
+    }
+
+    @Test
+    void compilesMultiInstanceRoutesWithSharedStats() {
+        RouteDefinition weighted = definition("ml-usa", "/api/ml/usa/**", null, "/usa");
+        weighted.setLoadBalancer(LoadBalancerStrategy.WEIGHTED);
+        weighted.setInstances(List.of(instance("http://ml-1:9006", 3), instance("http://ml-2:9006/", 1)));
+        RouteDefinition commaSeparated = definition("ml-nlp", "/api/ml/nlp/**",
+                "http://ml-1:9006, http://ml-2:9006", "/nlp");
+
+        RouteIndex index = RouteTable.compile(List.of(weighted, commaSeparated));
+        RouteConfig usa = index.match("/api/ml/usa/predict");
+        RouteConfig nlp = index.match("/api/ml/nlp/predict");
+
+        assertThat(usa.getStrategy()).isEqualTo(LoadBalancerStrategy.WEIGHTED);
+        assertThat(usa.getInstances()).extracting(UpstreamInstance::getBaseUrl, UpstreamInstance::getWeight)
+                .containsExactly(tuple("http://ml-1:9006", 3), tuple("http://ml-2:9006", 1));
+        assertThat(nlp.getInstances()).extracting(UpstreamInstance::getBaseUrl)
+                .containsExactly("http://ml-1:9006", "http://ml-2:9006");
+        // 같은 인스턴스를 쓰는 라우트는 진행 중 요청 수 등 통계를 공유
+        assertThat(usa.getInstances().get(0).getStats()).isSameAs(nlp.getInstances().get(0).getStats());
+    }
+
+    @Test
+    void rejectsInvalidInstances() {
+        RouteDefinition both = definition("both", "/api/a/**", "http://localhost:9001", null);
+        both.setInstances(List.of(instance("http://localhost:9002", 1)));
+        RouteDefinition invalid = definition("invalid", "/api/b/**", null, null);
+        invalid.setInstances(List.of(instance("http://localhost:9003", 0), instance("http://localhost:9003", 1)));
+
+        assertThatThrownBy(() -> RouteTable.compile(List.of(both, invalid)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("both: uri와 instances는 함께 쓸 수 없습니다.")
+                .hasMessageContaining("invalid: weight는 1 이상이어야 합니다.")
+                .hasMessageContaining("invalid: 중복된 인스턴스입니다 (http://localhost:9003)");
+    }
+
+    private static RouteDefinition.Instance instance(String uri, int weight) {
+        RouteDefinition.Instance instance = new RouteDefinition.Instance();
+        instance.setUri(uri);
+        instance.setWeight(weight);
+        return instance;
+    }
+
+    private static RouteDefinition definition(String id, String path, String uri, String rewritePath) {
+        RouteDefinition definition = new RouteDefinition();
+        definition.setId(id);
+        definition.setPath(path);
+        definition.setUri(uri);
+        definition.setRewritePath(rewritePath);
+        return definition;
+    }
+}
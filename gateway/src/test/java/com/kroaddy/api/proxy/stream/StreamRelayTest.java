@@ -0,0 +1,225 @@
+package com.kroaddy.api.proxy.stream;
+
+import com.kroaddy.api.proxy.ProxyForwarder;
+import com.kroaddy.api.proxy.balancer.LoadBalancerStrategy;
+import com.kroaddy.api.proxy.balancer.UpstreamInstance;
+import com.kroaddy.api.proxy.balancer.UpstreamStats;
+import com.kroaddy.api.proxy.resilience.AdaptiveLimiterRegistry;
+import com.kroaddy.api.proxy.resilience.ConcurrencyLimitProperties;
+import com.kroaddy.api.proxy.resilience.ResilienceProperties;
+import com.kroaddy.api.proxy.resilience.RetryProperties;
+import com.kroaddy.api.proxy.resilience.UpstreamCall;
+import com.kroaddy.api.proxy.resilience.UpstreamGuardRegistry;
+import com.kroaddy.api.proxy.resilience.UpstreamInvoker;
+import com.kroaddy.api.proxy.route.RouteConfig;
+import com.kroaddy.api.proxy.route.RouteOptions;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StreamRelayTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private StreamingProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private ProxyForwarder forwarder;
+    private UpstreamInvoker invoker;
+    private StreamRelay relay;
+    private HttpServer stub;
+    private String upstream;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        properties = new StreamingProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        forwarder = new ProxyForwarder(new HttpComponentsClientHttpRequestFactory(), 8192);
+        ResilienceProperties resilience = new ResilienceProperties();
+        resilience.setEnabled(false);
+        ConcurrencyLimitProperties limits = new ConcurrencyLimitProperties();
+        limits.setEnabled(false);
+        invoker = new UpstreamInvoker(new UpstreamGuardRegistry(resilience, meterRegistry),
+                new AdaptiveLimiterRegistry(limits, meterRegistry), new RetryProperties(), meterRegistry);
+        relay = new StreamRelay(properties, meterRegistry, 8192);
+
+        stub = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 50);
+        stub.createContext("/events", this::events);
+        stub.createContext("/json", exchange -> {
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, 0); // chunked
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write("{\"ok\":true}".getBytes(StandardCharsets.UTF_8));
+            }
+        });
+        stub.setExecutor(Executors.newCachedThreadPool());
+        stub.start();
+        upstream = "http://127.0.0.1:" + stub.getAddress().getPort();
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        stub.stop(0);
+        relay.destroy();
+        invoker.destroy();
+    }
+
+    @Test
+    void eventsReachClientBeforeUpstreamFinishes() throws Exception {
+        RouteConfig route = route(RouteOptions.DEFAULTS);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/ai/chatbot/events");
+        request.setAsyncSupported(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        UpstreamCall call = open(route, request, "/events");
+        assertThat(relay.isStream(call.getResponse(), true)).isTrue();
+        // 요청 스레드는 스트림을 기다리지 않고 반환
+        relay.relay(route, call, request, response);
+        assertThat(request.isAsyncStarted()).isTrue();
+
+        // 업스트림이 아직 응답 중이어도 첫 이벤트는 클라이언트에 도착
+        awaitTrue(() -> response.getContentAsString().contains("data: first\n\n"));
+        assertThat(response.getContentAsString()).doesNotContain("second");
+        assertThat(response.getContentType()).startsWith("text/event-stream");
+        assertThat(response.getHeader("X-Accel-Buffering")).isEqualTo("no");
+        assertThat(meterRegistry.get("gateway.streams.active").tags("route", "chatbot").gauge().value()).isEqualTo(1);
+
+        release.countDown();
+        awaitTrue(() -> !request.isAsyncStarted());
+        assertThat(response.getContentAsString()).isEqualTo("data: first\n\ndata: second\n\n");
+        assertThat(closed("eof")).isEqualTo(1);
+        assertThat(relay.getActiveStreams()).isZero();
+        assertThat(route.getInstances().get(0).getInFlight()).isZero();
+    }
+
+    @Test
+    void idleStreamIsClosed() throws Exception {
+        RouteConfig route = route(RouteOptions.builder().streamIdleTimeout(Duration.ofMillis(200)).build());
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/ai/chatbot/events");
+        request.setAsyncSupported(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        relay.relay(route, open(route, request, "/events"), request, response);
+        // 두 번째 이벤트를 보내지 않는 업스트림은 유휴 시간 뒤 연결을 끊어 종료 (남은 본문을 기다리지 않음)
+        awaitTrue(() -> !request.isAsyncStarted());
+        assertThat(response.getContentAsString()).isEqualTo("data: first\n\n");
+        assertThat(closed("idle_timeout")).isEqualTo(1);
+        assertThat(route.getInstances().get(0).getInFlight()).isZero();
+    }
+
+    @Test
+    void clientDisconnectAbortsUpstream() throws Exception {
+        RouteConfig route = route(RouteOptions.DEFAULTS);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/ai/chatbot/events");
+        MockHttpServletResponse response = new MockHttpServletResponse() {
+            @Override
+            public jakarta.servlet.ServletOutputStream getOutputStream() {
+                return new jakarta.servlet.ServletOutputStream() {
+                    @Override
+                    public boolean isReady() {
+                        return true;
+                    }
+
+                    @Override
+                    public void setWriteListener(jakarta.servlet.WriteListener listener) {
+                    }
+
+                    @Override
+                    public void write(int b) throws IOException {
+                        throw new IOException("Broken pipe");
+                    }
+                };
+            }
+        };
+
+        long start = System.nanoTime();
+        relay.relay(route, open(route, request, "/events"), request, response);
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(5));
+        assertThat(closed("client_gone")).isEqualTo(1);
+        assertThat(route.getInstances().get(0).getInFlight()).isZero();
+    }
+
+    @Test
+    void chunkedResponsesStreamOnlyWhenNotCaptured() throws Exception {
+        RouteConfig route = route(RouteOptions.DEFAULTS);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/ai/chatbot/json");
+        try (UpstreamCall call = open(route, request, "/json")) {
+            assertThat(relay.isStream(call.getResponse(), false)).isTrue();
+            // 캐시/병합으로 담으려는 응답은 담기 우선
+            assertThat(relay.isStream(call.getResponse(), true)).isFalse();
+            properties.setChunked(false);
+            assertThat(relay.isStream(call.getResponse(), false)).isFalse();
+        }
+
+        // 비동기를 지원하지 않는 요청은 현재 스레드에서 전달
+        properties.setChunked(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        relay.relay(route, open(route, request, "/json"), request, response);
+        assertThat(response.getContentAsString()).isEqualTo("{\"ok\":true}");
+        assertThat(closed("eof")).isEqualTo(1);
+    }
+
+    private UpstreamCall open(RouteConfig route, MockHttpServletRequest request, String path) throws IOException {
+        return invoker.open(route, request, (baseUrl, listener) ->
+                forwarder.open(request, URI.create(baseUrl + path), -1, headers -> {
+                }, listener));
+    }
+
+    private RouteConfig route(RouteOptions options) {
+        return new RouteConfig("chatbot", "/api/ai/chatbot/**", LoadBalancerStrategy.ROUND_ROBIN,
+                List.of(new UpstreamInstance(new UpstreamStats(upstream, 1), 1)), null, options);
+    }
+
+    private void events(HttpExchange exchange) throws IOException {
+        exchange.getResponseHeaders().add("Content-Type", "text/event-stream");
+        exchange.sendResponseHeaders(200, 0);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write("data: first\n\n".getBytes(StandardCharsets.UTF_8));
+            out.flush();
+            if (!release.await(30, TimeUnit.SECONDS)) {
+                return;
+            }
+            out.write("data: second\n\n".getBytes(StandardCharsets.UTF_8));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            // 게이트웨이가 스트림을 끊음
+        }
+    }
+
+    private double closed(String reason) {
+        var counter = meterRegistry.find("gateway.streams.closed").tags("route", "chatbot", "reason", reason).counter();
+        return counter != null ? counter.count() : 0;
+    }
+
+    private static void awaitTrue(Condition condition) throws Exception {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.test() && System.nanoTime() - deadline < 0) {
+            Thread.sleep(10);
+        }
+        assertThat(condition.test()).isTrue();
+    }
+
+    @FunctionalInterface
+    private interface Condition {
+        boolean test() throws Exception;
+    }
+}
@@ -0,0 +1,46 @@
+package com.kroaddy.api.proxy.upstream;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UpstreamClientRegistryTest {
+
+    @Test
+    void retiresClientsAndMetersOfRemovedUpstreams() throws InterruptedException {
+        UpstreamClientProperties properties = new UpstreamClientProperties();
+        properties.setRetireAfter(Duration.ZERO);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        UpstreamClientRegistry registry = new UpstreamClientRegistry(properties, meterRegistry, new SimpleAsyncTaskExecutor());
+
+        registry.registerAll(List.of("http://ml-1:9006", "http://ml-2:9006/"));
+        assertThat(registry.baseUrls()).containsExactlyInAnyOrder("http://ml-1:9006", "http://ml-2:9006");
+        assertThat(poolMeters(meterRegistry, "http://ml-2:9006")).isPositive();
+
+        // 재로드로 ml-2가 빠지면 클라이언트를 목록에서 빼고, 닫으면서 풀 미터도 제거
+        registry.retainOnly(List.of("http://ml-1:9006/"));
+        assertThat(registry.baseUrls()).containsExactly("http://ml-1:9006");
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (poolMeters(meterRegistry, "http://ml-2:9006") > 0) {
+            assertThat(System.nanoTime() - deadline).as("조건 대기 시간 초과").isNegative();
+            Thread.sleep(5);
+        }
+        assertThat(poolMeters(meterRegistry, "http://ml-1:9006")).isPositive();
+
+        // 다시 추가되면 새 풀과 미터를 등록
+        registry.registerAll(List.of("http://ml-1:9006", "http://ml-2:9006"));
+        assertThat(poolMeters(meterRegistry, "http://ml-2:9006")).isPositive();
+        registry.destroy();
+    }
+
+    private static long poolMeters(SimpleMeterRegistry meterRegistry, String upstream) {
+        return meterRegistry.getMeters().stream()
+                .filter(meter -> upstream.equals(meter.getId().getTag("upstream")))
+                .count();
+    }
+}
@@ -0,0 +1,258 @@
+package com.kroaddy.api.proxy.websocket;
+
+import com.kroaddy.api.jwt.JwtProperties;
+import com.kroaddy.api.jwt.JwtTokenProvider;
+import com.kroaddy.api.jwt.VerifiedTokenCache;
+import com.kroaddy.api.proxy.auth.AuthPolicy;
+import com.kroaddy.api.proxy.auth.IdentitySigner;
+import com.kroaddy.api.proxy.balancer.LoadBalancerStrategy;
+import com.kroaddy.api.proxy.balancer.UpstreamInstance;
+import com.kroaddy.api.proxy.balancer.UpstreamStats;
+import com.kroaddy.api.proxy.route.RouteConfig;
+import com.kroaddy.api.proxy.route.RouteIndex;
+import com.kroaddy.api.proxy.route.RouteOptions;
+import com.kroaddy.api.proxy.route.RouteSnapshot;
+import com.kroaddy.api.proxy.route.RouteTable;
+import com.kroaddy.api.ratelimit.ClientAddressResolver;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WebSocketAuthInterceptorTest {
+
+    private static final String IDENTITY_SECRET = "test-identity-secret-for-websocket-proxy-0123";
+
+    private SimpleMeterRegistry meterRegistry;
+    private JwtTokenProvider jwtTokenProvider;
+    private VerifiedTokenCache verifiedTokenCache;
+    private WebSocketProxyProperties properties;
+    private WebSocketUserLimiter userLimiter;
+    private WebSocketAuthInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        JwtProperties jwtProperties = new JwtProperties();
+        jwtProperties.setSecret("test-secret-key-for-websocket-proxy-0123456789");
+        jwtTokenProvider = new JwtTokenProvider(jwtProperties);
+        verifiedTokenCache = new VerifiedTokenCache(jwtTokenProvider, jwtProperties, meterRegistry);
+        properties = new WebSocketProxyProperties();
+        properties.setMaxConnectionsPerUser(2);
+        userLimiter = new WebSocketUserLimiter(properties, meterRegistry);
+        RouteIndex index = RouteIndex.compile(List.of(
+                new RouteConfig("ai-chatbot", "/api/ai/chatbot/**", "http://localhost:9003", "/chat", null),
+                new RouteConfig("ai-crawler", "/api/ai/crawler/**", LoadBalancerStrategy.ROUND_ROBIN,
+                        List.of(new UpstreamInstance(new UpstreamStats("http://localhost:9001", 1_000_000_000L), 1)),
+                        null, RouteOptions.builder().authPolicy(AuthPolicy.OPTIONAL).build())));
+        RouteSnapshot snapshot = new RouteSnapshot(1, "test", Instant.now(), List.of(), index);
+        RouteTable routeTable = new RouteTable(null, null, null, null) {
+            @Override
+            public RouteSnapshot current() {
+                return snapshot;
+            }
+        };
+        interceptor = new WebSocketAuthInterceptor(verifiedTokenCache, routeTable, AuthPolicy.REQUIRED,
+                new ClientAddressResolver(List.of("127.0.0.1/32")), userLimiter, meterRegistry);
+    }
+
+    @Test
+    void acceptedHandshakeCarriesRouteUserAndUpstreamPath() {
+        MockHttpServletRequest request = request("/api/ai/chatbot/stream");
+        request.setQueryString("lang=ko");
+        String token = jwtTokenProvider.generateToken("user-1");
+        request.setCookies(new Cookie("Authorization", token));
+        Map<String, Object> attributes = new HashMap<>();
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertThat(handshake(request, response, attributes)).isTrue();
+        assertThat(((RouteConfig) attributes.get(WebSocketAuthInterceptor.ROUTE)).getId()).isEqualTo("ai-chatbot");
+        assertThat(attributes.get(WebSocketAuthInterceptor.UPSTREAM_PATH)).isEqualTo("/chat/stream?lang=ko");
+        assertThat(attributes.get(WebSocketAuthInterceptor.USER)).isEqualTo("user-1");
+        HttpHeaders headers = (HttpHeaders) attributes.get(WebSocketAuthInterceptor.UPSTREAM_HEADERS);
+        assertThat(headers.getFirst(HttpHeaders.COOKIE)).isEqualTo("Authorization=" + token);
+        assertThat(headers.getFirst("X-Forwarded-For")).isEqualTo("10.0.0.1");
+        assertThat(handshakes("ai-chatbot", "accepted")).isEqualTo(1);
+    }
+
+    @Test
+    void bearerHeaderIsAcceptedForNonBrowserClients() {
+        MockHttpServletRequest request = request("/api/ai/chatbot/stream");
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + jwtTokenProvider.generateToken("user-2"));
+        Map<String, Object> attributes = new HashMap<>();
+
+        assertThat(handshake(request, new MockHttpServletResponse(), attributes)).isTrue();
+        assertThat(attributes.get(WebSocketAuthInterceptor.USER)).isEqualTo("user-2");
+    }
+
+    @Test
+    void missingOrInvalidTokenIsRejectedBeforeUpgrade() {
+        MockHttpServletResponse missing = new MockHttpServletResponse();
+        assertThat(handshake(request("/api/ai/chatbot/stream"), missing, new HashMap<>())).isFalse();
+        assertThat(missing.getStatus()).isEqualTo(401);
+
+        MockHttpServletRequest forged = request("/api/ai/chatbot/stream");
+        forged.setCookies(new Cookie("Authorization", "not-a-jwt"));
+        MockHttpServletResponse invalid = new MockHttpServletResponse();
+        assertThat(handshake(forged, invalid, new HashMap<>())).isFalse();
+        assertThat(invalid.getStatus()).isEqualTo(401);
+        assertThat(handshakes("ai-chatbot", "unauthorized")).isEqualTo(2);
+    }
+
+    @Test
+    void revokedTokenIsRejectedBeforeUpgrade() {
+        String token = jwtTokenProvider.generateToken("user-1");
+        MockHttpServletRequest request = request("/api/ai/chatbot/stream");
+        request.setCookies(new Cookie("Authorization", token));
+        assertThat(handshake(request, new MockHttpServletResponse(), new HashMap<>())).isTrue();
+
+        // 로그아웃한 토큰은 서명이 유효해도 새 소켓을 열 수 없음
+        verifiedTokenCache.revoke(token);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertThat(handshake(request, response, new HashMap<>())).isFalse();
+        assertThat(response.getStatus()).isEqualTo(401);
+        assertThat(handshakes("ai-chatbot", "unauthorized")).isEqualTo(1);
+    }
+
+    @Test
+    void upstreamHandshakeCarriesSignedIdentity() throws Exception {
+        MockHttpServletRequest request = request("/api/ai/chatbot/stream");
+        request.setQueryString("lang=ko");
+        request.setCookies(new Cookie("Authorization", jwtTokenProvider.generateToken("kakao-42", "kakao")));
+        // 클라이언트가 보낸 사용자 헤더는 업스트림에 전달하지 않음
+        request.addHeader("X-User-Id", "admin");
+        request.addHeader("X-Auth-Signature", "forged");
+        Map<String, Object> attributes = new HashMap<>();
+        assertThat(handshake(request, new MockHttpServletResponse(), attributes)).isTrue();
+
+        HttpHeaders headers = (HttpHeaders) attributes.get(WebSocketAuthInterceptor.UPSTREAM_HEADERS);
+        assertThat(headers.getFirst("X-User-Id")).isEqualTo("kakao-42");
+        assertThat(headers.getFirst("X-Auth-Provider")).isEqualTo("kakao");
+        assertThat(headers.containsKey("X-Auth-Signature")).isFalse();
+
+        WebSocketProxyHandler handler = new WebSocketProxyHandler(null, userLimiter, properties, meterRegistry,
+                new IdentitySigner(IDENTITY_SECRET));
+        URI uri = URI.create("ws://Chatbot-1:9003" + attributes.get(WebSocketAuthInterceptor.UPSTREAM_PATH));
+        handler.sign(uri, headers);
+        String timestamp = headers.getFirst("X-Auth-Timestamp");
+        long now = System.currentTimeMillis() / 1000;
+        assertThat(Long.parseLong(timestamp)).isBetween(now - 5, now);
+        assertThat(headers.getFirst("X-Auth-Signature")).isEqualTo(expectedSignature(
+                "v2\n" + timestamp + "\nGET\nchatbot-1:9003\n/chat/stream?lang=ko\nkakao-42\nkakao"));
+
+        // 서명 키가 없으면(프록시 인증 꺼짐) 서명할 수 없는 사용자 헤더를 넘기지 않음
+        HttpHeaders unsigned = new HttpHeaders();
+        unsigned.set("X-User-Id", "kakao-42");
+        unsigned.set("X-Auth-Provider", "kakao");
+        new WebSocketProxyHandler(null, userLimiter, properties, meterRegistry).sign(uri, unsigned);
+        assertThat(unsigned.containsKey("X-User-Id")).isFalse();
+        assertThat(unsigned.containsKey("X-Auth-Provider")).isFalse();
+    }
+
+    @Test
+    void optionalRouteAcceptsAnonymousHandshakeWithoutIdentity() {
+        MockHttpServletRequest request = request("/api/ai/crawler/ws");
+        request.addHeader("X-User-Id", "admin");
+        Map<String, Object> attributes = new HashMap<>();
+
+        assertThat(handshake(request, new MockHttpServletResponse(), attributes)).isTrue();
+        // 익명 연결의 동시 소켓 수는 클라이언트 IP별
+        assertThat(attributes.get(WebSocketAuthInterceptor.USER)).isEqualTo("anonymous:10.0.0.1");
+        HttpHeaders headers = (HttpHeaders) attributes.get(WebSocketAuthInterceptor.UPSTREAM_HEADERS);
+        assertThat(headers.containsKey("X-User-Id")).isFalse();
+        assertThat(handshakes("ai-crawler", "accepted")).isEqualTo(1);
+    }
+
+    @Test
+    void forwardedForIsResolvedFromTrustedProxiesOnly() {
+        // 신뢰하지 않는 주소가 보낸 X-Forwarded-For는 무시
+        MockHttpServletRequest direct = request("/api/ai/crawler/ws");
+        direct.addHeader("X-Forwarded-For", "1.2.3.4");
+        Map<String, Object> attributes = new HashMap<>();
+        assertThat(handshake(direct, new MockHttpServletResponse(), attributes)).isTrue();
+        assertThat(((HttpHeaders) attributes.get(WebSocketAuthInterceptor.UPSTREAM_HEADERS))
+                .getFirst("X-Forwarded-For")).isEqualTo("10.0.0.1");
+
+        // 신뢰하는 프록시를 거치면 그 프록시가 본 클라이언트 주소 (앞쪽의 꾸민 값은 버림)
+        MockHttpServletRequest proxied = request("/api/ai/crawler/ws");
+        proxied.setRemoteAddr("127.0.0.1");
+        proxied.addHeader("X-Forwarded-For", "1.2.3.4, 203.0.113.7");
+        attributes = new HashMap<>();
+        assertThat(handshake(proxied, new MockHttpServletResponse(), attributes)).isTrue();
+        assertThat(((HttpHeaders) attributes.get(WebSocketAuthInterceptor.UPSTREAM_HEADERS))
+                .getFirst("X-Forwarded-For")).isEqualTo("203.0.113.7");
+    }
+
+    @Test
+    void unknownPathIsNotFound() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertThat(handshake(request("/api/unknown/ws"), response, new HashMap<>())).isFalse();
+        assertThat(response.getStatus()).isEqualTo(404);
+    }
+
+    @Test
+    void userAtConnectionLimitIsRejected() {
+        assertThat(userLimiter.tryAcquire("user-1")).isTrue();
+        assertThat(userLimiter.tryAcquire("user-1")).isTrue();
+        assertThat(userLimiter.tryAcquire("user-1")).isFalse();
+
+        MockHttpServletRequest request = request("/api/ai/chatbot/stream");
+        request.setCookies(new Cookie("Authorization", jwtTokenProvider.generateToken("user-1")));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertThat(handshake(request, response, new HashMap<>())).isFalse();
+        assertThat(response.getStatus()).isEqualTo(429);
+
+        // 연결 하나가 닫히면 다시 허용, 다른 사용자는 영향 없음
+        userLimiter.release("user-1");
+        assertThat(handshake(request, new MockHttpServletResponse(), new HashMap<>())).isTrue();
+        assertThat(userLimiter.tryAcquire("user-2")).isTrue();
+        userLimiter.release("user-1");
+        userLimiter.release("user-2");
+        assertThat(userLimiter.connections("user-1")).isZero();
+        assertThat(userLimiter.connections("user-2")).isZero();
+    }
+
+    private boolean handshake(MockHttpServletRequest request, MockHttpServletResponse response,
+                              Map<String, Object> attributes) {
+        ServletServerHttpResponse serverResponse = new ServletServerHttpResponse(response);
+        boolean accepted = interceptor.beforeHandshake(new ServletServerHttpRequest(request), serverResponse,
+                null, attributes);
+        serverResponse.close();
+        return accepted;
+    }
+
+    private double handshakes(String route, String result) {
+        var counter = meterRegistry.find("gateway.websocket.handshakes").tags("route", route, "result", result).counter();
+        return counter != null ? counter.count() : 0;
+    }
+
+    private static String expectedSignature(String input) throws Exception {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(IDENTITY_SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(
+                mac.doFinal(input.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static MockHttpServletRequest request(String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setRemoteAddr("10.0.0.1");
+        return request;
+    }
+}
@@ -0,0 +1,59 @@
+package com.kroaddy.api.ratelimit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ClientAddressResolverTest {
+
+    private final ClientAddressResolver resolver = new ClientAddressResolver(
+            List.of("127.0.0.1/32", "::1/128", "10.0.0.0/8", "172.16.0.0/12"));
+
+    @Test
+    void ignoresForwardedForFromUntrustedPeers() {
+        // 로드밸런서를 거치지 않고 직접 연결한 클라이언트가 꾸민 값
+        assertThat(resolver.resolve(request("203.0.113.7", "198.51.100.1"))).isEqualTo("203.0.113.7");
+        assertThat(new ClientAddressResolver(List.of()).resolve(request("127.0.0.1", "198.51.100.1")))
+                .isEqualTo("127.0.0.1");
+    }
+
+    @Test
+    void walksForwardedForFromTheNearestHop() {
+        assertThat(resolver.resolve(request("10.0.0.5", "203.0.113.7"))).isEqualTo("203.0.113.7");
+        // 클라이언트가 앞에 붙인 값은 건너뛰고, 신뢰하는 프록시가 기록한 첫 외부 주소를 사용
+        assertThat(resolver.resolve(request("10.0.0.5", "198.51.100.1, 203.0.113.7, 172.16.3.4")))
+                .isEqualTo("203.0.113.7");
+        // 배치 loopback 호출: 게이트웨이가 확인한 주소 하나만 전달
+        assertThat(resolver.resolve(request("::1", "203.0.113.7"))).isEqualTo("203.0.113.7");
+        // 주소가 아닌 값에서 멈추고 마지막으로 확인한 홉을 사용
+        assertThat(resolver.resolve(request("10.0.0.5", "evil.example, 10.1.2.3"))).isEqualTo("10.1.2.3");
+        assertThat(resolver.resolve(request("10.0.0.5", null))).isEqualTo("10.0.0.5");
+    }
+
+    @Test
+    void matchesPrefixBoundaries() {
+        ClientAddressResolver narrow = new ClientAddressResolver(List.of("192.168.1.128/25", "2001:db8::/32"));
+        assertThat(narrow.resolve(request("192.168.1.200", "203.0.113.7"))).isEqualTo("203.0.113.7");
+        assertThat(narrow.resolve(request("192.168.1.127", "203.0.113.7"))).isEqualTo("192.168.1.127");
+        assertThat(narrow.resolve(request("2001:db8:0:0:0:0:0:1", "203.0.113.7"))).isEqualTo("203.0.113.7");
+        assertThat(narrow.resolve(request("2001:db9::1", "203.0.113.7"))).isEqualTo("2001:db9::1");
+
+        assertThatThrownBy(() -> new ClientAddressResolver(List.of("10.0.0.0/33")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new ClientAddressResolver(List.of("proxy.internal")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static MockHttpServletRequest request(String remoteAddr, String forwardedFor) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/ai/rag/query");
+        request.setRemoteAddr(remoteAddr);
+        if (forwardedFor != null) {
+            request.addHeader("X-Forwarded-For", forwardedFor);
+        }
+        return request;
+    }
+}
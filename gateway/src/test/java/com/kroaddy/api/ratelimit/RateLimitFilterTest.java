@@ -0,0 +1,196 @@
+package com.kroaddy.api.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kroaddy.api.jwt.JwtProperties;
+import com.kroaddy.api.jwt.JwtTokenProvider;
+import com.kroaddy.api.ratelimit.RateLimitProperties.Algorithm;
+import com.kroaddy.api.ratelimit.RateLimitProperties.KeyType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitFilterTest {
+
+    private CountingStore store;
+    private RateLimitProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private JwtTokenProvider jwtTokenProvider;
+
+    @BeforeEach
+    void setUp() {
+        store = new CountingStore();
+        properties = new RateLimitProperties();
+        properties.setLeaseTtl(Duration.ofMinutes(1));
+        meterRegistry = new SimpleMeterRegistry();
+        JwtProperties jwtProperties = new JwtProperties();
+        jwtProperties.setSecret("test-secret-key-for-rate-limit-filter-0123456789");
+        jwtTokenProvider = new JwtTokenProvider(jwtProperties);
+    }
+
+    @Test
+    void localLeaseKeepsMostRequestsAwayFromStore() throws Exception {
+        properties.setRules(List.of(rule("ai-ip", "/api/ai/**", KeyType.IP, 100)));
+        RateLimitFilter filter = filter();
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(call(filter, request("/api/ai/rag/query", "10.0.0.1")).getStatus()).isEqualTo(200);
+        }
+        // 임대 크기는 1, 2, 4, 8로 늘다가 lease-fraction 0.1 -> 최대 10건씩
+        assertThat(store.calls.get()).isEqualTo(13);
+
+        MockHttpServletResponse rejected = call(filter, request("/api/ai/rag/query", "10.0.0.1"));
+        assertThat(rejected.getStatus()).isEqualTo(429);
+        assertThat(rejected.getHeader("Retry-After")).isNotNull();
+        assertThat(rejected.getHeader("RateLimit-Remaining")).isEqualTo("0");
+        assertThat(rejected.getHeader("RateLimit-Policy")).isEqualTo("100;w=60");
+        assertThat(rejected.getContentAsString()).contains("Too Many Requests");
+
+        // 거절 후에는 Retry-After 동안 Redis 없이 로컬에서 거절
+        int callsAfterReject = store.calls.get();
+        for (int i = 0; i < 50; i++) {
+            assertThat(call(filter, request("/api/ai/rag/query", "10.0.0.1")).getStatus()).isEqualTo(429);
+        }
+        assertThat(store.calls.get()).isEqualTo(callsAfterReject);
+
+        // 다른 IP와 규칙 밖 경로는 영향 없음
+        assertThat(call(filter, request("/api/ai/rag/query", "10.0.0.2")).getStatus()).isEqualTo(200);
+        assertThat(call(filter, request("/api/users/me", "10.0.0.1")).getStatus()).isEqualTo(200);
+
+        assertThat(meterRegistry.get("gateway.ratelimit.decisions")
+                .tags("rule", "ai-ip", "outcome", "allowed", "source", "local").counter().count()).isEqualTo(87);
+    }
+
+    @Test
+    void sparseRequestsGetTheFullLimit() throws Exception {
+        // 분당 30회, 최대 임대 3건: 요청 간격이 lease-ttl보다 길면 임대분이 매번 만료됨
+        properties.setLeaseTtl(Duration.ofMillis(20));
+        properties.setRules(List.of(rule("auth-ip", "/api/auth/**", KeyType.IP, 30)));
+        RateLimitFilter filter = filter();
+
+        for (int i = 0; i < 30; i++) {
+            assertThat(call(filter, request("/api/auth/login", "10.0.0.1")).getStatus()).isEqualTo(200);
+            Thread.sleep(30);
+        }
+        assertThat(call(filter, request("/api/auth/login", "10.0.0.1")).getStatus()).isEqualTo(429);
+        // 드문 요청은 한 건씩만 임대하므로 만료로 버려진 허용량이 없음
+        assertThat(store.calls.get()).isEqualTo(31);
+
+        // 몰린 요청 뒤 다시 드물어지면 임대 크기가 1로 돌아감
+        for (int i = 0; i < 6; i++) {
+            call(filter, request("/api/auth/login", "10.0.0.2"));
+        }
+        Thread.sleep(30);
+        for (int i = 0; i < 24; i++) {
+            assertThat(call(filter, request("/api/auth/login", "10.0.0.2")).getStatus()).isEqualTo(200);
+            Thread.sleep(30);
+        }
+        assertThat(store.keys.get("ratelimit:auth-ip:ip:10.0.0.2")).isEqualTo(30);
+    }
+
+    @Test
+    void allowedResponseCarriesStrictestRuleHeaders() throws Exception {
+        properties.setRules(List.of(
+                rule("ai-route", "/api/ai/**", KeyType.ROUTE, 1000),
+                rule("ai-ip", "/api/ai/**", KeyType.IP, 20)));
+        MockHttpServletResponse response = call(filter(), request("/api/ai/chatbot/chat", "10.0.0.1"));
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getHeader("RateLimit-Limit")).isEqualTo("20");
+        assertThat(response.getHeader("RateLimit-Remaining")).isEqualTo("19");
+    }
+
+    @Test
+    void userRuleKeysByJwtSubjectAndFallsBackToIp() throws Exception {
+        properties.setRules(List.of(rule("ai-user", "/api/ai/**", KeyType.USER, 10)));
+        RateLimitFilter filter = filter();
+
+        MockHttpServletRequest authenticated = request("/api/ai/rag/query", "10.0.0.1");
+        authenticated.addHeader("Authorization", "Bearer " + jwtTokenProvider.generateToken("kakao-42"));
+        call(filter, authenticated);
+        call(filter, request("/api/ai/rag/query", "10.0.0.1"));
+
+        MockHttpServletRequest forged = request("/api/ai/rag/query", "10.0.0.3");
+        forged.addHeader("Authorization", "Bearer not-a-jwt");
+        call(filter, forged);
+
+        assertThat(store.keys).containsOnlyKeys(
+                "ratelimit:ai-user:user:kakao-42",
+                "ratelimit:ai-user:ip:10.0.0.1",
+                "ratelimit:ai-user:ip:10.0.0.3");
+    }
+
+    @Test
+    void storeFailureFollowsFailOpenSetting() throws Exception {
+        properties.setRules(List.of(rule("ai-ip", "/api/ai/**", KeyType.IP, 10)));
+        store.failing = true;
+
+        assertThat(call(filter(), request("/api/ai/rag/query", "10.0.0.1")).getStatus()).isEqualTo(200);
+
+        properties.setFailOpen(false);
+        assertThat(call(filter(), request("/api/ai/rag/query", "10.0.0.1")).getStatus()).isEqualTo(503);
+    }
+
+    private RateLimitFilter filter() {
+        RateLimiter rateLimiter = new RateLimiter(store, properties, meterRegistry);
+        // 로드밸런서(172.16.0.0/12)를 거쳐 들어온 요청
+        return new RateLimitFilter(rateLimiter, jwtTokenProvider, new ObjectMapper(),
+                new ClientAddressResolver(List.of("127.0.0.1/32", "172.16.0.0/12")));
+    }
+
+    private static MockHttpServletResponse call(RateLimitFilter filter, MockHttpServletRequest request)
+            throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String path, String forwardedFor) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.addHeader("X-Forwarded-For", forwardedFor + ", 172.16.0.1");
+        return request;
+    }
+
+    private static RateLimitProperties.Rule rule(String id, String path, KeyType key, long limit) {
+        RateLimitProperties.Rule rule = new RateLimitProperties.Rule();
+        rule.setId(id);
+        rule.setPath(path);
+        rule.setKey(key);
+        rule.setAlgorithm(Algorithm.SLIDING_WINDOW);
+        rule.setLimit(limit);
+        rule.setPeriod(Duration.ofMinutes(1));
+        return rule;
+    }
+
+    /**
+     * 키별 고정 한도만 세는 저장소 (Redis 왕복 수 확인용)
+     */
+    private static final class CountingStore implements RateLimitStore {
+
+        final AtomicInteger calls = new AtomicInteger();
+        final Map<String, Long> keys = new HashMap<>();
+        volatile boolean failing;
+
+        @Override
+        public synchronized Grant acquire(RateLimitRule rule, String key, int permits) {
+            calls.incrementAndGet();
+            if (failing) {
+                throw new IllegalStateException("connection refused");
+            }
+            long used = keys.getOrDefault(key, 0L);
+            long granted = Math.max(0, Math.min(permits, rule.getLimit() - used));
+            keys.put(key, used + granted);
+            return new Grant(granted, rule.getLimit() - used - granted, granted == 0 ? 30_000 : 0, 60_000);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.kroaddy.api.ratelimit;
+
+import com.github.fppt.jedismock.RedisServer;
+import com.kroaddy.api.ratelimit.RateLimitProperties.Algorithm;
+import com.kroaddy.api.ratelimit.RateLimitStore.Grant;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Lua 스크립트를 실제 RESP 서버(jedis-mock)에서 실행해 원자적 차감 동작 확인
+ */
+class RedisRateLimitStoreTest {
+
+    private RedisServer server;
+    private LettuceConnectionFactory connectionFactory;
+    private RedisRateLimitStore store;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = RedisServer.newRedisServer().start();
+        connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(server.getHost(), server.getBindPort()));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+
+        RedisTemplate<String, Object> template = new RedisTemplate<>();
+        template.setConnectionFactory(connectionFactory);
+        template.setKeySerializer(new StringRedisSerializer());
+        template.setValueSerializer(new StringRedisSerializer());
+        template.afterPropertiesSet();
+        store = new RedisRateLimitStore(template);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        connectionFactory.destroy();
+        server.stop();
+    }
+
+    @Test
+    void tokenBucketGrantsUpToCapacityThenRejects() {
+        RateLimitRule rule = rule(Algorithm.TOKEN_BUCKET, 60, Duration.ofMinutes(1), 10L);
+
+        Grant lease = store.acquire(rule, "rl:test:user:1", 4);
+        assertThat(lease.granted()).isEqualTo(4);
+        assertThat(lease.remaining()).isEqualTo(6);
+
+        // 남은 것보다 많이 요청하면 남은 만큼만 허용
+        Grant rest = store.acquire(rule, "rl:test:user:1", 10);
+        assertThat(rest.granted()).isEqualTo(6);
+        assertThat(rest.remaining()).isZero();
+
+        Grant rejected = store.acquire(rule, "rl:test:user:1", 1);
+        assertThat(rejected.granted()).isZero();
+        // 초당 1토큰 보충 -> 1초 이내에 다시 허용
+        assertThat(rejected.retryAfterMillis()).isBetween(1L, 1000L);
+
+        // 다른 키는 독립
+        assertThat(store.acquire(rule, "rl:test:user:2", 1).granted()).isEqualTo(1);
+    }
+
+    @Test
+    void slidingWindowCountsRequestsInWindow() {
+        RateLimitRule rule = rule(Algorithm.SLIDING_WINDOW, 5, Duration.ofHours(1), null);
+
+        long granted = 0;
+        for (int i = 0; i < 8; i++) {
+            granted += store.acquire(rule, "rl:test:ip:1.2.3.4", 1).granted();
+        }
+        assertThat(granted).isEqualTo(5);
+
+        Grant rejected = store.acquire(rule, "rl:test:ip:1.2.3.4", 1);
+        assertThat(rejected.granted()).isZero();
+        assertThat(rejected.remaining()).isZero();
+        assertThat(rejected.retryAfterMillis()).isPositive().isLessThanOrEqualTo(Duration.ofHours(1).toMillis());
+    }
+
+    private static RateLimitRule rule(Algorithm algorithm, long limit, Duration period, Long burst) {
+        RateLimitProperties.Rule rule = new RateLimitProperties.Rule();
+        rule.setId("test");
+        rule.setPath("/api/**");
+        rule.setAlgorithm(algorithm);
+        rule.setLimit(limit);
+        rule.setPeriod(period);
+        rule.setBurst(burst);
+        return new RateLimitRule(rule, 0.1);
+    }
+}
@@ -6,6 +6,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import site.protoa.api.jwt.JwtTokenProvider;
+import site.protoa.api.jwt.TokenValidation;
 
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
@@ -42,26 +43,25 @@ public class AuthController {
     @GetMapping("/me")
     public ResponseEntity<?> getCurrentUser(HttpServletRequest request) {
         try {
-            // 쿠키에서 토큰 추출
-            String token = extractTokenFromCookie(request);
+            // 쿠키의 토큰을 한 번에 검증하고 사용자 ID 추출
+            TokenValidation validation = jwtTokenProvider.validate(extractTokenFromCookie(request));
 
-            if (token == null) {
+            if (validation.failure() == TokenValidation.Failure.MISSING) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                         .body(Map.of(
                                 "error", "Unauthorized",
                                 "message", "인증이 필요합니다."));
             }
 
-            // 토큰 검증
-            if (!jwtTokenProvider.validateToken(token)) {
+            if (!validation.isValid()) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                         .body(Map.of(
                                 "error", "Unauthorized",
-                                "message", "유효하지 않은 토큰입니다."));
+                                "message", "유효하지 않은 토큰입니다.",
+                                "reason", validation.failure().name()));
             }
 
-            // 토큰에서 사용자 ID 추출
-            String userId = jwtTokenProvider.getSubjectFromToken(token);
+            String userId = validation.subject();
 
             // 사용자 정보 반환
             // TODO: 실제 사용자 정보를 DB에서 조회하거나, 소셜 로그인 정보를 저장/조회하는 로직 추가 필요
@@ -93,26 +93,25 @@ public class AuthController {
     public ResponseEntity<?> refreshToken(HttpServletRequest request,
             HttpServletResponse response) {
         try {
-            // 쿠키에서 Refresh Token 추출
-            String refreshToken = extractRefreshTokenFromCookie(request);
+            // 쿠키의 Refresh Token을 한 번에 검증하고 사용자 ID 추출
+            TokenValidation validation = jwtTokenProvider.validate(extractRefreshTokenFromCookie(request));
 
-            if (refreshToken == null) {
+            if (validation.failure() == TokenValidation.Failure.MISSING) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                         .body(Map.of(
                                 "error", "Unauthorized",
                                 "message", "Refresh Token이 필요합니다."));
             }
 
-            // Refresh Token 검증
-            if (!jwtTokenProvider.validateToken(refreshToken)) {
+            if (!validation.isValid()) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                         .body(Map.of(
                                 "error", "Unauthorized",
-                                "message", "유효하지 않은 Refresh Token입니다."));
+                                "message", "유효하지 않은 Refresh Token입니다.",
+                                "reason", validation.failure().name()));
             }
 
-            // Refresh Token에서 사용자 ID 추출
-            String userId = jwtTokenProvider.getSubjectFromToken(refreshToken);
+            String userId = validation.subject();
 
             // 새로운 Access Token 발급
             String newAccessToken = jwtTokenProvider.generateToken(userId);
@@ -0,0 +1,354 @@
+package site.protoa.api.jwt;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import site.protoa.api.jwt.TokenValidation.Failure;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * HS256 JWT 서명/검증
+ * 키는 생성 시 한 번만 만들고, Mac과 작업용 버퍼는 풀에서 빌려 재사용 (요청마다 키/파서/Mac을 새로 만들지 않음)
+ * 요청마다 새 가상 스레드가 생기므로 ThreadLocal 대신 동시 사용 수만큼만 만들어지는 풀 사용
+ * 검증은 한 번의 패스로 서명 확인 → 헤더 확인 → 클레임(sub, iat, exp, nbf) 파싱까지 수행하고,
+ * 예상 가능한 실패(형식 오류, 서명 불일치, 만료 등)는 예외 대신 TokenValidation의 실패 사유로 반환
+ * 발급하는 토큰은 jjwt(Jwts.builder().signWith(key))가 만들던 것과 같은 형식 ({"alg":"HS256"} 헤더, 초 단위 iat/exp)
+ */
+public final class JwtEngine {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int SIGNATURE_LENGTH = 32;
+    // 숫자가 아닌 시간 클레임 표시
+    private static final long INVALID = Long.MIN_VALUE;
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final JsonFactory JSON = new JsonFactory();
+    // 이 엔진이 발급하는 헤더 (같은 값이면 헤더 JSON을 파싱하지 않음)
+    private static final String HEADER = ENCODER.encodeToString("{\"alg\":\"HS256\"}".getBytes(StandardCharsets.UTF_8));
+    private static final int[] BASE64_URL = new int[128];
+
+    static {
+        Arrays.fill(BASE64_URL, -1);
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_";
+        for (int i = 0; i < alphabet.length(); i++) {
+            BASE64_URL[alphabet.charAt(i)] = i;
+        }
+    }
+
+    private final SecretKeySpec key;
+    // 반납된 작업 공간 (비어 있으면 새로 만들고, 가득 차면 반납분은 버림)
+    private final BlockingQueue<Scratch> pool = new ArrayBlockingQueue<>(
+            Math.max(16, Runtime.getRuntime().availableProcessors() * 4));
+
+    /**
+     * @param keyBytes HMAC-SHA256 키 (32바이트 이상)
+     */
+    public JwtEngine(byte[] keyBytes) {
+        if (keyBytes.length < SIGNATURE_LENGTH) {
+            throw new IllegalArgumentException("HS256 키는 32바이트 이상이어야 합니다.");
+        }
+        this.key = new SecretKeySpec(keyBytes.clone(), ALGORITHM);
+    }
+
+    /**
+     * 토큰 발급
+     *
+     * @param subject         사용자 식별자
+     * @param issuedAtMillis  발급 시각 (epoch 밀리초)
+     * @param expiresAtMillis 만료 시각 (epoch 밀리초)
+     * @return header.payload.signature
+     */
+    public String sign(String subject, long issuedAtMillis, long expiresAtMillis) {
+        StringBuilder payload = new StringBuilder(subject.length() + 48)
+                .append("{\"sub\":\"");
+        JsonStringEncoder.getInstance().quoteAsString(subject, payload);
+        payload.append("\",\"iat\":").append(issuedAtMillis / 1000)
+                .append(",\"exp\":").append(expiresAtMillis / 1000)
+                .append('}');
+
+        String signingInput = HEADER + '.' + ENCODER.encodeToString(payload.toString().getBytes(StandardCharsets.UTF_8));
+        Scratch s = borrow();
+        try {
+            int length = s.ascii(signingInput, 0, signingInput.length());
+            s.mac.update(s.input, 0, length);
+            return signingInput + '.' + ENCODER.encodeToString(s.mac.doFinal());
+        } finally {
+            pool.offer(s);
+        }
+    }
+
+    /**
+     * 서명/만료 검증 후 사용자 정보 반환
+     *
+     * @throws InvalidTokenException 형식 오류, 서명 불일치, 만료, 아직 유효하지 않음(nbf)
+     */
+    public JwtIdentity verify(String token) {
+        return verify(token, System.currentTimeMillis());
+    }
+
+    JwtIdentity verify(String token, long nowMillis) {
+        TokenValidation result = validate(token, nowMillis);
+        if (!result.isValid()) {
+            throw new InvalidTokenException(result.failure().message());
+        }
+        return result.identity();
+    }
+
+    /**
+     * 서명/만료 검증 (유효하지 않은 토큰도 예외 없이 실패 사유로 반환)
+     */
+    public TokenValidation validate(String token) {
+        return validate(token, System.currentTimeMillis());
+    }
+
+    TokenValidation validate(String token, long nowMillis) {
+        if (token == null || token.isEmpty()) {
+            return TokenValidation.failed(Failure.MISSING);
+        }
+        int firstDot = token.indexOf('.');
+        int secondDot = firstDot > 0 ? token.indexOf('.', firstDot + 1) : -1;
+        if (secondDot < 0 || token.indexOf('.', secondDot + 1) >= 0) {
+            return TokenValidation.failed(Failure.MALFORMED);
+        }
+
+        Scratch s = borrow();
+        try {
+            return validate(s, token, firstDot, secondDot, nowMillis);
+        } finally {
+            pool.offer(s);
+        }
+    }
+
+    private static TokenValidation validate(Scratch s, String token, int firstDot, int secondDot, long nowMillis) {
+        // 서명 확인 (header.payload를 작업 버퍼에 ASCII로 복사해 Mac에 넣음)
+        int signingLength = s.ascii(token, 0, secondDot);
+        if (signingLength < 0) {
+            return TokenValidation.failed(Failure.MALFORMED);
+        }
+        s.mac.update(s.input, 0, signingLength);
+        try {
+            s.mac.doFinal(s.expected, 0);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+        if (decode(token, secondDot + 1, token.length(), s.actual) != SIGNATURE_LENGTH
+                || !MessageDigest.isEqual(s.expected, s.actual)) {
+            return TokenValidation.failed(Failure.BAD_SIGNATURE);
+        }
+
+        if (firstDot != HEADER.length() || !token.regionMatches(0, HEADER, 0, firstDot)) {
+            Failure header = checkHeader(s, token, firstDot);
+            if (header != null) {
+                return TokenValidation.failed(header);
+            }
+        }
+
+        int payloadLength = decode(token, firstDot + 1, secondDot, s.grow(secondDot - firstDot));
+        if (payloadLength < 0) {
+            return TokenValidation.failed(Failure.MALFORMED);
+        }
+        return parseClaims(s.decoded, payloadLength, nowMillis);
+    }
+
+    /**
+     * 이 엔진이 발급하지 않은 헤더 확인 (alg가 HS256이어야 함)
+     *
+     * @return 실패 사유, 문제없으면 null
+     */
+    private static Failure checkHeader(Scratch s, String token, int firstDot) {
+        int length = decode(token, 0, firstDot, s.grow(firstDot));
+        if (length < 0) {
+            return Failure.MALFORMED;
+        }
+        String alg = null;
+        try (JsonParser parser = JSON.createParser(s.decoded, 0, length)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return Failure.MALFORMED;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                parser.nextToken();
+                if ("alg".equals(name)) {
+                    alg = parser.getValueAsString();
+                } else if ("crit".equals(name)) {
+                    return Failure.UNSUPPORTED;
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        } catch (IOException e) {
+            return Failure.MALFORMED;
+        }
+        return "HS256".equals(alg) ? null : Failure.UNSUPPORTED;
+    }
+
+    private static TokenValidation parseClaims(byte[] payload, int length, long nowMillis) {
+        String subject = null;
+        long issuedAt = -1;
+        long expiresAt = -1;
+        long notBefore = -1;
+        try (JsonParser parser = JSON.createParser(payload, 0, length)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return TokenValidation.failed(Failure.INVALID_CLAIMS);
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                JsonToken value = parser.nextToken();
+                switch (name) {
+                    case "sub" -> subject = text(parser, value);
+                    case "iat" -> issuedAt = seconds(parser, value);
+                    case "exp" -> expiresAt = seconds(parser, value);
+                    case "nbf" -> notBefore = seconds(parser, value);
+                    default -> parser.skipChildren();
+                }
+                if (issuedAt == INVALID || expiresAt == INVALID || notBefore == INVALID) {
+                    return TokenValidation.failed(Failure.INVALID_CLAIMS);
+                }
+            }
+        } catch (IOException e) {
+            return TokenValidation.failed(Failure.INVALID_CLAIMS);
+        }
+        if (subject == null) {
+            return TokenValidation.failed(Failure.INVALID_CLAIMS);
+        }
+        JwtIdentity identity = new JwtIdentity(subject, issuedAt, expiresAt);
+        if (expiresAt >= 0 && nowMillis >= expiresAt * 1000) {
+            return TokenValidation.failed(Failure.EXPIRED, identity);
+        }
+        if (notBefore >= 0 && nowMillis < notBefore * 1000) {
+            return TokenValidation.failed(Failure.NOT_YET_VALID, identity);
+        }
+        return TokenValidation.valid(identity);
+    }
+
+    /**
+     * @return 문자열 값, 문자열이 아니면 null (객체/배열이면 안쪽 필드를 최상위 클레임으로 읽지 않도록 건너뜀)
+     */
+    private static String text(JsonParser parser, JsonToken value) throws IOException {
+        if (value != JsonToken.VALUE_STRING) {
+            parser.skipChildren();
+            return null;
+        }
+        return parser.getText();
+    }
+
+    /**
+     * @return epoch 초, 숫자가 아니면 INVALID
+     */
+    private static long seconds(JsonParser parser, JsonToken value) throws IOException {
+        if (value != JsonToken.VALUE_NUMBER_INT && value != JsonToken.VALUE_NUMBER_FLOAT) {
+            parser.skipChildren();
+            return INVALID;
+        }
+        return parser.getValueAsLong();
+    }
+
+    /**
+     * base64url(패딩 없음) 디코딩
+     *
+     * @return 디코딩한 바이트 수, 잘못된 문자/길이면 -1 (dst가 작으면 넘치는 부분은 버리고 -1)
+     * 마지막 문자의 남는 비트가 0이 아닌 비정규 표현도 -1 (같은 바이트를 여러 문자열로 표현할 수 없도록)
+     */
+    private static int decode(String src, int from, int to, byte[] dst) {
+        int length = to - from;
+        if (length % 4 == 1) {
+            return -1;
+        }
+        int out = 0;
+        int bits = 0;
+        int buffered = 0;
+        for (int i = from; i < to; i++) {
+            char c = src.charAt(i);
+            int value = c < 128 ? BASE64_URL[c] : -1;
+            if (value < 0) {
+                return -1;
+            }
+            bits = (bits << 6) | value;
+            buffered += 6;
+            if (buffered >= 8) {
+                buffered -= 8;
+                if (out >= dst.length) {
+                    return -1;
+                }
+                dst[out++] = (byte) (bits >> buffered);
+            }
+        }
+        if ((bits & ((1 << buffered) - 1)) != 0) {
+            return -1;
+        }
+        return out;
+    }
+
+    private Scratch borrow() {
+        Scratch s = pool.poll();
+        return s != null ? s : new Scratch(newMac());
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256을 사용할 수 없습니다.", e);
+        }
+    }
+
+    /**
+     * 검증/서명 한 번에 쓰는 작업 공간 (Mac과 입력/디코딩 버퍼, 한 번에 한 스레드만 사용)
+     */
+    private static final class Scratch {
+
+        final Mac mac;
+        final byte[] expected = new byte[SIGNATURE_LENGTH];
+        final byte[] actual = new byte[SIGNATURE_LENGTH];
+        byte[] input = new byte[512];
+        byte[] decoded = new byte[384];
+
+        Scratch(Mac mac) {
+            this.mac = mac;
+        }
+
+        /**
+         * 문자열 구간을 input 버퍼에 ASCII로 복사
+         *
+         * @return 복사한 길이, ASCII가 아닌 문자가 있으면 -1
+         */
+        int ascii(String value, int from, int to) {
+            int length = to - from;
+            if (input.length < length) {
+                input = new byte[Math.max(length, input.length * 2)];
+            }
+            for (int i = 0; i < length; i++) {
+                char c = value.charAt(from + i);
+                if (c >= 128) {
+                    return -1;
+                }
+                input[i] = (byte) c;
+            }
+            return length;
+        }
+
+        /**
+         * @param encodedLength base64url 문자 수
+         * @return 디코딩 결과를 담을 수 있는 버퍼
+         */
+        byte[] grow(int encodedLength) {
+            int required = encodedLength * 3 / 4 + 1;
+            if (decoded.length < required) {
+                decoded = new byte[Math.max(required, decoded.length * 2)];
+            }
+            return decoded;
+        }
+    }
+}
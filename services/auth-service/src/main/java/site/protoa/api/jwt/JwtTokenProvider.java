@@ -1,23 +1,24 @@
 package site.protoa.api.jwt;
 
-import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
-import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
-import java.util.Date;
 
+/**
+ * JWT 발급/검증
+ * 키는 생성 시 한 번만 만들고 서명/검증은 JwtEngine에 위임 (요청마다 키와 파서를 다시 만들지 않음)
+ */
 @Component
 public class JwtTokenProvider {
 
     private final JwtProperties jwtProperties;
+    private final JwtEngine engine;
 
     @Autowired
     public JwtTokenProvider(JwtProperties jwtProperties) {
         this.jwtProperties = jwtProperties;
+        this.engine = new JwtEngine(getSecretKey());
     }
 
     /**
@@ -27,17 +28,8 @@ public class JwtTokenProvider {
      * @return JWT 토큰 문자열
      */
     public String generateToken(String subject) {
-        Date now = new Date();
-        Date expiryDate = new Date(now.getTime() + jwtProperties.getExpiration());
-
-        SecretKey key = getSecretKey();
-
-        return Jwts.builder()
-                .setSubject(subject)
-                .setIssuedAt(now)
-                .setExpiration(expiryDate)
-                .signWith(key)
-                .compact();
+        long now = System.currentTimeMillis();
+        return engine.sign(subject, now, now + jwtProperties.getExpiration());
     }
 
     /**
@@ -47,46 +39,47 @@ public class JwtTokenProvider {
      * @return 사용자 식별자
      */
     public String getSubjectFromToken(String token) {
-        Claims claims = getClaimsFromToken(token);
-        return claims.getSubject();
+        return verify(token).subject();
     }
 
     /**
-     * JWT 토큰 유효성 검증
-     * 
+     * JWT 서명/만료를 한 번에 검증 (유효하지 않은 토큰도 예외 없이 실패 사유로 반환)
+     * 토큰을 받는 엔드포인트는 validateToken + getSubjectFromToken 대신 이 메서드로 한 번만 검증
+     *
+     * @param token JWT 토큰 (null이면 MISSING)
+     * @return 사용자 식별자/만료 시각 또는 실패 사유
+     */
+    public TokenValidation validate(String token) {
+        return engine.validate(token);
+    }
+
+    /**
+     * JWT 서명/만료를 한 번에 검증하고 사용자 정보 반환
+     *
      * @param token JWT 토큰
-     * @return 유효 여부
+     * @return 사용자 식별자와 발급/만료 시각
+     * @throws InvalidTokenException 유효하지 않은 토큰
      */
-    public boolean validateToken(String token) {
-        try {
-            getClaimsFromToken(token);
-            return true;
-        } catch (Exception e) {
-            return false;
-        }
+    public JwtIdentity verify(String token) {
+        return engine.verify(token);
     }
 
     /**
-     * JWT 토큰에서 Claims 추출
+     * JWT 토큰 유효성 검증
      * 
      * @param token JWT 토큰
-     * @return Claims 객체
+     * @return 유효 여부
      */
-    private Claims getClaimsFromToken(String token) {
-        SecretKey key = getSecretKey();
-        return Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    public boolean validateToken(String token) {
+        return engine.validate(token).isValid();
     }
 
     /**
-     * Secret Key 생성 (32바이트 이상 필요)
+     * Secret Key 바이트 (32바이트 이상 필요, 생성 시 한 번만 호출)
      * 
-     * @return SecretKey 객체
+     * @return HMAC-SHA256 키
      */
-    private SecretKey getSecretKey() {
+    private byte[] getSecretKey() {
         byte[] keyBytes = jwtProperties.getSecret().getBytes(StandardCharsets.UTF_8);
 
         // 최소 32바이트 필요
@@ -101,7 +94,7 @@ public class JwtTokenProvider {
             keyBytes = trimmedKey;
         }
 
-        return Keys.hmacShaKeyFor(keyBytes);
+        return keyBytes;
     }
 
     /**
@@ -111,17 +104,8 @@ public class JwtTokenProvider {
      * @return Refresh Token 문자열
      */
     public String generateRefreshToken(String subject) {
-        Date now = new Date();
-        Date expiryDate = new Date(now.getTime() + jwtProperties.getRefreshExpiration());
-
-        SecretKey key = getSecretKey();
-
-        return Jwts.builder()
-                .setSubject(subject)
-                .setIssuedAt(now)
-                .setExpiration(expiryDate)
-                .signWith(key)
-                .compact();
+        long now = System.currentTimeMillis();
+        return engine.sign(subject, now, now + jwtProperties.getRefreshExpiration());
     }
 
     /**
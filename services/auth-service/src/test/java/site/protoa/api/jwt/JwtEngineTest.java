@@ -0,0 +1,113 @@
+package site.protoa.api.jwt;
+
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 게이트웨이 JwtEngine과 같은 형식의 토큰을 발급/검증하는지 (게이트웨이 쪽은 jjwt와 교차 검증)
+ */
+class JwtEngineTest {
+
+    private static final byte[] KEY = "test-secret-key-for-jwt-engine-0".getBytes(StandardCharsets.UTF_8);
+    private static final long NOW = 1_760_000_000_000L;
+
+    private final JwtEngine engine = new JwtEngine(KEY);
+
+    @Test
+    void signedTokensVerifyUntilExpiry() {
+        String subject = "user \"quoted\" \\ 한글";
+        String token = engine.sign(subject, NOW, NOW + 60_000);
+        assertThat(token).startsWith(encode("{\"alg\":\"HS256\"}") + ".");
+
+        JwtIdentity identity = engine.verify(token, NOW + 59_999);
+        assertThat(identity.subject()).isEqualTo(subject);
+        assertThat(identity.issuedAt()).isEqualTo(NOW / 1000);
+        assertThat(identity.expiresAtMillis()).isEqualTo(NOW + 60_000);
+
+        TokenValidation expired = engine.validate(token, NOW + 60_000);
+        assertThat(expired.failure()).isEqualTo(TokenValidation.Failure.EXPIRED);
+        assertThat(expired.subject()).isNull();
+        assertThat(expired.identity().subject()).isEqualTo(subject);
+
+        String future = signed("{\"sub\":\"user-1\",\"nbf\":" + (NOW / 1000 + 10) + "}");
+        assertThat(engine.validate(future, NOW).failure()).isEqualTo(TokenValidation.Failure.NOT_YET_VALID);
+        assertThat(engine.validate(future, NOW + 10_000).identity().expiresAt()).isEqualTo(-1);
+    }
+
+    @Test
+    void forgedOrMalformedTokensAreRejected() {
+        String token = engine.sign("user-1", NOW, NOW + 60_000);
+        String[] parts = token.split("\\.");
+
+        String otherKey = new JwtEngine("another-secret-key-for-jwt-engine".getBytes(StandardCharsets.UTF_8))
+                .sign("user-1", NOW, NOW + 60_000);
+        assertThat(engine.validate(otherKey, NOW).failure()).isEqualTo(TokenValidation.Failure.BAD_SIGNATURE);
+        String payload = encode("{\"sub\":\"admin\",\"exp\":" + (NOW / 1000 + 60) + "}");
+        assertThat(engine.validate(parts[0] + "." + payload + "." + parts[2], NOW).failure())
+                .isEqualTo(TokenValidation.Failure.BAD_SIGNATURE);
+        String none = encode("{\"alg\":\"none\"}") + "." + parts[1] + ".";
+        assertThat(engine.validate(none, NOW).failure()).isEqualTo(TokenValidation.Failure.BAD_SIGNATURE);
+
+        assertThat(engine.validate(null, NOW).failure()).isEqualTo(TokenValidation.Failure.MISSING);
+        for (String malformed : new String[]{"abc", "a.b", "a.b.c.d"}) {
+            assertThat(engine.validate(malformed, NOW).failure()).isEqualTo(TokenValidation.Failure.MALFORMED);
+        }
+        assertThatThrownBy(() -> engine.verify(parts[0] + ".한글." + parts[2], NOW))
+                .isInstanceOf(InvalidTokenException.class);
+        assertThat(engine.validate(signed("[1]"), NOW).failure()).isEqualTo(TokenValidation.Failure.INVALID_CLAIMS);
+    }
+
+    @Test
+    void nestedClaimValuesAreNotReadAsTopLevelClaims() {
+        long exp = NOW / 1000 + 60;
+        // sub가 객체면 안쪽 sub를 최상위 subject로 읽지 않음
+        TokenValidation nested = engine.validate(signed("{\"sub\":{\"sub\":\"admin\",\"exp\":" + (exp + 3600)
+                + "},\"exp\":" + exp + "}"), NOW);
+        assertThat(nested.failure()).isEqualTo(TokenValidation.Failure.INVALID_CLAIMS);
+        // 모르는 클레임 안의 필드도 건너뜀
+        TokenValidation other = engine.validate(signed("{\"sub\":\"user-1\",\"ext\":{\"sub\":\"admin\",\"exp\":"
+                + (exp + 3600) + "},\"exp\":" + exp + "}"), NOW + 60_000);
+        assertThat(other.failure()).isEqualTo(TokenValidation.Failure.EXPIRED);
+        assertThat(other.identity().subject()).isEqualTo("user-1");
+    }
+
+    @Test
+    void nonCanonicalBase64IsRejected() {
+        String token = engine.sign("user-1", NOW, NOW + 60_000);
+        // 서명 43자의 마지막 문자는 4비트만 쓰므로 남는 2비트를 바꾸면 같은 바이트로 디코딩되는 다른 문자열
+        char last = token.charAt(token.length() - 1);
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_";
+        String variant = token.substring(0, token.length() - 1) + alphabet.charAt(alphabet.indexOf(last) ^ 1);
+        assertThat(Base64.getUrlDecoder().decode(variant.substring(variant.lastIndexOf('.') + 1)))
+                .isEqualTo(Base64.getUrlDecoder().decode(token.substring(token.lastIndexOf('.') + 1)));
+        assertThat(engine.validate(token, NOW).isValid()).isTrue();
+        assertThat(engine.validate(variant, NOW).failure()).isEqualTo(TokenValidation.Failure.BAD_SIGNATURE);
+    }
+
+    /**
+     * 엔진이 발급하는 헤더와 임의의 클레임으로 서명한 토큰
+     */
+    private static String signed(String claims) {
+        String input = encode("{\"alg\":\"HS256\"}") + "." + encode(claims);
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(KEY, "HmacSHA256"));
+            return input + "." + Base64.getUrlEncoder().withoutPadding().encodeToString(
+                    mac.doFinal(input.getBytes(StandardCharsets.US_ASCII)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String encode(String json) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(json.getBytes(StandardCharsets.UTF_8));
+    }
+}